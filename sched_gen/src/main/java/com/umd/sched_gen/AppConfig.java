@@ -2,11 +2,20 @@ package com.umd.sched_gen;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import com.umd.sched_gen.Catalog.CatalogProperties;
+import com.umd.sched_gen.DataInitializer.IngestProperties;
+import com.umd.sched_gen.Scheduler.SchedulerProperties;
+
 
 @Configuration
+@EnableConfigurationProperties({IngestProperties.class, SchedulerProperties.class,
+                                CatalogProperties.class})
+@EnableScheduling
 public class AppConfig {
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
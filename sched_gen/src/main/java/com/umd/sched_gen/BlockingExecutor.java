@@ -0,0 +1,89 @@
+package com.umd.sched_gen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/** Runs the blocking work of requests (database reads through JPA), so request handlers can
+ * return a future and hand their Tomcat thread back while the work waits on I/O. With
+ * sched-gen.web.virtual-threads on a Java 21+ runtime, every task gets its own virtual thread;
+ * otherwise tasks share a bounded pool of platform threads.
+ */
+public class BlockingExecutor implements Executor, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BlockingExecutor.class);
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+
+    /** Creates the executor
+     *
+     * @param properties settings of the REST API (virtual threads and the blocking pool size)
+     */
+    public BlockingExecutor(WebProperties properties) {
+        ExecutorService virtualThreads = properties.isVirtualThreads() ? virtualThreads() : null;
+        this.virtual = virtualThreads != null;
+        if (virtual) {
+            this.executor = virtualThreads;
+            log.info("Blocking request work runs on virtual threads");
+        } else {
+            if (properties.isVirtualThreads()) {
+                log.warn("Virtual threads need Java 21+, running blocking request work on "
+                         + "threads={} platform threads", properties.getBlockingThreads());
+            }
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(properties.getBlockingThreads(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "blocking-io-"
+                                               + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+    }
+
+    /** Runs a blocking task
+     *
+     * @param <T> the type of the task result
+     * @param task the task
+     * @return a future of the task result
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /** Returns whether tasks run on virtual threads
+     *
+     * @return whether tasks run on virtual threads
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /** Stops the executor, interrupting the tasks still running */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /* Executors.newVirtualThreadPerTaskExecutor, looked up at runtime since the build targets
+     * Java 17. Null if the runtime has no virtual threads. */
+    private static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.umd.sched_gen.Catalog;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/** REST endpoints answering course queries from the in-memory catalog */
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final CatalogService catalogService;
+
+    /** The Courses matching a filter: how many there are, and the top ones by average GPA */
+    public record FilterResponse(int matched, List<Course> courses) {}
+
+    /** Constructor defines explicit dependencies for this controller to run
+     *
+     * @param catalogService holder of the current catalog snapshot
+     */
+    public CatalogController(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    /** Filters the catalog. Values of the same parameter are ORed (ie: gened=DSHS&gened=DSHU),
+     * different parameters are ANDed. For instance, unrestricted DSHS courses offered in the fall
+     * with an average GPA of at least 3.5 are
+     * /catalog/courses?gened=DSHS&semester=FALL&restricted=false&minGpa=3.5
+     *
+     * @param dept departments to include
+     * @param excludeDept departments to exclude
+     * @param gened gen ed codes that can be fulfilled
+     * @param semester semesters the courses are offered in
+     * @param credits credit counts
+     * @param restricted whether the courses have enrollment restrictions, either if not set
+     * @param minGpa the lowest average GPA included
+     * @param maxGpa the highest average GPA included
+     * @param limit the maximum number of courses returned, by decreasing average GPA
+     * @return the number of matching courses and the top ones
+     */
+    @GetMapping("/courses")
+    public FilterResponse filter(@RequestParam(required = false) List<String> dept,
+                                 @RequestParam(required = false) List<String> excludeDept,
+                                 @RequestParam(required = false) List<String> gened,
+                                 @RequestParam(required = false) List<Semester> semester,
+                                 @RequestParam(required = false) List<Integer> credits,
+                                 @RequestParam(required = false) Boolean restricted,
+                                 @RequestParam(defaultValue = "0") float minGpa,
+                                 @RequestParam(defaultValue = "4") float maxGpa,
+                                 @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "limit must be between 0 and " + MAX_LIMIT);
+        }
+        List<CourseFilter> filters = new ArrayList<>();
+        addAnyOf(filters, dept, CourseFilter::dept);
+        addAnyOf(filters, gened, CourseFilter::gened);
+        addAnyOf(filters, semester, CourseFilter::semester);
+        addAnyOf(filters, credits, CourseFilter::credits);
+        if (excludeDept != null && !excludeDept.isEmpty()) {
+            filters.add(CourseFilter.not(
+                CourseFilter.or(excludeDept.stream().map(CourseFilter::dept).toList())));
+        }
+        if (restricted != null) {
+            filters.add(restricted ? CourseFilter.restricted()
+                        : CourseFilter.not(CourseFilter.restricted()));
+        }
+        if (minGpa > 0 || maxGpa < 4) {
+            filters.add(CourseFilter.gpaBetween(minGpa, maxGpa));
+        }
+
+        CourseFilterIndex index = catalogService.current().filters();
+        BitSet matches = CourseFilter.and(filters).matches(index);
+        return new FilterResponse(matches.cardinality(), index.top(matches, limit));
+    }
+
+    /** Typeahead search of the catalog, answered from the in-memory search index without touching
+     * the database (see {@link CourseSearchIndex}): Courses whose course ID starts with the query
+     * first, then the best matches of its words in names and restrictions, eg:
+     * /catalog/search?q=intro%20data
+     *
+     * @param q the query, as typed so far
+     * @param limit the maximum number of hits
+     * @return the hits, best first
+     */
+    @GetMapping("/search")
+    public List<CourseSearchIndex.Hit> search(@RequestParam String q,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "limit must be between 0 and " + MAX_LIMIT);
+        }
+        return catalogService.current().search().search(q, limit);
+    }
+
+    /* Adds a filter matching any of the values, if there are any */
+    private static <T> void addAnyOf(List<CourseFilter> filters, List<T> values,
+                                     Function<T, CourseFilter> filter) {
+        if (values != null && !values.isEmpty()) {
+            filters.add(CourseFilter.or(values.stream().map(filter).toList()));
+        }
+    }
+}
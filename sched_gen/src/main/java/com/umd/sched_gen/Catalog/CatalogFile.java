@@ -0,0 +1,320 @@
+package com.umd.sched_gen.Catalog;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/** Reads and writes a CatalogSnapshot as a compact binary file, so a restart maps the catalog in
+ * from disk instead of loading every Course through Hibernate. Files are named after the time
+ * their catalog was ingested (catalog-[epoch millis].bin), which is also their version: the
+ * newest one is the current catalog.
+ *
+ * The layout is columnar, every Course a row in the same order as the snapshot's views:
+ * - a header: magic number, format version, ingest time, row count and section sizes
+ * - a dictionary of every distinct string, which string columns refer to by index (-1 for null)
+ * - one column per field: IDs, course IDs, names, departments, credits, semester bitmasks,
+ *   average GPAs, prereqs/coreqs (strings and parsed expressions), restrictions and credit
+ *   granted for
+ * - the gen eds, as a group count per row (-1 for none), a size per group and the codes
+ * - the direct requisites of the RequisiteGraph, as an edge count per row and the edges
+ * All numbers are big-endian ints, longs and floats.
+ */
+public final class CatalogFile {
+    static final int MAGIC = 0x55504743;        /* "UPGC" */
+    static final int VERSION = 1;
+    private static final String PREFIX = "catalog-";
+    private static final String SUFFIX = ".bin";
+
+    private CatalogFile() {}
+
+    /** Writes a snapshot to a new catalog file named after its ingest time. The file is written
+     * under a temporary name first, so readers never see a partial one.
+     *
+     * @param snapshot the snapshot, whose ingest time must be known
+     * @param directory the directory to write the file to, created if needed
+     * @return the written file
+     * @throws IOException if the file cannot be written
+     */
+    public static Path write(CatalogSnapshot snapshot, Path directory) throws IOException {
+        if (snapshot.ingestedAt() == null) {
+            throw new IllegalArgumentException("The catalog has no ingest time to version it by");
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(PREFIX + snapshot.ingestedAt().toEpochMilli() + SUFFIX);
+        Path partial = Files.createTempFile(directory, PREFIX, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(partial)))) {
+                write(snapshot, out);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return file;
+    }
+
+    /** Maps a catalog file into memory and rebuilds its snapshot
+     *
+     * @param file the catalog file
+     * @return the snapshot, with the ingest time it was written with
+     * @throws IOException if the file cannot be read, or is not a catalog file of this version
+     */
+    public static CatalogSnapshot read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return read(buffer);
+        } catch (RuntimeException e) {
+            /* Counts or indexes pointing past the end of a truncated or corrupt file */
+            throw new IOException("Corrupt catalog file: " + file, e);
+        }
+    }
+
+    /** Returns the catalog files of a directory, newest first
+     *
+     * @param directory the directory
+     * @return the catalog files, empty if there are none or the directory does not exist
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> version(file) >= 0)
+                .sorted(Comparator.comparingLong(CatalogFile::version).reversed())
+                .toList();
+        }
+    }
+
+    /* Ingest time of a catalog file from its name, -1 if it is not one */
+    private static long version(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void write(CatalogSnapshot snapshot, DataOutputStream out) throws IOException {
+        List<CourseView> views = snapshot.views();
+        RequisiteGraph graph = snapshot.requisites();
+        int n = views.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int[][] columns = new int[9][n];        /* String columns, as dictionary indexes */
+        int[] groups = new int[n];
+        Ints groupSizes = new Ints();
+        Ints codes = new Ints();
+        int edges = 0;
+        for (int i = 0; i < n; i++) {
+            Course course = views.get(i).course();
+            String[] fields = {course.getCourseId(), course.getName(), course.getDeptId(),
+                course.getPrereqsString(), course.getPrereqExpression(), course.getCoreqsString(),
+                course.getCoreqExpression(), course.getRestrictions(),
+                course.getCreditGrantedFor()};
+            for (int c = 0; c < fields.length; c++) {
+                columns[c][i] = index(fields[c], dictionary, strings);
+            }
+            List<List<String>> geneds = course.getGeneds();
+            groups[i] = geneds == null ? -1 : geneds.size();
+            if (geneds != null) {
+                for (List<String> group : geneds) {
+                    groupSizes.add(group.size());
+                    for (String gened : group) {
+                        codes.add(index(gened, dictionary, strings));
+                    }
+                }
+            }
+            edges += graph.directRequisiteCount(i);
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(snapshot.ingestedAt().toEpochMilli());
+        out.writeInt(n);
+        out.writeInt(strings.size());
+        out.writeInt(groupSizes.size);
+        out.writeInt(codes.size);
+        out.writeInt(edges);
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        for (CourseView view : views) {
+            out.writeInt(view.course().getId());
+        }
+        for (int[] column : columns) {
+            writeInts(out, column, n);
+        }
+        for (CourseView view : views) {
+            out.writeInt(view.credits());
+        }
+        for (CourseView view : views) {
+            out.writeInt(view.semesters());
+        }
+        for (CourseView view : views) {
+            out.writeFloat(view.averageGpa());
+        }
+        writeInts(out, groups, n);
+        writeInts(out, groupSizes.values, groupSizes.size);
+        writeInts(out, codes.values, codes.size);
+        for (int i = 0; i < n; i++) {
+            out.writeInt(graph.directRequisiteCount(i));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int e = 0; e < graph.directRequisiteCount(i); e++) {
+                out.writeInt(graph.directRequisite(i, e));
+            }
+        }
+    }
+
+    private static CatalogSnapshot read(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a catalog file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported catalog file version " + version);
+        }
+        Instant ingestedAt = Instant.ofEpochMilli(buffer.getLong());
+        int n = buffer.getInt();
+        String[] strings = new String[buffer.getInt()];
+        int groupCount = buffer.getInt();
+        int codeCount = buffer.getInt();
+        int edgeCount = buffer.getInt();
+        byte[] bytes = new byte[64];
+        for (int s = 0; s < strings.length; s++) {
+            int length = buffer.getInt();
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            buffer.get(bytes, 0, length);
+            strings[s] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        int[] ids = ints(buffer, n);
+        int[][] columns = new int[9][];
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = ints(buffer, n);
+        }
+        int[] credits = ints(buffer, n);
+        int[] semesters = ints(buffer, n);
+        float[] gpas = new float[n];
+        buffer.asFloatBuffer().get(gpas);
+        buffer.position(buffer.position() + n * Float.BYTES);
+        int[] groups = ints(buffer, n);
+        int[] groupSizes = ints(buffer, groupCount);
+        int[] codes = ints(buffer, codeCount);
+        int[] edgeCounts = ints(buffer, n);
+        int[] edges = ints(buffer, edgeCount);
+
+        List<Course> courses = new ArrayList<>(n);
+        int[][] requisites = new int[n][];
+        int group = 0;
+        int code = 0;
+        int edge = 0;
+        for (int i = 0; i < n; i++) {
+            Course course = new Course(ids[i]);
+            course.setCourseId(string(strings, columns[0][i]));
+            course.setName(string(strings, columns[1][i]));
+            course.setDeptId(string(strings, columns[2][i]));
+            course.setRequisites(string(strings, columns[3][i]), string(strings, columns[4][i]),
+                                 string(strings, columns[5][i]), string(strings, columns[6][i]));
+            course.setRestrictions(string(strings, columns[7][i]));
+            course.setCreditGrantedFor(string(strings, columns[8][i]));
+            course.setCredits(credits[i]);
+            course.setAverageGPA(gpas[i]);
+            ArrayList<String> offered = new ArrayList<>();
+            for (Semester semester : Semester.values()) {
+                if (semester.in(semesters[i])) {
+                    offered.add(semester.name());
+                }
+            }
+            course.setSemesters(offered);
+            if (groups[i] >= 0) {
+                List<List<String>> geneds = new ArrayList<>(groups[i]);
+                for (int g = 0; g < groups[i]; g++, group++) {
+                    List<String> codesOfGroup = new ArrayList<>(groupSizes[group]);
+                    for (int k = 0; k < groupSizes[group]; k++, code++) {
+                        codesOfGroup.add(string(strings, codes[code]));
+                    }
+                    geneds.add(codesOfGroup);
+                }
+                course.setGeneds(geneds);
+            }
+            requisites[i] = Arrays.copyOfRange(edges, edge, edge + edgeCounts[i]);
+            edge += edgeCounts[i];
+            courses.add(course);
+        }
+        return CatalogSnapshot.restore(courses, ingestedAt, requisites);
+    }
+
+    private static int index(String string, Map<String, Integer> dictionary, List<String> strings) {
+        if (string == null) {
+            return -1;
+        }
+        return dictionary.computeIfAbsent(string, s -> {
+            strings.add(s);
+            return strings.size() - 1;
+        });
+    }
+
+    private static String string(String[] strings, int index) {
+        return index < 0 ? null : strings[index];
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values, int count)
+            throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    /* Reads a column of ints, copied out of the mapped file in bulk */
+    private static int[] ints(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    /* A growable column of ints */
+    private static final class Ints {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.umd.sched_gen.Catalog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Configurable settings of the in-memory catalog (sched-gen.catalog.* in application.properties) */
+@ConfigurationProperties(prefix = "sched-gen.catalog")
+public class CatalogProperties {
+    private String fileDir;             /* Directory of catalog files, unset to disable */
+    private int filesKept = 2;          /* Newest catalog files kept in fileDir */
+
+    /** Returns the directory catalog files are written to and mapped from at startup (see
+     * {@link CatalogFile}), or null if the catalog is always loaded from the database
+     *
+     * @return the catalog file directory
+     */
+    public String getFileDir() {
+        return fileDir;
+    }
+
+    public void setFileDir(String fileDir) {
+        this.fileDir = fileDir;
+    }
+
+    /** Returns how many catalog files are kept, newest first, when a new one is written. Older
+     * ones are there to fall back on if the newest cannot be read.
+     *
+     * @return the number of catalog files kept
+     */
+    public int getFilesKept() {
+        return filesKept;
+    }
+
+    public void setFilesKept(int filesKept) {
+        this.filesKept = filesKept;
+    }
+}
@@ -0,0 +1,142 @@
+package com.umd.sched_gen.Catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import com.umd.sched_gen.Courses.CourseRepository;
+import com.umd.sched_gen.DataInitializer.DataInitializedEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Holds the current CatalogSnapshot. A new snapshot is built from the courses table every time
+ * it is populated or refreshed (on a DataInitializedEvent), along with its search index, and
+ * swapped in atomically, so readers always see either the old or the new catalog in full, never a
+ * mix of both. Listens before any
+ * other listener, so they already see the new snapshot.
+ *
+ * When sched-gen.catalog.file-dir is set, every snapshot built is also written to a catalog file
+ * (see {@link CatalogFile}), versioned by when the courses table was last written (see
+ * {@link DataInitializedEvent#getIngestedAt()}), and the newest one is mapped in as soon as the
+ * service is created. If nothing is ingested at startup and the table was last written when that
+ * snapshot was built, it is kept and the courses table is not read at all; delete the catalog
+ * files to force a reload from the database.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CatalogService implements ApplicationListener<DataInitializedEvent>, InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    private final CourseRepository courseRepository;
+    private final CatalogProperties properties;
+    private final AtomicReference<CatalogSnapshot> snapshot =
+        new AtomicReference<>(CatalogSnapshot.empty());
+
+    /** Constructor defines explicit dependencies for this service to run
+     *
+     * @param courseRepository the repository the catalog is loaded from
+     * @param properties settings of the catalog (including where catalog files are kept)
+     */
+    public CatalogService(CourseRepository courseRepository, CatalogProperties properties) {
+        this.courseRepository = courseRepository;
+        this.properties = properties;
+    }
+
+    /** Maps in the newest readable catalog file, if catalog files are enabled */
+    @Override
+    public void afterPropertiesSet() {
+        if (properties.getFileDir() == null) {
+            return;
+        }
+        List<Path> files;
+        try {
+            files = CatalogFile.list(Path.of(properties.getFileDir()));
+        } catch (IOException e) {
+            log.error("Could not list catalog files: {}", e.getMessage());
+            return;
+        }
+        for (Path file : files) {
+            long start = System.nanoTime();
+            try {
+                CatalogSnapshot loaded = CatalogFile.read(file);
+                loaded.search();
+                snapshot.set(loaded);
+                log.info("Catalog snapshot mapped in courses={} ingestedAt={} ms={}", loaded.size(),
+                         loaded.ingestedAt(), (System.nanoTime() - start) / 1_000_000);
+                return;
+            } catch (IOException e) {
+                log.error("Could not read catalog file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull DataInitializedEvent event) {
+        /* To the millisecond, the precision catalog files are versioned at */
+        Instant ingestedAt = event.getIngestedAt() == null ? null
+                             : event.getIngestedAt().truncatedTo(ChronoUnit.MILLIS);
+        Instant mappedAt = snapshot.get().ingestedAt();
+        if (!event.isIngested() && mappedAt != null
+                && (ingestedAt == null || ingestedAt.equals(mappedAt))) {
+            /* Nothing new in the courses table, the catalog file mapped in is still current */
+            return;
+        }
+        reload(ingestedAt);
+    }
+
+    /** Builds a new snapshot from the courses table and makes it the current one, writing it to
+     * a catalog file if they are enabled
+     *
+     * @param ingestedAt when the courses table was last written, or null if unknown (the snapshot
+     * is then not written to a catalog file, having nothing to version it by)
+     * @return the new snapshot
+     */
+    public CatalogSnapshot reload(Instant ingestedAt) {
+        long start = System.nanoTime();
+        CatalogSnapshot loaded = CatalogSnapshot.of(courseRepository.findAll(), ingestedAt);
+        loaded.search();    /* Before it is current, so no search waits for it to be built */
+        snapshot.set(loaded);
+        log.info("Catalog snapshot built courses={} ms={}", loaded.size(),
+                 (System.nanoTime() - start) / 1_000_000);
+        if (properties.getFileDir() != null && ingestedAt != null) {
+            export(loaded, Path.of(properties.getFileDir()));
+        }
+        return loaded;
+    }
+
+    /** Returns the current snapshot. Callers should hold on to the returned snapshot for the
+     * duration of a request, so every lookup in it sees the same catalog.
+     *
+     * @return the current snapshot, empty until the catalog has been loaded
+     */
+    public CatalogSnapshot current() {
+        return snapshot.get();
+    }
+
+    /* Writes a snapshot to a new catalog file, then deletes all but the newest files kept */
+    private void export(CatalogSnapshot loaded, Path directory) {
+        try {
+            long start = System.nanoTime();
+            Path file = CatalogFile.write(loaded, directory);
+            log.info("Catalog written to {} ms={}", file, (System.nanoTime() - start) / 1_000_000);
+            List<Path> files = CatalogFile.list(directory);
+            for (Path old : files.subList(Math.min(Math.max(properties.getFilesKept(), 1),
+                                                   files.size()), files.size())) {
+                Files.deleteIfExists(old);
+            }
+        } catch (IOException e) {
+            log.error("Could not write catalog file: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.umd.sched_gen.Catalog;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/** An immutable, in-memory copy of the course catalog with prebuilt indexes, so lookups by course
+ * ID, department, gen ed, semester or credits never go to the database. A snapshot is built once
+ * from every Course and never changes; a refreshed catalog is a new snapshot (see
+ * {@link CatalogService}). The Courses held are shared between readers and must not be modified;
+ * code that reads them over and over should go through their {@link CourseView}s instead, which
+ * are read without copying.
+ */
+public class CatalogSnapshot {
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(List.of(), null, null);
+
+    private final List<Course> courses;
+    private final List<CourseView> views;           /* In order of course ID */
+    private final NavigableMap<String, CourseView> byCourseId;
+    private final NavigableMap<String, List<Course>> byDept;
+    private final Map<String, List<Course>> byGened;
+    private final Map<Semester, List<Course>> bySemester;
+    private final Map<Integer, List<Course>> byCredits;
+    private final CourseFilterIndex filters;
+    private final Instant ingestedAt;
+    private final int[][] requisiteEdges;           /* Read from a catalog file, else null */
+    private volatile RequisiteGraph requisites;     /* Built on first use */
+    private volatile CourseSearchIndex search;      /* Built on first use */
+
+    private CatalogSnapshot(List<Course> courses, Instant ingestedAt, int[][] requisiteEdges) {
+        /* In order of course ID, the last of any Courses with the same course ID kept */
+        List<Course> byId = new ArrayList<>(courses);
+        byId.sort(Comparator.comparing(Course::getCourseId));
+
+        /* Every Course is read through its getters (which copy) once, here. Gen ed codes and
+         * their lists are interned, most courses share one of a few hundred combinations. */
+        Map<String, String> codes = new HashMap<>();
+        Map<List<String>, List<String>> codeLists = new HashMap<>();
+        List<CourseView> viewList = new ArrayList<>(byId.size());
+        NavigableMap<String, CourseView> viewIndex = new TreeMap<>();
+        for (int i = 0; i < byId.size(); i++) {
+            Course course = byId.get(i);
+            if (i + 1 < byId.size() && byId.get(i + 1).getCourseId().equals(course.getCourseId())) {
+                continue;
+            }
+            List<String> genedCodes = new ArrayList<>();
+            for (String code : genedCodes(course)) {
+                genedCodes.add(codes.computeIfAbsent(code, k -> k));
+            }
+            int semesters = 0;
+            for (String semester : course.getSemesters()) {
+                semesters |= Semester.valueOf(semester).bit();
+            }
+            CourseView view = new CourseView(viewList.size(), course, semesters,
+                                             codeLists.computeIfAbsent(genedCodes, List::copyOf));
+            viewList.add(view);
+            viewIndex.put(view.courseId(), view);
+        }
+
+        NavigableMap<String, List<Course>> deptIndex = new TreeMap<>();
+        Map<String, List<Course>> genedIndex = new HashMap<>();
+        Map<Semester, List<Course>> semesterIndex = new EnumMap<>(Semester.class);
+        Map<Integer, List<Course>> creditsIndex = new HashMap<>();
+        for (CourseView view : viewList) {
+            Course course = view.course();
+            if (view.deptId() != null) {
+                deptIndex.computeIfAbsent(view.deptId(), k -> new ArrayList<>()).add(course);
+            }
+            for (String gened : view.genedCodes()) {
+                genedIndex.computeIfAbsent(gened, k -> new ArrayList<>()).add(course);
+            }
+            for (Semester semester : Semester.values()) {
+                if (view.offeredIn(semester)) {
+                    semesterIndex.computeIfAbsent(semester, k -> new ArrayList<>()).add(course);
+                }
+            }
+            creditsIndex.computeIfAbsent(view.credits(), k -> new ArrayList<>()).add(course);
+        }
+
+        this.courses = List.copyOf(courses);
+        this.views = List.copyOf(viewList);
+        this.byCourseId = Collections.unmodifiableNavigableMap(viewIndex);
+        this.byDept = Collections.unmodifiableNavigableMap(freeze(deptIndex));
+        this.byGened = Collections.unmodifiableMap(freeze(genedIndex));
+        this.bySemester = Collections.unmodifiableMap(freeze(semesterIndex));
+        this.byCredits = Collections.unmodifiableMap(freeze(creditsIndex));
+        this.filters = new CourseFilterIndex(this.views);
+        this.ingestedAt = ingestedAt;
+        this.requisiteEdges = requisiteEdges;
+    }
+
+    /** Builds a snapshot of a catalog
+     *
+     * @param courses every Course of the catalog
+     * @return the snapshot
+     */
+    public static CatalogSnapshot of(Iterable<Course> courses) {
+        return of(courses, null);
+    }
+
+    /** Builds a snapshot of a catalog ingested at a known time
+     *
+     * @param courses every Course of the catalog
+     * @param ingestedAt when the catalog was ingested, or null if unknown
+     * @return the snapshot
+     */
+    public static CatalogSnapshot of(Iterable<Course> courses, Instant ingestedAt) {
+        List<Course> list = new ArrayList<>();
+        for (Course course : courses) {
+            if (course.getCourseId() != null) {
+                list.add(course);
+            }
+        }
+        return new CatalogSnapshot(list, ingestedAt, null);
+    }
+
+    /* A snapshot read back from a catalog file, with the requisite edges it was written with
+     * (so the requisite graph does not have to look them up again) */
+    static CatalogSnapshot restore(List<Course> courses, Instant ingestedAt, int[][] edges) {
+        return new CatalogSnapshot(courses, ingestedAt, edges);
+    }
+
+    /** Returns a snapshot without any Courses (before the catalog has been loaded)
+     *
+     * @return the empty snapshot
+     */
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /** Returns the gen ed codes a Course can fulfill, ignoring the course it may need to be taken
+     * with (ie: [[X, Y], [Z|C]] fulfills X, Y and Z)
+     *
+     * @param course the Course
+     * @return the gen ed codes of the Course
+     */
+    public static List<String> genedCodes(Course course) {
+        return new ArrayList<>(Course.genedCodes(course.getGeneds()));
+    }
+
+    /** Returns every Course of the catalog
+     *
+     * @return an unmodifiable list of the Courses
+     */
+    public List<Course> courses() {
+        return courses;
+    }
+
+    /** Returns when the catalog was ingested (or first read from the database, if that was
+     * before this run), which is also the version of the catalog files it is written to
+     *
+     * @return the ingest time, or null if unknown
+     */
+    public Instant ingestedAt() {
+        return ingestedAt;
+    }
+
+    /** Returns the number of Courses in the catalog, counting Courses with the same course ID
+     * once, like the views and indexes
+     *
+     * @return the catalog size
+     */
+    public int size() {
+        return byCourseId.size();
+    }
+
+    /** Looks up a Course by its course ID (ie: CMSC131)
+     *
+     * @param courseId the course ID
+     * @return the Course, or null if there is none
+     */
+    public Course byCourseId(String courseId) {
+        CourseView view = byCourseId.get(courseId);
+        return view == null ? null : view.course();
+    }
+
+    /** Returns the view of every Course of the catalog, for reading the catalog without copies
+     *
+     * @return an unmodifiable list of the views, in order of course ID (so by number)
+     */
+    public List<CourseView> views() {
+        return views;
+    }
+
+    /** Looks up the view of a Course by its course ID (ie: CMSC131)
+     *
+     * @param courseId the course ID
+     * @return the view, or null if there is no such Course
+     */
+    public CourseView view(String courseId) {
+        return byCourseId.get(courseId);
+    }
+
+    /** Looks up the view of a Course by its number (see {@link CourseView#number()})
+     *
+     * @param number the number of the Course
+     * @return the view
+     */
+    public CourseView view(int number) {
+        return views.get(number);
+    }
+
+    /** Returns the Courses whose course ID starts with a prefix (ie: "CMSC1"), sorted by course ID
+     *
+     * @param prefix the course ID prefix
+     * @return an unmodifiable list of the matching Courses
+     */
+    public List<Course> byCourseIdPrefix(String prefix) {
+        List<Course> matches = new ArrayList<>();
+        for (CourseView view : prefixRange(byCourseId, prefix).values()) {
+            matches.add(view.course());
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    /** Returns the Courses of a department (ie: CMSC)
+     *
+     * @param deptId the department ID
+     * @return an unmodifiable list of the Courses, empty if there are none
+     */
+    public List<Course> byDept(String deptId) {
+        return byDept.getOrDefault(deptId, List.of());
+    }
+
+    /** Returns the departments whose ID starts with a prefix (ie: "CM"), in order
+     *
+     * @param prefix the department ID prefix
+     * @return the matching department IDs
+     */
+    public List<String> deptsWithPrefix(String prefix) {
+        return List.copyOf(prefixRange(byDept, prefix).keySet());
+    }
+
+    /** Returns the Courses that can fulfill a gen ed (ie: DSHS)
+     *
+     * @param gened the gen ed code
+     * @return an unmodifiable list of the Courses, empty if there are none
+     */
+    public List<Course> byGened(String gened) {
+        return byGened.getOrDefault(gened, List.of());
+    }
+
+    /** Returns the Courses offered in a semester
+     *
+     * @param semester the semester
+     * @return an unmodifiable list of the Courses, empty if there are none
+     */
+    public List<Course> bySemester(Semester semester) {
+        return bySemester.getOrDefault(semester, List.of());
+    }
+
+    /** Returns the Courses worth a number of credits
+     *
+     * @param credits the number of credits
+     * @return an unmodifiable list of the Courses, empty if there are none
+     */
+    public List<Course> byCredits(int credits) {
+        return byCredits.getOrDefault(credits, List.of());
+    }
+
+    /** Returns the bitmaps of the catalog, for running CourseFilters
+     *
+     * @return the filter index of the catalog
+     */
+    public CourseFilterIndex filters() {
+        return filters;
+    }
+
+    /** Returns the requisite graph of the catalog, with the ancestors of every Course. Lookups
+     * and filters do not need it, so it is only built the first time it is asked for.
+     *
+     * @return the requisite graph of the catalog
+     */
+    public RequisiteGraph requisites() {
+        RequisiteGraph graph = requisites;
+        if (graph == null) {
+            synchronized (this) {
+                graph = requisites;
+                if (graph == null) {
+                    graph = new RequisiteGraph(views.stream().map(CourseView::course).toList(),
+                                               requisiteEdges);
+                    requisites = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /** Returns the typeahead search index of the catalog. It is only built the first time it is
+     * asked for (the CatalogService builds it before making a snapshot current).
+     *
+     * @return the search index of the catalog
+     */
+    public CourseSearchIndex search() {
+        CourseSearchIndex index = search;
+        if (index == null) {
+            synchronized (this) {
+                index = search;
+                if (index == null) {
+                    index = new CourseSearchIndex(views);
+                    search = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /** Returns the Courses matching a filter with the highest average GPAs
+     *
+     * @param filter the filter
+     * @param limit the maximum number of Courses returned
+     * @return at most limit matching Courses, by decreasing average GPA
+     */
+    public List<Course> filter(CourseFilter filter, int limit) {
+        return filters.top(filter.matches(filters), limit);
+    }
+
+    private static <V> NavigableMap<String, V> prefixRange(NavigableMap<String, V> index, String prefix) {
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /* Makes the posting lists of an index immutable */
+    private static <M extends Map<?, List<Course>>> M freeze(M index) {
+        index.replaceAll((key, courses) -> List.copyOf(courses));
+        return index;
+    }
+}
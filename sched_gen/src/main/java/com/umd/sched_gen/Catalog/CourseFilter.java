@@ -0,0 +1,100 @@
+package com.umd.sched_gen.Catalog;
+
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.BitSet;
+import java.util.List;
+
+/** A predicate over Courses, compiled to bitmap operations on a CourseFilterIndex: each leaf is a
+ * prebuilt bitmap of the index, and and/or/not combine bitmaps a word at a time instead of
+ * testing Courses one by one.
+ */
+@FunctionalInterface
+public interface CourseFilter {
+
+    /** Evaluates the filter
+     *
+     * @param index the bitmaps of the catalog
+     * @return a new bitmap of the matching Courses, which the caller is free to modify
+     */
+    BitSet matches(CourseFilterIndex index);
+
+    /** Matches every Course */
+    static CourseFilter any() {
+        return CourseFilterIndex::all;
+    }
+
+    /** Matches the Courses of a department (ie: CMSC) */
+    static CourseFilter dept(String deptId) {
+        return index -> index.dept(deptId);
+    }
+
+    /** Matches the Courses that can fulfill a gen ed (ie: DSHS) */
+    static CourseFilter gened(String gened) {
+        return index -> index.gened(gened);
+    }
+
+    /** Matches the Courses offered in a semester */
+    static CourseFilter semester(Semester semester) {
+        return index -> index.semester(semester);
+    }
+
+    /** Matches the Courses worth a number of credits */
+    static CourseFilter credits(int credits) {
+        return index -> index.credits(credits);
+    }
+
+    /** Matches the Courses that have enrollment restrictions */
+    static CourseFilter restricted() {
+        return CourseFilterIndex::restricted;
+    }
+
+    /** Matches the Courses whose average GPA is between min and max (both included) */
+    static CourseFilter gpaBetween(float min, float max) {
+        return index -> index.gpaBetween(min, max);
+    }
+
+    /** Matches the Courses matched by every filter (every Course if there are none) */
+    static CourseFilter and(List<CourseFilter> filters) {
+        return index -> {
+            if (filters.isEmpty()) {
+                return index.all();
+            }
+            BitSet result = filters.get(0).matches(index);
+            for (int i = 1; i < filters.size() && !result.isEmpty(); i++) {
+                result.and(filters.get(i).matches(index));
+            }
+            return result;
+        };
+    }
+
+    /** Matches the Courses matched by any of the filters (no Course if there are none) */
+    static CourseFilter or(List<CourseFilter> filters) {
+        return index -> {
+            BitSet result = new BitSet(index.size());
+            for (CourseFilter filter : filters) {
+                result.or(filter.matches(index));
+            }
+            return result;
+        };
+    }
+
+    /** Matches the Courses not matched by a filter */
+    static CourseFilter not(CourseFilter filter) {
+        return index -> {
+            BitSet result = index.all();
+            result.andNot(filter.matches(index));
+            return result;
+        };
+    }
+
+    /** Matches the Courses matched by both this filter and another */
+    default CourseFilter and(CourseFilter other) {
+        return and(List.of(this, other));
+    }
+
+    /** Matches the Courses matched by this filter or another */
+    default CourseFilter or(CourseFilter other) {
+        return or(List.of(this, other));
+    }
+}
@@ -0,0 +1,191 @@
+package com.umd.sched_gen.Catalog;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** One bitmap per attribute value of the catalog (department, gen ed code, semester, credits,
+ * whether there are restrictions), which CourseFilters combine with AND/OR/NOT. Courses are
+ * numbered in order of decreasing average GPA, so the first set bits of a result are its top
+ * Courses by GPA and every GPA range is a contiguous run of bits. Built once per CatalogSnapshot
+ * and never modified: every bitmap handed out is a copy.
+ */
+public class CourseFilterIndex {
+    private final List<Course> courses;     /* Ordered by decreasing average GPA */
+    private final float[] gpas;             /* gpas[i] is the average GPA of courses.get(i) */
+    private final BitSet all;
+    private final BitSet restricted;
+    private final Map<String, BitSet> byDept = new HashMap<>();
+    private final Map<String, BitSet> byGened = new HashMap<>();
+    private final Map<Semester, BitSet> bySemester = new EnumMap<>(Semester.class);
+    private final Map<Integer, BitSet> byCredits = new HashMap<>();
+
+    /** Builds the bitmaps of a catalog
+     *
+     * @param catalog the view of every Course of the catalog
+     */
+    public CourseFilterIndex(List<CourseView> catalog) {
+        List<CourseView> ordered = new ArrayList<>(catalog);
+        ordered.sort(Comparator.comparingDouble(CourseView::averageGpa).reversed()
+            .thenComparing(CourseView::courseId));
+        List<Course> byGpa = new ArrayList<>(ordered.size());
+        this.gpas = new float[ordered.size()];
+        this.all = new BitSet(ordered.size());
+        this.restricted = new BitSet(ordered.size());
+        all.set(0, ordered.size());
+
+        for (int i = 0; i < ordered.size(); i++) {
+            CourseView view = ordered.get(i);
+            byGpa.add(view.course());
+            gpas[i] = view.averageGpa();
+            if (view.deptId() != null) {
+                byDept.computeIfAbsent(view.deptId(), k -> new BitSet()).set(i);
+            }
+            for (String gened : view.genedCodes()) {
+                byGened.computeIfAbsent(gened, k -> new BitSet()).set(i);
+            }
+            for (Semester semester : Semester.values()) {
+                if (view.offeredIn(semester)) {
+                    bySemester.computeIfAbsent(semester, k -> new BitSet()).set(i);
+                }
+            }
+            byCredits.computeIfAbsent(view.credits(), k -> new BitSet()).set(i);
+            if (view.restricted()) {
+                restricted.set(i);
+            }
+        }
+        this.courses = List.copyOf(byGpa);
+    }
+
+    /** Returns the number of Courses indexed
+     *
+     * @return the catalog size
+     */
+    public int size() {
+        return courses.size();
+    }
+
+    /** Returns a bitmap of every Course
+     *
+     * @return a new bitmap with every bit set
+     */
+    public BitSet all() {
+        return (BitSet) all.clone();
+    }
+
+    /** Returns a bitmap of the Courses of a department
+     *
+     * @param deptId the department ID (ie: CMSC)
+     * @return a new bitmap, empty if there are no such Courses
+     */
+    public BitSet dept(String deptId) {
+        return copy(byDept.get(deptId));
+    }
+
+    /** Returns a bitmap of the Courses that can fulfill a gen ed
+     *
+     * @param gened the gen ed code (ie: DSHS)
+     * @return a new bitmap, empty if there are no such Courses
+     */
+    public BitSet gened(String gened) {
+        return copy(byGened.get(gened));
+    }
+
+    /** Returns a bitmap of the Courses offered in a semester
+     *
+     * @param semester the semester
+     * @return a new bitmap, empty if there are no such Courses
+     */
+    public BitSet semester(Semester semester) {
+        return copy(bySemester.get(semester));
+    }
+
+    /** Returns a bitmap of the Courses worth a number of credits
+     *
+     * @param credits the number of credits
+     * @return a new bitmap, empty if there are no such Courses
+     */
+    public BitSet credits(int credits) {
+        return copy(byCredits.get(credits));
+    }
+
+    /** Returns a bitmap of the Courses that have enrollment restrictions
+     *
+     * @return a new bitmap
+     */
+    public BitSet restricted() {
+        return (BitSet) restricted.clone();
+    }
+
+    /** Returns a bitmap of the Courses whose average GPA is in a range. Since Courses are numbered
+     * by decreasing GPA, this is a single run of bits found by binary search.
+     *
+     * @param min the lowest average GPA included
+     * @param max the highest average GPA included
+     * @return a new bitmap, empty if there are no such Courses
+     */
+    public BitSet gpaBetween(float min, float max) {
+        BitSet range = new BitSet(courses.size());
+        int from = firstAtMost(max);
+        int to = firstBelow(min);
+        if (from < to) {
+            range.set(from, to);
+        }
+        return range;
+    }
+
+    /** Returns the Courses of a bitmap with the highest average GPAs
+     *
+     * @param matches the bitmap of Courses
+     * @param limit the maximum number of Courses returned
+     * @return at most limit Courses, by decreasing average GPA
+     */
+    public List<Course> top(BitSet matches, int limit) {
+        List<Course> top = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        for (int i = matches.nextSetBit(0); i >= 0 && top.size() < limit; i = matches.nextSetBit(i + 1)) {
+            top.add(courses.get(i));
+        }
+        return top;
+    }
+
+    /* Index of the first Course with an average GPA of at most gpa */
+    private int firstAtMost(float gpa) {
+        int low = 0;
+        int high = gpas.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (gpas[mid] > gpa) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /* Index of the first Course with an average GPA below gpa */
+    private int firstBelow(float gpa) {
+        int low = 0;
+        int high = gpas.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (gpas[mid] >= gpa) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static BitSet copy(BitSet bitmap) {
+        return bitmap == null ? new BitSet() : (BitSet) bitmap.clone();
+    }
+}
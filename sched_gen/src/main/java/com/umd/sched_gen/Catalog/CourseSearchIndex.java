@@ -0,0 +1,318 @@
+package com.umd.sched_gen.Catalog;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/** A typeahead search index over the Courses of a CatalogSnapshot, answering from memory only.
+ * - Course ID prefixes (which include department prefixes, ie: "CMS" or "cmsc 13"): the course
+ *   IDs are held sorted, so the Courses starting with a prefix are a contiguous range found with
+ *   two binary searches, like a walk down a trie of the IDs but without any nodes.
+ * - Words of course names and restrictions: an inverted index of the trigrams of every word
+ *   (padded, ie: "data" is $da, dat, ata, ta$), ranked with BM25, so misspelled or partly typed
+ *   words still match most of their trigrams. The last word of a query is treated as a prefix
+ *   (no trailing pad). A Course matches if either field holds at least MIN_MATCHED of the
+ *   query's trigrams, so a trigram shared by chance (ie: "ien" of science and oriented) is not
+ *   enough. Restrictions count for RESTRICTIONS_WEIGHT of names.
+ * Courses are numbered as in the snapshot (in order of course ID). Immutable and safe for
+ * concurrent use; each thread keeps its own score buffer.
+ */
+public class CourseSearchIndex {
+    /** How much a match in the restrictions counts compared to one in the name */
+    public static final float RESTRICTIONS_WEIGHT = 0.25F;
+    /** The share of the trigrams of a query a field must hold for its Course to match */
+    public static final float MIN_MATCHED = 0.5F;
+
+    private static final float K1 = 1.2F;
+    private static final float B = 0.75F;
+
+    private final List<CourseView> views;
+    private final String[] courseIds;       /* In order of course ID, as the views */
+    private final Field names;
+    private final Field restrictions;
+    private final ThreadLocal<Scores> scores;
+
+    /** A search result: a Course, whether its course ID starts with the query, and its BM25 score
+     * against the words of the query (0 for course ID matches)
+     *
+     * @param courseId the course ID of the Course
+     * @param name the name of the Course
+     * @param idMatch whether the course ID starts with the query
+     * @param score the BM25 score of the Course
+     */
+    public record Hit(@JsonProperty("course_id") String courseId, String name,
+                      @JsonProperty("id_match") boolean idMatch, float score) {}
+
+    /** Builds the index of a catalog
+     *
+     * @param views the views of every Course of the catalog, in order of course ID
+     */
+    public CourseSearchIndex(List<CourseView> views) {
+        this.views = views;
+        this.courseIds = new String[views.size()];
+        List<String> nameTexts = new ArrayList<>(views.size());
+        List<String> restrictionTexts = new ArrayList<>(views.size());
+        for (int i = 0; i < courseIds.length; i++) {
+            CourseView view = views.get(i);
+            courseIds[i] = view.courseId();
+            nameTexts.add(view.course().getName());
+            restrictionTexts.add(view.course().getRestrictions());
+        }
+        this.names = new Field(nameTexts);
+        this.restrictions = new Field(restrictionTexts);
+        int size = courseIds.length;
+        this.scores = ThreadLocal.withInitial(() -> new Scores(size));
+    }
+
+    /** Searches the catalog: Courses whose course ID starts with the query first (in order of
+     * course ID), then the Courses whose name or restrictions best match the words of the query
+     *
+     * @param query the query, as typed
+     * @param limit the maximum number of hits
+     * @return the hits, best first
+     */
+    public List<Hit> search(String query, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        if (query == null || query.isBlank() || limit <= 0) {
+            return hits;
+        }
+        int[] range = idRange(query);
+        for (int i = range[0]; i < range[1] && hits.size() < limit; i++) {
+            hits.add(hit(i, true, 0));
+        }
+        if (hits.size() == limit) {
+            return hits;
+        }
+
+        List<String> terms = queryTerms(query);
+        Scores buffer = scores.get();
+        try {
+            names.score(terms, 1, 0, buffer);
+            restrictions.score(terms, RESTRICTIONS_WEIGHT, 1, buffer);
+            int minMatched = Math.max(1, (int) Math.ceil(terms.size() * MIN_MATCHED));
+            int wanted = limit - hits.size();
+            /* The lowest of the best scores on top, ties to the highest course number */
+            PriorityQueue<Integer> best = new PriorityQueue<>(wanted + 1, (a, b) -> {
+                int byScore = Float.compare(buffer.scores[a], buffer.scores[b]);
+                return byScore != 0 ? byScore : Integer.compare(b, a);
+            });
+            for (int t = 0; t < buffer.touchedCount; t++) {
+                int doc = buffer.touched[t];
+                if (doc >= range[0] && doc < range[1]) {
+                    continue;   /* Already a course ID match */
+                }
+                if (buffer.matched[0][doc] < minMatched && buffer.matched[1][doc] < minMatched) {
+                    continue;
+                }
+                best.add(doc);
+                if (best.size() > wanted) {
+                    best.poll();
+                }
+            }
+            Hit[] ranked = new Hit[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                int doc = best.poll();
+                ranked[i] = hit(doc, false, buffer.scores[doc]);
+            }
+            hits.addAll(Arrays.asList(ranked));
+        } finally {
+            buffer.clear();
+        }
+        return hits;
+    }
+
+    private Hit hit(int doc, boolean idMatch, float score) {
+        CourseView view = views.get(doc);
+        return new Hit(view.courseId(), view.course().getName(), idMatch, score);
+    }
+
+    /* The range of course numbers whose course ID starts with the query (spaces removed, upper
+     * case), empty unless the query could be the start of a course ID */
+    private int[] idRange(String query) {
+        String prefix = query.replace(" ", "").toUpperCase(Locale.ROOT);
+        if (prefix.isEmpty() || !Character.isLetter(prefix.charAt(0))) {
+            return new int[] {0, 0};
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (!Character.isLetterOrDigit(prefix.charAt(i))) {
+                return new int[] {0, 0};
+            }
+        }
+        return new int[] {lowerBound(prefix), lowerBound(prefix + Character.MAX_VALUE)};
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = courseIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (courseIds[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /* The distinct trigrams of a query, the last word as a prefix unless followed by a space */
+    static List<String> queryTerms(String query) {
+        List<String> words = words(query);
+        Set<String> terms = new LinkedHashSet<>();
+        boolean lastIsPrefix = !query.isEmpty()
+            && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        for (int w = 0; w < words.size(); w++) {
+            boolean prefix = lastIsPrefix && w == words.size() - 1;
+            trigrams(words.get(w), prefix, terms);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /* The lower case words (runs of letters and digits) of a text */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /* Adds the trigrams of a word padded with $ (only at the start for a prefix) */
+    static void trigrams(String word, boolean prefix, Collection<String> out) {
+        String padded = "$" + word + (prefix ? "" : "$");
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            out.add(padded.substring(i, i + 3));
+        }
+    }
+
+    /* The per-thread BM25 accumulator: a score per course, the number of query trigrams each
+     * field of a course holds, and the courses scored so far, reset after every search so only
+     * the courses touched are cleared */
+    private static final class Scores {
+        private final float[] scores;
+        private final short[][] matched;
+        private final int[] touched;
+        private int touchedCount;
+
+        Scores(int size) {
+            this.scores = new float[size];
+            this.matched = new short[2][size];
+            this.touched = new int[size];
+        }
+
+        void add(int doc, int field, float score) {
+            if (scores[doc] == 0) {
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+            matched[field][doc]++;
+        }
+
+        void clear() {
+            for (int t = 0; t < touchedCount; t++) {
+                int doc = touched[t];
+                scores[doc] = 0;
+                matched[0][doc] = 0;
+                matched[1][doc] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /* The trigram inverted index of one text field: for every trigram, the courses containing
+     * it and how many times, and the BM25 length norm of every course */
+    private static final class Field {
+        private final Map<String, Integer> terms = new HashMap<>();
+        private final int[][] docs;
+        private final int[][] counts;
+        private final float[] norms;        /* K1 * (1 - B + B * length / average length) */
+        private final int size;
+
+        Field(List<String> texts) {
+            size = texts.size();
+            List<int[]> docLists = new ArrayList<>();
+            List<int[]> countLists = new ArrayList<>();
+            List<Integer> used = new ArrayList<>();
+            int[] lengths = new int[size];
+            long total = 0;
+            Map<String, Integer> docTerms = new HashMap<>();
+            for (int doc = 0; doc < size; doc++) {
+                docTerms.clear();
+                List<String> trigrams = new ArrayList<>();
+                for (String word : words(texts.get(doc))) {
+                    trigrams(word, false, trigrams);
+                }
+                for (String trigram : trigrams) {
+                    docTerms.merge(trigram, 1, Integer::sum);
+                }
+                lengths[doc] = trigrams.size();
+                total += trigrams.size();
+                for (Map.Entry<String, Integer> entry : docTerms.entrySet()) {
+                    int term = terms.computeIfAbsent(entry.getKey(), k -> {
+                        docLists.add(new int[4]);
+                        countLists.add(new int[4]);
+                        used.add(0);
+                        return docLists.size() - 1;
+                    });
+                    int n = used.get(term);
+                    if (n == docLists.get(term).length) {
+                        docLists.set(term, Arrays.copyOf(docLists.get(term), n * 2));
+                        countLists.set(term, Arrays.copyOf(countLists.get(term), n * 2));
+                    }
+                    docLists.get(term)[n] = doc;
+                    countLists.get(term)[n] = entry.getValue();
+                    used.set(term, n + 1);
+                }
+            }
+            docs = new int[docLists.size()][];
+            counts = new int[docLists.size()][];
+            for (int term = 0; term < docs.length; term++) {
+                docs[term] = Arrays.copyOf(docLists.get(term), used.get(term));
+                counts[term] = Arrays.copyOf(countLists.get(term), used.get(term));
+            }
+            float average = size == 0 ? 1 : Math.max(1, (float) total / size);
+            norms = new float[size];
+            for (int doc = 0; doc < size; doc++) {
+                norms[doc] = K1 * (1 - B + B * lengths[doc] / average);
+            }
+        }
+
+        /* Adds the weighted BM25 score of every course containing any of the terms */
+        void score(List<String> queryTerms, float weight, int field, Scores out) {
+            for (String trigram : queryTerms) {
+                Integer term = terms.get(trigram);
+                if (term == null) {
+                    continue;
+                }
+                int[] termDocs = docs[term];
+                int[] termCounts = counts[term];
+                float idf = weight * (float) Math.log(1 + (size - termDocs.length + 0.5)
+                                                          / (termDocs.length + 0.5));
+                for (int i = 0; i < termDocs.length; i++) {
+                    int doc = termDocs[i];
+                    int count = termCounts[i];
+                    out.add(doc, field, idf * count * (K1 + 1) / (count + norms[doc]));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.umd.sched_gen.Catalog;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.List;
+
+/** A read-only view of a Course in a CatalogSnapshot, for the code that reads the catalog over and
+ * over (filters, plan generation). Everything is flattened when the snapshot is built, so reading
+ * a view never allocates, unlike the getters of Course, which hand out copies: semesters are a
+ * bitmask (see {@link Semester#bit()}), and the gen ed codes an immutable list of strings shared
+ * by every view with the same codes.
+ */
+public final class CourseView {
+    private final int number;
+    private final Course course;
+    private final String courseId;
+    private final String deptId;
+    private final int credits;
+    private final float averageGpa;
+    private final int semesters;            /* Semester bitmask */
+    private final List<String> genedCodes;
+    private final boolean restricted;
+
+    CourseView(int number, Course course, int semesters, List<String> genedCodes) {
+        this.number = number;
+        this.course = course;
+        this.courseId = course.getCourseId();
+        this.deptId = course.getDeptId();
+        this.credits = course.getCredits();
+        this.averageGpa = course.getAverageGPA();
+        this.semesters = semesters;
+        this.genedCodes = genedCodes;
+        this.restricted = course.getRestrictions() != null && !course.getRestrictions().isBlank();
+    }
+
+    /** Returns the number of the Course in its snapshot: its position in order of course ID, the
+     * same number the RequisiteGraph knows it by
+     *
+     * @return the number of the Course
+     */
+    public int number() {
+        return number;
+    }
+
+    /** Returns the Course itself, which is shared and must not be modified
+     *
+     * @return the Course
+     */
+    public Course course() {
+        return course;
+    }
+
+    /** Returns the course ID (ie: CMSC131)
+     *
+     * @return the course ID
+     */
+    public String courseId() {
+        return courseId;
+    }
+
+    /** Returns the department ID (ie: CMSC)
+     *
+     * @return the department ID, null if unknown
+     */
+    public String deptId() {
+        return deptId;
+    }
+
+    /** Returns the number of credits
+     *
+     * @return the number of credits
+     */
+    public int credits() {
+        return credits;
+    }
+
+    /** Returns the average GPA
+     *
+     * @return the average GPA, 0 if unknown
+     */
+    public float averageGpa() {
+        return averageGpa;
+    }
+
+    /** Returns the semesters the Course is offered in
+     *
+     * @return a semester bitmask, 0 if the Course was not offered last year
+     */
+    public int semesters() {
+        return semesters;
+    }
+
+    /** Checks whether the Course is offered in a semester
+     *
+     * @param semester the semester
+     * @return true if it is offered in the semester
+     */
+    public boolean offeredIn(Semester semester) {
+        return semester.in(semesters);
+    }
+
+    /** Returns the gen ed codes the Course can fulfill (see {@link CatalogSnapshot#genedCodes})
+     *
+     * @return an unmodifiable list of the codes
+     */
+    public List<String> genedCodes() {
+        return genedCodes;
+    }
+
+    /** Checks whether the Course has enrollment restrictions
+     *
+     * @return true if it has restrictions
+     */
+    public boolean restricted() {
+        return restricted;
+    }
+}
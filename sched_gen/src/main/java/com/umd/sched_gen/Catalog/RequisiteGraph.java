@@ -0,0 +1,245 @@
+package com.umd.sched_gen.Catalog;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Requisite;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** The requisite graph of a catalog: every Course's parsed prereq and coreq expressions, and the
+ * transitive closure of its requisites as a bitmap of ancestors. Built once per CatalogSnapshot
+ * from the stored expressions, so "what do I need before X" is a single lookup rather than a
+ * recursive walk through lazily loaded Courses. Courses are numbered in order of course ID.
+ */
+public class RequisiteGraph {
+    private static final int[] NONE = new int[0];
+
+    private final List<String> courseIds;
+    private final Map<String, Integer> numbers = new HashMap<>();
+    private final Requisite[] prereqs;
+    private final Requisite[] coreqs;
+    private final int[][] direct;       /* Courses named in the prereqs or coreqs, in the catalog */
+    private final BitSet[] ancestors;   /* Transitive closure of direct */
+
+    /** Builds the graph of a catalog
+     *
+     * @param catalog every Course of the catalog, in order of course ID
+     */
+    public RequisiteGraph(List<Course> catalog) {
+        this(catalog, null);
+    }
+
+    /* Builds the graph of a catalog with its direct requisites already known (as read from a
+     * catalog file), or looks them up if they are null */
+    RequisiteGraph(List<Course> catalog, int[][] edges) {
+        int n = catalog.size();
+        this.courseIds = new ArrayList<>(n);
+        this.prereqs = new Requisite[n];
+        this.coreqs = new Requisite[n];
+        this.direct = new int[n][];
+        for (int i = 0; i < n; i++) {
+            courseIds.add(catalog.get(i).getCourseId());
+            numbers.put(catalog.get(i).getCourseId(), i);
+        }
+        for (int i = 0; i < n; i++) {
+            Course course = catalog.get(i);
+            prereqs[i] = Requisite.parse(course.getPrereqExpression());
+            coreqs[i] = Requisite.parse(course.getCoreqExpression());
+            if (edges != null) {
+                direct[i] = edges[i];
+                continue;
+            }
+            BitSet requisites = new BitSet();
+            link(requisites, prereqs[i]);
+            link(requisites, coreqs[i]);
+            requisites.clear(i);
+            direct[i] = requisites.isEmpty() ? NONE : requisites.stream().toArray();
+        }
+        this.ancestors = closure(direct);
+    }
+
+    /** Returns the number a Course is known by in the bitmaps of the graph
+     *
+     * @param courseId the course ID
+     * @return the number of the Course, or -1 if it is not in the catalog
+     */
+    public int number(String courseId) {
+        return numbers.getOrDefault(courseId, -1);
+    }
+
+    /** Returns the course ID of a Course by its number
+     *
+     * @param number the number of the Course
+     * @return the course ID
+     */
+    public String courseId(int number) {
+        return courseIds.get(number);
+    }
+
+    /** Returns the number of Courses in the graph
+     *
+     * @return the catalog size
+     */
+    public int size() {
+        return courseIds.size();
+    }
+
+    /** Returns the parsed prerequisites of a Course
+     *
+     * @param courseId the course ID
+     * @return the prerequisite expression, or null if there are none
+     */
+    public Requisite prereqs(String courseId) {
+        int number = number(courseId);
+        return number < 0 ? null : prereqs[number];
+    }
+
+    /** Returns the parsed corequisites of a Course
+     *
+     * @param courseId the course ID
+     * @return the corequisite expression, or null if there are none
+     */
+    public Requisite coreqs(String courseId) {
+        int number = number(courseId);
+        return number < 0 ? null : coreqs[number];
+    }
+
+    /** Returns every Course that may be needed before (or, for coreqs, with) a Course: its
+     * requisites, their requisites and so on. Alternatives are all included, so a Course with
+     * "A or B" has both A and B as ancestors.
+     *
+     * @param number the number of the Course
+     * @return a new bitmap of the ancestors, by Course number
+     */
+    public BitSet ancestors(int number) {
+        return (BitSet) ancestors[number].clone();
+    }
+
+    /** Returns the course IDs of every Course that may be needed before a Course (see
+     * {@link #ancestors(int)})
+     *
+     * @param courseId the course ID
+     * @return the ancestors in order of course ID, empty if the Course is not in the catalog
+     */
+    public List<String> ancestors(String courseId) {
+        int number = number(courseId);
+        List<String> result = new ArrayList<>();
+        if (number < 0) {
+            return result;
+        }
+        BitSet bits = ancestors[number];
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(courseIds.get(i));
+        }
+        return result;
+    }
+
+    /** Returns the Courses directly named in a Course's prereqs or coreqs
+     *
+     * @param number the number of the Course
+     * @return a new bitmap of the direct requisites, by Course number
+     */
+    public BitSet directRequisites(int number) {
+        BitSet requisites = new BitSet();
+        for (int requisite : direct[number]) {
+            requisites.set(requisite);
+        }
+        return requisites;
+    }
+
+    /** Returns how many Courses are directly named in a Course's prereqs or coreqs, for iterating
+     * over them with {@link #directRequisite(int, int)} without allocating
+     *
+     * @param number the number of the Course
+     * @return the number of direct requisites
+     */
+    public int directRequisiteCount(int number) {
+        return direct[number].length;
+    }
+
+    /** Returns one of the Courses directly named in a Course's prereqs or coreqs
+     *
+     * @param number the number of the Course
+     * @param index the index of the requisite, from 0 to directRequisiteCount(number) - 1
+     * @return the number of the requisite, requisites come in increasing order
+     */
+    public int directRequisite(int number, int index) {
+        return direct[number][index];
+    }
+
+    private void link(BitSet edges, Requisite requisite) {
+        if (requisite == null) {
+            return;
+        }
+        for (String courseId : requisite.courseIds()) {
+            Integer number = numbers.get(courseId);
+            if (number != null) {
+                edges.set(number);
+            }
+        }
+    }
+
+    /* Ancestors of every node, requisites first (Kahn's order) so each node is finished by the
+     * time anything depends on it. Nodes on a cycle (mutual coreqs) are left over; passes over
+     * them repeat until nothing changes. */
+    private static BitSet[] closure(int[][] direct) {
+        int n = direct.length;
+        int[] pending = new int[n];
+        List<List<Integer>> dependents = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            pending[i] = direct[i].length;
+            for (int j : direct[i]) {
+                dependents.get(j).add(i);
+            }
+        }
+
+        BitSet[] ancestors = new BitSet[n];
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            ancestors[i] = new BitSet();
+            for (int j : direct[i]) {
+                ancestors[i].set(j);
+            }
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+        BitSet done = new BitSet(n);
+        while (!ready.isEmpty()) {
+            int node = ready.poll();
+            done.set(node);
+            for (int j : direct[node]) {
+                ancestors[node].or(ancestors[j]);
+            }
+            for (int dependent : dependents.get(node)) {
+                if (--pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        boolean changed = done.cardinality() < n;
+        while (changed) {
+            changed = false;
+            for (int node = done.nextClearBit(0); node < n; node = done.nextClearBit(node + 1)) {
+                int before = ancestors[node].cardinality();
+                for (int j : direct[node]) {
+                    ancestors[node].or(ancestors[j]);
+                }
+                changed |= ancestors[node].cardinality() != before;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            ancestors[i].clear(i);
+        }
+        return ancestors;
+    }
+}
@@ -3,14 +3,28 @@ package com.umd.sched_gen.Courses;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /** A Course represents a University of Maryland course and defines the Course structure in the
- * courses table of the database */
+ * courses table of the database. The semesters and gen eds are also kept one row per value in the
+ * course_semester and course_gened tables, so the database can filter on them with an index (see
+ * {@link CourseRepository}) instead of deserializing every row. */
 @Entity
 @Table(name = "courses", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"Course", "Course Name"})
+}, indexes = {
+    @Index(name = "idx_courses_course", columnList = "Course"),
+    @Index(name = "idx_courses_department", columnList = "Department, Course"),
+    @Index(name = "idx_courses_average_gpa", columnList = "`Average GPA`")
 })
 public class Course {
 
@@ -58,6 +72,24 @@ public class Course {
     @JsonProperty("gen_ed")
     private List<List<String>> geneds;
     
+    /* The semesters and gen ed codes above as rows of their own, kept in sync by their setters and
+     * only read by queries (never loaded along with the Course). The primary keys index them by
+     * course, the indexes below by value. */
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "course_semester", joinColumns = @JoinColumn(name = "course_id"),
+        indexes = @Index(name = "idx_course_semester", columnList = "semester, course_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "semester", nullable = false, length = 8)
+    private Set<Semester> offeredIn = new HashSet<>();
+
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "course_gened", joinColumns = @JoinColumn(name = "course_id"),
+        indexes = @Index(name = "idx_course_gened", columnList = "gened, course_id"))
+    @Column(name = "gened", nullable = false, length = 16)
+    private Set<String> genedCodes = new HashSet<>();
+
     /* Average GPA data from planetterp */
     @Column(name = "Average GPA")
     @JsonProperty("average_gpa")
@@ -72,6 +104,16 @@ public class Course {
     @Column(columnDefinition = "TEXT")
     private String coreqsString;
 
+    /* Canonical AND/OR expressions parsed from the strings above (see Requisite), kept in sync by
+     * their setters so they are parsed once at ingest rather than on every read */
+    @JsonIgnore
+    @Column(name = "Prereq Expression", columnDefinition = "TEXT")
+    private String prereqExpression;
+
+    @JsonIgnore
+    @Column(name = "Coreq Expression", columnDefinition = "TEXT")
+    private String coreqExpression;
+
     /* Formatted prereqs */
     @JsonIgnore
     @ManyToMany
@@ -101,6 +143,11 @@ public class Course {
     @JsonProperty("credit_granted_for")
     private String creditGrantedFor;
 
+    /* Hash of the fields above, used to tell whether a re-fetched course has changed */
+    @JsonIgnore
+    @Column(name = "Content Hash")
+    private long contentHash;
+
     /* Default constructor needed */
     protected Course() {}
 
@@ -156,7 +203,7 @@ public class Course {
      * @return a list of semesters the Course is offered in
      */
     public ArrayList<String> getSemesters() {
-        return new ArrayList<>(semesters);
+        return semesters == null ? new ArrayList<>() : new ArrayList<>(semesters);
     }
 
     /** Returns how many semesters the Course is offered in per year (1-4)
@@ -210,13 +257,31 @@ public class Course {
         return coreqsString;
     }
 
+    /** Returns the prerequisites of the Course as a canonical expression over course IDs (ie:
+     * "CMSC132 and (MATH140 or MATH141)"), parsed from the prerequisites description
+     * 
+     * @return the prerequisite expression, or null if no course is a prerequisite
+     */
+    public String getPrereqExpression() {
+        return prereqExpression;
+    }
+
+    /** Returns the corequisites of the Course as a canonical expression over course IDs, parsed
+     * from the corequisites description
+     * 
+     * @return the corequisite expression, or null if no course is a corequisite
+     */
+    public String getCoreqExpression() {
+        return coreqExpression;
+    }
+
     /** Returns a list of Courses that are prerequisites of this Course. Prerequisites are Courses
      * that must be taken in semesters before the current one.
      * 
      * @return a list of Courses that are prerequisites of this Course
      */
     public List<Course> getPrereqs() {
-        return new ArrayList<>(prereqs);
+        return prereqs == null ? new ArrayList<>() : new ArrayList<>(prereqs);
     }
 
     /** Returns a list of Courses that are corequisites of this Course. Corequisites are Courses
@@ -225,7 +290,7 @@ public class Course {
      * @return a list of Courses that are corequisites of this Course
     */
     public List<Course> getCoreqs() {
-        return new ArrayList<>(coreqs);
+        return coreqs == null ? new ArrayList<>() : new ArrayList<>(coreqs);
     }
 
     /** Returns a string description of the special restrictions of the Course
@@ -245,6 +310,43 @@ public class Course {
         return creditGrantedFor;
     }
 
+    /** Returns the content hash stored with the Course the last time it was saved (see
+     * {@link #computeContentHash()})
+     * 
+     * @return the stored content hash, 0 if the Course has never been saved
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /** Computes a hash over the content of the Course (every field except the ID and the
+     * requisite lists derived from the prereq/coreq strings). Two Courses with the same content
+     * hash hold the same data, so a re-fetched Course only needs to be written to the database if
+     * its content hash differs from the stored one.
+     * 
+     * @return a 64 bit hash of the content of the Course
+     */
+    public long computeContentHash() {
+        String content = String.join("\u0000", courseId, name, deptId, String.valueOf(credits),
+            String.valueOf(semesters), String.valueOf(numSemesters), String.valueOf(geneds),
+            String.valueOf(Float.floatToIntBits(averageGPA)), prereqsString, coreqsString,
+            restrictions, creditGrantedFor);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(content.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /* Keeps the stored content hash in sync whenever the Course is saved through JPA */
+    @PrePersist
+    @PreUpdate
+    void updateContentHash() {
+        this.contentHash = computeContentHash();
+    }
+
     /* Setters */
     /** Set the values of prereqsString, coreqsString, restrictions, and creditGrantedFor. Intended
      * for use by the API service/data initializer.
@@ -255,8 +357,8 @@ public class Course {
      */
     @JsonProperty("relationships")
     public void setRelationships(Relationships relationships) {
-        this.prereqsString = relationships.getprereqs();
-        this.coreqsString = relationships.getcoreqs();
+        setPrereqsString(relationships.getprereqs());
+        setCoreqsString(relationships.getcoreqs());
         this.restrictions = relationships.getRestrictions();
         this.creditGrantedFor = relationships.getCreditGrantedFor();
     }
@@ -309,6 +411,7 @@ public class Course {
     public void setSemesters(ArrayList<String> semesters) {
         this.semesters = new ArrayList<>(semesters);
         this.numSemesters = semesters.size();
+        this.offeredIn = new HashSet<>(semesters(semesters));
     }
 
     /** Sets the number of semesters the Course is offered in (effectively the size of the list
@@ -330,6 +433,7 @@ public class Course {
      * described above.
     */
     public void setGeneds(List<List<String>> genEd) {
+        this.genedCodes = new HashSet<>(genedCodes(genEd));
         if (genEd == null) {
             this.geneds = null;
         } else {
@@ -341,6 +445,46 @@ public class Course {
         }
     }
 
+    /** Returns the semesters of a list of semester names (ie: FALL), skipping any other string
+     *
+     * @param names the semester names
+     * @return the semesters, in the order of the list
+     */
+    public static Set<Semester> semesters(List<String> names) {
+        Set<Semester> semesters = new LinkedHashSet<>();
+        for (String name : names) {
+            for (Semester semester : Semester.values()) {
+                if (semester.name().equals(name)) {
+                    semesters.add(semester);
+                }
+            }
+        }
+        return semesters;
+    }
+
+    /** Returns the gen ed codes a list of gen eds (see {@link #setGeneds(List)}) can fulfill,
+     * ignoring the course they may need to be taken with (ie: [[X, Y], [Z|C]] fulfills X, Y and Z)
+     *
+     * @param geneds the gen eds, or null
+     * @return the gen ed codes, in the order of the list
+     */
+    public static Set<String> genedCodes(List<List<String>> geneds) {
+        Set<String> codes = new LinkedHashSet<>();
+        if (geneds == null) {
+            return codes;
+        }
+        for (List<String> group : geneds) {
+            for (String gened : group) {
+                int pipe = gened.indexOf('|');
+                String code = (pipe < 0 ? gened : gened.substring(0, pipe)).trim();
+                if (!code.isEmpty()) {
+                    codes.add(code);
+                }
+            }
+        }
+        return codes;
+    }
+
     /** Sets the average GPA of the Course, represented as a float with 2 decimal places
      * 
      * @param averageGPA the new average GPA of the Course
@@ -355,6 +499,7 @@ public class Course {
     */
     public void setPrereqsString(String prereqs) {
         this.prereqsString = prereqs;
+        this.prereqExpression = Objects.toString(Requisite.parse(prereqs), null);
     }
 
     /** Sets a string description of the corequisites of the Course
@@ -363,6 +508,40 @@ public class Course {
     */
     public void setCoreqsString(String coreqs) {
         this.coreqsString = coreqs;
+        this.coreqExpression = Objects.toString(Requisite.parse(coreqs), null);
+    }
+
+    /** Sets the prerequisite and corequisite strings along with their already parsed expressions
+     * (ie: when restoring a Course from a catalog file), so they are not parsed again. The
+     * expressions must be the ones the setters above would derive from the strings.
+     *
+     * @param prereqs the string representing the prerequisites
+     * @param prereqExpression the canonical prerequisite expression, or null
+     * @param coreqs the string representing the corequisites
+     * @param coreqExpression the canonical corequisite expression, or null
+     */
+    public void setRequisites(String prereqs, String prereqExpression, String coreqs,
+                              String coreqExpression) {
+        this.prereqsString = prereqs;
+        this.prereqExpression = prereqExpression;
+        this.coreqsString = coreqs;
+        this.coreqExpression = coreqExpression;
+    }
+
+    /** Sets the Courses that are prerequisites of this Course (the course_prereqs join table)
+     * 
+     * @param prereqs the prerequisite Courses
+     */
+    public void setPrereqs(List<Course> prereqs) {
+        this.prereqs = prereqs == null ? null : new ArrayList<>(prereqs);
+    }
+
+    /** Sets the Courses that are corequisites of this Course (the course_coreqs join table)
+     * 
+     * @param coreqs the corequisite Courses
+     */
+    public void setCoreqs(List<Course> coreqs) {
+        this.coreqs = coreqs == null ? null : new ArrayList<>(coreqs);
     }
 
     /** Sets a string description of the special restrictions of the Course
@@ -394,6 +573,16 @@ public class Course {
             return false;
         }
         Course course = (Course)o;
-        return courseId.equals(course.getCourseId());
+        return Objects.equals(courseId, course.getCourseId());
+    }
+
+    /** Returns a hash code for this Course, consistent with {@link #equals(Object)} (only the
+     * Course ID is used)
+     *
+     * @return the hash code of this Course
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(courseId);
     }
 }
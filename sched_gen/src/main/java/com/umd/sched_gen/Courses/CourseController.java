@@ -0,0 +1,78 @@
+package com.umd.sched_gen.Courses;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.umd.sched_gen.BlockingExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/** REST endpoints reading Courses from the courses table. The JPA reads block, so they run on
+ * the {@link BlockingExecutor} (virtual threads when enabled and available), and the Tomcat
+ * thread serving the request is released while they wait on the database.
+ */
+@RestController
+@RequestMapping("/courses")
+public class CourseController {
+    /** The largest page of summaries returned at once */
+    public static final int MAX_PAGE = 1000;
+
+    private final CourseRepository courseRepository;
+    private final BlockingExecutor blockingExecutor;
+
+    /** Constructor defines explicit dependencies for this controller to run
+     *
+     * @param courseRepository handler of CRUD operations for the database
+     * @param blockingExecutor runs the database reads
+     */
+    public CourseController(CourseRepository courseRepository, BlockingExecutor blockingExecutor) {
+        this.courseRepository = courseRepository;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    /** Reads a Course, eg: /courses/ENGL142
+     *
+     * @param courseId the course ID of the Course
+     * @return the Course, or 404 if there is none
+     */
+    @GetMapping("/{courseId}")
+    public CompletableFuture<ResponseEntity<Course>> course(@PathVariable String courseId) {
+        return blockingExecutor.supply(() -> courseRepository.findByCourseId(courseId))
+            .thenApply(courses -> courses.isEmpty() ? ResponseEntity.notFound().build()
+                       : ResponseEntity.ok(courses.get(0)));
+    }
+
+    /** Reads a page of the summaries of the Courses of a department or fulfilling a gen ed (or of
+     * every Course), in order of course ID, eg: /courses?dept=CMSC&after=CMSC131&limit=50. The
+     * next page is read with after set to the last course ID of this one.
+     *
+     * @param dept the department, if any
+     * @param gened the gen ed code, if any and no department is given
+     * @param after the last course ID of the previous page, none for the first page
+     * @param limit the page size, at most MAX_PAGE
+     * @return the summaries
+     */
+    @GetMapping
+    public CompletableFuture<List<CourseSummary>> courses(
+            @RequestParam(required = false) String dept,
+            @RequestParam(required = false) String gened,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        Limit page = Limit.of(Math.max(1, Math.min(limit, MAX_PAGE)));
+        return blockingExecutor.supply(() -> {
+            if (dept != null) {
+                return courseRepository.findSummariesByDeptId(dept, after, page);
+            }
+            if (gened != null) {
+                return courseRepository.findSummariesByGened(gened, after, page);
+            }
+            return courseRepository.findSummaries(after, page);
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.umd.sched_gen.Courses;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/** Writes course summaries as a table, one row at a time as they are read, through a fixed-size
+ * buffer: memory use does not depend on the number of rows. The header row is flushed as soon as
+ * it is written, so the first bytes go out before the first row is read.
+ * - CSV: RFC 4180, quoting fields with commas, quotes or line breaks.
+ * - XLSX: a single sheet of inline strings and numbers, written straight into the zip as the
+ *   rows arrive (no shared string table, which would have to be held in memory).
+ */
+public final class CourseExport {
+    /** The size of the write buffer, in bytes */
+    public static final int BUFFER_SIZE = 8192;
+
+    private static final String[] HEADER =
+        {"course_id", "dept_id", "credits", "average_gpa", "semesters"};
+    private static final String XML =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String OPENXML = "http://schemas.openxmlformats.org/";
+    private static final String SHEET_NS = OPENXML + "spreadsheetml/2006/main";
+    private static final String RELS_NS = OPENXML + "package/2006/relationships";
+    private static final String DOC_RELS = OPENXML + "officeDocument/2006/relationships";
+
+    /** The formats courses can be exported in */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /** Returns the media type of the format
+         *
+         * @return the content type
+         */
+        public String contentType() {
+            return contentType;
+        }
+
+        /** Returns the file extension of the format
+         *
+         * @return the extension, without a dot
+         */
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private CourseExport() {}
+
+    /** Writes course summaries in a format. The output is flushed but not closed.
+     *
+     * @param format the format
+     * @param rows the summaries, read one at a time
+     * @param out the output
+     * @throws IOException if the output cannot be written
+     */
+    public static void write(Format format, Iterator<CourseSummary> rows, OutputStream out)
+            throws IOException {
+        if (format == Format.XLSX) {
+            xlsx(rows, out);
+        } else {
+            Writer writer = writer(out);
+            csv(rows, writer);
+            writer.flush();
+        }
+    }
+
+    private static void csv(Iterator<CourseSummary> rows, Writer out) throws IOException {
+        out.write(String.join(",", HEADER));
+        out.write("\r\n");
+        out.flush();
+        while (rows.hasNext()) {
+            CourseSummary row = rows.next();
+            out.write(csvField(row.courseId()));
+            out.write(',');
+            out.write(csvField(row.deptId()));
+            out.write(',');
+            out.write(Integer.toString(row.credits()));
+            out.write(',');
+            out.write(Float.toString(row.averageGpa()));
+            out.write(',');
+            out.write(csvField(String.join(" ", row.semesters())));
+            out.write("\r\n");
+        }
+    }
+
+    /* Quotes a field if needed, doubling its quotes */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    private static void xlsx(Iterator<CourseSummary> rows, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Writer writer = writer(zip);
+        entry(zip, writer, "[Content_Types].xml", XML
+            + "<Types xmlns=\"" + OPENXML + "package/2006/content-types\">"
+            + "<Default Extension=\"rels\" "
+            + "ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+            + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/"
+            + "vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+            + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/"
+            + "vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/></Types>");
+        entry(zip, writer, "_rels/.rels", XML + "<Relationships xmlns=\"" + RELS_NS + "\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + DOC_RELS + "/officeDocument\" "
+            + "Target=\"xl/workbook.xml\"/></Relationships>");
+        entry(zip, writer, "xl/workbook.xml", XML + "<workbook xmlns=\"" + SHEET_NS + "\" "
+            + "xmlns:r=\"" + DOC_RELS + "\"><sheets>"
+            + "<sheet name=\"Courses\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+        entry(zip, writer, "xl/_rels/workbook.xml.rels", XML + "<Relationships xmlns=\""
+            + RELS_NS + "\"><Relationship Id=\"rId1\" Type=\"" + DOC_RELS + "/worksheet\" "
+            + "Target=\"worksheets/sheet1.xml\"/></Relationships>");
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write(XML + "<worksheet xmlns=\"" + SHEET_NS + "\"><sheetData><row>");
+        for (String column : HEADER) {
+            textCell(writer, column);
+        }
+        writer.write("</row>");
+        writer.flush();
+        while (rows.hasNext()) {
+            CourseSummary row = rows.next();
+            writer.write("<row>");
+            textCell(writer, row.courseId());
+            textCell(writer, row.deptId());
+            numberCell(writer, Integer.toString(row.credits()));
+            numberCell(writer, Float.toString(row.averageGpa()));
+            textCell(writer, String.join(" ", row.semesters()));
+            writer.write("</row>");
+        }
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private static void entry(ZipOutputStream zip, Writer writer, String name, String content)
+            throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private static void textCell(Writer out, String value) throws IOException {
+        out.write("<c t=\"inlineStr\"><is><t>");
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&' -> out.write("&amp;");
+                    case '<' -> out.write("&lt;");
+                    case '>' -> out.write("&gt;");
+                    default -> out.write(c);
+                }
+            }
+        }
+        out.write("</t></is></c>");
+    }
+
+    private static void numberCell(Writer out, String value) throws IOException {
+        out.write("<c><v>");
+        out.write(value);
+        out.write("</v></c>");
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
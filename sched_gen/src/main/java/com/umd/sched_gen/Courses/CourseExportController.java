@@ -0,0 +1,104 @@
+package com.umd.sched_gen.Courses;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/** Exports course summaries as a downloadable table, streamed from the database as it is written:
+ * rows are read through {@link CourseRepository}'s streaming finders and written through
+ * {@link CourseExport}'s fixed-size buffer, so memory use is the same for ten courses or the whole
+ * catalog. The response has no length, so it is sent with chunked transfer encoding, and CSV is
+ * gzipped for clients accepting it (flushing the header row right away). The export is written
+ * on the async request executor, not a Tomcat thread.
+ */
+@RestController
+@RequestMapping("/courses/export")
+public class CourseExportController {
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Constructor defines explicit dependencies for this controller to run
+     *
+     * @param courseRepository handler of CRUD operations for the database
+     * @param transactionManager holds the read-only transaction the rows are streamed in
+     */
+    public CourseExportController(CourseRepository courseRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /** Exports the Courses of a department or fulfilling a gen ed (or every Course), eg:
+     * /courses/export?dept=CMSC&format=xlsx
+     *
+     * @param dept the department, if any
+     * @param gened the gen ed code, if any and no department is given
+     * @param format the format of the table, CSV by default
+     * @param acceptEncoding the encodings the client accepts
+     * @return the table, written as the rows are read
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String dept,
+            @RequestParam(required = false) String gened,
+            @RequestParam(defaultValue = "CSV") CourseExport.Format format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, defaultValue = "")
+            String acceptEncoding) {
+        /* XLSX is already a zip */
+        boolean gzip = format == CourseExport.Format.CSV && acceptEncoding.contains("gzip");
+        String name = (dept != null ? dept : gened != null ? gened : "courses")
+            .replaceAll("[^A-Za-z0-9_-]", "_");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, CourseExport.BUFFER_SIZE,
+                                                                   true);
+                write(dept, gened, format, compressed);
+                compressed.finish();
+            } else {
+                write(dept, gened, format, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, format.contentType())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"" + name + "." + format.extension() + "\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /* Streams the rows in a read-only transaction, which the stream needs to stay open */
+    private void write(String dept, String gened, CourseExport.Format format,
+                       OutputStream out) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CourseSummary> rows = dept != null
+                        ? courseRepository.streamSummariesByDeptId(dept)
+                        : gened != null ? courseRepository.streamSummariesByGened(gened)
+                        : courseRepository.streamSummaries()) {
+                    CourseExport.write(format, rows.iterator(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
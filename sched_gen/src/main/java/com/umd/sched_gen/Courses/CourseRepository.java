@@ -1,15 +1,144 @@
 package com.umd.sched_gen.Courses;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-/** Enables CRUD operations on the courses database */
+/** Enables CRUD operations on the courses database. Lookups by course, department and average GPA
+ * use the indexes of the courses table, and lookups by semester or gen ed the indexes of the
+ * course_semester and course_gened tables (see {@link Course}).
+ *
+ * The summary finders read only the columns of a {@link CourseSummary}, in order of course ID and
+ * a page at a time: the next page starts after the last course ID of the previous one (keyset
+ * pagination, "" for the first page), so a page costs the same however far into the results it
+ * is, unlike an offset.
+ */
 public interface CourseRepository extends CrudRepository<Course, Integer> {
+    String SUMMARY = "SELECT new com.umd.sched_gen.Courses.CourseSummary(c.id, c.courseId, "
+        + "c.deptId, c.credits, c.averageGPA, c.semesters) FROM Course c ";
+
     List<Course> findByCourseId(String courseId);
     List<Course> findByDeptId(String deptId);
     List<Course> findByName(String name);
 
     Optional<Course> findById(int Id);
-}
\ No newline at end of file
+
+    /** Finds the Courses with an average GPA above a minimum, highest first
+     *
+     * @param minGpa the minimum average GPA (excluded)
+     * @return the Courses
+     */
+    List<Course> findByAverageGPAGreaterThanOrderByAverageGPADesc(float minGpa);
+
+    /** Finds the Courses of a department with an average GPA above a minimum, highest first
+     *
+     * @param deptId the department ID (ie: CMSC)
+     * @param minGpa the minimum average GPA (excluded)
+     * @return the Courses
+     */
+    List<Course> findByDeptIdAndAverageGPAGreaterThanOrderByAverageGPADesc(String deptId,
+                                                                           float minGpa);
+
+    /** Finds the Courses offered in a semester
+     *
+     * @param semester the semester
+     * @return the Courses
+     */
+    @Query("SELECT c FROM Course c JOIN c.offeredIn s WHERE s = :semester")
+    List<Course> findBySemester(@Param("semester") Semester semester);
+
+    /** Finds the Courses fulfilling a gen ed, including the ones that only do with another course
+     *
+     * @param gened the gen ed code (ie: DSHS)
+     * @return the Courses
+     */
+    @Query("SELECT c FROM Course c JOIN c.genedCodes g WHERE g = :gened")
+    List<Course> findByGened(@Param("gened") String gened);
+
+    /** Finds the Courses fulfilling a gen ed, offered in a semester and with an average GPA above
+     * a minimum, highest first
+     *
+     * @param gened the gen ed code (ie: DSHS)
+     * @param semester the semester
+     * @param minGpa the minimum average GPA (excluded)
+     * @return the Courses
+     */
+    @Query("SELECT c FROM Course c JOIN c.genedCodes g JOIN c.offeredIn s "
+           + "WHERE g = :gened AND s = :semester AND c.averageGPA > :minGpa "
+           + "ORDER BY c.averageGPA DESC")
+    List<Course> findByGenedAndSemester(@Param("gened") String gened,
+                                        @Param("semester") Semester semester,
+                                        @Param("minGpa") float minGpa);
+
+    /** Reads a page of the summaries of the Courses of a department
+     *
+     * @param deptId the department ID (ie: CMSC)
+     * @param after the last course ID of the previous page, "" for the first page
+     * @param limit the page size
+     * @return the summaries, in order of course ID
+     */
+    @Query(SUMMARY + "WHERE c.deptId = :deptId AND c.courseId > :after ORDER BY c.courseId")
+    List<CourseSummary> findSummariesByDeptId(@Param("deptId") String deptId,
+                                              @Param("after") String after, Limit limit);
+
+    /** Reads a page of the summaries of the Courses fulfilling a gen ed
+     *
+     * @param gened the gen ed code (ie: DSHS)
+     * @param after the last course ID of the previous page, "" for the first page
+     * @param limit the page size
+     * @return the summaries, in order of course ID
+     */
+    @Query(SUMMARY + "JOIN c.genedCodes g WHERE g = :gened AND c.courseId > :after "
+           + "ORDER BY c.courseId")
+    List<CourseSummary> findSummariesByGened(@Param("gened") String gened,
+                                             @Param("after") String after, Limit limit);
+
+    /** Reads a page of the summaries of every Course
+     *
+     * @param after the last course ID of the previous page, "" for the first page
+     * @param limit the page size
+     * @return the summaries, in order of course ID
+     */
+    @Query(SUMMARY + "WHERE c.courseId > :after ORDER BY c.courseId")
+    List<CourseSummary> findSummaries(@Param("after") String after, Limit limit);
+
+    /** Streams the summaries of every Course, fetched from the database a few hundred rows at a
+     * time, so a full scan of the catalog holds only a batch in memory (on MySQL, with
+     * useCursorFetch=true on the connection). Must be called in a transaction and the stream
+     * closed.
+     *
+     * @return the summaries, in order of ID
+     */
+    @Query(SUMMARY + "ORDER BY c.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<CourseSummary> streamSummaries();
+
+    /** Streams the summaries of the Courses of a department, like {@link #streamSummaries()}
+     *
+     * @param deptId the department ID (ie: CMSC)
+     * @return the summaries, in order of course ID
+     */
+    @Query(SUMMARY + "WHERE c.deptId = :deptId ORDER BY c.courseId")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<CourseSummary> streamSummariesByDeptId(@Param("deptId") String deptId);
+
+    /** Streams the summaries of the Courses fulfilling a gen ed, like {@link #streamSummaries()}
+     *
+     * @param gened the gen ed code (ie: DSHS)
+     * @return the summaries, in order of course ID
+     */
+    @Query(SUMMARY + "JOIN c.genedCodes g WHERE g = :gened ORDER BY c.courseId")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<CourseSummary> streamSummariesByGened(@Param("gened") String gened);
+}
@@ -0,0 +1,27 @@
+package com.umd.sched_gen.Courses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/** The columns of a Course needed by list views and scheduling, read without the rest of the
+ * Course: none of its TEXT columns (name, requisites, restrictions) and none of its requisite
+ * lists. Built by the summary finders of {@link CourseRepository}.
+ *
+ * @param id the unique ID (primary key) of the Course
+ * @param courseId the course ID of the Course (ie: CMSC250H)
+ * @param deptId the department ID of the Course
+ * @param credits the number of credits the Course fulfills
+ * @param averageGpa the average GPA of the Course
+ * @param semesters the semesters the Course is offered in (FALL, WINTER, SPRING, SUMMER)
+ */
+public record CourseSummary(int id,
+                            @JsonProperty("course_id") String courseId,
+                            @JsonProperty("dept_id") String deptId,
+                            int credits,
+                            @JsonProperty("average_gpa") float averageGpa,
+                            List<String> semesters) {
+    public CourseSummary {
+        semesters = semesters == null ? List.of() : List.copyOf(semesters);
+    }
+}
@@ -0,0 +1,140 @@
+package com.umd.sched_gen.Courses;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/** A structured prerequisite or corequisite: an AND/OR expression tree over course IDs, parsed
+ * from the free text umd.io provides (see {@link RequisiteParser}). Its string form is canonical
+ * (ie: "CMSC132 and (MATH140 or MATH141)") and parses back to the same expression, so it is what
+ * gets stored with a Course.
+ */
+public sealed interface Requisite permits Requisite.Of, Requisite.All, Requisite.AnyOf {
+
+    /** A single course that must have been taken */
+    record Of(String courseId) implements Requisite {
+        @Override
+        public String toString() {
+            return courseId;
+        }
+    }
+
+    /** Every one of the requisites must be met */
+    record All(List<Requisite> terms) implements Requisite {
+        public All {
+            terms = List.copyOf(terms);
+        }
+
+        @Override
+        public String toString() {
+            return join(terms, " and ");
+        }
+    }
+
+    /** At least one of the requisites must be met */
+    record AnyOf(List<Requisite> terms) implements Requisite {
+        public AnyOf {
+            terms = List.copyOf(terms);
+        }
+
+        @Override
+        public String toString() {
+            return join(terms, " or ");
+        }
+    }
+
+    /** Parses a requisite description, either umd.io free text or a canonical expression
+     *
+     * @param text the description
+     * @return the requisite, or null if the description does not name any course
+     */
+    static Requisite parse(String text) {
+        return RequisiteParser.parse(text);
+    }
+
+    /** Returns every course ID named in the expression, in order of first appearance. Courses
+     * that are only alternatives (in an or) are included too.
+     *
+     * @return the course IDs the requisite refers to
+     */
+    default Set<String> courseIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        collect(this, ids);
+        return ids;
+    }
+
+    /** Evaluates the requisite against the courses already taken
+     *
+     * @param taken tells whether a course ID has been taken
+     * @return true if the requisite is met
+     */
+    default boolean isSatisfiedBy(Predicate<String> taken) {
+        if (this instanceof Of of) {
+            return taken.test(of.courseId());
+        }
+        if (this instanceof All all) {
+            return all.terms().stream().allMatch(term -> term.isSatisfiedBy(taken));
+        }
+        return ((AnyOf) this).terms().stream().anyMatch(term -> term.isSatisfiedBy(taken));
+    }
+
+    /** Builds the conjunction of requisites, flattening nested conjunctions
+     *
+     * @param terms the requisites, none of them null
+     * @return the single term if there is only one, else an All
+     */
+    static Requisite all(List<Requisite> terms) {
+        return combine(terms, true);
+    }
+
+    /** Builds the disjunction of requisites, flattening nested disjunctions
+     *
+     * @param terms the requisites, none of them null
+     * @return the single term if there is only one, else an AnyOf
+     */
+    static Requisite anyOf(List<Requisite> terms) {
+        return combine(terms, false);
+    }
+
+    private static Requisite combine(List<Requisite> terms, boolean all) {
+        List<Requisite> flat = new ArrayList<>();
+        for (Requisite term : terms) {
+            List<Requisite> nested = all && term instanceof All a ? a.terms()
+                                   : !all && term instanceof AnyOf o ? o.terms()
+                                   : List.of(term);
+            for (Requisite n : nested) {
+                if (!flat.contains(n)) {
+                    flat.add(n);
+                }
+            }
+        }
+        if (flat.isEmpty()) {
+            return null;
+        }
+        if (flat.size() == 1) {
+            return flat.get(0);
+        }
+        return all ? new All(flat) : new AnyOf(flat);
+    }
+
+    private static void collect(Requisite requisite, Set<String> ids) {
+        if (requisite instanceof Of of) {
+            ids.add(of.courseId());
+        } else if (requisite instanceof All all) {
+            all.terms().forEach(term -> collect(term, ids));
+        } else if (requisite instanceof AnyOf anyOf) {
+            anyOf.terms().forEach(term -> collect(term, ids));
+        }
+    }
+
+    /* Parenthesizes compound terms so the string parses back to the same tree */
+    private static String join(List<Requisite> terms, String separator) {
+        List<String> parts = new ArrayList<>();
+        for (Requisite term : terms) {
+            parts.add(term instanceof Of ? term.toString() : "(" + term + ")");
+        }
+        return String.join(separator, parts);
+    }
+}
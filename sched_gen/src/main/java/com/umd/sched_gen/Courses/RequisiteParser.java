@@ -0,0 +1,189 @@
+package com.umd.sched_gen.Courses;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Parses the free text prerequisites/corequisites of umd.io into Requisite expressions. Only the
+ * course IDs and the words connecting them matter; anything else (minimum grades, AP exams,
+ * permission of the department...) is skipped, and so is any alternative that does not name a
+ * course. For example:
+ *
+ * "Minimum grade of C- in CMSC131; or score of 5 on the A Java AP exam; and minimum grade of C-
+ * in MATH140." is CMSC131 and MATH140
+ *
+ * "1 course with a minimum grade of C- from (CMSC131, CMSC133); and MATH140 or MATH141." is
+ * (CMSC131 or CMSC133) and (MATH140 or MATH141)
+ *
+ * Semicolons separate clauses that are combined left to right, so "A; or B; and C" is
+ * (A or B) and C. Within a clause "and" binds tighter than "or", and commas take the meaning of
+ * the connective that ends the list ("A, B, or C"), or "or" after "from"/"one of".
+ */
+public final class RequisiteParser {
+    private static final Pattern TOKEN = Pattern.compile(
+        "(?<course>\\b[A-Z]{4}\\s?\\d{3}[A-Z]?\\b)"
+        + "|(?<and>\\b(?i:and)\\b)|(?<or>\\b(?i:or)\\b)"
+        + "|(?<oneOf>\\b(?i:from|one of|either)\\b)"
+        + "|(?<punct>[,;()])");
+
+    private enum Kind { COURSE, AND, OR, COMMA, SEMICOLON, OPEN, CLOSE, ONE_OF }
+
+    private record Token(Kind kind, String text) {}
+
+    private final List<Token> tokens;
+    private int position;
+
+    private RequisiteParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /** Parses a requisite description
+     *
+     * @param text the description, possibly null
+     * @return the requisite, or null if the description does not name any course
+     */
+    public static Requisite parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return new RequisiteParser(tokenize(text)).clauses();
+    }
+
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            if (matcher.group("course") != null) {
+                tokens.add(new Token(Kind.COURSE, matcher.group("course").replace(" ", "")));
+            } else if (matcher.group("and") != null) {
+                tokens.add(new Token(Kind.AND, null));
+            } else if (matcher.group("or") != null) {
+                tokens.add(new Token(Kind.OR, null));
+            } else if (matcher.group("oneOf") != null) {
+                tokens.add(new Token(Kind.ONE_OF, null));
+            } else {
+                tokens.add(new Token(switch (matcher.group("punct")) {
+                    case "," -> Kind.COMMA;
+                    case ";" -> Kind.SEMICOLON;
+                    case "(" -> Kind.OPEN;
+                    default -> Kind.CLOSE;
+                }, null));
+            }
+        }
+        return tokens;
+    }
+
+    /* Clauses separated by semicolons, folded left to right with their leading connective */
+    private Requisite clauses() {
+        Requisite result = null;
+        while (position < tokens.size()) {
+            Kind connective = Kind.AND;
+            if (peek() == Kind.AND || peek() == Kind.OR) {
+                connective = tokens.get(position++).kind();
+            }
+            Requisite clause = group(false);
+            while (position < tokens.size() && peek() != Kind.SEMICOLON) {
+                position++;     /* Unbalanced closing parenthesis */
+                Requisite rest = group(false);
+                clause = clause == null ? rest : rest == null ? clause
+                         : Requisite.all(List.of(clause, rest));
+            }
+            position++;         /* Semicolon */
+            if (clause == null) {
+                continue;
+            }
+            if (result == null) {
+                result = clause;
+            } else if (connective == Kind.OR) {
+                result = Requisite.anyOf(List.of(result, clause));
+            } else {
+                result = Requisite.all(List.of(result, clause));
+            }
+        }
+        return result;
+    }
+
+    /* Operands separated by and/or/commas, up to a closing parenthesis or the end of the clause */
+    private Requisite group(boolean oneOf) {
+        List<Requisite> operands = new ArrayList<>();
+        List<Kind> separators = new ArrayList<>();
+        Kind pending = null;
+        boolean nextOneOf = false;
+        while (position < tokens.size()) {
+            Token token = tokens.get(position);
+            if (token.kind() == Kind.CLOSE || token.kind() == Kind.SEMICOLON) {
+                break;
+            }
+            position++;
+            Requisite operand = null;
+            switch (token.kind()) {
+                case COURSE -> operand = new Requisite.Of(token.text());
+                case OPEN -> {
+                    operand = group(nextOneOf);
+                    if (peek() == Kind.CLOSE) {
+                        position++;
+                    }
+                    nextOneOf = false;
+                }
+                case AND, OR -> pending = token.kind();
+                case COMMA -> pending = pending == null ? Kind.COMMA : pending;
+                case ONE_OF -> {
+                    nextOneOf = true;
+                    oneOf |= operands.isEmpty();
+                }
+                default -> { }
+            }
+            if (operand != null) {
+                if (!operands.isEmpty()) {
+                    separators.add(pending == null ? Kind.COMMA : pending);
+                }
+                operands.add(operand);
+                pending = null;
+            }
+        }
+        return build(operands, separators, oneOf ? Kind.OR : Kind.AND);
+    }
+
+    /* Resolves the commas, then ors the runs of anded operands */
+    private static Requisite build(List<Requisite> operands, List<Kind> separators, Kind fallback) {
+        if (operands.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < separators.size(); i++) {
+            if (separators.get(i) == Kind.COMMA) {
+                separators.set(i, commaMeaning(separators, i, fallback));
+            }
+        }
+        List<Requisite> alternatives = new ArrayList<>();
+        List<Requisite> run = new ArrayList<>(List.of(operands.get(0)));
+        for (int i = 0; i < separators.size(); i++) {
+            if (separators.get(i) == Kind.OR) {
+                alternatives.add(Requisite.all(run));
+                run = new ArrayList<>();
+            }
+            run.add(operands.get(i + 1));
+        }
+        alternatives.add(Requisite.all(run));
+        return Requisite.anyOf(alternatives);
+    }
+
+    /* A comma means the next explicit connective, else the previous one, else the fallback */
+    private static Kind commaMeaning(List<Kind> separators, int comma, Kind fallback) {
+        for (int i = comma + 1; i < separators.size(); i++) {
+            if (separators.get(i) != Kind.COMMA) {
+                return separators.get(i);
+            }
+        }
+        for (int i = comma - 1; i >= 0; i--) {
+            if (separators.get(i) != Kind.COMMA) {
+                return separators.get(i);
+            }
+        }
+        return fallback;
+    }
+
+    private Kind peek() {
+        return position < tokens.size() ? tokens.get(position).kind() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.umd.sched_gen.Courses;
+
+/** The four semesters (terms) of a UMD academic year. Each semester is associated with the two
+ * digit month umd.io uses to identify it (ie: 202308 is fall 2023) and a single bit so that sets of
+ * semesters can be stored and compared as a small bitmask.
+ */
+public enum Semester {
+    FALL("08"),
+    WINTER("12"),
+    SPRING("01"),
+    SUMMER("05");
+
+    private final String monthCode;
+
+    Semester(String monthCode) {
+        this.monthCode = monthCode;
+    }
+
+    /** Returns the umd.io semester code for this semester of the given year (ie: 202308)
+     *
+     * @param year the year of the semester
+     * @return the semester code used by umd.io
+     */
+    public String code(int year) {
+        return year + monthCode;
+    }
+
+    /** Returns the bit representing this semester in a semester bitmask
+     *
+     * @return a mask with only this semester's bit set
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** Checks whether this semester is part of a semester bitmask
+     *
+     * @param mask the bitmask of semesters
+     * @return true if this semester's bit is set in the mask
+     */
+    public boolean in(int mask) {
+        return (mask & bit()) != 0;
+    }
+}
@@ -1,282 +1,570 @@
 package com.umd.sched_gen.DataInitializer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.regex.Matcher;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.time.Clock;
 import java.time.Year;
 
-/** This service manages all API operations to extract and refine course data for storage. */
+/** This service manages all API operations to extract and refine course data for storage.
+ * Requests go through a {@link HostClient} per host, so failed requests are retried and slow ones
+ * hedged; a page that still cannot be fetched, or an interrupt, ends the ingest with an
+ * IngestException rather than leaving Courses out of the catalog. A fetch that returns is
+ * therefore the whole catalog.
+ */
 @Service
 public class ApiService {
-    private final String COURSES_API = "https://api.umd.io/v1/courses";
-    private final String COURSES_API_MINIFIED = "https://api.umd.io/v1/courses/list";
-    private final int COURSES_PER_PAGE = 100;   /* Up to 100 */
-    private final String GRADES_API = "https://planetterp.com/api/v1/course";
-    private final int RETRIEVAL_RATE = 5;       /* Up to 1000 */
-    private final RestTemplate restTemplate;
-    private int PREV_YEAR = Year.now().getValue() - 1;
-
-    /* Colors for some nice printing! */
-    public static final String ANSI_RESET = "\u001B[0m";
-    public static final String ANSI_YELLOW = "\u001B[33m";
-    public static final String ANSI_GREEN = "\u001B[32m";
-    public static final String ANSI_RED = "\u001B[31m";
-    public static final String ANSI_CYAN = "\u001B[36m";
-
-    public ApiService(RestTemplateBuilder restTemplateBuilder) {
-        this.restTemplate = restTemplateBuilder.build();
+    private static final Logger log = LoggerFactory.getLogger(ApiService.class);
+
+    private final String COURSES_API;
+    private final String COURSES_API_MINIFIED;
+    private final int COURSES_PER_PAGE;         /* Up to 100 */
+    private final IngestProperties properties;
+    private final IngestMetrics metrics;
+    private final RestTemplate coursesTemplate;
+    private final RestTemplate gradesTemplate;
+    private Clock clock = Clock.systemDefaultZone();
+    private OfferingHistory history;            /* Loaded on first use */
+
+    /* Undergraduate courses are numbered 499 and below (grad courses are filtered out) */
+    private static final Pattern UNDERGRAD_COURSE = Pattern.compile("[A-Z]{4}[0-4]\\d{2}[0-9A-Z]?");
+
+    /* Reads Courses configured like the RestTemplate's JSON converter (unknown fields ignored) */
+    private static final ObjectReader COURSE_READER =
+        Jackson2ObjectMapperBuilder.json().build().readerFor(Course.class);
+
+    /** Handles Courses one at a time as they are parsed */
+    @FunctionalInterface
+    interface CourseHandler {
+        void handle(Course course) throws InterruptedException;
+    }
+
+    /** Constructor defines explicit dependencies for this service to run
+     *
+     * @param restTemplateBuilder builds the clients used for umd.io and planetterp requests
+     * @param properties settings of the course ingest
+     * @param metrics the meters requests and skipped Courses are recorded in
+     */
+    public ApiService(RestTemplateBuilder restTemplateBuilder, IngestProperties properties,
+                      IngestMetrics metrics) {
+        if (properties.getHttpCacheDir() != null) {
+            restTemplateBuilder = restTemplateBuilder.additionalInterceptors(responseCache(properties));
+        }
+        this.coursesTemplate = restTemplateBuilder
+            .setConnectTimeout(properties.getCoursesTimeout())
+            .setReadTimeout(properties.getCoursesTimeout())
+            .build();
+        this.gradesTemplate = restTemplateBuilder
+            .setConnectTimeout(properties.getGradesTimeout())
+            .setReadTimeout(properties.getGradesTimeout())
+            .build();
+        this.properties = properties;
+        this.metrics = metrics;
+        this.COURSES_API = properties.getCoursesApi();
+        this.COURSES_API_MINIFIED = properties.getCoursesApiMinified();
+        this.COURSES_PER_PAGE = properties.getCoursesPerPage();
+    }
+
+    /** Creates the on-disk cache of umd.io and planetterp responses
+     * 
+     * @param properties settings of the course ingest (including the cache settings)
+     * @return the response cache
+     */
+    private static DiskResponseCache responseCache(IngestProperties properties) {
+        try {
+            return new DiskResponseCache(Path.of(properties.getHttpCacheDir()),
+                                         properties.getHttpCacheTtl(),
+                                         properties.getHttpCacheMaxSize().toBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open response cache "
+                                           + properties.getHttpCacheDir(), e);
+        }
+    }
+
+    /** Sets the clock the year fetched is read from, the system clock by default
+     *
+     * @param clock the clock
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /* The year previous to the current one, whose semesters are fetched. Read at the start of
+     * every fetch, so a service running past New Year picks up the new terms. */
+    private int previousYear() {
+        return Year.now(clock).getValue() - 1;
     }
 
     /** Fetch all Courses data from umd.io and planetterp.com. Use to populate the database.
      * 
      * @return a list of all undergraduate UMD courses to add to database.
+     * @throws IngestException if a page of Courses could not be fetched, or if interrupted
     */
     public List<Course> fetchAllCourses() {
+        int year = previousYear();
+        if (properties.getClient() == IngestProperties.Client.ASYNC) {
+            return fetchAllCoursesAsync(year);
+        }
         List<Course> allCourses = new ArrayList<>();
+        /* No API rate limits, but slow down anyway because we're nice :3 */
+        HostClient coursesClient = coursesClient();
+        GradesFetcher gradesFetcher = new GradesFetcher(gradesTemplate, properties, metrics);
 
-        ArrayList<String> possibleSemesters = new ArrayList<>();
-        ArrayList<List<Course>> semesterCourses = coursesPerSemester();
-        String yearStr = String.valueOf(PREV_YEAR);
-        
-        /* Each semester is associated with a year and a two digit number representing month */
-        possibleSemesters.add(yearStr + "08");  /* Fall */
-        possibleSemesters.add(yearStr + "12");  /* Winter */
-        possibleSemesters.add(yearStr + "01");  /* Spring */
-        possibleSemesters.add(yearStr + "05");  /* Summer */
-
-        for (String possibleSemester : possibleSemesters) {
-            int page = 1;
-            System.out.println(ANSI_YELLOW + "[NOTICE]: Now processing semester " + possibleSemester
-                                + ANSI_RESET);
-            do {    /* umd.io returns paginated list of courses, must traverse through pages */
-                /* Build the request for umd.io */
-                String courseUri = UriComponentsBuilder.fromHttpUrl(COURSES_API)
-                    .queryParam("page", page++)
-                    .queryParam("per_page", Math.min(COURSES_PER_PAGE, 100))
-                    .queryParam("semester", possibleSemester)
-                    .toUriString();
-                /* Fetch course data from API(s) */
-                try {
-                    ResponseEntity<List<Course>> response = restTemplate.exchange(
-                    courseUri,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Course>>() {});
-                    
-                    /* Process the response and add to list. Do this one page at a time */
-                    List<Course> fetchedCourses = response.getBody();
-                    if (fetchedCourses != null && !fetchedCourses.isEmpty()) {
-                        fetchedCourses = refineCourses(fetchedCourses, allCourses, semesterCourses);
-                        allCourses.addAll(fetchedCourses);
-                    } else {
-                        break;   /* Move on to next semester when no more courses for current one */
+        try {
+            CourseIndex courseIndex = coursesPerSemester(coursesClient, year);
+            if (properties.getPipelineDepth() > 0) {
+                /* Fetch pages of all semesters while earlier pages are being refined */
+                IngestPipeline pipeline = new IngestPipeline(properties.getPipelineDepth(),
+                                                             properties.getPipelineWorkers(),
+                                                             metrics);
+                allCourses = pipeline.run(
+                    (semester, page) -> fetchPage(semester, year, page, coursesClient),
+                    courses -> refineCourses(courses, courseIndex, gradesFetcher));
+            } else {
+                for (Semester semester : Semester.values()) {
+                    fetchSemesterCourses(semester, year, courseIndex, coursesClient,
+                                         gradesFetcher, allCourses);
+                }
+            }
+            failIfInterrupted("fetching courses");
+        } finally {
+            gradesFetcher.close();
+            coursesClient.close();
+        }
+
+        return allCourses;  /* Should contain all courses and all their data */
+    }
+
+    /* Collects the pages finished by an AsyncCourseFetcher */
+    private List<Course> fetchAllCoursesAsync(int year) {
+        List<Course> allCourses = new ArrayList<>();
+        try (AsyncCourseFetcher fetcher = new AsyncCourseFetcher(this, year, properties, metrics)) {
+            fetcher.run(page -> {
+                logRefined(page);
+                allCourses.addAll(page);
+            });
+            failIfInterrupted("fetching courses");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestException("Interrupted while fetching courses", e);
+        }
+        return allCourses;
+    }
+
+    /* Ends the ingest if the thread was interrupted, since a grades lookup that was interrupted
+     * only leaves its Course without an average GPA */
+    private static void failIfInterrupted(String action) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IngestException("Interrupted while " + action);
+        }
+    }
+
+    /** Streams all Courses from umd.io and planetterp into a sink, a chunk at a time. Unlike
+     * fetchAllCourses, each page is parsed one Course at a time as it is read off the connection,
+     * and every Course is refined as soon as it is parsed, so neither pages nor the catalog are
+     * ever held in memory as a whole; the Courses held at once are bounded by the chunk size and
+     * the pipeline depth. With the async client, whole pages are parsed and refined instead (see
+     * {@link AsyncCourseFetcher}), still bounded by the pipeline depth.
+     *
+     * @param sink receives the refined Courses (with their average GPA), on a background thread
+     * @param chunkSize the number of Courses handed to the sink at a time
+     * @return the number of Courses handed to the sink
+     * @throws IngestException if a page of Courses could not be fetched, if the sink failed on a
+     * chunk (no chunk is handed over after it), or if interrupted (the Courses parsed before have
+     * been handed to the sink)
+     */
+    public int streamAllCourses(Consumer<List<Course>> sink, int chunkSize) {
+        int year = previousYear();
+        if (properties.getClient() == IngestProperties.Client.ASYNC) {
+            return streamAllCoursesAsync(sink, chunkSize, year);
+        }
+        HostClient coursesClient = coursesClient();
+        CourseIndex courseIndex = coursesPerSemester(coursesClient, year);
+        GradesFetcher gradesFetcher = new GradesFetcher(gradesTemplate, properties, metrics);
+        /* Grades are fetched for a whole chunk at once, concurrently, while parsing goes on */
+        Consumer<List<Course>> enrich = chunk -> {
+            gradesFetcher.fetchAll(chunk);
+            logRefined(chunk);
+            sink.accept(chunk);
+        };
+        int depth = Math.max(1, properties.getPipelineDepth());
+        CourseChunker chunker = new CourseChunker(chunkSize, depth, enrich, metrics);
+        try {
+            for (Semester semester : Semester.values()) {
+                log.info("Streaming semester={}", semester.code(year));
+                for (int page = 1; ; page++) {
+                    int streamed = streamPage(semester, year, page, coursesClient, course -> {
+                        if (refineCourse(course, courseIndex)) {
+                            chunker.add(course);
+                        }
+                    });
+                    failIfInterrupted("streaming courses");
+                    if (streamed == 0) {
+                        break;      /* No more courses for the current semester */
                     }
-                /* Error handling umd.io courses info error */
-                } catch (RestClientException e) {
-                    System.out.println(ANSI_RED + "[ERROR]: API GET request failed! "
-                                    + courseUri + ANSI_RESET);
                 }
-    
-                // No API rate limits, but slow down anyway because we're nice :3
-                try {
-                    Thread.sleep(Math.max((1000 / RETRIEVAL_RATE), 1));
-                } catch (InterruptedException t) {
-                    System.out.println(ANSI_RED + "[ERROR]: Interrupted thread" + ANSI_RESET);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestException("Interrupted while streaming courses", e);
+        } finally {
+            chunker.close();
+            gradesFetcher.close();
+            coursesClient.close();
+        }
+        return chunker.added();
+    }
+
+    /* Streams the pages finished by an AsyncCourseFetcher into the sink, a chunk at a time */
+    private int streamAllCoursesAsync(Consumer<List<Course>> sink, int chunkSize, int year) {
+        int depth = Math.max(1, properties.getPipelineDepth());
+        CourseChunker chunker = new CourseChunker(chunkSize, depth, chunk -> {
+            logRefined(chunk);
+            sink.accept(chunk);
+        }, metrics);
+        try (AsyncCourseFetcher fetcher = new AsyncCourseFetcher(this, year, properties, metrics)) {
+            fetcher.run(page -> {
+                for (Course course : page) {
+                    chunker.add(course);
                 }
-            } while (true);
+            });
+            failIfInterrupted("streaming courses");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestException("Interrupted while streaming courses", e);
+        } finally {
+            chunker.close();
         }
+        return chunker.added();
+    }
 
-        return allCourses;  /* Should contain all courses and all their data */
+    /** Streams one page of Courses offered in a semester from umd.io, handing each Course over as
+     * soon as it is parsed. A page cut short is retried from the start, which hands its first
+     * Courses over again: handlers must skip Courses already handled (refineCourse does).
+     * The page is never hedged, since both requests would hand Courses over.
+     *
+     * @param semester the semester to fetch
+     * @param year the year of the semester
+     * @param page the page number, starting at 1
+     * @param client makes the requests to umd.io
+     * @param handler handles each Course of the page
+     * @return the number of Courses on the page (0 if there are no more pages)
+     * @throws InterruptedException if interrupted while waiting on the throttle
+     * @throws IngestException if the page could not be fetched
+     */
+    private int streamPage(Semester semester, int year, int page, HostClient client,
+                           CourseHandler handler) throws InterruptedException {
+        String courseUri = pageUri(semester, year, page);
+        long start = System.nanoTime();
+        try {
+            Integer streamed = client.call(() -> coursesTemplate.execute(courseUri,
+                HttpMethod.GET, null, response -> readCourses(response.getBody(), handler)), false);
+            metrics.pageFetched(System.nanoTime() - start, true);
+            return streamed == null ? 0 : streamed;
+        } catch (RestClientException e) {
+            metrics.pageFetched(System.nanoTime() - start, false);
+            throw new IngestException("Could not fetch " + courseUri, e);
+        }
     }
 
-    /** Processing Courses after fetching from umd.io only if they aren't duplicates from allCourses
+    /** Reads a JSON array of Courses with Jackson's streaming parser, binding and handing over one
+     * Course at a time
+     *
+     * @param body the JSON array
+     * @param handler handles each Course as soon as it is read
+     * @return the number of Courses read
+     * @throws IOException if the JSON could not be read, or interrupted while handling a Course
+     */
+    static int readCourses(InputStream body, CourseHandler handler) throws IOException {
+        int read = 0;
+        try (MappingIterator<Course> courses = COURSE_READER.readValues(body)) {
+            while (courses.hasNextValue()) {
+                handler.handle(courses.nextValue());
+                read++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading courses");
+        }
+        return read;
+    }
+
+    /** Fetches every page of Courses offered in a semester from umd.io, refining each page and
+     * adding the refined Courses to a list
      * 
-     * @param courses the list of Courses to refine
-     * @param allCourses some Courses will not be returned if they are included in allCourses to prevent
-     * duplicates
-     * @param semesterCourses contains a list of lists of Courses representing each semester of the
-     * year previous to the current one, starting from the fall to the summer
-     * (ie: fall 2023 - summer 2023), and which courses are offered during each semester.
-     * @return a list of refined Courses.
-    */
-    private List<Course> refineCourses(List<Course> courses, List<Course> allCourses, List<List<Course>> semesterCourses) {
-        ArrayList<Course> toBeRemoved = new ArrayList<>();
-        for (Course course : courses) {
-            /* Will not process duplicate courses */
-            if (allCourses.contains(course)) {
-                System.out.println(ANSI_YELLOW + "[NOTICE]: Cannot add " + course.getCourseId()
-                                + " (already been added)!" + ANSI_RESET);
-                toBeRemoved.add(course);
-                continue;
-            };
-            /* Filter GRAD-LEVEL courses from the DB */
-            Pattern pattern = Pattern.compile("[A-Z]{4}[0-4]\\d{2}[0-9A-Z]?");
-            Matcher matcher = pattern.matcher(course.getCourseId());
-            if (matcher.find()) {
-                /* Fetch average GPA for each remaining course and semesters taught data */
-                course.setAverageGPA(fetchGradesData(course));
-                ArrayList<String> semestersTaught = fetchSemesterData(course, semesterCourses);
-                course.setSemesters(semestersTaught);
-                System.out.println(ANSI_CYAN + "[DEBUG]: course " + course.getCourseId() + "\n"
-                                    + "Prereqs: " + course.getPrereqsString() + "\n"
-                                    + "Coreqs: " + course.getCoreqsString() + "\n"
-                                    + "Restrictions: " + course.getRestrictions() + "\n"
-                                    + "Credits granted for: " + course.getCreditGrantedFor());
-            } else {
-                toBeRemoved.add(course);
-                System.out.println(ANSI_YELLOW + "[NOTICE]: Cannot add " + course.getCourseId()
-                                + " (not undergrad level)!" + ANSI_RESET);
+     * @param semester the semester to fetch
+     * @param year the year of the semester
+     * @param courseIndex index of the Courses already added and the semesters they are offered in
+     * @param client makes the requests to umd.io
+     * @param gradesFetcher fetches the average GPA of the refined Courses from planetterp
+     * @param allCourses the list the refined Courses are added to
+     * @throws IngestException if a page could not be fetched, or if interrupted
+     */
+    private void fetchSemesterCourses(Semester semester, int year, CourseIndex courseIndex,
+                                      HostClient client, GradesFetcher gradesFetcher,
+                                      List<Course> allCourses) {
+        log.info("Fetching semester={}", semester.code(year));
+        /* umd.io returns paginated list of courses, must traverse through pages */
+        for (int page = 1; ; page++) {
+            try {
+                /* Process the response and add to list. Do this one page at a time */
+                List<Course> fetchedCourses = fetchPage(semester, year, page, client);
+                if (fetchedCourses.isEmpty()) {
+                    break;      /* Move on to next semester when no more courses for current one */
+                }
+                allCourses.addAll(refineCourses(fetchedCourses, courseIndex, gradesFetcher));
+            } catch (InterruptedException t) {
+                Thread.currentThread().interrupt();
+                throw new IngestException("Interrupted while fetching courses", t);
             }
         }
-        courses.removeAll(toBeRemoved);
-        return courses;
     }
 
-    /** Retrieves average GPA data from planetterp.com for a Course.
-     * @param course the Course to fetch grades data for
-     * @return the average GPA of the Course
-    */
-    private float fetchGradesData(Course course) {
-        String courseUri = UriComponentsBuilder.fromHttpUrl(GRADES_API)
-            .queryParam("name", course.getCourseId())
-            .toUriString();
+    /** Fetches one page of Courses offered in a semester from umd.io
+     * 
+     * @param semester the semester to fetch
+     * @param year the year of the semester
+     * @param page the page number, starting at 1
+     * @param client makes the requests to umd.io
+     * @return the Courses of the page, an empty list if there are no more pages
+     * @throws InterruptedException if interrupted while waiting on the throttle
+     * @throws IngestException if the page could not be fetched
+     */
+    private List<Course> fetchPage(Semester semester, int year, int page, HostClient client)
+            throws InterruptedException {
+        String courseUri = pageUri(semester, year, page);
+        long start = System.nanoTime();
+        /* Fetch course data from API(s) */
         try {
-            ResponseEntity<Course> response = restTemplate.exchange(
+            ResponseEntity<List<Course>> response = client.call(() -> coursesTemplate.exchange(
             courseUri,
             HttpMethod.GET,
             null,
-            new ParameterizedTypeReference<Course>() {});
-
-            /* Process the response and return the grade */
-            Course fetchedCourse = response.getBody();
-            return fetchedCourse == null? 0.0F:fetchedCourse.getAverageGPA();
-        /* A lot of courses have no grade data (HTTP 4XX error for those) */
-        } catch (HttpClientErrorException d) {
-            System.out.println(ANSI_GREEN + "[GRADES]: No grade data for " + course.getCourseId()
-                                + "," + " defaulting to 0.0" + ANSI_RESET);
-            return 0.0F;
-        /* Error handling GET response retrieval error */
+            new ParameterizedTypeReference<List<Course>>() {}), true);
+            metrics.pageFetched(System.nanoTime() - start, true);
+            List<Course> fetchedCourses = response.getBody();
+            return fetchedCourses == null ? new ArrayList<>() : fetchedCourses;
+        /* Error handling umd.io courses info error */
         } catch (RestClientException e) {
-            System.out.println(ANSI_RED + "[ERROR]: Could not retrieve grades data\n"
-                            + "with URI " + courseUri + "\n"
-                            + "RestClientException: " + e.getMessage() + ANSI_RESET);
-            return 0.0F;
+            metrics.pageFetched(System.nanoTime() - start, false);
+            throw new IngestException("Could not fetch " + courseUri, e);
         }
     }
 
-    /** Fetches semester data for a Course, returning which semesters it is likely to be taught.
+    /* Makes umd.io requests at the configured rate, with retries and hedging */
+    private HostClient coursesClient() {
+        return new HostClient("umd.io", properties.getRetrievalRate(),
+                              properties.getMaxConcurrentPerHost(), properties, metrics);
+    }
+
+    /* Builds the request for a page of a semester of umd.io */
+    String pageUri(Semester semester, int year, int page) {
+        return UriComponentsBuilder.fromHttpUrl(COURSES_API)
+            .queryParam("page", page)
+            .queryParam("per_page", Math.min(COURSES_PER_PAGE, 100))
+            .queryParam("semester", semester.code(year))
+            .toUriString();
+    }
+
+    /* Builds the request for the course IDs offered in a term */
+    String semesterUri(OfferingHistory.Term term) {
+        return UriComponentsBuilder.fromHttpUrl(COURSES_API_MINIFIED)
+            .queryParam("semester", term.code())
+            .toUriString();
+    }
+
+    /** Returns the terms of the last history-years years (up to the given year) whose offerings
+     * are not in the offering history yet, and must be fetched
+     *
+     * @param year the last year of the history, the one previous to the current one
+     * @return the terms to fetch the offerings of
+     */
+    synchronized List<OfferingHistory.Term> missingTerms(int year) {
+        return history().missing(firstHistoryYear(year), year);
+    }
+
+    /** Adds the offerings of newly fetched terms to the offering history, saving it if it is kept
+     * in a directory, and indexes the semesters each course is predicted to be offered in from
+     * the terms of the last history-years years only
+     *
+     * @param termCourses the Courses offered in each fetched term
+     * @param year the last year of the history, the one previous to the current one
+     * @return an index of the semesters each course is predicted to be offered in
+     */
+    synchronized CourseIndex offeringIndex(Map<OfferingHistory.Term, List<Course>> termCourses,
+                                           int year) {
+        OfferingHistory offerings = history();
+        termCourses.forEach((term, courses) ->
+            offerings.add(term, courses.stream().map(Course::getCourseId).toList()));
+        offerings.window(firstHistoryYear(year));
+        if (properties.getHistoryDir() != null) {
+            try {
+                offerings.save(Path.of(properties.getHistoryDir()));
+            } catch (IOException e) {
+                log.error("Could not save the offering history: {}", e.getMessage());
+            }
+        }
+        CourseIndex courseIndex = new CourseIndex();
+        offerings.forEachPredicted(courseIndex::markOffered);
+        return courseIndex;
+    }
+
+    /* The first year of the offering history that ends with the given year */
+    private int firstHistoryYear(int year) {
+        return year - Math.max(1, properties.getHistoryYears()) + 1;
+    }
+
+    /* The offering history, loaded from its directory if it is kept in one */
+    private OfferingHistory history() {
+        if (history == null) {
+            double threshold = properties.getOfferingThreshold();
+            history = new OfferingHistory(threshold);
+            if (properties.getHistoryDir() != null) {
+                try {
+                    history = OfferingHistory.load(Path.of(properties.getHistoryDir()), threshold);
+                    log.info("Offering history loaded terms={}", history.terms());
+                } catch (IOException e) {
+                    log.error("Could not load the offering history, fetching it again: {}",
+                              e.getMessage());
+                }
+            }
+        }
+        return history;
+    }
+
+    /** Processing Courses after fetching from umd.io only if they haven't already been added
      * 
-     * @param course the Course to fetch semester data for
-     * @param semesterCourses contains a list of lists of Courses representing each semester of the
-     * year previous to the current one, starting from the fall to the summer
-     * (ie: fall 2023 - summer 2023), and which courses are offered during each semester.
-     * @return a list of all semesters the Course is likely to be offered in
+     * @param courses the list of Courses to refine
+     * @param courseIndex index of the Courses already added (refined Courses are added to it, and
+     * duplicates are not returned) and of the semesters each course was offered in during the year
+     * previous to the current one
+     * @param gradesFetcher fetches the average GPA of the refined Courses from planetterp
+     * @return a list of refined Courses.
     */
-    private ArrayList<String> fetchSemesterData(Course course, List<List<Course>> semesterCourses) {
-        /* Using two attempts across two recent years for best results I think?
-         * For now, we will evaluate the semesters in which a course is taken using the data
-         * of one year.
-        */
-        ArrayList<String> result = new ArrayList<>();
-        if (semesterCourses.get(0).contains(course)) {
-            result.add("FALL");
-            System.out.println(ANSI_GREEN + "[SEMESTERS]: " + course.getCourseId()
-                            + " taught in FALL" + ANSI_RESET);
+    List<Course> refineCourses(List<Course> courses, CourseIndex courseIndex,
+                                       GradesFetcher gradesFetcher) {
+        List<Course> refined = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            if (refineCourse(course, courseIndex)) {
+                refined.add(course);
+            }
         }
-        if (semesterCourses.get(1).contains(course)) {
-            result.add("WINTER");
-            System.out.println(ANSI_GREEN + "[SEMESTERS]: " + course.getCourseId()
-                            + " taught in WINTER" + ANSI_RESET);
+        /* Fetch average GPA for the whole page at once, concurrently */
+        gradesFetcher.fetchAll(refined);
+        logRefined(refined);
+        return refined;
+    }
+
+    /** Refines a single Course fetched from umd.io, setting the semesters it is offered in,
+     * unless it is a grad course or was already added
+     *
+     * @param course the Course to refine
+     * @param courseIndex index of the Courses already added (the Course is added to it) and of
+     * the semesters each course was offered in
+     * @return whether the Course was refined and should be kept
+     */
+    boolean refineCourse(Course course, CourseIndex courseIndex) {
+        /* Filter GRAD-LEVEL courses from the DB */
+        if (!UNDERGRAD_COURSE.matcher(course.getCourseId()).find()) {
+            metrics.gradLevelSkipped();
+            log.debug("Skipped course={} reason=grad-level", course.getCourseId());
+            return false;
         }
-        if (semesterCourses.get(2).contains(course)) {
-            result.add("SPRING");
-            System.out.println(ANSI_GREEN + "[SEMESTERS]: " + course.getCourseId()
-                            + " taught in SPRING" + ANSI_RESET);
+        /* Will not process duplicate courses */
+        if (!courseIndex.add(course)) {
+            metrics.duplicateSkipped();
+            log.debug("Skipped course={} reason=duplicate", course.getCourseId());
+            return false;
         }
-        if (semesterCourses.get(3).contains(course)) {
-            result.add("SUMMER");
-            System.out.println(ANSI_GREEN + "[SEMESTERS]: " + course.getCourseId()
-                            + " taught in SUMMER" + ANSI_RESET);
+        /* Fetch semesters taught data for each remaining course */
+        course.setSemesters(fetchSemesterData(course, courseIndex));
+        metrics.refined();
+        return true;
+    }
+
+    /* Logs every refined Course at debug level, building nothing unless it is enabled */
+    private static void logRefined(List<Course> refined) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        for (Course course : refined) {
+            log.debug("Refined course={} semesters={} prereqs=\"{}\" coreqs=\"{}\" "
+                      + "restrictions=\"{}\" creditGrantedFor=\"{}\"", course.getCourseId(),
+                      course.getSemesters(), course.getPrereqsString(), course.getCoreqsString(),
+                      course.getRestrictions(), course.getCreditGrantedFor());
         }
-        return result;
     }
 
-    /** Constructs a list of Courses per semester from umd.io for a given year and aggregates the
-     * lists into one.
+    /** Fetches semester data for a Course, returning which semesters it is likely to be taught.
+     * 
+     * @param course the Course to fetch semester data for
+     * @param courseIndex index of which semesters each course is predicted to be offered in
+     * @return a list of all semesters the Course is likely to be offered in
+    */
+    private ArrayList<String> fetchSemesterData(Course course, CourseIndex courseIndex) {
+        /* Predicted from the offerings of the last history-years years (see OfferingHistory), so
+         * this is a single lookup of the precomputed predictions */
+        return courseIndex.semestersOffered(course.getCourseId());
+    }
+
+    /** Constructs a list of Courses per term from umd.io for the terms missing from the offering
+     * history, adds them to it and records in an index which semesters each course is predicted
+     * to be offered in. A term that cannot be fetched is left out of the history, keeping the
+     * others, and fetched again by the next ingest.
      * 
-     * @return a list of lists of Courses representing each semester of the
-     * year previous to the current one, starting from the fall to the summer
-     * (ie: fall 2023 - summer 2023), and which courses are offered during each semester.
+     * @param client makes the requests to umd.io
+     * @param year the last year of the history, the one previous to the current one
+     * @return an index of the semesters each course is predicted to be offered in, from the
+     * offerings of the last history-years years up to the given one
+     * @throws IngestException if interrupted, since the predictions would miss the terms left
      */
-    private ArrayList<List<Course>> coursesPerSemester() {
-        ArrayList<List<Course>> semesterCourses = new ArrayList<>();
-        String yearStr = String.valueOf(PREV_YEAR);
-        
-        /* Each semester is associated with a year and a two digit number representing month */
-        String fall = yearStr + "08";
-        String winter = yearStr + "12";
-        String spring = yearStr + "01";
-        String summer = yearStr + "05";
-
-        List<Course> fallCourses;
-        List<Course> winterCourses;
-        List<Course> springCourses;
-        List<Course> summerCourses;
-        
-        try {
-            String courseUri = UriComponentsBuilder.fromHttpUrl(COURSES_API_MINIFIED)
-                .queryParam("semester", fall)
-                .toUriString();
-            ResponseEntity<List<Course>> response = restTemplate.exchange(
-            courseUri, HttpMethod.GET, null,
-            new ParameterizedTypeReference<List<Course>>() {});
-            fallCourses = response.getBody();
-
-            courseUri = UriComponentsBuilder.fromHttpUrl(COURSES_API_MINIFIED)
-                .queryParam("semester", winter)
-                .toUriString();
-            response = restTemplate.exchange(courseUri, HttpMethod.GET, null,
-            new ParameterizedTypeReference<List<Course>>() {});
-            winterCourses = response.getBody();
-
-            courseUri = UriComponentsBuilder.fromHttpUrl(COURSES_API_MINIFIED)
-                .queryParam("semester", spring)
-                .toUriString();
-            response = restTemplate.exchange(courseUri, HttpMethod.GET, null,
-            new ParameterizedTypeReference<List<Course>>() {});
-            springCourses = response.getBody();
-
-            courseUri = UriComponentsBuilder.fromHttpUrl(COURSES_API_MINIFIED)
-                .queryParam("semester", summer)
-                .toUriString();
-            response = restTemplate.exchange(courseUri, HttpMethod.GET, null,
-            new ParameterizedTypeReference<List<Course>>() {});
-            summerCourses = response.getBody();
-
-        /* Error handling GET response retrieval error */
-        } catch (RestClientException e) {
-            System.out.println(ANSI_RED + "[ERROR]: Could not retrieve semester data\n"
-                            + "for semesters\n"
-                            + "RestClientException: " + e.getMessage() + ANSI_RESET);
-            return new ArrayList<List<Course>>(); // Likely better to return empty if failure occurs
+    private CourseIndex coursesPerSemester(HostClient client, int year) {
+        Map<OfferingHistory.Term, List<Course>> termCourses = new HashMap<>();
+
+        for (OfferingHistory.Term term : missingTerms(year)) {
+            String courseUri = semesterUri(term);
+            try {
+                ResponseEntity<List<Course>> response = client.call(() -> coursesTemplate.exchange(
+                courseUri, HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Course>>() {}), true);
+                if (response.getBody() != null) {
+                    termCourses.put(term, response.getBody());
+                }
+            /* Error handling GET response retrieval error */
+            } catch (RestClientException e) {
+                log.error("Could not retrieve the courses offered in semester={}: {}",
+                          term.code(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IngestException("Interrupted while fetching the courses offered per "
+                                          + "semester", e);
+            }
         }
-        semesterCourses.add(fallCourses);
-        semesterCourses.add(winterCourses);
-        semesterCourses.add(springCourses);
-        semesterCourses.add(summerCourses);
-        return semesterCourses;
+        return offeringIndex(termCourses, year);
     }
 }
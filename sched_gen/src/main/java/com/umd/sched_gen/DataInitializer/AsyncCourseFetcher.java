@@ -0,0 +1,277 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Fetches the catalog from umd.io and planetterp without a thread per request in flight (picked
+ * with sched-gen.ingest.client=async). Every request is an asynchronous {@link AsyncHostClient}
+ * call composed into a chain per semester: a page is fetched, parsed and refined, the grades of
+ * its Courses are looked up concurrently, and the finished page is handed to the caller. Each
+ * semester fetches its next page as soon as a page is parsed, but only once one of the
+ * pipeline-depth slots is free, and a slot is freed only once the caller has taken the page
+ * holding it, so a slow caller holds back the fetching instead of pages piling up in memory.
+ * All the work between requests runs on a small fixed pool of threads, whatever the number of
+ * requests in flight. Close the fetcher once done with it to release its threads.
+ */
+class AsyncCourseFetcher implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(AsyncCourseFetcher.class);
+
+    /* Configured like the RestTemplate's JSON converter (unknown fields ignored) */
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final ObjectReader COURSES_READER = MAPPER.readerForListOf(Course.class);
+    private static final ObjectReader COURSE_READER = MAPPER.readerFor(Course.class);
+
+    /* Posted by a semester's chain once it reaches its last page */
+    private static final Object SEMESTER_DONE = new Object();
+
+    private final ApiService api;
+    private final int year;
+    private final IngestMetrics metrics;
+    private final String gradesApi;
+    private final ExecutorService executor;
+    private final AsyncHostClient coursesClient;
+    private final AsyncHostClient gradesClient;
+    private final AsyncPermits slots;
+
+    /** Handles a page of refined Courses, with their average GPA */
+    @FunctionalInterface
+    interface PageHandler {
+        void handle(List<Course> page) throws InterruptedException;
+    }
+
+    /* Posted by a semester's chain when a page could not be fetched */
+    private record Failure(String uri, Throwable cause) {}
+
+    /** Constructor defines explicit dependencies for this fetcher to run
+     *
+     * @param api builds the umd.io requests and refines the fetched Courses
+     * @param year the year whose semesters are fetched, the one previous to the current one
+     * @param properties settings of the course ingest (endpoints, rates, concurrency, retries,
+     * pipeline depth and the number of threads used)
+     * @param metrics the meters requests and skipped Courses are recorded in
+     */
+    AsyncCourseFetcher(ApiService api, int year, IngestProperties properties,
+                       IngestMetrics metrics) {
+        this.api = api;
+        this.year = year;
+        this.metrics = metrics;
+        this.gradesApi = properties.getGradesApi();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getAsyncThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "async-ingest-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient httpClient = HttpClient.newBuilder()
+            .executor(executor)
+            .connectTimeout(properties.getCoursesTimeout())
+            .build();
+        this.coursesClient = new AsyncHostClient("umd.io", httpClient, executor,
+                                                 properties.getCoursesTimeout(),
+                                                 properties.getRetrievalRate(),
+                                                 properties.getMaxConcurrentPerHost(),
+                                                 properties, metrics);
+        this.gradesClient = new AsyncHostClient("planetterp", httpClient, executor,
+                                                properties.getGradesTimeout(),
+                                                properties.getGradesRate(),
+                                                properties.getGradesConcurrency(),
+                                                properties, metrics);
+        this.slots = new AsyncPermits(Math.max(1, properties.getPipelineDepth()));
+    }
+
+    /** Fetches every page of every semester, handing the refined pages to a handler on the
+     * calling thread, one at a time, as they are finished (in no particular order)
+     *
+     * @param handler handles each page of refined Courses
+     * @throws InterruptedException if interrupted while waiting for a page
+     * @throws IngestException if a page could not be fetched (the pages finished before it have
+     * been handed over)
+     */
+    void run(PageHandler handler) throws InterruptedException {
+        CourseIndex courseIndex = coursesPerSemester();
+        BlockingQueue<Object> finished = new LinkedBlockingQueue<>();
+        AtomicInteger pending = new AtomicInteger();
+        for (Semester semester : Semester.values()) {
+            log.info("Fetching semester={}", semester.code(year));
+            fetchPages(semester, 1, courseIndex, pending, finished);
+        }
+        /* A page is counted as pending before its semester can post SEMESTER_DONE, so once
+         * every semester is done, pending only counts pages still to be taken */
+        int semestersLeft = Semester.values().length;
+        while (semestersLeft > 0 || pending.get() > 0) {
+            Object item = finished.take();
+            if (item == SEMESTER_DONE) {
+                semestersLeft--;
+            } else if (item instanceof Failure failure) {
+                throw new IngestException("Could not fetch " + failure.uri(), failure.cause());
+            } else {
+                @SuppressWarnings("unchecked")
+                List<Course> page = (List<Course>) item;
+                pending.decrementAndGet();
+                slots.release();
+                handler.handle(page);
+            }
+        }
+    }
+
+    /* Fetches a page once a slot is free, then the next page of the semester as soon as this one
+     * is parsed, while the Courses of this one are refined and their grades looked up */
+    private void fetchPages(Semester semester, int page, CourseIndex courseIndex,
+                            AtomicInteger pending, BlockingQueue<Object> finished) {
+        String uri = api.pageUri(semester, year, page);
+        slots.acquire()
+            .thenCompose(ignored -> fetchPage(uri))
+            .thenCompose(courses -> {
+                if (courses.isEmpty()) {
+                    slots.release();
+                    finished.add(SEMESTER_DONE);
+                    return CompletableFuture.completedFuture(null);
+                }
+                pending.incrementAndGet();
+                fetchPages(semester, page + 1, courseIndex, pending, finished);
+                List<Course> refined = new ArrayList<>(courses.size());
+                for (Course course : courses) {
+                    if (api.refineCourse(course, courseIndex)) {
+                        refined.add(course);
+                    }
+                }
+                return fetchGrades(refined).thenRun(() -> finished.add(refined));
+            })
+            .exceptionally(failure -> {
+                finished.add(new Failure(uri, unwrap(failure)));
+                return null;
+            });
+    }
+
+    /* Fetches and parses a page of umd.io, timing it */
+    private CompletableFuture<List<Course>> fetchPage(String uri) {
+        long start = System.nanoTime();
+        return coursesClient.get(uri)
+            .thenApply(AsyncCourseFetcher::readCourses)
+            .whenComplete((courses, failure) ->
+                metrics.pageFetched(System.nanoTime() - start, failure == null));
+    }
+
+    /* Sets the average GPA of every Course, looking them all up at once */
+    private CompletableFuture<Void> fetchGrades(List<Course> courses) {
+        CompletableFuture<?>[] lookups = new CompletableFuture<?>[courses.size()];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = fetchGrade(courses.get(i));
+        }
+        return CompletableFuture.allOf(lookups);
+    }
+
+    /* Sets the average GPA of a Course like GradesFetcher: 0.0 if there is none or it could not
+     * be retrieved. Never fails. */
+    private CompletableFuture<Void> fetchGrade(Course course) {
+        String uri = GradesFetcher.uri(gradesApi, course);
+        long start = System.nanoTime();
+        return gradesClient.get(uri).handle((response, failure) -> {
+            long nanos = System.nanoTime() - start;
+            course.setAverageGPA(0.0F);
+            if (failure == null && response.statusCode() / 100 == 2) {
+                try {
+                    Course fetched = COURSE_READER.readValue(response.body());
+                    course.setAverageGPA(fetched.getAverageGPA());
+                    metrics.gradesFound(nanos);
+                    return null;
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure == null && response.statusCode() / 100 == 4) {
+                /* A lot of courses have no grade data (HTTP 4XX error for those) */
+                metrics.gradesMissing(nanos);
+                log.debug("No grade data course={}, defaulting to 0.0", course.getCourseId());
+                return null;
+            }
+            metrics.gradesFailed(nanos);
+            log.warn("planetterp request failed uri={}: {}", uri, failure != null
+                     ? unwrap(failure).getMessage() : "status " + response.statusCode());
+            return null;
+        });
+    }
+
+    /** Fetches the courses offered in every term missing from the offering history at once, and
+     * records in an index which semesters each course is predicted to be offered in. A term that
+     * cannot be fetched is left out of the history, keeping the others.
+     *
+     * @return an index of the semesters each course is predicted to be offered in
+     * @throws InterruptedException if interrupted while waiting for the terms
+     */
+    private CourseIndex coursesPerSemester() throws InterruptedException {
+        Map<OfferingHistory.Term, List<Course>> termCourses = new ConcurrentHashMap<>();
+        List<OfferingHistory.Term> terms = api.missingTerms(year);
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[terms.size()];
+        for (int i = 0; i < requests.length; i++) {
+            OfferingHistory.Term term = terms.get(i);
+            requests[i] = coursesClient.get(api.semesterUri(term))
+                .thenApply(AsyncCourseFetcher::readCourses)
+                .handle((courses, failure) -> {
+                    if (failure != null) {
+                        log.error("Could not retrieve the courses offered in semester={}: {}",
+                                  term.code(), unwrap(failure).getMessage());
+                    } else {
+                        termCourses.put(term, courses);
+                    }
+                    return null;
+                });
+        }
+        try {
+            CompletableFuture.allOf(requests).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());     /* Failures are handled above */
+        }
+        return api.offeringIndex(termCourses, year);
+    }
+
+    /* Parses a JSON array of Courses, failing on answers other than a 2xx like RestTemplate */
+    private static List<Course> readCourses(HttpResponse<byte[]> response) {
+        try {
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException(response.statusCode() + " from " + response.uri());
+            }
+            List<Course> courses = COURSES_READER.readValue(response.body());
+            return courses == null ? new ArrayList<>() : courses;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        while (failure.getCause() != null && (failure instanceof CompletionException
+                                              || failure instanceof UncheckedIOException)) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+
+    /** Stops the threads used for the ingest, abandoning the requests still in flight */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
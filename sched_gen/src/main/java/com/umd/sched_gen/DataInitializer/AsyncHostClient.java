@@ -0,0 +1,154 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/** The asynchronous counterpart of {@link HostClient}: makes GET requests to a single host with
+ * the JDK HttpClient, without holding a thread while a request is in flight or waiting on the
+ * throttle, a free slot or a backoff. Requests are throttled to the same rate and concurrency,
+ * retried the same way and guarded by a {@link CircuitBreaker}, but never hedged.
+ */
+class AsyncHostClient {
+    private static final Logger log = LoggerFactory.getLogger(AsyncHostClient.class);
+
+    private final String host;
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final Duration timeout;
+    private final HostThrottle throttle;
+    private final AsyncPermits inFlight;
+    private final CircuitBreaker breaker;
+    private final IngestMetrics metrics;
+    private final int attempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+
+    /** Failure of a request refused while the host's circuit breaker is open */
+    static class CircuitOpenException extends IOException {
+        CircuitOpenException(String host) {
+            super("Circuit breaker of " + host + " is open");
+        }
+    }
+
+    /** Creates a client for one host
+     *
+     * @param host the name of the host, in logs and meters
+     * @param httpClient sends the requests
+     * @param executor runs the stages delayed by the throttle or a backoff
+     * @param timeout how long a request may take before it fails (and is retried)
+     * @param permitsPerSecond the maximum number of requests started per second
+     * @param maxConcurrent the maximum number of requests in flight at once
+     * @param properties settings of the course ingest (retries and breaker)
+     * @param metrics the meters retries and opened breakers are counted in
+     */
+    AsyncHostClient(String host, HttpClient httpClient, Executor executor, Duration timeout,
+                    double permitsPerSecond, int maxConcurrent, IngestProperties properties,
+                    IngestMetrics metrics) {
+        if (properties.getRetryAttempts() <= 0) {
+            throw new IllegalArgumentException("Retry attempts must be positive");
+        }
+        this.host = host;
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.throttle = new HostThrottle(permitsPerSecond, maxConcurrent);
+        this.inFlight = new AsyncPermits(maxConcurrent);
+        this.breaker = new CircuitBreaker(properties.getBreakerFailures(),
+                                          properties.getBreakerOpenFor());
+        this.metrics = metrics;
+        this.attempts = properties.getRetryAttempts();
+        this.backoffNanos = properties.getRetryBackoff().toNanos();
+        this.maxBackoffNanos = properties.getRetryMaxBackoff().toNanos();
+    }
+
+    /** Makes a GET request, retrying it until it gets an answer worth keeping or runs out of
+     * attempts. Answers other than a 5xx or 429 (including other 4xx) are returned as they are.
+     *
+     * @param uri the request URI
+     * @return a future of the response, failed with the IOException of the last attempt (or a
+     * CircuitOpenException) if there was none
+     */
+    CompletableFuture<HttpResponse<byte[]>> get(String uri) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        return attempt(request, 1);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> attempt(HttpRequest request, int attempt) {
+        if (!breaker.allowRequest()) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(host));
+        }
+        return inFlight.acquire()
+            .thenCompose(ignored -> after(throttle.reserve()))
+            .thenCompose(ignored -> httpClient.sendAsync(request,
+                                                         HttpResponse.BodyHandlers.ofByteArray()))
+            .handle((response, failure) -> {
+                inFlight.release();
+                return outcome(request, attempt, response, failure);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    /* Returns the response if it is an answer, otherwise retries the request after a backoff */
+    private CompletableFuture<HttpResponse<byte[]>> outcome(HttpRequest request, int attempt,
+                                                            HttpResponse<byte[]> response,
+                                                            Throwable failure) {
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        if (cause == null && !retryable(response.statusCode())) {
+            breaker.recordSuccess();    /* The host answered */
+            return CompletableFuture.completedFuture(response);
+        }
+        if (cause != null && !(cause instanceof IOException)) {
+            return CompletableFuture.failedFuture(cause);
+        }
+        IOException error = cause != null ? (IOException) cause
+            : new IOException(response.statusCode() + " from " + request.uri());
+        if (breaker.recordFailure()) {
+            metrics.breakerOpened(host);
+            log.warn("Circuit breaker opened host={}: {}", host, error.getMessage());
+        }
+        if (attempt >= attempts) {
+            return CompletableFuture.failedFuture(error);
+        }
+        metrics.retried(host);
+        return after(HostClient.backoffNanos(backoffNanos, maxBackoffNanos, attempt))
+            .thenCompose(ignored -> attempt(request, attempt + 1));
+    }
+
+    /* A future completed after a delay, on the executor, without a thread waiting for it */
+    private CompletableFuture<Void> after(long nanos) {
+        if (nanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {},
+            CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS, executor));
+    }
+
+    /* Retried like HostClient: 5xx and 429 */
+    private static boolean retryable(int status) {
+        return status >= 500 || status == 429;
+    }
+
+    /** Returns the state of the host's circuit breaker
+     *
+     * @return the state
+     */
+    CircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+}
@@ -0,0 +1,53 @@
+package com.umd.sched_gen.DataInitializer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/** A semaphore for asynchronous callers: instead of blocking a thread until a permit is free,
+ * acquire returns a future completed once the caller holds one. Waiters are served in order.
+ */
+class AsyncPermits {
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    /** Creates the permits
+     *
+     * @param permits the number of permits that may be held at once
+     */
+    AsyncPermits(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Permits must be positive");
+        }
+        this.available = permits;
+    }
+
+    /** Takes a permit, now or once one is released
+     *
+     * @return a future completed once the permit is held (release it once done)
+     */
+    CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    /** Releases a permit, handing it to the oldest waiter if there is one */
+    void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = waiters.poll();
+            if (next == null) {
+                available++;
+                return;
+            }
+        }
+        next.complete(null);    /* Outside the lock, since it runs the waiter's next stage */
+    }
+}
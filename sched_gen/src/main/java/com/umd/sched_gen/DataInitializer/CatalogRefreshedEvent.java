@@ -0,0 +1,25 @@
+package com.umd.sched_gen.DataInitializer;
+
+import java.time.Instant;
+
+/** Used to indicate the database table courses has been changed by an incremental refresh. Since
+ * it is also a {@link DataInitializedEvent}, anything built from the courses table is rebuilt by
+ * listening for DataInitializedEvents alone.
+ */
+public class CatalogRefreshedEvent extends DataInitializedEvent {
+    private final CatalogRefresher.RefreshResult result;
+
+    public CatalogRefreshedEvent(Object source, CatalogRefresher.RefreshResult result,
+                                 Instant refreshedAt) {
+        super(source, true, refreshedAt);
+        this.result = result;
+    }
+
+    /** Returns what the refresh changed
+     *
+     * @return the counts of added, updated, removed and unchanged courses
+     */
+    public CatalogRefresher.RefreshResult getResult() {
+        return result;
+    }
+}
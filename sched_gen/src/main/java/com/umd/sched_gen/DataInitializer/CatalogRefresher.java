@@ -0,0 +1,166 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.umd.sched_gen.Courses.Course;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** A component that incrementally refreshes the courses table. The catalog is fetched again, and
+ * each fetched Course's content hash is compared to the one stored with it, so only Courses that
+ * were added, changed or removed since the last ingest are written to the database. Stored Courses
+ * are only removed after a complete fetch: ApiService throws an IngestException for any page that
+ * could not be fetched or refined and for an interrupt, and the refresh then writes nothing. Runs
+ * on the schedule set by sched-gen.ingest.refresh-cron (disabled by default), off the startup
+ * thread, and from startup when the last ingest failed part way: a completed refresh also
+ * completes that ingest (see {@link IngestState}). What each refresh did is counted in the
+ * ingest.refresh meters (see {@link IngestMetrics}).
+ */
+@Component
+public class CatalogRefresher {
+    private static final Logger log = LoggerFactory.getLogger(CatalogRefresher.class);
+
+    private final ApiService apiService;
+    private final CourseWriter courseWriter;
+    private final IngestStateRepository ingestStates;
+    private final IngestProperties properties;
+    private final ApplicationEventPublisher publisher;
+    private final IngestMetrics metrics;
+
+    /** What a single refresh did: how many fetched Courses were scanned, and how many of them were
+     * added, updated, removed or skipped (unchanged) */
+    public record RefreshResult(int scanned, int added, int updated, int removed, int skipped) {
+        /** Returns the number of Courses written to or deleted from the database
+         *
+         * @return added + updated + removed
+         */
+        public int changed() {
+            return added + updated + removed;
+        }
+    }
+
+    /** Constructor defines explicit dependencies for this component to run
+     *
+     * @param apiService the service that will retrieve Course data
+     * @param courseWriter handler of batched writes to the database
+     * @param ingestStates records that the courses table is complete after a refresh
+     * @param properties settings of the course ingest
+     * @param publisher the publisher for the event indicating the courses table changed
+     * @param metrics the meters what each refresh did is counted in
+     */
+    public CatalogRefresher(ApiService apiService, CourseWriter courseWriter,
+                            IngestStateRepository ingestStates, IngestProperties properties,
+                            ApplicationEventPublisher publisher, IngestMetrics metrics) {
+        this.apiService = apiService;
+        this.courseWriter = courseWriter;
+        this.ingestStates = ingestStates;
+        this.properties = properties;
+        this.publisher = publisher;
+        this.metrics = metrics;
+    }
+
+    /** Runs an incremental refresh on the configured schedule */
+    @Scheduled(cron = "${sched-gen.ingest.refresh-cron:-}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /** Fetches the catalog and writes only the Courses that were added, changed or removed since
+     * they were last saved. Publishes a CatalogRefreshedEvent if anything changed.
+     *
+     * @return what the refresh did, or null if the catalog could not be fetched
+     */
+    public synchronized RefreshResult refresh() {
+        List<Course> fetched;
+        try {
+            fetched = apiService.fetchAllCourses();
+        } catch (IngestException e) {
+            /* Part of the catalog is missing (or the fetch was interrupted), so don't treat the
+             * stored courses as removed */
+            log.error("Refresh could not fetch the catalog, skipping: {}", e.getMessage(),
+                      e.getCause());
+            return null;
+        }
+        if (fetched.isEmpty()) {
+            /* Most likely a failed fetch, so don't treat every stored course as removed */
+            log.error("Refresh fetched no courses, skipping");
+            return null;
+        }
+
+        Map<CourseWriter.CourseKey, CourseWriter.StoredCourse> stored =
+            courseWriter.loadStoredCourses();
+        List<Course> added = new ArrayList<>();
+        List<Course> updated = new ArrayList<>();
+        Set<String> fetchedIds = new HashSet<>();
+        for (Course course : fetched) {
+            fetchedIds.add(course.getCourseId());
+            CourseWriter.StoredCourse storedCourse =
+                stored.remove(CourseWriter.CourseKey.of(course));
+            if (storedCourse == null) {
+                added.add(course);
+            } else if (storedCourse.contentHash() != course.computeContentHash()) {
+                course.setId(storedCourse.id());
+                updated.add(course);
+            }
+        }
+        /* Courses saved under a fetched course ID with another name are stale duplicates (ie:
+         * from before a rename), removed along with the Courses no longer offered */
+        List<Integer> removed = new ArrayList<>();
+        int duplicates = 0;
+        for (Map.Entry<CourseWriter.CourseKey, CourseWriter.StoredCourse> entry
+                 : stored.entrySet()) {
+            removed.add(entry.getValue().id());
+            duplicates += fetchedIds.contains(entry.getKey().courseId()) ? 1 : 0;
+        }
+        if (duplicates > 0) {
+            log.info("Refresh removing stale duplicates={} of fetched course IDs", duplicates);
+        }
+
+        int batchSize = Math.max(properties.getPersistBatchSize(), 1);
+        courseWriter.deleteAll(removed, batchSize);
+        /* Added before updated, so updated Courses can link requisites to added ones */
+        courseWriter.saveAll(added, batchSize);
+        courseWriter.updateAll(updated, batchSize);
+        /* Unchanged Courses may name the added ones as requisites too */
+        Set<String> addedIds = new HashSet<>();
+        Set<Integer> linked = new HashSet<>();
+        for (Course course : added) {
+            addedIds.add(course.getCourseId());
+            linked.add(course.getId());
+        }
+        for (Course course : updated) {
+            linked.add(course.getId());
+        }
+        courseWriter.linkRequisitesTo(addedIds, linked, batchSize);
+
+        RefreshResult result = new RefreshResult(fetched.size(), added.size(), updated.size(),
+            removed.size(), fetched.size() - added.size() - updated.size());
+        /* Every fetched Course is now saved, completing an ingest that failed part way. The time
+         * the table was last written only moves if something changed, since the catalog is
+         * versioned by it. */
+        Instant refreshedAt = Instant.now();
+        if (result.changed() > 0) {
+            ingestStates.save(new IngestState(true, refreshedAt));
+        } else {
+            ingestStates.findById(IngestState.ID).filter(state -> !state.isComplete())
+                .ifPresent(state -> ingestStates.save(new IngestState(true, state.getUpdated())));
+        }
+        metrics.refreshed(result);
+        log.info("Refresh scanned={} added={} updated={} removed={} unchanged={}",
+                 result.scanned(), result.added(), result.updated(), result.removed(),
+                 result.skipped());
+        if (result.changed() > 0) {
+            publisher.publishEvent(new CatalogRefreshedEvent(this, result, refreshedAt));
+        }
+        return result;
+    }
+}
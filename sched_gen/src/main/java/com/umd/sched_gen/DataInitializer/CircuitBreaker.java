@@ -0,0 +1,86 @@
+package com.umd.sched_gen.DataInitializer;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/** Stops requests to a host that keeps failing. The breaker opens after a number of consecutive
+ * failed requests, and while it is open every request is refused without reaching the host. Once
+ * it has been open for a while, a single trial request is let through (half open): the breaker
+ * closes again if it succeeds, and reopens if it fails.
+ */
+public class CircuitBreaker {
+    /** The states of a breaker */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    /** Creates a closed breaker
+     *
+     * @param failureThreshold the number of consecutive failures opening the breaker
+     * @param openFor how long the breaker refuses requests before letting a trial one through
+     */
+    public CircuitBreaker(int failureThreshold, Duration openFor) {
+        this(failureThreshold, openFor, System::nanoTime);
+    }
+
+    /** Creates a closed breaker reading time from a clock (for tests)
+     *
+     * @param failureThreshold the number of consecutive failures opening the breaker
+     * @param openFor how long the breaker refuses requests before letting a trial one through
+     * @param clock returns the current time, in nanoseconds
+     */
+    CircuitBreaker(int failureThreshold, Duration openFor, LongSupplier clock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openFor.toNanos();
+        this.clock = clock;
+    }
+
+    /** Returns whether a request may be made now. While half open, only the first caller is let
+     * through, until its result is recorded.
+     *
+     * @return whether the request may be made
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /** Records a request that reached the host and got an answer, closing the breaker */
+    public synchronized void recordSuccess() {
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    /** Records a failed request, opening the breaker after enough consecutive ones
+     *
+     * @return whether this failure opened the breaker
+     */
+    public synchronized boolean recordFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            return true;
+        }
+        return false;
+    }
+
+    /** Returns the state of the breaker
+     *
+     * @return the state, as of the last request allowed or recorded
+     */
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,142 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.umd.sched_gen.Courses.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/** Groups Courses that arrive one at a time into chunks, and hands every full chunk to a consumer
+ * on a background thread. At most depth chunks wait for the consumer, after which adding blocks,
+ * so the Courses held at once are bounded by the chunk size and depth instead of the catalog size.
+ * Close the chunker to hand over the last (partial) chunk and wait for the consumer to finish.
+ * If the consumer fails on a chunk, no further chunks are consumed: the failure is thrown as an
+ * IngestException by the next add and by close, so the Courses of that chunk are never counted
+ * as saved.
+ */
+public class CourseChunker implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(CourseChunker.class);
+
+    private final int chunkSize;
+    private final BlockingQueue<List<Course>> chunks;
+    private final ExecutorService worker;
+    private final Future<?> consuming;
+    private final IngestMetrics metrics;
+    private List<Course> chunk;
+    private int added;
+    private boolean closed;
+    private volatile IngestException failure;
+
+    /* Marks the end of the queue for the worker (compared by identity) */
+    private final List<Course> END = new ArrayList<>(0);
+
+    /** Creates a chunker and starts its consumer thread
+     *
+     * @param chunkSize the number of Courses per chunk
+     * @param depth the maximum number of full chunks waiting for the consumer
+     * @param consumer processes a chunk of Courses, on the chunker's own thread
+     * @param metrics the meters the number of waiting chunks is published in
+     */
+    public CourseChunker(int chunkSize, int depth, Consumer<List<Course>> consumer,
+                         IngestMetrics metrics) {
+        if (chunkSize <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Chunk size and depth must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayBlockingQueue<>(depth);
+        this.chunk = new ArrayList<>(chunkSize);
+        this.metrics = metrics;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-chunks");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.consuming = worker.submit(() -> consume(consumer));
+    }
+
+    /** Adds a Course to the current chunk, handing the chunk over once it is full. Waits while
+     * the consumer is depth chunks behind.
+     *
+     * @param course the Course to add
+     * @throws InterruptedException if interrupted while waiting for the consumer
+     * @throws IngestException if the consumer failed on an earlier chunk
+     */
+    public synchronized void add(Course course) throws InterruptedException {
+        if (failure != null) {
+            throw failure;
+        }
+        chunk.add(course);
+        added++;
+        if (chunk.size() == chunkSize) {
+            chunks.put(chunk);
+            metrics.chunksQueued(chunks.size());
+            chunk = new ArrayList<>(chunkSize);
+        }
+    }
+
+    /** Returns the number of Courses added so far
+     *
+     * @return the number of Courses added
+     */
+    public synchronized int added() {
+        return added;
+    }
+
+    /** Hands over the last chunk and waits until the consumer has processed every chunk
+     *
+     * @throws IngestException if the consumer failed on a chunk
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!chunk.isEmpty() && failure == null) {
+                chunks.put(chunk);
+            }
+            chunks.put(END);
+            consuming.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for the last chunks");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Chunk consumer failed", e.getCause());
+        } finally {
+            worker.shutdownNow();
+            metrics.chunksQueued(0);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /* Processes chunks off the queue until the end marker is taken. Once a chunk failed, the
+     * chunks still coming are only taken off the queue, so adding never blocks on it. */
+    private Void consume(Consumer<List<Course>> consumer) throws InterruptedException {
+        for (List<Course> next = chunks.take(); next != END; next = chunks.take()) {
+            metrics.chunksQueued(chunks.size());
+            if (failure != null) {
+                continue;
+            }
+            try {
+                consumer.accept(next);
+            } catch (RuntimeException e) {
+                failure = e instanceof IngestException ingest ? ingest
+                    : new IngestException("Could not save a chunk of " + next.size()
+                                          + " courses", e);
+            }
+        }
+        return null;
+    }
+}
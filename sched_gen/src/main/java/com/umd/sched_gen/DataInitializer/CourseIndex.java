@@ -0,0 +1,103 @@
+package com.umd.sched_gen.DataInitializer;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** A course ID keyed index used while ingesting courses. It keeps track of which courses have
+ * already been added (so duplicates across semesters are skipped) and which semesters each course
+ * was offered in, stored as a {@link Semester} bitmask. Both lookups are constant time, unlike
+ * scanning the fetched lists of Courses. The index is safe to share between ingest threads.
+ */
+public class CourseIndex {
+    private final Set<String> added = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> offerings = new ConcurrentHashMap<>();
+
+    /** Records a Course as added if no Course with the same course ID has been added yet
+     *
+     * @param course the Course to add
+     * @return true if the Course was not already added
+     */
+    public boolean add(Course course) {
+        return added.add(course.getCourseId());
+    }
+
+    /** Checks whether a Course with the same course ID has already been added
+     *
+     * @param course the Course to check
+     * @return true if the Course has already been added
+     */
+    public boolean contains(Course course) {
+        return added.contains(course.getCourseId());
+    }
+
+    /** Returns the number of unique Courses added
+     *
+     * @return the number of added Courses
+     */
+    public int size() {
+        return added.size();
+    }
+
+    /** Records that every Course of a list was offered during a semester
+     *
+     * @param semester the semester the Courses were offered in
+     * @param courses the Courses offered during the semester
+     */
+    public void markOffered(Semester semester, List<Course> courses) {
+        if (courses == null) {
+            return;
+        }
+        for (Course course : courses) {
+            markOffered(semester, course.getCourseId());
+        }
+    }
+
+    /** Records that a course was offered during a semester
+     *
+     * @param semester the semester the course was offered in
+     * @param courseId the course ID of the course
+     */
+    public void markOffered(Semester semester, String courseId) {
+        offerings.merge(courseId, semester.bit(), (a, b) -> a | b);
+    }
+
+    /** Records that a course was offered during every semester of a bitmask
+     *
+     * @param courseId the course ID of the course
+     * @param mask the bitmask of semesters (see {@link Semester#bit()})
+     */
+    public void markOffered(String courseId, int mask) {
+        offerings.merge(courseId, mask, (a, b) -> a | b);
+    }
+
+    /** Returns the semesters a course was offered in as a bitmask (see {@link Semester#bit()})
+     *
+     * @param courseId the course ID of the course
+     * @return the bitmask of semesters, 0 if the course was never offered
+     */
+    public int offerings(String courseId) {
+        return offerings.getOrDefault(courseId, 0);
+    }
+
+    /** Returns the semesters a course was offered in, ordered from fall to summer
+     *
+     * @param courseId the course ID of the course
+     * @return a list of semester names (FALL, WINTER, SPRING, SUMMER)
+     */
+    public ArrayList<String> semestersOffered(String courseId) {
+        int mask = offerings(courseId);
+        ArrayList<String> result = new ArrayList<>();
+        for (Semester semester : Semester.values()) {
+            if (semester.in(mask)) {
+                result.add(semester.name());
+            }
+        }
+        return result;
+    }
+}
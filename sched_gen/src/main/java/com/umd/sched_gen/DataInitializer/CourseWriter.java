@@ -0,0 +1,473 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.SerializationUtils;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Requisite;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/** Writes Courses to the database in batches. Rather than saving (and committing) one Course at
+ * a time through the CourseRepository, every chunk of Courses is inserted with a single JDBC batch
+ * in its own transaction, and the course_prereqs and course_coreqs join tables are written in
+ * batches once all Courses have their database IDs. The course_semester and course_gened rows of
+ * a chunk are written along with it. The rows match the ones Hibernate writes for a Course, so the
+ * Courses read back through the CourseRepository as usual.
+ */
+@Component
+public class CourseWriter {
+    private static final Logger log = LoggerFactory.getLogger(CourseWriter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private String insertCourseSql;
+    private String updateCourseSql;
+    private String identifierQuote;
+
+    /** The database ID and stored content hash of a saved Course */
+    public record StoredCourse(int id, long contentHash) {}
+
+    /** The unique key of a saved Course: its course ID and name */
+    public record CourseKey(String courseId, String name) {
+        /** Returns the unique key of a Course
+         *
+         * @param course the Course
+         * @return its course ID and name
+         */
+        public static CourseKey of(Course course) {
+            return new CourseKey(course.getCourseId(), course.getName());
+        }
+    }
+
+    /** Constructor defines explicit dependencies for this component to run
+     *
+     * @param jdbcTemplate runs the batched inserts
+     * @param transactionManager wraps each chunk of inserts in a transaction
+     */
+    public CourseWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Inserts Courses into the courses table in chunks, then writes their prereqs and coreqs to
+     * the join tables. If a chunk violates a constraint, its Courses are inserted one at a time
+     * instead so that only the offending Courses are left out.
+     *
+     * @param courses the Courses to be saved to database
+     * @param batchSize the number of Courses inserted per batch
+     * @return the number of Courses saved
+     */
+    public int saveAll(List<Course> courses, int batchSize) {
+        int saved = insertAll(courses, batchSize);
+        saveRequisites(courses, batchSize);
+        return saved;
+    }
+
+    /** Inserts Courses into the courses table in chunks, like saveAll, but without writing their
+     * prereqs and coreqs (see {@link #linkRequisites(int)}), so Courses can be inserted a few at a
+     * time as they arrive
+     *
+     * @param courses the Courses to be saved to database
+     * @param batchSize the number of Courses inserted per batch
+     * @return the number of Courses saved
+     */
+    public int insertAll(List<Course> courses, int batchSize) {
+        int saved = 0;
+        for (int start = 0; start < courses.size(); start += batchSize) {
+            List<Course> chunk = courses.subList(start, Math.min(start + batchSize, courses.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertCourses(chunk));
+                saved += chunk.size();
+            } catch (DataIntegrityViolationException d) {
+                log.info("Batch of {} courses rejected, saving them one at a time", chunk.size());
+                saved += saveEach(chunk);
+            }
+        }
+        return saved;
+    }
+
+    /* Per-row fallback for a rejected chunk, so one bad Course is still isolated */
+    private int saveEach(List<Course> chunk) {
+        int saved = 0;
+        for (Course course : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertCourses(List.of(course)));
+                saved++;
+            } catch (DataIntegrityViolationException d) {
+                log.warn("Course not added course={}: {}", course.getCourseId(),
+                         d.getMostSpecificCause().getMessage());
+            } catch (Exception e) {
+                log.error("Failed to save course={} to database", course.getCourseId(), e);
+            }
+        }
+        return saved;
+    }
+
+    private void insertCourses(List<Course> chunk) {
+        jdbcTemplate.batchUpdate(insertCourseSql(), chunk, chunk.size(), this::bindCourse);
+        List<String> courseIds = chunk.stream().map(Course::getCourseId).toList();
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, course FROM courses WHERE course IN ("
+                           + String.join(", ", Collections.nCopies(courseIds.size(), "?")) + ")",
+            row -> { ids.merge(row.getString(2), row.getInt(1), Math::max); }, courseIds.toArray());
+        insertQueryRows(chunk, ids);
+    }
+
+    /* Writes the course_semester and course_gened rows of saved Courses, matched to their
+     * database IDs by course ID (the newest row of a course ID, and only the first Course of an
+     * ID gets rows) */
+    private void insertQueryRows(List<Course> courses, Map<String, Integer> ids) {
+        List<Object[]> semesterRows = new ArrayList<>();
+        List<Object[]> genedRows = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (Course course : courses) {
+            Integer id = ids.get(course.getCourseId());
+            if (id == null || !seen.add(id)) {
+                continue;
+            }
+            for (Semester semester : Course.semesters(course.getSemesters())) {
+                semesterRows.add(new Object[] {id, semester.name()});
+            }
+            for (String gened : Course.genedCodes(course.getGeneds())) {
+                genedRows.add(new Object[] {id, gened});
+            }
+        }
+        if (!semesterRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO course_semester (course_id, semester) "
+                                     + "VALUES (?, ?)", semesterRows);
+        }
+        if (!genedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO course_gened (course_id, gened) VALUES (?, ?)",
+                                     genedRows);
+        }
+    }
+
+    /** Fills the course_semester and course_gened tables from the courses table if both are
+     * empty while it is not (ie: a database saved to before those tables existed), so Courses
+     * can be queried by semester and gen ed without being ingested again
+     *
+     * @param batchSize the number of Courses whose rows are inserted per batch
+     * @return the number of Courses whose rows were written
+     */
+    public int fillQueryTables(int batchSize) {
+        Integer rows = jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM course_semester)"
+                                                   + " + (SELECT COUNT(*) FROM course_gened)",
+                                                   Integer.class);
+        if (rows == null || rows > 0) {
+            return 0;
+        }
+        List<Course> courses = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, course, semesters, " + quoted("gen eds") + " FROM courses",
+                           row -> { courses.add(storedCourse(row.getInt(1), row.getString(2),
+                                                             row.getBytes(3), row.getBytes(4))); });
+        for (int start = 0; start < courses.size(); start += batchSize) {
+            List<Course> chunk = courses.subList(start, Math.min(start + batchSize, courses.size()));
+            Map<String, Integer> ids = new HashMap<>();
+            for (Course course : chunk) {
+                ids.putIfAbsent(course.getCourseId(), course.getId());
+            }
+            transactionTemplate.executeWithoutResult(status -> insertQueryRows(chunk, ids));
+        }
+        if (!courses.isEmpty()) {
+            log.info("Filled semester and gen ed rows of courses={}", courses.size());
+        }
+        return courses.size();
+    }
+
+    /* A Course with only the columns the query tables are made of, read back from their
+     * serialized form (written by this application, see bindCourse) */
+    @SuppressWarnings({"deprecation", "unchecked"})
+    private static Course storedCourse(int id, String courseId, byte[] semesters, byte[] geneds) {
+        Course course = new Course(id);
+        course.setCourseId(courseId);
+        if (semesters != null) {
+            course.setSemesters((ArrayList<String>) SerializationUtils.deserialize(semesters));
+        }
+        if (geneds != null) {
+            course.setGeneds((List<List<String>>) SerializationUtils.deserialize(geneds));
+        }
+        return course;
+    }
+
+    private void bindCourse(PreparedStatement statement, Course course) throws SQLException {
+        List<List<String>> geneds = course.getGeneds();
+        statement.setFloat(1, course.getAverageGPA());
+        statement.setString(2, course.getCoreqsString());
+        statement.setString(3, course.getCourseId());
+        statement.setString(4, course.getCreditGrantedFor());
+        statement.setInt(5, course.getCredits());
+        statement.setString(6, course.getDeptId());
+        if (geneds == null) {
+            statement.setNull(7, Types.VARBINARY);
+        } else {
+            statement.setBytes(7, SerializationUtils.serialize(geneds));
+        }
+        statement.setString(8, course.getName());
+        statement.setInt(9, course.getNumSemesters());
+        statement.setString(10, course.getPrereqsString());
+        statement.setString(11, course.getRestrictions());
+        statement.setBytes(12, SerializationUtils.serialize(course.getSemesters()));
+        statement.setLong(13, course.computeContentHash());
+        statement.setString(14, course.getPrereqExpression());
+        statement.setString(15, course.getCoreqExpression());
+    }
+
+    /* Same columns (and serialized collection columns) as Hibernate uses for a Course */
+    private String insertCourseSql() {
+        if (insertCourseSql == null) {
+            insertCourseSql = "INSERT INTO courses (" + String.join(", ", courseColumns())
+                + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+        return insertCourseSql;
+    }
+
+    private String updateCourseSql() {
+        if (updateCourseSql == null) {
+            updateCourseSql = "UPDATE courses SET " + String.join(" = ?, ", courseColumns())
+                + " = ? WHERE id = ?";
+        }
+        return updateCourseSql;
+    }
+
+    /* Columns in the order bound by bindCourse, quoted where Hibernate quotes them */
+    private String[] courseColumns() {
+        return new String[] {quoted("average gpa"), "coreqs_string", "course",
+            "credit_granted_for", "credits", "department", quoted("gen eds"),
+            quoted("course name"), quoted("# of semesters"), "prereqs_string", "restrictions",
+            "semesters", quoted("content hash"), quoted("prereq expression"),
+            quoted("coreq expression")};
+    }
+
+    /* Column names with spaces need the database's identifier quotes (backticks for MySQL) */
+    private String quoted(String column) {
+        if (identifierQuote == null) {
+            identifierQuote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString()).trim();
+        }
+        return identifierQuote + column + identifierQuote;
+    }
+
+    /** Loads the database ID and stored content hash of every saved Course, without loading the
+     * Courses themselves. Keyed by the unique key of the table, so Courses saved under the same
+     * course ID with different names (ie: before and after a rename) are all loaded.
+     *
+     * @return the stored Courses keyed by course ID and name
+     */
+    public Map<CourseKey, StoredCourse> loadStoredCourses() {
+        Map<CourseKey, StoredCourse> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT id, course, " + quoted("course name") + ", "
+                           + quoted("content hash") + " FROM courses", row -> {
+            stored.put(new CourseKey(row.getString(2), row.getString(3)),
+                       new StoredCourse(row.getInt(1), row.getLong(4)));
+        });
+        return stored;
+    }
+
+    /** Overwrites already saved Courses (matched by their ID) in batches, and rewrites their
+     * semester and gen ed rows and their prereqs and coreqs in the join tables
+     *
+     * @param courses the Courses to update, with their database IDs set
+     * @param batchSize the number of Courses updated per batch
+     */
+    public void updateAll(List<Course> courses, int batchSize) {
+        for (int start = 0; start < courses.size(); start += batchSize) {
+            List<Course> chunk = courses.subList(start, Math.min(start + batchSize, courses.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(updateCourseSql(), chunk, chunk.size(), (statement, course) -> {
+                    bindCourse(statement, course);
+                    statement.setInt(16, course.getId());
+                });
+                deleteRows("DELETE FROM course_prereqs WHERE course_id = ?", chunk, Course::getId);
+                deleteRows("DELETE FROM course_coreqs WHERE course_id = ?", chunk, Course::getId);
+                deleteRows("DELETE FROM course_semester WHERE course_id = ?", chunk,
+                           Course::getId);
+                deleteRows("DELETE FROM course_gened WHERE course_id = ?", chunk, Course::getId);
+                Map<String, Integer> ids = new HashMap<>();
+                for (Course course : chunk) {
+                    ids.putIfAbsent(course.getCourseId(), course.getId());
+                }
+                insertQueryRows(chunk, ids);
+            });
+        }
+        saveRequisites(courses, batchSize);
+    }
+
+    /** Deletes saved Courses, along with every prereq, coreq, semester and gen ed row referring to
+     * them
+     *
+     * @param ids the database IDs of the Courses to delete
+     * @param batchSize the number of Courses deleted per batch
+     */
+    public void deleteAll(List<Integer> ids, int batchSize) {
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<Integer> chunk = ids.subList(start, Math.min(start + batchSize, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                deleteRows("DELETE FROM course_prereqs WHERE course_id = ?", chunk, id -> id);
+                deleteRows("DELETE FROM course_prereqs WHERE prerequisite_id = ?", chunk, id -> id);
+                deleteRows("DELETE FROM course_coreqs WHERE course_id = ?", chunk, id -> id);
+                deleteRows("DELETE FROM course_coreqs WHERE corequisite_id = ?", chunk, id -> id);
+                deleteRows("DELETE FROM course_semester WHERE course_id = ?", chunk, id -> id);
+                deleteRows("DELETE FROM course_gened WHERE course_id = ?", chunk, id -> id);
+                deleteRows("DELETE FROM courses WHERE id = ?", chunk, id -> id);
+            });
+        }
+    }
+
+    private <T> void deleteRows(String sql, List<T> chunk, ToIntFunction<T> id) {
+        jdbcTemplate.batchUpdate(sql, chunk, chunk.size(),
+            (statement, row) -> statement.setInt(1, id.applyAsInt(row)));
+    }
+
+    /** Writes the prereqs and coreqs of Courses to the course_prereqs and course_coreqs join
+     * tables in batches: one row per saved course named in a Course's prereq/coreq expression.
+     * Courses are matched to their rows by course ID, which also sets the ID of every saved
+     * Course.
+     *
+     * @param courses the saved Courses
+     * @param batchSize the number of join rows inserted per batch
+     */
+    public void saveRequisites(List<Course> courses, int batchSize) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, course FROM courses",
+            row -> { ids.put(row.getString(2), row.getInt(1)); });
+
+        List<int[]> prereqRows = new ArrayList<>();
+        List<int[]> coreqRows = new ArrayList<>();
+        for (Course course : courses) {
+            Integer id = ids.get(course.getCourseId());
+            if (id == null) {
+                continue;   /* Course was not saved */
+            }
+            course.setId(id);
+            addRows(prereqRows, id, course.getPrereqExpression(), ids);
+            addRows(coreqRows, id, course.getCoreqExpression(), ids);
+        }
+        insertRows("INSERT INTO course_prereqs (course_id, prerequisite_id) VALUES (?, ?)",
+                   prereqRows, batchSize);
+        insertRows("INSERT INTO course_coreqs (course_id, corequisite_id) VALUES (?, ?)",
+                   coreqRows, batchSize);
+    }
+
+    /** Writes the prereqs and coreqs of every saved Course to the join tables, like
+     * saveRequisites but reading the requisite expressions back from the courses table, so the
+     * Courses do not need to be in memory
+     *
+     * @param batchSize the number of join rows inserted per batch
+     */
+    public void linkRequisites(int batchSize) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, course FROM courses",
+            row -> { ids.put(row.getString(2), row.getInt(1)); });
+
+        List<int[]> prereqRows = new ArrayList<>();
+        List<int[]> coreqRows = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, " + quoted("prereq expression") + ", "
+                           + quoted("coreq expression") + " FROM courses", row -> {
+            addRows(prereqRows, row.getInt(1), row.getString(2), ids);
+            addRows(coreqRows, row.getInt(1), row.getString(3), ids);
+        });
+        insertRows("INSERT INTO course_prereqs (course_id, prerequisite_id) VALUES (?, ?)",
+                   prereqRows, batchSize);
+        insertRows("INSERT INTO course_coreqs (course_id, corequisite_id) VALUES (?, ?)",
+                   coreqRows, batchSize);
+    }
+
+    /** Links saved Courses to newly added ones they name as prereqs or coreqs. saveRequisites
+     * only writes the rows of the Courses it is given, so a Course saved before the ones it names
+     * were added is otherwise never linked to them.
+     *
+     * @param added the course IDs of the added Courses
+     * @param linked the database IDs of the Courses whose rows were just written, which are
+     * skipped
+     * @param batchSize the number of join rows inserted per batch
+     */
+    public void linkRequisitesTo(Set<String> added, Set<Integer> linked, int batchSize) {
+        if (added.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> addedIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, course FROM courses", row -> {
+            if (added.contains(row.getString(2))) {
+                addedIds.put(row.getString(2), row.getInt(1));
+            }
+        });
+
+        List<int[]> prereqRows = new ArrayList<>();
+        List<int[]> coreqRows = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, " + quoted("prereq expression") + ", "
+                           + quoted("coreq expression") + " FROM courses", row -> {
+            if (!linked.contains(row.getInt(1))) {
+                addRows(prereqRows, row.getInt(1), row.getString(2), addedIds);
+                addRows(coreqRows, row.getInt(1), row.getString(3), addedIds);
+            }
+        });
+        insertRows("INSERT INTO course_prereqs (course_id, prerequisite_id) VALUES (?, ?)",
+                   prereqRows, batchSize);
+        insertRows("INSERT INTO course_coreqs (course_id, corequisite_id) VALUES (?, ?)",
+                   coreqRows, batchSize);
+    }
+
+    /* Adds a row for each course named in the expression that is in ids */
+    private static void addRows(List<int[]> rows, int id, String expression,
+                                Map<String, Integer> ids) {
+        Requisite requisite = Requisite.parse(expression);
+        if (requisite == null) {
+            return;
+        }
+        for (String courseId : requisite.courseIds()) {
+            Integer otherId = ids.get(courseId);
+            if (otherId != null && otherId != id) {
+                rows.add(new int[] {id, otherId});
+            }
+        }
+    }
+
+    /* Inserts requisite rows in chunks; a rejected chunk is retried one row at a time, so one
+     * bad link only leaves itself out */
+    private void insertRows(String sql, List<int[]> rows, int batchSize) {
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            List<int[]> chunk = rows.subList(start, Math.min(start + batchSize, rows.size()));
+            try {
+                insertRowChunk(sql, chunk);
+            } catch (DataIntegrityViolationException d) {
+                log.info("Batch of {} requisite rows rejected, saving them one at a time",
+                         chunk.size());
+                for (int[] row : chunk) {
+                    try {
+                        insertRowChunk(sql, List.of(row));
+                    } catch (DataIntegrityViolationException e) {
+                        log.warn("Requisite row not added course_id={} requisite_id={}: {}",
+                                 row[0], row[1], e.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertRowChunk(String sql, List<int[]> chunk) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), (statement, row) -> {
+                statement.setInt(1, row[0]);
+                statement.setInt(2, row[1]);
+            }));
+    }
+}
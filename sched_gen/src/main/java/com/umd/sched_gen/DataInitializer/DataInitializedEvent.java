@@ -2,9 +2,44 @@ package com.umd.sched_gen.DataInitializer;
 
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Instant;
+
 /** Used to indicate the database table courses has been populated */
 public class DataInitializedEvent extends ApplicationEvent {
+    private final boolean ingested;
+    private final Instant ingestedAt;
+
     public DataInitializedEvent(Object source) {
+        this(source, false, null);
+    }
+
+    /** Creates the event, telling whether the courses table was just (re)filled from the APIs
+     *
+     * @param source the component that populated the table
+     * @param ingested true if Courses were just ingested, false if the table was already populated
+     * @param ingestedAt when the table was last written by an ingest or refresh, or null if unknown
+     */
+    public DataInitializedEvent(Object source, boolean ingested, Instant ingestedAt) {
         super(source);
+        this.ingested = ingested;
+        this.ingestedAt = ingestedAt;
+    }
+
+    /** Returns whether Courses were just ingested into the table, rather than it having been
+     * populated by an earlier run
+     *
+     * @return true if Courses were just ingested
+     */
+    public boolean isIngested() {
+        return ingested;
+    }
+
+    /** Returns when the courses table was last written by an ingest or refresh
+     *
+     * @return the time of the last write, or null if unknown (ie: a table filled before it was
+     * recorded)
+     */
+    public Instant getIngestedAt() {
+        return ingestedAt;
     }
 }
@@ -1,5 +1,7 @@
 package com.umd.sched_gen.DataInitializer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
@@ -9,57 +11,129 @@ import com.umd.sched_gen.Courses.CourseRepository;
 
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.Instant;
 import java.util.List;
 
 /** A component that manages the initialization of Course data in the database */
 @Component
 public class DataInitializer implements CommandLineRunner {
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final ApiService apiService;
     private final CourseRepository courseRepository;
+    private final CourseWriter courseWriter;
+    private final CatalogRefresher catalogRefresher;
+    private final IngestStateRepository ingestStates;
+    private final IngestProperties properties;
     private final ApplicationEventPublisher publisher;
 
-    public static final String ANSI_RESET = "\u001B[0m";
-    public static final String ANSI_RED = "\u001B[31m";
-
     /** Constructor defines explicit dependencies for this component to run
      * 
      * @param apiService the service that will retrieve Course data
      * @param courseRepository handler of CRUD operations for the database
+     * @param courseWriter handler of batched inserts into the database
+     * @param catalogRefresher completes an ingest that failed part way
+     * @param ingestStates records whether the ingest completed
+     * @param properties settings of the course ingest (including the persistence batch size)
      * @param publisher the publisher for the event indicating initializer of the database is done
     */
-    public DataInitializer(ApiService apiService, CourseRepository courseRepository, ApplicationEventPublisher publisher) {
+    public DataInitializer(ApiService apiService, CourseRepository courseRepository,
+                           CourseWriter courseWriter, CatalogRefresher catalogRefresher,
+                           IngestStateRepository ingestStates, IngestProperties properties,
+                           ApplicationEventPublisher publisher) {
         this.apiService = apiService;
         this.courseRepository = courseRepository;
+        this.courseWriter = courseWriter;
+        this.catalogRefresher = catalogRefresher;
+        this.ingestStates = ingestStates;
+        this.properties = properties;
         this.publisher = publisher;
     }
 
-    /** Initializes the database course table with UMD Courses and publishes a DataInitializedEvent
-     * when done
+    /** Initializes the database course table with UMD Courses (or, if already initialized, fills
+     * the semester and gen ed tables if they are missing) and publishes a DataInitializedEvent
+     * when done. If part of the catalog cannot be fetched, whatever was saved is kept and the
+     * ingest is recorded as incomplete (see {@link IngestState}); the next start then fetches the
+     * catalog again with an incremental refresh, which saves only the Courses still missing.
     */
     @Override
     public void run(String... args) {
-        if (courseRepository.count() == 0) {
-            List<Course> courses = apiService.fetchAllCourses();
-            saveCourses(courses);
+        boolean ingested = courseRepository.count() == 0;
+        if (ingested) {
+            ingest();
+        } else if (!ingestComplete()) {
+            log.info("Completing the ingest that failed part way with a refresh");
+            if (catalogRefresher.refresh() == null) {
+                log.error("Ingest still incomplete, completing it on the next start");
+            }
+        } else {
+            courseWriter.fillQueryTables(Math.max(1, properties.getPersistBatchSize()));
+        }
+        /* The time of the last write, so the catalog is versioned by it and not by this start */
+        Instant ingestedAt = ingestStates.findById(IngestState.ID).map(IngestState::getUpdated)
+            .orElse(null);
+        publisher.publishEvent(new DataInitializedEvent(this, ingested, ingestedAt));
+    }
+
+    /* Whether the last ingest saved the whole catalog, as a table filled before it was recorded
+     * is assumed to */
+    private boolean ingestComplete() {
+        return ingestStates.findById(IngestState.ID).map(IngestState::isComplete).orElse(true);
+    }
+
+    /* Fills the empty courses table, recording the ingest as incomplete until it returns */
+    private void ingest() {
+        ingestStates.save(new IngestState(false, Instant.now()));
+        try {
+            if (properties.isStreamingIngest() && properties.getPersistBatchSize() > 0) {
+                streamCourses();
+            } else {
+                saveCourses(apiService.fetchAllCourses());
+            }
+            ingestStates.save(new IngestState(true, Instant.now()));
+        } catch (IngestException e) {
+            log.error("Ingest incomplete, keeping the courses saved and completing it on the next "
+                      + "start: {}", e.getMessage(), e.getCause());
+            ingestStates.save(new IngestState(false, Instant.now()));
         }
-        publisher.publishEvent(new DataInitializedEvent(this));
     }
     
-    /** Save a list of Courses to the courses table of the database
+    /** Streams Courses into the courses table as they are fetched, one batch at a time, then
+     * links their requisites once every Course has been saved
+     */
+    private void streamCourses() {
+        int batchSize = properties.getPersistBatchSize();
+        try {
+            int streamed = apiService.streamAllCourses(
+                chunk -> courseWriter.insertAll(chunk, batchSize), batchSize);
+            log.info("Streamed courses={} into the database", streamed);
+        } finally {
+            /* Even after a failed page, so the Courses saved before it are complete */
+            courseWriter.linkRequisites(batchSize);
+        }
+    }
+
+    /** Save a list of Courses to the courses table of the database, in batches unless the
+     * persistence batch size is 0
      * 
      * @param courses the Courses to be saved to database
      */
     private void saveCourses(List<Course> courses) {
+        if (properties.getPersistBatchSize() > 0) {
+            courseWriter.saveAll(courses, properties.getPersistBatchSize());
+            return;
+        }
         for (Course course : courses) {
             try {
                 courseRepository.save(course);
             } catch (DataIntegrityViolationException d) {
-                System.out.println(ANSI_RED + "Course not added: " + course.getCourseId()
-                                    + ANSI_RESET);
+                log.warn("Course not added course={}: {}", course.getCourseId(),
+                         d.getMostSpecificCause().getMessage());
             } catch (Exception e) {
-                System.out.println(ANSI_RED + "Failed to save course " + course.getCourseId() + 
-                                    " to database" + ANSI_RESET);
+                log.error("Failed to save course={} to database", course.getCourseId(), e);
             }
         }
+        /* Link requisites once every Course has been saved, so they can refer to each other */
+        courseWriter.saveRequisites(courses, 1);
     }
 }
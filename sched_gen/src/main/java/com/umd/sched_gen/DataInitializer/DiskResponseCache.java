@@ -0,0 +1,494 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/** A RestTemplate interceptor caching GET responses on disk, so re-ingesting the catalog (or
+ * running against recorded responses) barely touches the network. 200s are cached, as well as
+ * 404s since planetterp answers 404 for courses without grade data. Each response is stored
+ * gzipped in a file named after the SHA-256 of its URI. Responses younger than the TTL are
+ * served straight from disk; older ones are revalidated with If-None-Match/If-Modified-Since when
+ * the server sent an ETag or Last-Modified, and served from disk again on a 304. Once the cache
+ * grows past its size cap, the least recently used files are deleted.
+ *
+ * Bodies are never held in memory: a fetched body is copied to a temporary file as the caller
+ * reads it, and stored once it has been read to the end, while cached bodies are read straight
+ * off their file. So the cache keeps the streaming ingest's memory bounded by the chunk size.
+ */
+public class DiskResponseCache implements ClientHttpRequestInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(DiskResponseCache.class);
+
+    private static final String SUFFIX = ".gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path directory;
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /* The header of a cached response, as stored on disk before its body */
+    private record Entry(int status, long storedAt, String eTag, String lastModified,
+                         String contentType) {}
+
+    /* A cached response opened for reading, its body positioned after the header */
+    private record Cached(Entry entry, InputStream body) {}
+
+    /** Creates a cache in a directory, picking up any responses already stored there (and
+     * deleting the temporary files of responses that were never stored)
+     *
+     * @param directory the directory the responses are stored in
+     * @param ttl how long a stored response is served without revalidating it
+     * @param maxBytes the size cap of the directory, in bytes
+     * @throws IOException if the directory cannot be created or read
+     */
+    public DiskResponseCache(Path directory, Duration ttl, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.ttlMillis = ttl.toMillis();
+        this.maxBytes = maxBytes;
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SUFFIX)) {
+                    totalBytes.addAndGet(size(file));
+                } else if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+        Path file = directory.resolve(key(request.getURI().toString()));
+        Cached cached = open(file);
+        if (cached != null && System.currentTimeMillis() - cached.entry().storedAt() < ttlMillis) {
+            touch(file);
+            return response(cached);
+        }
+
+        /* Stale (or missing), ask the server whether it changed */
+        if (cached != null && cached.entry().eTag() != null) {
+            request.getHeaders().setIfNoneMatch(cached.entry().eTag());
+        }
+        if (cached != null && cached.entry().lastModified() != null) {
+            request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, cached.entry().lastModified());
+        }
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            if (cached == null) {
+                throw e;
+            }
+            return response(cached);    /* Better stale than nothing */
+        }
+
+        if (cached != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            Entry stale = cached.entry();
+            Entry revalidated = new Entry(stale.status(), System.currentTimeMillis(),
+                stale.eTag(), stale.lastModified(), stale.contentType());
+            try (InputStream staleBody = cached.body()) {
+                store(file, revalidated, staleBody);
+            }
+            return reopen(file, request);
+        }
+        if (cached != null) {
+            cached.body().close();
+        }
+        int status = response.getStatusCode().value();
+        if (status == HttpStatus.NOT_FOUND.value()) {
+            response.close();
+            store(file, entry(status, response.getHeaders()), InputStream.nullInputStream());
+            return reopen(file, request);
+        }
+        if (status != HttpStatus.OK.value()) {
+            return response;
+        }
+        return teed(response, file, entry(status, response.getHeaders()));
+    }
+
+    private static Entry entry(int status, HttpHeaders headers) {
+        return new Entry(status, System.currentTimeMillis(), headers.getETag(),
+                         headers.getFirst(HttpHeaders.LAST_MODIFIED),
+                         headers.getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    /* Content-addressed file name of a URI */
+    private static String key(String uri) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(uri.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest) + SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /* Opens a cached response, reading its header, or returns null if there is none */
+    private static Cached open(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            Entry entry = new Entry(in.readInt(), in.readLong(), emptyToNull(in.readUTF()),
+                                    emptyToNull(in.readUTF()), emptyToNull(in.readUTF()));
+            return new Cached(entry, in);
+        } catch (IOException e) {
+            closeQuietly(in);
+            return null;    /* Corrupt or partially evicted entry, fetch it again */
+        }
+    }
+
+    /* Serves a response just stored; it is the newest entry, so only gone if it alone is over
+     * the cap or could not be written, and the request fails to be retried without the cache */
+    private static ClientHttpResponse reopen(Path file, HttpRequest request) throws IOException {
+        Cached cached = open(file);
+        if (cached == null) {
+            throw new IOException("Could not cache the response of " + request.getURI());
+        }
+        return response(cached);
+    }
+
+    /* Creates a temporary file and writes the header of an entry to it */
+    private DataOutputStream create(Path temp, Entry entry) throws IOException {
+        DataOutputStream out = new DataOutputStream(
+            new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE));
+        try {
+            out.writeInt(entry.status());
+            out.writeLong(entry.storedAt());
+            out.writeUTF(nullToEmpty(entry.eTag()));
+            out.writeUTF(nullToEmpty(entry.lastModified()));
+            out.writeUTF(nullToEmpty(entry.contentType()));
+        } catch (IOException e) {
+            closeQuietly(out);
+            throw e;
+        }
+        return out;
+    }
+
+    /* Writes an entry to a temporary file first, so readers never see a partially written one */
+    private void store(Path file, Entry entry, InputStream body) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "entry", TEMP_SUFFIX);
+            try (DataOutputStream out = create(temp, entry)) {
+                body.transferTo(out);
+            }
+            commit(temp, file);
+        } catch (IOException e) {
+            log.warn("Could not cache response in {}: {}", file, e.getMessage());
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /* Moves a written temporary file into place, evicting entries if over the cap */
+    private void commit(Path temp, Path file) throws IOException {
+        long previous = size(file);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (totalBytes.addAndGet(size(file) - previous) > maxBytes) {
+            evict();
+        }
+    }
+
+    /* Hands over a fetched response whose body is copied to a temporary file as it is read, and
+     * stored once read to the end. If the copy fails, the body is still served, just not stored. */
+    private ClientHttpResponse teed(ClientHttpResponse response, Path file, Entry entry)
+            throws IOException {
+        InputStream in;
+        try {
+            in = response.getBody();
+        } catch (IOException e) {
+            response.close();
+            throw e;
+        }
+        Path temp = null;
+        DataOutputStream out = null;
+        try {
+            temp = Files.createTempFile(directory, "entry", TEMP_SUFFIX);
+            out = create(temp, entry);
+        } catch (IOException e) {
+            log.warn("Could not cache response in {}: {}", file, e.getMessage());
+            deleteQuietly(temp);
+            return response;
+        }
+        TeeBody tee = new TeeBody(in, out, temp, file);
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatusCode getStatusCode() throws IOException {
+                return response.getStatusCode();
+            }
+
+            @Override
+            public String getStatusText() throws IOException {
+                return response.getStatusText();
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return response.getHeaders();
+            }
+
+            @Override
+            public InputStream getBody() {
+                return tee;
+            }
+
+            @Override
+            public void close() {
+                try {
+                    tee.close();
+                } catch (IOException e) {
+                    log.debug("Could not close response body: {}", e.getMessage());
+                } finally {
+                    response.close();
+                }
+            }
+        };
+    }
+
+    /* A body copying every byte read to the temporary file of its entry */
+    private final class TeeBody extends FilterInputStream {
+        private final DataOutputStream out;
+        private final Path temp;
+        private final Path file;
+        private boolean copying = true;
+        private boolean ended;
+        private boolean closed;
+
+        TeeBody(InputStream in, DataOutputStream out, Path temp, Path file) {
+            super(in);
+            this.out = out;
+            this.temp = temp;
+            this.file = file;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                ended = true;
+            } else if (copying) {
+                try {
+                    out.write(b);
+                } catch (IOException e) {
+                    stopCopying(e);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read < 0) {
+                ended = true;
+            } else if (copying) {
+                try {
+                    out.write(buffer, offset, read);
+                } catch (IOException e) {
+                    stopCopying(e);
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            /* Skipped bytes would be missing from the copy, so read them instead */
+            byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        /* Stores the entry if the whole body was copied. A parser may stop right after the end
+         * of the JSON, so what is left of the body (whitespace, at most) is read first. */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (copying && !ended) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    while (read(buffer, 0, buffer.length) >= 0) {
+                        /* Copied by read */
+                    }
+                }
+                if (copying) {
+                    out.close();
+                    commit(temp, file);
+                }
+            } catch (IOException e) {
+                log.warn("Could not cache response in {}: {}", file, e.getMessage());
+            } finally {
+                closeQuietly(out);
+                deleteQuietly(temp);
+                super.close();
+            }
+        }
+
+        private void stopCopying(IOException e) {
+            copying = false;
+            log.warn("Could not cache response in {}: {}", file, e.getMessage());
+        }
+    }
+
+    /* Deletes least recently used entries (by modification time, see touch) until under the cap */
+    private synchronized void evict() throws IOException {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries.filter(path -> path.toString().endsWith(SUFFIX))
+                .sorted((a, b) -> lastUsed(a).compareTo(lastUsed(b)))
+                .toList();
+        }
+        for (Path file : files) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            long size = size(file);
+            if (Files.deleteIfExists(file)) {
+                totalBytes.addAndGet(-size);
+            }
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            /* Only affects the eviction order */
+        }
+    }
+
+    private static FileTime lastUsed(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            /* Nothing was left to write or read */
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /* A response served from disk, streaming its body off the file */
+    private static ClientHttpResponse response(Cached cached) {
+        Entry entry = cached.entry();
+        HttpHeaders headers = new HttpHeaders();
+        if (entry.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, entry.contentType());
+        }
+        if (entry.eTag() != null) {
+            headers.setETag(entry.eTag());
+        }
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return HttpStatusCode.valueOf(entry.status());
+            }
+
+            @Override
+            public String getStatusText() {
+                return HttpStatus.valueOf(entry.status()).getReasonPhrase();
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return cached.body();
+            }
+
+            @Override
+            public void close() {
+                closeQuietly(cached.body());
+            }
+        };
+    }
+}
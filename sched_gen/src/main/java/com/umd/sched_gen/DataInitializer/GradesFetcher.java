@@ -0,0 +1,144 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.umd.sched_gen.Courses.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Fetches average GPA data from planetterp.com for Courses. Lookups run concurrently on a bounded
+ * pool of threads, through a {@link HostClient} so planetterp never sees more than the configured
+ * number of requests in flight or per second, failed lookups are retried, and slow ones hedged.
+ * Close the fetcher once done with it to release its threads.
+ */
+public class GradesFetcher implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(GradesFetcher.class);
+
+    private final RestTemplate restTemplate;
+    private final String gradesApi;
+    private final HostClient client;
+    private final ExecutorService executor;
+    private final IngestMetrics metrics;
+
+    /** Creates a fetcher for the planetterp grades endpoint
+     *
+     * @param restTemplate the client used for planetterp requests
+     * @param properties settings of the course ingest (the grades endpoint, its rate and
+     * concurrency, retries and hedging)
+     * @param metrics the meters requests are timed in
+     */
+    public GradesFetcher(RestTemplate restTemplate, IngestProperties properties,
+                         IngestMetrics metrics) {
+        this.restTemplate = restTemplate;
+        this.gradesApi = properties.getGradesApi();
+        this.metrics = metrics;
+        this.client = new HostClient("planetterp", properties.getGradesRate(),
+                                     properties.getGradesConcurrency(), properties, metrics);
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = properties.getGradesConcurrency();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "grades-fetcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Sets the average GPA of every Course, fetching them concurrently. Returns once all Courses
+     * have been updated.
+     *
+     * @param courses the Courses to fetch grades data for
+     */
+    public void fetchAll(List<Course> courses) {
+        List<Future<Float>> grades = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            grades.add(executor.submit(() -> fetch(course)));
+        }
+        for (int i = 0; i < courses.size(); i++) {
+            courses.get(i).setAverageGPA(await(grades.get(i)));
+        }
+    }
+
+    /** Retrieves average GPA data from planetterp.com for a Course, waiting for the throttle and
+     * retrying failed requests
+     *
+     * @param course the Course to fetch grades data for
+     * @return the average GPA of the Course, 0.0 if there is none or it could not be retrieved
+     */
+    public float fetch(Course course) {
+        String courseUri = uri(gradesApi, course);
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<Course> response = client.call(() -> restTemplate.exchange(
+            courseUri,
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<Course>() {}), true);
+
+            /* Process the response and return the grade */
+            metrics.gradesFound(System.nanoTime() - start);
+            Course fetchedCourse = response.getBody();
+            return fetchedCourse == null? 0.0F:fetchedCourse.getAverageGPA();
+        } catch (RestClientException e) {
+            /* A lot of courses have no grade data (HTTP 4XX error for those) */
+            if (e instanceof HttpClientErrorException && !HostClient.retryable(e)) {
+                metrics.gradesMissing(System.nanoTime() - start);
+                log.debug("No grade data course={}, defaulting to 0.0", course.getCourseId());
+                return 0.0F;
+            }
+            /* Error handling GET response retrieval error, once out of retries */
+            metrics.gradesFailed(System.nanoTime() - start);
+            log.warn("planetterp request failed uri={}: {}", courseUri, e.getMessage());
+            return 0.0F;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while fetching grades course={}", course.getCourseId());
+            return 0.0F;
+        }
+    }
+
+    /** Builds the planetterp request for the grades of a Course
+     *
+     * @param gradesApi the planetterp grades endpoint
+     * @param course the Course
+     * @return the request URI
+     */
+    static String uri(String gradesApi, Course course) {
+        return UriComponentsBuilder.fromHttpUrl(gradesApi)
+            .queryParam("name", course.getCourseId())
+            .toUriString();
+    }
+
+    private float await(Future<Float> grade) {
+        try {
+            return grade.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for grades");
+            return 0.0F;
+        } catch (ExecutionException e) {
+            log.warn("Could not retrieve grades data", e.getCause());
+            return 0.0F;
+        }
+    }
+
+    /** Stops the threads used to fetch grades data */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        client.close();
+    }
+}
@@ -0,0 +1,213 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/** Makes requests to a single host: throttled by a {@link HostThrottle}, retried, guarded by a
+ * {@link CircuitBreaker}, and hedged.
+ * - Requests failing with an I/O error (including a timeout), a 5xx or a 429 are retried after an
+ *   exponential backoff with jitter, up to sched-gen.ingest.retry-attempts times in all. Other
+ *   4xx are answers (eg: planetterp has no grades for a course) and are never retried.
+ * - Every failed attempt counts towards the host's breaker. While it is open, requests fail
+ *   right away with a CircuitOpenException instead of waiting on a host that is down.
+ * - A hedged request still running after sched-gen.ingest.hedge-after is sent a second time, if
+ *   the throttle has an in-flight slot free, and the first answer of the two is used. Only
+ *   hedge requests without side effects, since both may run to completion.
+ * Close the client once done with it to release its threads.
+ */
+public class HostClient implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(HostClient.class);
+
+    private final String host;
+    private final HostThrottle throttle;
+    private final CircuitBreaker breaker;
+    private final IngestMetrics metrics;
+    private final int attempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final long hedgeAfterNanos;
+    private final ExecutorService executor;
+
+    /** Thrown instead of making a request while the host's circuit breaker is open */
+    public static class CircuitOpenException extends RestClientException {
+        CircuitOpenException(String host) {
+            super("Circuit breaker of " + host + " is open");
+        }
+    }
+
+    /** Creates a client for one host
+     *
+     * @param host the name of the host, in logs and meters
+     * @param permitsPerSecond the maximum number of requests started per second
+     * @param maxConcurrent the maximum number of requests in flight at once (hedges included)
+     * @param properties settings of the course ingest (retries, breaker and hedging)
+     * @param metrics the meters retries, hedges and opened breakers are counted in
+     */
+    public HostClient(String host, double permitsPerSecond, int maxConcurrent,
+                      IngestProperties properties, IngestMetrics metrics) {
+        if (properties.getRetryAttempts() <= 0) {
+            throw new IllegalArgumentException("Retry attempts must be positive");
+        }
+        this.host = host;
+        this.throttle = new HostThrottle(permitsPerSecond, maxConcurrent);
+        this.breaker = new CircuitBreaker(properties.getBreakerFailures(),
+                                          properties.getBreakerOpenFor());
+        this.metrics = metrics;
+        this.attempts = properties.getRetryAttempts();
+        this.backoffNanos = properties.getRetryBackoff().toNanos();
+        this.maxBackoffNanos = properties.getRetryMaxBackoff().toNanos();
+        this.hedgeAfterNanos = properties.getHedgeAfter().toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, host + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Makes a request, retrying it until it succeeds, fails with an answer that is not worth
+     * retrying, or runs out of attempts
+     *
+     * @param <T> the type of the request result
+     * @param request the request, failing with a RestClientException
+     * @param hedged whether a slow request may be sent a second time
+     * @return the result of the request
+     * @throws RestClientException the failure of the last attempt, or a CircuitOpenException
+     * @throws InterruptedException if interrupted while waiting on the throttle or a backoff
+     */
+    public <T> T call(Supplier<T> request, boolean hedged) throws InterruptedException {
+        RestClientException failure = null;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            if (attempt > 0) {
+                metrics.retried(host);
+                backOff(attempt);
+            }
+            if (!breaker.allowRequest()) {
+                throw new CircuitOpenException(host);
+            }
+            try {
+                T result = hedged && hedgeAfterNanos > 0 ? hedge(request) : throttle.call(request);
+                breaker.recordSuccess();
+                return result;
+            } catch (RestClientException e) {
+                if (!retryable(e)) {
+                    breaker.recordSuccess();    /* The host answered */
+                    throw e;
+                }
+                if (breaker.recordFailure()) {
+                    metrics.breakerOpened(host);
+                    log.warn("Circuit breaker opened host={}: {}", host, e.getMessage());
+                }
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /** Returns the state of the host's circuit breaker
+     *
+     * @return the state
+     */
+    public CircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    /** Returns whether a failed request is worth retrying: I/O errors (including timeouts and
+     * responses cut short), 5xx and 429
+     *
+     * @param e the failure
+     * @return whether to retry
+     */
+    static boolean retryable(RestClientException e) {
+        if (e instanceof HttpStatusCodeException status) {
+            return status.getStatusCode().is5xxServerError()
+                || status.getStatusCode().value() == 429;
+        }
+        return e instanceof ResourceAccessException || e.getCause() instanceof IOException;
+    }
+
+    private void backOff(int attempt) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(backoffNanos(backoffNanos, maxBackoffNanos, attempt));
+    }
+
+    /** Returns how long to wait before a retry: between half and all of the capped exponential
+     * backoff, so retries spread out
+     *
+     * @param backoffNanos the backoff before the first retry
+     * @param maxBackoffNanos the longest backoff
+     * @param attempt the number of the retry, starting at 1
+     * @return the backoff, in nanoseconds
+     */
+    static long backoffNanos(long backoffNanos, long maxBackoffNanos, int attempt) {
+        long cap = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+
+    /* Runs a request on the client's threads, sending it again if it is still running after the
+     * hedge delay, and returns the first result (or the last failure, if both fail) */
+    private <T> T hedge(Supplier<T> request) throws InterruptedException {
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        throttle.acquire();
+        start(request, first, running);
+        try {
+            return first.get(hedgeAfterNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (throttle.tryAcquire()) {
+                running.incrementAndGet();
+                metrics.hedged(host);
+                start(request, first, running);
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+        try {
+            return first.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private <T> void start(Supplier<T> request, CompletableFuture<T> first, AtomicInteger running) {
+        executor.execute(() -> {
+            try {
+                first.complete(request.get());
+            } catch (Throwable e) {
+                /* Errors too, or the caller would wait on the future forever */
+                if (running.decrementAndGet() == 0) {
+                    first.completeExceptionally(e);
+                }
+            } finally {
+                throttle.release();
+            }
+        });
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return e.getCause() instanceof RuntimeException cause
+            ? cause : new IllegalStateException(e.getCause());
+    }
+
+    /** Stops the threads used for hedged requests */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
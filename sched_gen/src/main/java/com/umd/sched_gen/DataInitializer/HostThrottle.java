@@ -0,0 +1,107 @@
+package com.umd.sched_gen.DataInitializer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** Limits the requests made to a single host: at most a fixed number of requests may be in flight
+ * at once, and requests are started no faster than a fixed rate (a token bucket refilled
+ * continuously, allowing a burst of up to one second's worth of requests).
+ */
+public class HostThrottle {
+    private final Semaphore inFlight;
+    private final double permitsPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /** Creates a throttle for one host
+     *
+     * @param permitsPerSecond the maximum number of requests started per second
+     * @param maxConcurrent the maximum number of requests in flight at once
+     */
+    public HostThrottle(double permitsPerSecond, int maxConcurrent) {
+        if (permitsPerSecond <= 0 || maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Rate and concurrency must be positive");
+        }
+        this.inFlight = new Semaphore(maxConcurrent, true);
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1.0, permitsPerSecond);
+        this.tokens = 1.0;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /** Runs a request once both a rate token and an in-flight slot are available
+     *
+     * @param <T> the type of the request result
+     * @param request the request to run
+     * @return the result of the request
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public <T> T call(Supplier<T> request) throws InterruptedException {
+        acquire();
+        try {
+            return request.get();
+        } finally {
+            release();
+        }
+    }
+
+    /** Blocks until both a rate token and an in-flight slot are available, taking them. Release
+     * the slot once the request is done.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        acquireToken();
+        inFlight.acquire();
+    }
+
+    /** Takes an in-flight slot only if one is free right away, then waits for a rate token as
+     * usual. For requests not worth queueing behind the others, like hedged ones.
+     *
+     * @return whether a slot was taken (release it once the request is done)
+     * @throws InterruptedException if interrupted while waiting for a rate token
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (!inFlight.tryAcquire()) {
+            return false;
+        }
+        try {
+            acquireToken();
+        } catch (InterruptedException e) {
+            inFlight.release();
+            throw e;
+        }
+        return true;
+    }
+
+    /** Releases the in-flight slot of a request that is done */
+    public void release() {
+        inFlight.release();
+    }
+
+    /** Blocks until the token bucket allows another request to start
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquireToken() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /** Takes a rate token without waiting for it, letting the balance go negative so later
+     * callers queue up behind this one. For callers that cannot block, like asynchronous requests.
+     *
+     * @return how long to wait before starting the request, in nanoseconds (0 to start now)
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        tokens -= 1.0;
+        return tokens >= 0 ? 0 : (long) (-tokens / permitsPerNano);
+    }
+}
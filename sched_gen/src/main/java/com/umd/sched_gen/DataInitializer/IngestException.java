@@ -0,0 +1,23 @@
+package com.umd.sched_gen.DataInitializer;
+
+/** Thrown when the ingest cannot fetch part of the catalog, even after retrying, or is
+ * interrupted, so it ends instead of handing over a catalog with Courses silently missing.
+ */
+public class IngestException extends RuntimeException {
+    /** Creates the exception
+     *
+     * @param message why the catalog is incomplete
+     */
+    public IngestException(String message) {
+        super(message);
+    }
+
+    /** Creates the exception
+     *
+     * @param message what could not be fetched
+     * @param cause the last failure fetching it
+     */
+    public IngestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
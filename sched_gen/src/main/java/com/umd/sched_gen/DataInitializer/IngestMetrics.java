@@ -0,0 +1,172 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** The meters of the course ingest, published through the actuator (/actuator/prometheus):
+ * - ingest.page.fetch: timer of umd.io page requests, by outcome (success, failure)
+ * - ingest.grades.fetch: timer of planetterp requests, by outcome (found, missing for a 4xx,
+ *   failure)
+ * - ingest.courses.skipped: counter of fetched Courses not kept, by reason (grad-level, duplicate)
+ * - ingest.courses.refined: counter of Courses kept
+ * - ingest.queue.depth: gauge of the pages (IngestPipeline) and chunks (CourseChunker) waiting to
+ *   be processed
+ * - ingest.requests.retried, ingest.requests.hedged, ingest.breaker.opened: counters of retried
+ *   and hedged requests and of opened circuit breakers, by host (see {@link HostClient})
+ * - ingest.refresh.scanned, ingest.refresh.changed, ingest.refresh.skipped: counters of the
+ *   Courses compared, written (added, updated or removed) and left unchanged by incremental
+ *   refreshes (see {@link CatalogRefresher})
+ */
+@Component
+public class IngestMetrics {
+    private final MeterRegistry registry;
+    private final Timer pagesFetched;
+    private final Timer pagesFailed;
+    private final Timer gradesFound;
+    private final Timer gradesMissing;
+    private final Timer gradesFailed;
+    private final Counter gradLevelSkips;
+    private final Counter duplicateSkips;
+    private final Counter refined;
+    private final Counter refreshScanned;
+    private final Counter refreshChanged;
+    private final Counter refreshSkipped;
+    private final AtomicInteger pagesQueued = new AtomicInteger();
+    private final AtomicInteger chunksQueued = new AtomicInteger();
+
+    /** Registers the ingest meters
+     *
+     * @param registry the registry the meters are published to
+     */
+    public IngestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.pagesFetched = pageTimer(registry, "success");
+        this.pagesFailed = pageTimer(registry, "failure");
+        this.gradesFound = gradesTimer(registry, "found");
+        this.gradesMissing = gradesTimer(registry, "missing");
+        this.gradesFailed = gradesTimer(registry, "failure");
+        this.gradLevelSkips = skipCounter(registry, "grad-level");
+        this.duplicateSkips = skipCounter(registry, "duplicate");
+        this.refined = Counter.builder("ingest.courses.refined")
+            .description("Fetched courses kept for the catalog")
+            .register(registry);
+        this.refreshScanned = Counter.builder("ingest.refresh.scanned")
+            .description("Fetched courses compared against the database by refreshes")
+            .register(registry);
+        this.refreshChanged = Counter.builder("ingest.refresh.changed")
+            .description("Courses added, updated or removed by refreshes")
+            .register(registry);
+        this.refreshSkipped = Counter.builder("ingest.refresh.skipped")
+            .description("Fetched courses left unchanged by refreshes")
+            .register(registry);
+        Gauge.builder("ingest.queue.depth", pagesQueued, AtomicInteger::get)
+            .description("Items waiting to be processed by the ingest")
+            .tag("queue", "pages")
+            .register(registry);
+        Gauge.builder("ingest.queue.depth", chunksQueued, AtomicInteger::get)
+            .description("Items waiting to be processed by the ingest")
+            .tag("queue", "chunks")
+            .register(registry);
+    }
+
+    /** Records a umd.io page request
+     *
+     * @param nanos how long the request took
+     * @param succeeded whether the page was fetched
+     */
+    void pageFetched(long nanos, boolean succeeded) {
+        (succeeded ? pagesFetched : pagesFailed).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Records a planetterp request that returned grade data */
+    void gradesFound(long nanos) {
+        gradesFound.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Records a planetterp request answered with a 4xx (no grade data for the course) */
+    void gradesMissing(long nanos) {
+        gradesMissing.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Records a planetterp request that failed */
+    void gradesFailed(long nanos) {
+        gradesFailed.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Counts a fetched Course skipped for not being undergrad level */
+    void gradLevelSkipped() {
+        gradLevelSkips.increment();
+    }
+
+    /** Counts a fetched Course skipped for having already been added */
+    void duplicateSkipped() {
+        duplicateSkips.increment();
+    }
+
+    /** Counts a fetched Course kept for the catalog */
+    void refined() {
+        refined.increment();
+    }
+
+    /** Counts what an incremental refresh did */
+    void refreshed(CatalogRefresher.RefreshResult result) {
+        refreshScanned.increment(result.scanned());
+        refreshChanged.increment(result.changed());
+        refreshSkipped.increment(result.skipped());
+    }
+
+    /** Counts a request to a host attempted again */
+    void retried(String host) {
+        registry.counter("ingest.requests.retried", "host", host).increment();
+    }
+
+    /** Counts a slow request to a host sent a second time */
+    void hedged(String host) {
+        registry.counter("ingest.requests.hedged", "host", host).increment();
+    }
+
+    /** Counts a host's circuit breaker opening */
+    void breakerOpened(String host) {
+        registry.counter("ingest.breaker.opened", "host", host).increment();
+    }
+
+    /** Sets the number of fetched pages waiting to be refined */
+    void pagesQueued(int depth) {
+        pagesQueued.set(depth);
+    }
+
+    /** Sets the number of chunks of Courses waiting to be saved */
+    void chunksQueued(int depth) {
+        chunksQueued.set(depth);
+    }
+
+    private static Timer pageTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("ingest.page.fetch")
+            .description("umd.io course page requests")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static Timer gradesTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("ingest.grades.fetch")
+            .description("planetterp grade data requests")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static Counter skipCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("ingest.courses.skipped")
+            .description("Fetched courses not kept for the catalog")
+            .tag("reason", reason)
+            .register(registry);
+    }
+}
@@ -0,0 +1,165 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/** A producer/consumer pipeline for ingesting pages of Courses. One fetcher per semester walks
+ * through that semester's pages and puts them on a bounded queue, while refine workers take pages
+ * off the queue and process them. This overlaps waiting on the network with refining (and
+ * enriching) pages that were already fetched. A semester's fetcher stops at its first empty page,
+ * and a page that cannot be fetched or refined ends the whole run: once a page fails to refine,
+ * the fetchers stop and the pages left on the queue are dropped, then the failure is thrown.
+ */
+public class IngestPipeline {
+    private static final Logger log = LoggerFactory.getLogger(IngestPipeline.class);
+
+    private final int depth;
+    private final int workers;
+    private final IngestMetrics metrics;
+
+    /* Marks the end of the queue for a refine worker (compared by identity) */
+    private final List<Course> END = new ArrayList<>(0);
+
+    /** Fetches a single page of Courses offered in a semester */
+    @FunctionalInterface
+    public interface PageSource {
+        /** Fetches a page of Courses
+         *
+         * @param semester the semester to fetch Courses of
+         * @param page the page number (starting at 1)
+         * @return the Courses of the page, empty if there are no more pages
+         * @throws InterruptedException if interrupted while waiting for the page
+         * @throws IngestException if the page could not be fetched
+         */
+        List<Course> fetch(Semester semester, int page) throws InterruptedException;
+    }
+
+    /** Creates a pipeline
+     *
+     * @param depth the maximum number of fetched pages waiting to be refined
+     * @param workers the number of threads refining pages
+     * @param metrics the meters the depth of the queue is published in
+     */
+    public IngestPipeline(int depth, int workers, IngestMetrics metrics) {
+        if (depth <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("Pipeline depth and workers must be positive");
+        }
+        this.depth = depth;
+        this.workers = workers;
+        this.metrics = metrics;
+    }
+
+    /** Runs the pipeline over every semester until all pages have been fetched and refined
+     *
+     * @param source fetches pages of Courses
+     * @param refine refines a page of Courses (called concurrently by the refine workers)
+     * @return all refined Courses, in no particular order
+     * @throws IngestException if a page could not be fetched or refined, or if interrupted
+     */
+    public List<Course> run(PageSource source, UnaryOperator<List<Course>> refine) {
+        BlockingQueue<List<Course>> pages = new ArrayBlockingQueue<>(depth);
+        List<Course> refined = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<IngestException> failure = new AtomicReference<>();
+        ExecutorService fetchers = Executors.newFixedThreadPool(Semester.values().length,
+                                                                threads("ingest-fetch-"));
+        ExecutorService refiners = Executors.newFixedThreadPool(workers, threads("ingest-refine-"));
+        try {
+            List<Future<?>> fetches = new ArrayList<>();
+            for (Semester semester : Semester.values()) {
+                fetches.add(fetchers.submit(() -> produce(semester, source, pages, failure)));
+            }
+            List<Future<?>> refines = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                refines.add(refiners.submit(() -> consume(pages, refine, refined, failure)));
+            }
+            for (Future<?> fetch : fetches) {
+                fetch.get();
+            }
+            for (int i = 0; i < workers; i++) {
+                pages.put(END);
+            }
+            for (Future<?> refineTask : refines) {
+                refineTask.get();
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestException("Interrupted while running the ingest pipeline", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IngestException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ingest pipeline failed", e.getCause());
+        } finally {
+            fetchers.shutdownNow();
+            refiners.shutdownNow();
+            metrics.pagesQueued(0);
+        }
+        synchronized (refined) {
+            return new ArrayList<>(refined);
+        }
+    }
+
+    /* Fetches every page of a semester onto the queue, stopping at the first empty page or once a
+     * page failed to refine */
+    private Void produce(Semester semester, PageSource source, BlockingQueue<List<Course>> pages,
+                         AtomicReference<IngestException> failure) throws InterruptedException {
+        for (int page = 1; failure.get() == null; page++) {
+            List<Course> courses = source.fetch(semester, page);
+            if (courses.isEmpty()) {
+                return null;
+            }
+            pages.put(courses);
+            metrics.pagesQueued(pages.size());
+        }
+        return null;
+    }
+
+    /* Refines pages off the queue until the end marker is taken. Once a page failed to refine,
+     * the pages still coming are only taken off the queue, so the fetchers never block on it */
+    private Void consume(BlockingQueue<List<Course>> pages, UnaryOperator<List<Course>> refine,
+                         List<Course> refined, AtomicReference<IngestException> failure)
+            throws InterruptedException {
+        for (List<Course> page = pages.take(); page != END; page = pages.take()) {
+            metrics.pagesQueued(pages.size());
+            if (failure.get() != null) {
+                continue;
+            }
+            try {
+                refined.addAll(refine.apply(page));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, new IngestException(
+                    "Could not refine a page of " + page.size() + " courses", e));
+            }
+        }
+        return null;
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
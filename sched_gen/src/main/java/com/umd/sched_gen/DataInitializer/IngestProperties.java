@@ -0,0 +1,418 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/** Configurable settings of the course ingest (sched-gen.ingest.* in application.properties). The
+ * defaults point at the public umd.io and planetterp APIs, but can be overridden to point at a
+ * local stub server for testing.
+ */
+@ConfigurationProperties(prefix = "sched-gen.ingest")
+public class IngestProperties {
+    /** The HTTP clients the ingest can make requests with */
+    public enum Client {
+        /** RestTemplate, a thread held per request in flight (see {@link HostClient}) */
+        BLOCKING,
+        /** The JDK HttpClient's async API, no thread held per request (see
+         * {@link AsyncCourseFetcher}) */
+        ASYNC
+    }
+
+    private String coursesApi = "https://api.umd.io/v1/courses";
+    private String coursesApiMinified = "https://api.umd.io/v1/courses/list";
+    private String gradesApi = "https://planetterp.com/api/v1/course";
+    private int coursesPerPage = 100;       /* Up to 100 */
+    private double retrievalRate = 5;       /* umd.io requests per second, up to 1000 */
+    private int maxConcurrentPerHost = 1;   /* In-flight umd.io requests */
+    private double gradesRate = 20;         /* planetterp requests per second */
+    private int gradesConcurrency = 8;      /* In-flight planetterp requests */
+    private int pipelineDepth = 8;          /* Fetched pages waiting to be refined, 0 for serial */
+    private int pipelineWorkers = 2;        /* Threads refining fetched pages */
+    private int persistBatchSize = 500;     /* Courses inserted per batch, 0 to save one by one */
+    private boolean streamingIngest = true; /* Stream courses into the database in batches */
+    private String refreshCron = "-";       /* Incremental refresh schedule, "-" to disable */
+    private String httpCacheDir;            /* Directory caching API responses, unset to disable */
+    private Duration httpCacheTtl = Duration.ofDays(1);
+    private DataSize httpCacheMaxSize = DataSize.ofMegabytes(256);
+    private Duration coursesTimeout = Duration.ofSeconds(10);   /* umd.io connect/read */
+    private Duration gradesTimeout = Duration.ofSeconds(5);     /* planetterp connect/read */
+    private int retryAttempts = 4;          /* Attempts per request, 1 to never retry */
+    private Duration retryBackoff = Duration.ofMillis(250);
+    private Duration retryMaxBackoff = Duration.ofSeconds(10);
+    private int breakerFailures = 8;        /* Consecutive failures opening a host's breaker */
+    private Duration breakerOpenFor = Duration.ofSeconds(30);
+    private Duration hedgeAfter = Duration.ofSeconds(2);        /* 0 to never hedge requests */
+    private Client client = Client.BLOCKING;
+    private int asyncThreads = 2;           /* Threads running the async client's callbacks */
+    private int historyYears = 1;           /* Years of offerings semesters are predicted from */
+    private String historyDir;              /* Directory keeping offerings, unset to disable */
+    private double offeringThreshold = 0.5; /* Share of years a course must be offered in */
+
+    /** Returns the umd.io endpoint serving paginated, full Course data
+     *
+     * @return the courses endpoint URL
+     */
+    public String getCoursesApi() {
+        return coursesApi;
+    }
+
+    public void setCoursesApi(String coursesApi) {
+        this.coursesApi = coursesApi;
+    }
+
+    /** Returns the umd.io endpoint listing the course IDs offered in a semester
+     *
+     * @return the minified courses endpoint URL
+     */
+    public String getCoursesApiMinified() {
+        return coursesApiMinified;
+    }
+
+    public void setCoursesApiMinified(String coursesApiMinified) {
+        this.coursesApiMinified = coursesApiMinified;
+    }
+
+    /** Returns the planetterp endpoint serving the average GPA of a course
+     *
+     * @return the grades endpoint URL
+     */
+    public String getGradesApi() {
+        return gradesApi;
+    }
+
+    public void setGradesApi(String gradesApi) {
+        this.gradesApi = gradesApi;
+    }
+
+    /** Returns how many Courses are requested per umd.io page (capped at 100 by umd.io)
+     *
+     * @return the page size
+     */
+    public int getCoursesPerPage() {
+        return coursesPerPage;
+    }
+
+    public void setCoursesPerPage(int coursesPerPage) {
+        this.coursesPerPage = coursesPerPage;
+    }
+
+    /** Returns the maximum number of umd.io requests made per second
+     *
+     * @return the umd.io request rate
+     */
+    public double getRetrievalRate() {
+        return retrievalRate;
+    }
+
+    public void setRetrievalRate(double retrievalRate) {
+        this.retrievalRate = retrievalRate;
+    }
+
+    /** Returns the maximum number of umd.io requests in flight at once
+     *
+     * @return the umd.io concurrency limit
+     */
+    public int getMaxConcurrentPerHost() {
+        return maxConcurrentPerHost;
+    }
+
+    public void setMaxConcurrentPerHost(int maxConcurrentPerHost) {
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+    }
+
+    /** Returns the maximum number of planetterp requests made per second
+     *
+     * @return the planetterp request rate
+     */
+    public double getGradesRate() {
+        return gradesRate;
+    }
+
+    public void setGradesRate(double gradesRate) {
+        this.gradesRate = gradesRate;
+    }
+
+    /** Returns the maximum number of planetterp requests in flight at once (also the number of
+     * threads used to fetch grades data)
+     *
+     * @return the planetterp concurrency limit
+     */
+    public int getGradesConcurrency() {
+        return gradesConcurrency;
+    }
+
+    public void setGradesConcurrency(int gradesConcurrency) {
+        this.gradesConcurrency = gradesConcurrency;
+    }
+
+    /** Returns the maximum number of fetched pages waiting to be refined by the ingest pipeline.
+     * When 0, semesters and their pages are fetched and refined one at a time instead.
+     *
+     * @return the pipeline depth
+     */
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    /** Returns the number of threads refining pages fetched by the ingest pipeline
+     *
+     * @return the number of refine workers
+     */
+    public int getPipelineWorkers() {
+        return pipelineWorkers;
+    }
+
+    public void setPipelineWorkers(int pipelineWorkers) {
+        this.pipelineWorkers = pipelineWorkers;
+    }
+
+    /** Returns the number of Courses inserted into the database per JDBC batch. When 0, Courses
+     * are saved one at a time through the CourseRepository instead.
+     *
+     * @return the persistence batch size
+     */
+    public int getPersistBatchSize() {
+        return persistBatchSize;
+    }
+
+    public void setPersistBatchSize(int persistBatchSize) {
+        this.persistBatchSize = persistBatchSize;
+    }
+
+    /** Returns whether the initial ingest streams Courses into the database a batch at a time
+     * as they are parsed (see {@link ApiService#streamAllCourses}), rather than fetching the whole
+     * catalog before saving it. Only applies when Courses are saved in batches.
+     *
+     * @return whether the initial ingest is streamed
+     */
+    public boolean isStreamingIngest() {
+        return streamingIngest;
+    }
+
+    public void setStreamingIngest(boolean streamingIngest) {
+        this.streamingIngest = streamingIngest;
+    }
+
+    /** Returns the cron expression scheduling incremental refreshes of the courses table (see
+     * {@link CatalogRefresher}), or "-" if they are disabled
+     *
+     * @return the refresh schedule
+     */
+    public String getRefreshCron() {
+        return refreshCron;
+    }
+
+    public void setRefreshCron(String refreshCron) {
+        this.refreshCron = refreshCron;
+    }
+
+    /** Returns the directory umd.io and planetterp responses are cached in (see
+     * {@link DiskResponseCache}), or null if responses are not cached
+     *
+     * @return the response cache directory
+     */
+    public String getHttpCacheDir() {
+        return httpCacheDir;
+    }
+
+    public void setHttpCacheDir(String httpCacheDir) {
+        this.httpCacheDir = httpCacheDir;
+    }
+
+    /** Returns how long a cached response is used before it is revalidated with the server
+     *
+     * @return the response cache TTL
+     */
+    public Duration getHttpCacheTtl() {
+        return httpCacheTtl;
+    }
+
+    public void setHttpCacheTtl(Duration httpCacheTtl) {
+        this.httpCacheTtl = httpCacheTtl;
+    }
+
+    /** Returns the size the response cache directory is capped at
+     *
+     * @return the response cache size cap
+     */
+    public DataSize getHttpCacheMaxSize() {
+        return httpCacheMaxSize;
+    }
+
+    public void setHttpCacheMaxSize(DataSize httpCacheMaxSize) {
+        this.httpCacheMaxSize = httpCacheMaxSize;
+    }
+
+    /** Returns how long connecting to and reading from umd.io may take before a request fails
+     * (and is retried)
+     *
+     * @return the umd.io timeout
+     */
+    public Duration getCoursesTimeout() {
+        return coursesTimeout;
+    }
+
+    public void setCoursesTimeout(Duration coursesTimeout) {
+        this.coursesTimeout = coursesTimeout;
+    }
+
+    /** Returns how long connecting to and reading from planetterp may take before a request fails
+     * (and is retried)
+     *
+     * @return the planetterp timeout
+     */
+    public Duration getGradesTimeout() {
+        return gradesTimeout;
+    }
+
+    public void setGradesTimeout(Duration gradesTimeout) {
+        this.gradesTimeout = gradesTimeout;
+    }
+
+    /** Returns how many times in all a request failing with an I/O error, a 5xx or a 429 is
+     * attempted (see {@link HostClient})
+     *
+     * @return the attempts per request
+     */
+    public int getRetryAttempts() {
+        return retryAttempts;
+    }
+
+    public void setRetryAttempts(int retryAttempts) {
+        this.retryAttempts = retryAttempts;
+    }
+
+    /** Returns the backoff before the first retry of a request, doubled before every other one
+     *
+     * @return the first backoff
+     */
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    /** Returns the longest backoff between two attempts of a request
+     *
+     * @return the backoff cap
+     */
+    public Duration getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    public void setRetryMaxBackoff(Duration retryMaxBackoff) {
+        this.retryMaxBackoff = retryMaxBackoff;
+    }
+
+    /** Returns how many consecutive failed requests to a host open its circuit breaker, after
+     * which requests to it fail right away
+     *
+     * @return the failures opening the breaker
+     */
+    public int getBreakerFailures() {
+        return breakerFailures;
+    }
+
+    public void setBreakerFailures(int breakerFailures) {
+        this.breakerFailures = breakerFailures;
+    }
+
+    /** Returns how long an open circuit breaker refuses requests before letting a trial one
+     * through
+     *
+     * @return how long the breaker stays open
+     */
+    public Duration getBreakerOpenFor() {
+        return breakerOpenFor;
+    }
+
+    public void setBreakerOpenFor(Duration breakerOpenFor) {
+        this.breakerOpenFor = breakerOpenFor;
+    }
+
+    /** Returns how long a GET request may run before a duplicate of it is sent, the first answer
+     * of the two being used. 0 to never hedge requests.
+     *
+     * @return the hedge delay
+     */
+    public Duration getHedgeAfter() {
+        return hedgeAfter;
+    }
+
+    public void setHedgeAfter(Duration hedgeAfter) {
+        this.hedgeAfter = hedgeAfter;
+    }
+
+    /** Returns the HTTP client the ingest makes its requests with. The async client is not
+     * hedged and bypasses the on-disk response cache.
+     *
+     * @return the ingest client
+     */
+    public Client getClient() {
+        return client;
+    }
+
+    public void setClient(Client client) {
+        this.client = client;
+    }
+
+    /** Returns the number of threads parsing and refining pages for the async client, however
+     * many requests it has in flight
+     *
+     * @return the async client's threads
+     */
+    public int getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public void setAsyncThreads(int asyncThreads) {
+        this.asyncThreads = asyncThreads;
+    }
+
+    /** Returns the number of years, up to the year previous to the current one, whose offerings
+     * the semesters a course will be offered in are predicted from (see {@link OfferingHistory})
+     *
+     * @return the years of offering history
+     */
+    public int getHistoryYears() {
+        return historyYears;
+    }
+
+    public void setHistoryYears(int historyYears) {
+        this.historyYears = historyYears;
+    }
+
+    /** Returns the directory the offering history is kept in, so later ingests only fetch the
+     * offerings of new terms, or null if it is only kept in memory
+     *
+     * @return the offering history directory
+     */
+    public String getHistoryDir() {
+        return historyDir;
+    }
+
+    public void setHistoryDir(String historyDir) {
+        this.historyDir = historyDir;
+    }
+
+    /** Returns the lowest share of the years seen for a season a course must have been offered
+     * in to be predicted to be offered in that season
+     *
+     * @return the offering prediction threshold
+     */
+    public double getOfferingThreshold() {
+        return offeringThreshold;
+    }
+
+    public void setOfferingThreshold(double offeringThreshold) {
+        this.offeringThreshold = offeringThreshold;
+    }
+}
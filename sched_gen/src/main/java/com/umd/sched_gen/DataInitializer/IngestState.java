@@ -0,0 +1,56 @@
+package com.umd.sched_gen.DataInitializer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/** The state of the courses table, kept in the single row of the ingest_state table: whether the
+ * last ingest into it completed, and when it was last written by an ingest or refresh. An ingest
+ * marks the row incomplete before it saves anything, so an ingest that fails part way (or a
+ * process killed during one) is completed on the next start. A table filled before the row
+ * existed counts as complete.
+ */
+@Entity
+@Table(name = "ingest_state")
+public class IngestState {
+    /** The ID of the only row */
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "ID")
+    private int id = ID;
+
+    /* Whether every Course of the catalog was saved */
+    @Column(name = "Complete")
+    private boolean complete;
+
+    /* When the courses table was last written */
+    @Column(name = "Updated")
+    private Instant updated;
+
+    protected IngestState() {}
+
+    public IngestState(boolean complete, Instant updated) {
+        this.complete = complete;
+        this.updated = updated;
+    }
+
+    /** Returns whether the last ingest saved every Course of the catalog
+     *
+     * @return false if it failed part way, or is still running
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** Returns when the courses table was last written by an ingest or refresh
+     *
+     * @return the time the last write finished (or started, for an ingest still running)
+     */
+    public Instant getUpdated() {
+        return updated;
+    }
+}
@@ -0,0 +1,7 @@
+package com.umd.sched_gen.DataInitializer;
+
+import org.springframework.data.repository.CrudRepository;
+
+/** Reads and writes the single row of the ingest_state table (see {@link IngestState}) */
+public interface IngestStateRepository extends CrudRepository<IngestState, Integer> {
+}
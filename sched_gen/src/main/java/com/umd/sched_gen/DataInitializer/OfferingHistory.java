@@ -0,0 +1,295 @@
+package com.umd.sched_gen.DataInitializer;
+
+import com.umd.sched_gen.Courses.Semester;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+
+/** The courses offered in every term ingested so far, used to predict the semesters a course will
+ * be offered in. Each term is held as a bitset over a dictionary of course IDs, and for every
+ * course and season the number of years it was offered in is kept up to date as terms are added,
+ * so adding a term only reads that term's list. From these counts, the probability of a course
+ * being offered in a season is the share of the years seen for that season it was offered in,
+ * and a course is predicted to be offered in every season where that probability reaches the
+ * threshold. The predictions are precomputed into a bitmask per course (see
+ * {@link Semester#bit()}), recomputed for a season only when one of its terms is added. Only the
+ * terms of the years in the window (see {@link #window(int)}) are counted: every term is kept, but
+ * a term that falls out of the window is subtracted from the counts again.
+ *
+ * A history can be saved to and loaded from a directory: the dictionary is a text file of course
+ * IDs (courses.txt), only ever appended to so saved terms stay valid, and each term is a file of
+ * its bitset named after its umd.io code (ie: 202308.term). Saving only writes the terms added
+ * since the history was loaded. Not safe for concurrent use.
+ */
+public class OfferingHistory {
+    private static final String DICTIONARY = "courses.txt";
+    private static final String TERM_SUFFIX = ".term";
+
+    private final double threshold;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> courseIds = new ArrayList<>();
+    private final Map<Term, BitSet> terms = new TreeMap<>();
+    private final List<Term> unsaved = new ArrayList<>();
+    private final int[][] seasonCounts = new int[Semester.values().length][0];
+    private final int[] yearsSeen = new int[Semester.values().length];
+    private int[] predicted = new int[0];
+    private int firstYear = Integer.MIN_VALUE;      /* Of the window, every year until set */
+
+    /** A term: a semester of a year */
+    public record Term(int year, Semester semester) implements Comparable<Term> {
+        /** Returns the umd.io code of the term (ie: 202308)
+         *
+         * @return the term code
+         */
+        public String code() {
+            return semester.code(year);
+        }
+
+        /** Parses a umd.io term code
+         *
+         * @param code the term code (ie: 202308)
+         * @return the term
+         * @throws IllegalArgumentException if the code is not a term code
+         */
+        public static Term parse(String code) {
+            if (code.length() == 6) {
+                for (Semester semester : Semester.values()) {
+                    if (semester.code(0).endsWith(code.substring(4))) {
+                        return new Term(Integer.parseInt(code.substring(0, 4)), semester);
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Not a term code: " + code);
+        }
+
+        @Override
+        public int compareTo(Term other) {
+            return code().compareTo(other.code());
+        }
+    }
+
+    /** Creates an empty history
+     *
+     * @param threshold the lowest probability of a course being offered in a season for it to be
+     * predicted to be offered in that season, between 0 (exclusive) and 1
+     */
+    public OfferingHistory(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Threshold must be in (0, 1]");
+        }
+        this.threshold = threshold;
+    }
+
+    /** Returns the terms of a range of years that are not in the history yet
+     *
+     * @param firstYear the first year of the range
+     * @param lastYear the last year of the range, included
+     * @return the missing terms, in order
+     */
+    public List<Term> missing(int firstYear, int lastYear) {
+        List<Term> missing = new ArrayList<>();
+        for (int year = firstYear; year <= lastYear; year++) {
+            for (Semester semester : Semester.values()) {
+                Term term = new Term(year, semester);
+                if (!terms.containsKey(term)) {
+                    missing.add(term);
+                }
+            }
+        }
+        return missing;
+    }
+
+    /** Adds the courses offered in a term, unless the term is already in the history
+     *
+     * @param term the term
+     * @param offered the course IDs of the courses offered in the term
+     * @return whether the term was added
+     */
+    public boolean add(Term term, Collection<String> offered) {
+        if (terms.containsKey(term)) {
+            return false;
+        }
+        BitSet bits = new BitSet(courseIds.size() + offered.size());
+        for (String courseId : offered) {
+            bits.set(id(courseId));
+        }
+        record(term, bits);
+        unsaved.add(term);
+        return true;
+    }
+
+    /** Limits the predictions to the terms from a year on, counting the terms that came into the
+     * window and subtracting the ones that fell out of it
+     *
+     * @param firstYear the first year whose terms are counted
+     */
+    public void window(int firstYear) {
+        for (Map.Entry<Term, BitSet> entry : terms.entrySet()) {
+            int year = entry.getKey().year();
+            boolean counted = year >= this.firstYear;
+            if (counted != year >= firstYear) {
+                count(entry.getKey(), entry.getValue(), counted ? -1 : 1);
+            }
+        }
+        this.firstYear = firstYear;
+    }
+
+    /** Returns the number of terms in the history
+     *
+     * @return the number of terms
+     */
+    public int terms() {
+        return terms.size();
+    }
+
+    /** Returns the probability of a course being offered in a season: the share of the years seen
+     * for that season it was offered in
+     *
+     * @param courseId the course ID of the course
+     * @param semester the season
+     * @return the probability, 0 if the course or the season was never seen
+     */
+    public double probability(String courseId, Semester semester) {
+        Integer id = ids.get(courseId);
+        int[] counts = seasonCounts[semester.ordinal()];
+        if (id == null || id >= counts.length || yearsSeen[semester.ordinal()] == 0) {
+            return 0;   /* Never offered in the season */
+        }
+        return (double) counts[id] / yearsSeen[semester.ordinal()];
+    }
+
+    /** Returns the semesters a course is predicted to be offered in
+     *
+     * @param courseId the course ID of the course
+     * @return the bitmask of predicted semesters, 0 if the course was never offered
+     */
+    public int predicted(String courseId) {
+        Integer id = ids.get(courseId);
+        return id == null || id >= predicted.length ? 0 : predicted[id];
+    }
+
+    /** Hands over the predicted semesters of every course predicted to be offered at all
+     *
+     * @param action receives the course ID and bitmask of predicted semesters of each course
+     */
+    public void forEachPredicted(ObjIntConsumer<String> action) {
+        for (int id = 0; id < predicted.length; id++) {
+            if (predicted[id] != 0) {
+                action.accept(courseIds.get(id), predicted[id]);
+            }
+        }
+    }
+
+    /** Loads a history saved to a directory, or returns an empty one if nothing was saved there
+     *
+     * @param directory the directory the history was saved to
+     * @param threshold the prediction threshold (see {@link #OfferingHistory(double)})
+     * @return the history
+     * @throws IOException if the history cannot be read
+     */
+    public static OfferingHistory load(Path directory, double threshold) throws IOException {
+        OfferingHistory history = new OfferingHistory(threshold);
+        Path dictionary = directory.resolve(DICTIONARY);
+        if (!Files.exists(dictionary)) {
+            return history;
+        }
+        for (String courseId : Files.readAllLines(dictionary, StandardCharsets.UTF_8)) {
+            if (!courseId.isEmpty()) {
+                history.id(courseId);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TERM_SUFFIX)) {
+                    Term term = Term.parse(name.substring(0, name.length() - TERM_SUFFIX.length()));
+                    history.record(term, BitSet.valueOf(Files.readAllBytes(file)));
+                }
+            }
+        }
+        return history;
+    }
+
+    /** Saves the terms added since the history was loaded (and the dictionary) to a directory.
+     * Every file is written under a temporary name first, so readers never see a partial one.
+     *
+     * @param directory the directory to save to, created if needed
+     * @throws IOException if the history cannot be written
+     */
+    public void save(Path directory) throws IOException {
+        if (unsaved.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        /* The dictionary first, so every saved term refers to saved course IDs */
+        write(directory, DICTIONARY, (String.join("\n", courseIds) + "\n")
+            .getBytes(StandardCharsets.UTF_8));
+        for (Term term : unsaved) {
+            write(directory, term.code() + TERM_SUFFIX, terms.get(term).toByteArray());
+        }
+        unsaved.clear();
+    }
+
+    private static void write(Path directory, String name, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, name, ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /* Returns the dictionary index of a course ID, adding it if needed */
+    private int id(String courseId) {
+        Integer id = ids.get(courseId);
+        if (id != null) {
+            return id;
+        }
+        ids.put(courseId, courseIds.size());
+        courseIds.add(courseId);
+        return courseIds.size() - 1;
+    }
+
+    /* Adds a term's bitset, counting it if it is in the window */
+    private void record(Term term, BitSet bits) {
+        terms.put(term, bits);
+        if (term.year() >= firstYear) {
+            count(term, bits, 1);
+        }
+    }
+
+    /* Adds a term's bitset to (delta 1) or subtracts it from (delta -1) the counts of its season
+     * and recomputes that season's predictions */
+    private void count(Term term, BitSet bits, int delta) {
+        int season = term.semester().ordinal();
+        int courses = courseIds.size();
+        if (predicted.length < courses) {
+            predicted = Arrays.copyOf(predicted, courses);
+        }
+        int[] counts = seasonCounts[season];
+        if (counts.length < courses) {
+            counts = seasonCounts[season] = Arrays.copyOf(counts, courses);
+        }
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            counts[id] += delta;
+        }
+        int years = yearsSeen[season] += delta;
+        int bit = term.semester().bit();
+        for (int id = 0; id < courses; id++) {
+            int count = id < counts.length ? counts[id] : 0;
+            predicted[id] = years > 0 && (double) count / years >= threshold
+                ? predicted[id] | bit : predicted[id] & ~bit;
+        }
+    }
+}
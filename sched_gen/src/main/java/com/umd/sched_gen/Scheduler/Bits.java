@@ -0,0 +1,86 @@
+package com.umd.sched_gen.Scheduler;
+
+/** Operations on fixed-size bitsets stored as long arrays (bit i is bit i % 64 of word i / 64).
+ * The plan search copies and intersects these millions of times, so unlike java.util.BitSet they
+ * never resize and never allocate beyond the copies asked for.
+ */
+final class Bits {
+
+    private Bits() {}
+
+    static long[] create(int size) {
+        return new long[(size + 63) >>> 6];
+    }
+
+    static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    static void clear(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+
+    static boolean get(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    static boolean intersects(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & b[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* Whether a and (b or c) share a bit, without building b or c */
+    static boolean intersects(long[] a, long[] b, long[] c) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & (b[w] | c[w])) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void or(long[] into, long[] other) {
+        for (int w = 0; w < into.length; w++) {
+            into[w] |= other[w];
+        }
+    }
+
+    static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns the index of the first set bit at or after from, or -1 if there is none */
+    static int nextSetBit(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) {
+            return -1;
+        }
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == bits.length) {
+                return -1;
+            }
+            word = bits[w];
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.umd.sched_gen.Scheduler;
+
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.List;
+
+/** A generated plan: the courses to take in each term
+ *
+ * @param terms the terms of the plan in order, up to the last one with a course
+ * @param unmetGeneds requested gen ed codes no course in the catalog can fulfill
+ * @param credits the total credits of the planned courses
+ * @param averageGpa the mean average GPA of the planned courses that have GPA data
+ * @param score the score of the plan, lower is better (see {@link PlanGenerator})
+ */
+public record Plan(List<Term> terms, List<String> unmetGeneds, int credits, float averageGpa,
+                   long score) {
+
+    /** The courses planned in one term
+     *
+     * @param semester the semester of the term
+     * @param year the year of the term
+     * @param courses the course IDs planned in the term
+     * @param credits the credits planned in the term
+     */
+    public record Term(Semester semester, int year, List<String> courses, int credits) {
+        public Term {
+            courses = List.copyOf(courses);
+        }
+    }
+
+    public Plan {
+        terms = List.copyOf(terms);
+        unmetGeneds = List.copyOf(unmetGeneds);
+    }
+}
@@ -0,0 +1,144 @@
+package com.umd.sched_gen.Scheduler;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/** Runs the CPU-heavy work of REST requests (plan generation and eligibility) on a bounded pool
+ * of sched-gen.scheduler.plan-threads threads, apart from the threads serving requests, so a
+ * burst of plan requests cannot starve database reads or the actuator.
+ * - Every request has a deadline (sched-gen.scheduler.plan-deadline unless it sets its own), and
+ *   waiting requests are run earliest deadline first.
+ * - A request still waiting past its deadline fails with a PlanRejectedException instead of
+ *   running, since its client has given up on it.
+ * - Once sched-gen.scheduler.plan-queue requests are waiting, new ones are rejected right away.
+ * Rejections are counted (scheduler.requests.rejected, by reason: saturated, deadline) and the
+ * waiting requests gauged (scheduler.queue.depth).
+ */
+@Component
+public class PlanExecutor implements DisposableBean {
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final Duration defaultDeadline;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter saturated;
+    private final Counter expired;
+
+    /* A request waiting for a thread, ordered by deadline, then by arrival */
+    private final class DeadlineTask implements Runnable, Comparable<DeadlineTask> {
+        private final long deadline;
+        private final long order = sequence.getAndIncrement();
+        private final Runnable task;
+
+        DeadlineTask(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            waiting.decrementAndGet();
+            task.run();
+        }
+
+        @Override
+        public int compareTo(DeadlineTask other) {
+            int byDeadline = Long.compare(deadline - other.deadline, 0);
+            return byDeadline != 0 ? byDeadline : Long.compare(order, other.order);
+        }
+    }
+
+    /** Constructor defines explicit dependencies for this executor to run
+     *
+     * @param properties settings of plan generation (threads, queue capacity and deadline)
+     * @param registry the registry rejections and the queue depth are published to
+     */
+    public PlanExecutor(SchedulerProperties properties, MeterRegistry registry) {
+        int threads = properties.getPlanThreads();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "plan-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.queueCapacity = properties.getPlanQueue();
+        this.defaultDeadline = properties.getPlanDeadline();
+        this.saturated = rejectionCounter(registry, "saturated");
+        this.expired = rejectionCounter(registry, "deadline");
+        Gauge.builder("scheduler.queue.depth", waiting, AtomicInteger::get)
+            .description("Requests waiting for a plan thread")
+            .register(registry);
+    }
+
+    /** Runs a task by the default deadline
+     *
+     * @param <T> the type of the task result
+     * @param task the task
+     * @return a future of the task result, failed with a PlanRejectedException if the task was
+     * rejected
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return submit(task, defaultDeadline);
+    }
+
+    /** Runs a task, unless it is still waiting for a thread once its deadline has passed
+     *
+     * @param <T> the type of the task result
+     * @param task the task
+     * @param deadline how long the task may wait for a thread
+     * @return a future of the task result, failed with a PlanRejectedException if the task was
+     * rejected
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task, Duration deadline) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            saturated.increment();
+            result.completeExceptionally(new PlanRejectedException(
+                "Plan generation is saturated, retry later"));
+            return result;
+        }
+        long expiresAt = System.nanoTime() + deadline.toNanos();
+        executor.execute(new DeadlineTask(expiresAt, () -> {
+            if (System.nanoTime() - expiresAt > 0) {
+                expired.increment();
+                result.completeExceptionally(new PlanRejectedException(
+                    "Waited past the deadline of " + deadline.toMillis() + "ms for a plan thread"));
+                return;
+            }
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                /* Errors too (ie: a StackOverflowError), or the future would never complete */
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("scheduler.requests.rejected")
+            .description("Plan requests rejected instead of run")
+            .tag("reason", reason)
+            .register(registry);
+    }
+}
@@ -0,0 +1,844 @@
+package com.umd.sched_gen.Scheduler;
+
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+import com.umd.sched_gen.Catalog.CourseView;
+import com.umd.sched_gen.Catalog.RequisiteGraph;
+import com.umd.sched_gen.Courses.Requisite;
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Generates semester plans over one CatalogSnapshot. Everything the search touches is flattened
+ * into primitive arrays when the generator is built: credits, a semester bitmask and a gen ed
+ * bitmask per Course, and each Course's prereqs/coreqs as CNF clauses (every clause is a bitset of
+ * alternatives, at least one of which must be taken).
+ *
+ * Generating a plan is a depth-first branch-and-bound over which courses to take:
+ * - constraint propagation adds the courses forced by a clause with a single feasible
+ *   alternative, and rejects selections with a clause that has none
+ * - otherwise the search branches on the open clause (then the uncovered gen ed) with the fewest
+ *   options, trying the most promising ones first
+ * - a selection is pruned when its lower bound already scores no better than the plans kept
+ * - complete selections are placed into terms by list scheduling, longest requisite chains first
+ *
+ * Plans are scored by the number of terms they span, then by their credit load weighed against the
+ * GPA of their courses (see {@link #score(int, int, int)}); lower is better. The search stops after
+ * a node and time budget, returning the best plans found so far.
+ *
+ * The search can also run on a ForkJoinPool: branches are forked as tasks while the pool has few
+ * queued ones, so idle workers steal subtrees, and run inline below that. Every branch prunes
+ * against the same bound (the score of the worst plan kept), which is published through an
+ * AtomicLong so it is read without locking.
+ */
+public class PlanGenerator {
+    /* Bounds of the search, so a plan comes back quickly whatever the request */
+    private static final int MAX_CLAUSES = 32;
+    private static final int BRANCH_WIDTH = 6;
+    private static final int GENED_CANDIDATES = 24;
+    private static final int MAX_SURPLUS_TASKS = 3;    /* Queued tasks before branching inline */
+
+    private static final int WINTER_CREDITS = 4;
+    private static final int SUMMER_CREDITS = 8;
+    private static final int UNKNOWN_GPA_PENALTY = 150;
+    private static final int CREDIT_WEIGHT = 50;        /* One credit weighs half a GPA point */
+    private static final long TERM_WEIGHT = 1L << 40;   /* More than any credit load and penalty */
+    private static final int INFEASIBLE = Integer.MAX_VALUE / 2;
+    private static final int[] NO_OPTIONS = new int[0];
+
+    /* A CNF clause of a requisite: at least one of the courses must be taken. Alternatives that
+     * are not in the catalog only count if they were completed. */
+    record Clause(long[] courses, String[] external) {}
+
+    /* A term a plan can place courses in */
+    record Slot(Semester semester, int year, int cap) {}
+
+    /* Limits of one search: nodes visited and time spent before returning the plans found so
+     * far, and the time after which to return even without any plan */
+    record Budget(long maxNodes, long timeLimitNanos, long giveUpNanos) {
+        static final Budget DEFAULT = new Budget(20_000, 250_000_000L, 1_000_000_000L);
+    }
+
+    /* Canonical form of an eligibility question: the completed courses as a bitset in catalog
+     * order, the completed courses outside the catalog that some requisite names (no others can
+     * change the answer), and the semester. Equal questions have equal answers. */
+    record EligibleQuery(long[] completed, Set<String> external, Semester semester) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EligibleQuery query && Arrays.equals(completed, query.completed)
+                   && external.equals(query.external) && semester == query.semester;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(completed) * 961 + external.hashCode() * 31
+                   + semester.hashCode();
+        }
+    }
+
+    private final CatalogSnapshot snapshot;
+    private final RequisiteGraph graph;
+    private final Budget budget;
+    private final int size;
+    private final int[] credits;
+    private final int[] offered;        /* Semester bitmask */
+    private final float[] gpa;
+    private final long[] geneds;        /* Gen ed bitmask */
+    private final Clause[][] prereqs;
+    private final Clause[][] coreqs;
+    private final Clause[][] requisites;    /* Prereqs then coreqs, for propagation */
+    private final Map<String, Integer> genedBits = new HashMap<>();
+    private final Set<String> externalIds = new HashSet<>();    /* Requisites not in the catalog */
+
+    /** Flattens a catalog for plan generation
+     *
+     * @param snapshot the catalog
+     */
+    public PlanGenerator(CatalogSnapshot snapshot) {
+        this(snapshot, Budget.DEFAULT);
+    }
+
+    PlanGenerator(CatalogSnapshot snapshot, Budget budget) {
+        this.snapshot = snapshot;
+        this.graph = snapshot.requisites();
+        this.budget = budget;
+        this.size = graph.size();
+        this.credits = new int[size];
+        this.offered = new int[size];
+        this.gpa = new float[size];
+        this.geneds = new long[size];
+        this.prereqs = new Clause[size][];
+        this.coreqs = new Clause[size][];
+        this.requisites = new Clause[size][];
+        for (int i = 0; i < size; i++) {
+            String courseId = graph.courseId(i);
+            CourseView course = snapshot.view(i);       /* Numbered like the graph */
+            credits[i] = course.credits();
+            gpa[i] = course.averageGpa();
+            offered[i] = course.semesters();
+            if (offered[i] == 0) {
+                /* Not offered last year, assume it is a regular fall/spring course */
+                offered[i] = Semester.FALL.bit() | Semester.SPRING.bit();
+            }
+            for (String gened : course.genedCodes()) {
+                if (genedBits.size() < Long.SIZE) {
+                    genedBits.putIfAbsent(gened, genedBits.size());
+                }
+                Integer bit = genedBits.get(gened);
+                if (bit != null) {
+                    geneds[i] |= 1L << bit;
+                }
+            }
+            prereqs[i] = clauses(graph.prereqs(courseId));
+            coreqs[i] = clauses(graph.coreqs(courseId));
+            requisites[i] = Arrays.copyOf(prereqs[i], prereqs[i].length + coreqs[i].length);
+            System.arraycopy(coreqs[i], 0, requisites[i], prereqs[i].length, coreqs[i].length);
+        }
+    }
+
+    /** Returns the catalog the generator was built from
+     *
+     * @return the catalog snapshot
+     */
+    public CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /** Generates the best plan found for a request
+     *
+     * @param request the completed courses, required courses and gen eds, and the terms
+     * @return the plan, or null if the required courses cannot fit in the terms
+     * @throws IllegalArgumentException if a required course is not in the catalog
+     */
+    public Plan generate(PlanRequest request) {
+        List<Plan> plans = new Search(request, 1, false).run(null);
+        return plans.isEmpty() ? null : plans.get(0);
+    }
+
+    /** Generates the best plans found for a request, searching in parallel on a pool
+     *
+     * @param request the completed courses, required courses and gen eds, and the terms
+     * @param count the number of plans to return, each with a different selection of courses
+     * @param pool the pool to search on
+     * @return up to count plans, best first, or none if the required courses cannot fit in the
+     * terms
+     * @throws IllegalArgumentException if count is not positive, or a required course is not in
+     * the catalog
+     */
+    public List<Plan> generate(PlanRequest request, int count, ForkJoinPool pool) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        return new Search(request, count, true).run(pool);
+    }
+
+    /** Returns the courses that can be taken in a semester given the courses already taken: not
+     * taken yet, offered in the semester, and with their prereqs met (coreqs may be taken along)
+     *
+     * @param completed course IDs already taken
+     * @param semester the semester
+     * @return the eligible course IDs, in order of course ID
+     */
+    public List<String> eligible(Set<String> completed, Semester semester) {
+        return eligible(query(completed, semester));
+    }
+
+    /* The canonical form of an eligibility question */
+    EligibleQuery query(Set<String> completed, Semester semester) {
+        long[] done = Bits.create(size);
+        Set<String> external = new HashSet<>();
+        for (String courseId : completed) {
+            int number = graph.number(courseId);
+            if (number >= 0) {
+                Bits.set(done, number);
+            } else if (externalIds.contains(courseId)) {
+                external.add(courseId);
+            }
+        }
+        return new EligibleQuery(done, Set.copyOf(external), semester);
+    }
+
+    List<String> eligible(EligibleQuery query) {
+        long[] done = query.completed();
+        long[] ready = Bits.create(size);
+        for (int i = 0; i < size; i++) {
+            if (!Bits.get(done, i) && query.semester().in(offered[i])
+                    && satisfied(prereqs[i], done, done, query.external())) {
+                Bits.set(ready, i);
+            }
+        }
+        List<String> result = new ArrayList<>();
+        for (int i = Bits.nextSetBit(ready, 0); i >= 0; i = Bits.nextSetBit(ready, i + 1)) {
+            if (satisfied(coreqs[i], done, ready, query.external())) {
+                result.add(graph.courseId(i));
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /** Scores a plan, lower is better: first the number of terms it spans, then its credit load
+     * plus a GPA penalty (the sum over its courses of 4 minus their average GPA, in hundredths).
+     * Every term weighs TERM_WEIGHT, more than any credit load and penalty, and every credit
+     * CREDIT_WEIGHT hundredths, so a few more credits can be worth taking for courses with much
+     * better grades.
+     *
+     * @param terms the number of terms up to the last one with a course
+     * @param credits the total credits
+     * @param gpaPenalty the GPA penalty
+     * @return the score
+     */
+    static long score(int terms, int credits, int gpaPenalty) {
+        return terms * TERM_WEIGHT + (long) credits * CREDIT_WEIGHT + gpaPenalty;
+    }
+
+    /* Whether every clause has an alternative in a or b, or a completed external alternative */
+    private static boolean satisfied(Clause[] clauses, long[] a, long[] b, Set<String> completed) {
+        for (Clause clause : clauses) {
+            if (!Bits.intersects(clause.courses(), a, b) && !externallyDone(clause, completed)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean externallyDone(Clause clause, Set<String> completed) {
+        for (String courseId : clause.external()) {
+            if (completed.contains(courseId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int penalty(int course) {
+        return gpa[course] > 0 ? Math.round((4 - gpa[course]) * 100) : UNKNOWN_GPA_PENALTY;
+    }
+
+    private Clause[] clauses(Requisite requisite) {
+        List<Set<String>> cnf = cnf(requisite);
+        Clause[] clauses = new Clause[cnf.size()];
+        for (int c = 0; c < clauses.length; c++) {
+            long[] courses = Bits.create(size);
+            List<String> external = new ArrayList<>();
+            for (String courseId : cnf.get(c)) {
+                int number = graph.number(courseId);
+                if (number >= 0) {
+                    Bits.set(courses, number);
+                } else {
+                    external.add(courseId);
+                    externalIds.add(courseId);
+                }
+            }
+            clauses[c] = new Clause(courses, external.toArray(new String[0]));
+        }
+        return clauses;
+    }
+
+    /* Conjunctive normal form of a requisite. Distributing ors over ands can blow up, so past
+     * MAX_CLAUSES the ors are relaxed to a single clause of every course they name. */
+    private static List<Set<String>> cnf(Requisite requisite) {
+        if (requisite == null) {
+            return List.of();
+        }
+        if (requisite instanceof Requisite.Of of) {
+            return List.of(Set.of(of.courseId()));
+        }
+        if (requisite instanceof Requisite.All all) {
+            List<Set<String>> clauses = new ArrayList<>();
+            for (Requisite term : all.terms()) {
+                clauses.addAll(cnf(term));
+            }
+            return clauses;
+        }
+        List<Set<String>> clauses = List.of(Set.of());
+        for (Requisite term : ((Requisite.AnyOf) requisite).terms()) {
+            List<Set<String>> product = new ArrayList<>();
+            for (Set<String> left : clauses) {
+                for (Set<String> right : cnf(term)) {
+                    Set<String> merged = new LinkedHashSet<>(left);
+                    merged.addAll(right);
+                    product.add(merged);
+                }
+            }
+            if (product.size() > MAX_CLAUSES) {
+                return List.of(requisite.courseIds());
+            }
+            clauses = product;
+        }
+        return clauses;
+    }
+
+    /* The state of generating one plan */
+    private class Search {
+        private final PlanRequest request;
+        private final List<Slot> slots = new ArrayList<>();
+        private final int[] capacity;       /* capacity[k]: credits that fit in the first k slots */
+        private final long[] completed = Bits.create(size);
+        private final int[] earliest = new int[size];       /* Filled in before searching */
+        private final int[] visitDepth = new int[size];
+        private int depth;
+        /* Shallowest course still being visited that the current earliest() ran into */
+        private int lowestVisited = Integer.MAX_VALUE;
+        private final Map<Clause, int[]> options = new ConcurrentHashMap<>();
+        private final List<String> unmetGeneds = new ArrayList<>();
+        private long neededGeneds;
+        private int[][] genedOptions;
+        /* Least a gen ed course adds to a plan, for the lower bound */
+        private int genedCourseCredits = Integer.MAX_VALUE;
+        private int genedCoursePenalty = Integer.MAX_VALUE;
+        private int genedsPerCourse = 1;
+        private final long start = System.nanoTime();
+        private final AtomicLong nodes = new AtomicLong();
+        private final TopPlans top;
+        private final boolean parallel;
+
+        Search(PlanRequest request, int count, boolean parallel) {
+            this.request = request;
+            this.top = new TopPlans(count);
+            this.parallel = parallel;
+            Semester semester = request.start();
+            int year = request.startYear();
+            int regular = 0;
+            while (regular < request.terms()) {
+                boolean isRegular = semester == Semester.FALL || semester == Semester.SPRING;
+                if (isRegular || request.shortTerms()) {
+                    int cap = semester == Semester.WINTER ? WINTER_CREDITS
+                              : semester == Semester.SUMMER ? SUMMER_CREDITS : Integer.MAX_VALUE;
+                    slots.add(new Slot(semester, year, Math.min(cap, request.creditsPerTerm())));
+                    regular += isRegular ? 1 : 0;
+                }
+                /* Calendar order: spring, summer, fall, winter */
+                switch (semester) {
+                    case SPRING -> semester = Semester.SUMMER;
+                    case SUMMER -> semester = Semester.FALL;
+                    case FALL -> semester = Semester.WINTER;
+                    case WINTER -> {
+                        semester = Semester.SPRING;
+                        year++;
+                    }
+                }
+            }
+            capacity = new int[slots.size() + 1];
+            for (int k = 0; k < slots.size(); k++) {
+                capacity[k + 1] = capacity[k] + slots.get(k).cap();
+            }
+            Arrays.fill(earliest, -2);
+            for (String courseId : request.completed()) {
+                int number = graph.number(courseId);
+                if (number >= 0) {
+                    Bits.set(completed, number);
+                }
+            }
+        }
+
+        List<Plan> run(ForkJoinPool pool) {
+            /* Memoized for every course up front, so branches only ever read it */
+            for (int c = 0; c < size; c++) {
+                earliest(c);
+            }
+            long[] selected = Bits.create(size);
+            for (String courseId : request.required()) {
+                int number = graph.number(courseId);
+                if (number < 0) {
+                    throw new IllegalArgumentException("Unknown course: " + courseId);
+                }
+                if (!Bits.get(completed, number)) {
+                    if (earliest(number) >= INFEASIBLE) {
+                        return List.of();
+                    }
+                    Bits.set(selected, number);
+                }
+            }
+
+            long coveredGeneds = 0;
+            for (int c = Bits.nextSetBit(completed, 0); c >= 0;
+                 c = Bits.nextSetBit(completed, c + 1)) {
+                coveredGeneds |= geneds[c];
+            }
+            for (String gened : request.geneds()) {
+                Integer bit = genedBits.get(gened);
+                if (bit == null) {
+                    unmetGeneds.add(gened);
+                } else if ((coveredGeneds & (1L << bit)) == 0) {
+                    neededGeneds |= 1L << bit;
+                }
+            }
+            genedOptions = new int[Long.SIZE][];
+            for (long pending = neededGeneds; pending != 0; pending &= pending - 1) {
+                int bit = Long.numberOfTrailingZeros(pending);
+                genedOptions[bit] = genedCandidates(bit);
+                for (int c : genedOptions[bit]) {
+                    genedCourseCredits = Math.min(genedCourseCredits, credits[c]);
+                    genedCoursePenalty = Math.min(genedCoursePenalty, penalty(c));
+                    genedsPerCourse = Math.max(genedsPerCourse,
+                                               Long.bitCount(geneds[c] & neededGeneds));
+                }
+            }
+
+            if (pool == null) {
+                search(selected);
+            } else {
+                pool.invoke(new Branch(selected));
+            }
+            return top.plans();
+        }
+
+        private void search(long[] selected) {
+            long elapsed = System.nanoTime() - start;
+            if (nodes.incrementAndGet() > budget.maxNodes()
+                    || elapsed > budget.timeLimitNanos()) {
+                if (top.found() || elapsed > budget.giveUpNanos()) {
+                    return;
+                }
+            }
+            int[] branch = propagate(selected);
+            if (branch == null || lowerBound(selected) >= top.bound()) {
+                return;
+            }
+            if (branch.length == 0) {
+                Plan plan = schedule(selected);
+                if (plan != null) {
+                    top.offer(plan, selected);
+                }
+                return;
+            }
+            if (parallel && ForkJoinTask.getSurplusQueuedTaskCount() < MAX_SURPLUS_TASKS) {
+                List<Branch> tasks = new ArrayList<>(branch.length);
+                for (int option : branch) {
+                    tasks.add(new Branch(child(selected, option)));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                return;
+            }
+            for (int option : branch) {
+                search(child(selected, option));
+            }
+        }
+
+        private long[] child(long[] selected, int option) {
+            long[] child = selected.clone();
+            Bits.set(child, option);
+            return child;
+        }
+
+        /* A subtree of the search, stolen by idle workers of the pool */
+        private final class Branch extends RecursiveAction {
+            private final long[] selected;
+
+            Branch(long[] selected) {
+                this.selected = selected;
+            }
+
+            @Override
+            protected void compute() {
+                search(selected);
+            }
+        }
+
+        /* Adds the courses forced by single-option clauses to the selection. Returns the options
+         * of the open clause or uncovered gen ed with the fewest options, none if the selection is
+         * complete, or null if some clause cannot be met. */
+        private int[] propagate(long[] selected) {
+            int[] branch;
+            boolean changed;
+            do {
+                changed = false;
+                branch = null;
+                for (int c = Bits.nextSetBit(selected, 0); c >= 0;
+                     c = Bits.nextSetBit(selected, c + 1)) {
+                    for (Clause clause : requisites[c]) {
+                        if (Bits.intersects(clause.courses(), completed, selected)
+                                || externallyDone(clause, request.completed())) {
+                            continue;
+                        }
+                        int[] alternatives = options(clause);
+                        if (alternatives.length == 0) {
+                            return null;
+                        }
+                        if (alternatives.length == 1) {
+                            Bits.set(selected, alternatives[0]);
+                            changed = true;
+                        } else if (branch == null || alternatives.length < branch.length) {
+                            branch = alternatives;
+                        }
+                    }
+                }
+            } while (changed);
+            if (branch != null) {
+                return branch;
+            }
+
+            long covered = 0;
+            for (int c = Bits.nextSetBit(selected, 0); c >= 0;
+                 c = Bits.nextSetBit(selected, c + 1)) {
+                covered |= geneds[c];
+            }
+            long uncovered = neededGeneds & ~covered;
+            for (long pending = uncovered; pending != 0; pending &= pending - 1) {
+                int[] candidates = genedOptions[Long.numberOfTrailingZeros(pending)];
+                if (branch == null || candidates.length < branch.length) {
+                    branch = candidates;
+                }
+            }
+            if (branch == null) {
+                return NO_OPTIONS;
+            }
+            return branch.length == 0 ? null
+                   : Arrays.copyOf(branch, Math.min(branch.length, BRANCH_WIDTH));
+        }
+
+        /* Feasible alternatives of a clause, soonest available first, then fewest requisites of
+         * their own, then best GPA */
+        private int[] options(Clause clause) {
+            return options.computeIfAbsent(clause, c -> {
+                List<Integer> alternatives = new ArrayList<>();
+                long[] courses = c.courses();
+                for (int a = Bits.nextSetBit(courses, 0); a >= 0;
+                     a = Bits.nextSetBit(courses, a + 1)) {
+                    if (earliest(a) < INFEASIBLE) {
+                        alternatives.add(a);
+                    }
+                }
+                alternatives.sort(Comparator.<Integer>comparingInt(this::earliest)
+                    .thenComparingInt(a -> prereqs[a].length + coreqs[a].length)
+                    .thenComparingInt(PlanGenerator.this::penalty));
+                return alternatives.stream().mapToInt(Integer::intValue).toArray();
+            });
+        }
+
+        /* Courses that could cover a gen ed: ones without requisites left first, then covering
+         * the most needed gen eds, then best GPA, then fewest credits */
+        private int[] genedCandidates(int bit) {
+            List<Integer> candidates = new ArrayList<>();
+            for (int c = 0; c < size; c++) {
+                if ((geneds[c] & (1L << bit)) != 0 && !Bits.get(completed, c)
+                        && earliest(c) < INFEASIBLE) {
+                    candidates.add(c);
+                }
+            }
+            candidates.sort(Comparator.<Integer>comparingInt(c -> earliest(c) > 0 ? 1 : 0)
+                .thenComparingInt(c -> -Long.bitCount(geneds[c] & neededGeneds))
+                .thenComparingInt(PlanGenerator.this::penalty)
+                .thenComparingInt(c -> credits[c]));
+            return candidates.stream().limit(GENED_CANDIDATES)
+                .mapToInt(Integer::intValue).toArray();
+        }
+
+        /* Index of the first slot a course can be placed in if every prereq chain leading to it
+         * is taken as early as possible (coreqs are ignored, so this is a lower bound). A result
+         * that relied on a course further up a prereq cycle being infeasible only holds while
+         * that course is being visited, so it is not memoized; the course at the top of the cycle
+         * gets its exact result, since the cycle cannot lead back into it. */
+        private int earliest(int course) {
+            if (Bits.get(completed, course)) {
+                return -1;
+            }
+            if (earliest[course] == -3) {
+                lowestVisited = Math.min(lowestVisited, visitDepth[course]);
+                return INFEASIBLE;
+            }
+            if (earliest[course] != -2) {
+                return earliest[course];
+            }
+            earliest[course] = -3;      /* Visiting, a prereq cycle leads back here */
+            visitDepth[course] = ++depth;
+            int outerVisited = lowestVisited;
+            lowestVisited = Integer.MAX_VALUE;
+            int ready = 0;
+            for (Clause clause : prereqs[course]) {
+                if (externallyDone(clause, request.completed())) {
+                    continue;
+                }
+                int soonest = INFEASIBLE;
+                long[] courses = clause.courses();
+                for (int a = Bits.nextSetBit(courses, 0); a >= 0;
+                     a = Bits.nextSetBit(courses, a + 1)) {
+                    soonest = Math.min(soonest, earliest(a) + 1);
+                }
+                ready = Math.max(ready, soonest);
+            }
+            int first = INFEASIBLE;
+            for (int t = ready; t < slots.size(); t++) {
+                Slot slot = slots.get(t);
+                if (slot.semester().in(offered[course]) && credits[course] <= slot.cap()) {
+                    first = t;
+                    break;
+                }
+            }
+            depth--;
+            earliest[course] = lowestVisited < visitDepth[course] ? -2 : first;
+            lowestVisited = Math.min(outerVisited, lowestVisited);
+            return first;
+        }
+
+        /* Score of the selection if it needed nothing more, plus the fewest courses that could
+         * still cover its uncovered gen eds */
+        private long lowerBound(long[] selected) {
+            int terms = 0;
+            int total = 0;
+            int penalty = 0;
+            long covered = 0;
+            for (int c = Bits.nextSetBit(selected, 0); c >= 0;
+                 c = Bits.nextSetBit(selected, c + 1)) {
+                terms = Math.max(terms, earliest(c) + 1);
+                total += credits[c];
+                penalty += penalty(c);
+                covered |= geneds[c];
+            }
+            int uncovered = Long.bitCount(neededGeneds & ~covered);
+            if (uncovered > 0) {
+                int courses = (uncovered + genedsPerCourse - 1) / genedsPerCourse;
+                total += courses * genedCourseCredits;
+                penalty += courses * genedCoursePenalty;
+            }
+            while (terms < slots.size() && capacity[terms] < total) {
+                terms++;
+            }
+            return score(terms, total, penalty);
+        }
+
+        /* Places the selected courses into terms, each as early as its requisites, semesters and
+         * the credit cap allow, longest requisite chains first. Null if they do not all fit. */
+        private Plan schedule(long[] selected) {
+            List<Integer> order = new ArrayList<>();
+            for (int c = Bits.nextSetBit(selected, 0); c >= 0;
+                 c = Bits.nextSetBit(selected, c + 1)) {
+                order.add(c);
+            }
+            int[] height = heights(order, selected);
+            order.sort(Comparator.<Integer>comparingInt(c -> -height[c])
+                .thenComparingInt(this::earliest)
+                .thenComparingInt(c -> -credits[c]));
+
+            long[] placed = completed.clone();
+            long[] remaining = selected.clone();
+            List<Plan.Term> terms = new ArrayList<>();
+            int lastUsed = -1;
+            int total = 0;
+            int penalty = 0;
+            float gpaSum = 0;
+            int gpaCount = 0;
+            for (int t = 0; t < slots.size() && !Bits.isEmpty(remaining); t++) {
+                Slot slot = slots.get(t);
+                long[] ready = Bits.create(size);
+                for (int c : order) {
+                    if (Bits.get(remaining, c) && slot.semester().in(offered[c])
+                            && credits[c] <= slot.cap()
+                            && satisfied(prereqs[c], placed, placed, request.completed())) {
+                        Bits.set(ready, c);
+                    }
+                }
+                /* Drop courses whose coreqs can be neither already taken nor taken along */
+                boolean changed;
+                do {
+                    changed = false;
+                    for (int c = Bits.nextSetBit(ready, 0); c >= 0;
+                         c = Bits.nextSetBit(ready, c + 1)) {
+                        if (!satisfied(coreqs[c], placed, ready, request.completed())) {
+                            Bits.clear(ready, c);
+                            changed = true;
+                        }
+                    }
+                } while (changed);
+
+                long[] chosen = Bits.create(size);
+                List<String> courses = new ArrayList<>();
+                int termCredits = 0;
+                for (int c : order) {
+                    if (!Bits.get(ready, c) || Bits.get(chosen, c)) {
+                        continue;
+                    }
+                    List<Integer> group = coreqGroup(c, order, ready, placed, chosen);
+                    int groupCredits = group == null ? Integer.MAX_VALUE
+                                       : group.stream().mapToInt(g -> credits[g]).sum();
+                    if (group == null || termCredits + groupCredits > slot.cap()) {
+                        continue;
+                    }
+                    for (int g : group) {
+                        Bits.set(chosen, g);
+                        Bits.clear(remaining, g);
+                        courses.add(graph.courseId(g));
+                        penalty += penalty(g);
+                        if (gpa[g] > 0) {
+                            gpaSum += gpa[g];
+                            gpaCount++;
+                        }
+                    }
+                    termCredits += groupCredits;
+                }
+                Bits.or(placed, chosen);
+                terms.add(new Plan.Term(slot.semester(), slot.year(), courses, termCredits));
+                total += termCredits;
+                if (!courses.isEmpty()) {
+                    lastUsed = t;
+                }
+            }
+            if (!Bits.isEmpty(remaining)) {
+                return null;
+            }
+            return new Plan(terms.subList(0, lastUsed + 1), unmetGeneds, total,
+                            gpaCount == 0 ? 0 : gpaSum / gpaCount,
+                            score(lastUsed + 1, total, penalty));
+        }
+
+        /* A course and the ready coreqs it needs to be taken along, or null if one is missing */
+        private List<Integer> coreqGroup(int course, List<Integer> order, long[] ready,
+                                         long[] placed, long[] chosen) {
+            List<Integer> group = new ArrayList<>(List.of(course));
+            long[] members = Bits.create(size);
+            Bits.set(members, course);
+            for (int i = 0; i < group.size(); i++) {
+                for (Clause clause : coreqs[group.get(i)]) {
+                    if (Bits.intersects(clause.courses(), placed, chosen)
+                            || Bits.intersects(clause.courses(), members)
+                            || externallyDone(clause, request.completed())) {
+                        continue;
+                    }
+                    Integer partner = null;
+                    for (int c : order) {
+                        if (Bits.get(ready, c) && !Bits.get(chosen, c)
+                                && Bits.get(clause.courses(), c)) {
+                            partner = c;
+                            break;
+                        }
+                    }
+                    if (partner == null) {
+                        return null;
+                    }
+                    group.add(partner);
+                    Bits.set(members, partner);
+                }
+            }
+            return group;
+        }
+
+        /* Length of the longest chain of selected courses requiring each course (1 for none) */
+        private int[] heights(List<Integer> order, long[] selected) {
+            int[] height = new int[size];
+            for (int c : order) {
+                height[c] = 1;
+            }
+            for (int pass = 0; pass < order.size(); pass++) {
+                boolean changed = false;
+                for (int c : order) {
+                    for (Clause clause : prereqs[c]) {
+                        long[] courses = clause.courses();
+                        for (int p = Bits.nextSetBit(courses, 0); p >= 0;
+                             p = Bits.nextSetBit(courses, p + 1)) {
+                            if (Bits.get(selected, p) && height[p] < height[c] + 1) {
+                                height[p] = height[c] + 1;
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+                if (!changed) {
+                    break;
+                }
+            }
+            return height;
+        }
+    }
+
+    /* The best plans of a search, one per selection of courses. The score a plan has to beat to
+     * be kept only ever decreases and is published through an AtomicLong, so branches prune
+     * against it without locking; only kept plans take the lock. */
+    static final class TopPlans {
+        private record Ranked(Plan plan, long[] selection) {}
+
+        private final int count;
+        private final AtomicLong bound = new AtomicLong(Long.MAX_VALUE);
+        private final TreeSet<Ranked> plans = new TreeSet<>(
+            Comparator.<Ranked>comparingLong(r -> r.plan().score())
+                .thenComparing(Ranked::selection, Arrays::compare));
+        private volatile boolean found;
+
+        TopPlans(int count) {
+            this.count = count;
+        }
+
+        /* Score a plan has to beat to be kept, the worst kept one once there are count plans */
+        long bound() {
+            return bound.get();
+        }
+
+        boolean found() {
+            return found;
+        }
+
+        void offer(Plan plan, long[] selection) {
+            if (plan.score() >= bound.get()) {
+                return;
+            }
+            synchronized (plans) {
+                plans.add(new Ranked(plan, selection.clone()));
+                if (plans.size() > count) {
+                    plans.pollLast();
+                }
+                if (plans.size() == count) {
+                    bound.set(plans.last().plan().score());
+                }
+            }
+            found = true;
+        }
+
+        List<Plan> plans() {
+            synchronized (plans) {
+                return plans.stream().map(Ranked::plan).toList();
+            }
+        }
+    }
+}
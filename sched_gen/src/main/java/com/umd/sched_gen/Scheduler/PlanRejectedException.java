@@ -0,0 +1,16 @@
+package com.umd.sched_gen.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/** Thrown instead of generating a plan when the {@link PlanExecutor} is saturated, or a request
+ * waited past its deadline for a plan thread
+ */
+public class PlanRejectedException extends RejectedExecutionException {
+    /** Creates the exception
+     *
+     * @param message why the request was rejected
+     */
+    public PlanRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.umd.sched_gen.Scheduler;
+
+import com.umd.sched_gen.Courses.Semester;
+
+import java.util.List;
+import java.util.Set;
+
+/** What a plan is generated for
+ *
+ * @param completed course IDs already taken
+ * @param required course IDs that must be in the plan (ie: the courses of a major)
+ * @param geneds gen ed codes the plan must fulfill, counting the completed courses
+ * @param start the semester of the first term of the plan
+ * @param startYear the year of the first term of the plan
+ * @param terms the number of fall/spring terms the plan may span (8 for four years)
+ * @param creditsPerTerm the most credits planned in a fall/spring term
+ * @param shortTerms whether courses may also be planned in winter and summer terms
+ */
+public record PlanRequest(Set<String> completed, List<String> required, List<String> geneds,
+                          Semester start, int startYear, int terms, int creditsPerTerm,
+                          boolean shortTerms) {
+
+    /** Checks and copies the request */
+    public PlanRequest {
+        completed = completed == null ? Set.of() : Set.copyOf(completed);
+        required = required == null ? List.of() : List.copyOf(required);
+        geneds = geneds == null ? List.of() : List.copyOf(geneds);
+        if (start == null) {
+            throw new IllegalArgumentException("A start semester is required");
+        }
+        if (terms < 1 || terms > 16) {
+            throw new IllegalArgumentException("terms must be between 1 and 16");
+        }
+        if (creditsPerTerm < 1 || creditsPerTerm > 30) {
+            throw new IllegalArgumentException("creditsPerTerm must be between 1 and 30");
+        }
+    }
+
+    /** A four year plan (8 fall/spring terms) starting in the fall, without winter and summer
+     * terms
+     *
+     * @param completed course IDs already taken
+     * @param required course IDs that must be in the plan
+     * @param geneds gen ed codes the plan must fulfill
+     * @param startYear the year of the first fall
+     * @param creditsPerTerm the most credits planned in a term
+     * @return the request
+     */
+    public static PlanRequest fourYears(Set<String> completed, List<String> required,
+                                        List<String> geneds, int startYear, int creditsPerTerm) {
+        return new PlanRequest(completed, required, geneds, Semester.FALL, startYear, 8,
+                               creditsPerTerm, false);
+    }
+}
@@ -1,25 +1,166 @@
 package com.umd.sched_gen.Scheduler;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 import org.springframework.lang.NonNull;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.umd.sched_gen.Catalog.CatalogService;
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+import com.umd.sched_gen.Courses.Semester;
 import com.umd.sched_gen.DataInitializer.DataInitializedEvent;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Recommends courses and generates semester plans over the current catalog. A PlanGenerator is
+ * built for every new catalog snapshot (after the courses table is initialized or refreshed) and
+ * reused by every request until the next one. Requests for several plans are searched in
+ * parallel on a ForkJoinPool of sched-gen.scheduler.parallelism threads.
+ *
+ * Eligible courses are cached by the canonical form of the question (completed courses as a
+ * bitset, and the semester), since many students have taken the same courses. The cache is
+ * bounded by the total number of course IDs it holds and evicts with W-TinyLFU; it is cleared
+ * whenever the catalog is refreshed.
+ *
+ * Plan generation is timed (scheduler.plan.generate, by mode: single or parallel) and the cache
+ * is monitored (cache.* meters named scheduler.eligible), both published through the actuator.
+ */
 @Component
-public class Scheduler implements ApplicationListener<DataInitializedEvent> {
+public class Scheduler implements ApplicationListener<DataInitializedEvent>, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(Scheduler.class);
+
+    private final CatalogService catalogService;
+    private final SchedulerProperties properties;
+    private final ForkJoinPool pool;
+    private final AtomicReference<PlanGenerator> generator = new AtomicReference<>();
+    private final Cache<EligibleKey, List<String>> eligibleCache;
+    private final Timer singlePlans;
+    private final Timer parallelPlans;
 
-    /* Explicit dependencies */
-    public Scheduler() {}
+    /* Cached answers belong to the generator, so no answer outlives the catalog it came from */
+    private record EligibleKey(PlanGenerator generator, PlanGenerator.EligibleQuery query) {}
+
+    /** Constructor defines explicit dependencies for this component to run
+     *
+     * @param catalogService holder of the current catalog snapshot
+     * @param properties settings of plan generation
+     * @param registry the registry plan generation timers and cache meters are published to
+     */
+    public Scheduler(CatalogService catalogService, SchedulerProperties properties,
+                     MeterRegistry registry) {
+        this.catalogService = catalogService;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.getParallelism());
+        this.eligibleCache = Caffeine.newBuilder()
+            .maximumWeight(properties.getEligibleCacheWeight())
+            .<EligibleKey, List<String>>weigher((key, courses) -> 1 + courses.size())
+            .recordStats()
+            .build();
+        this.singlePlans = planTimer(registry, "single");
+        this.parallelPlans = planTimer(registry, "parallel");
+        CaffeineCacheMetrics.monitor(registry, eligibleCache, "scheduler.eligible");
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
 
     @Override
     public void onApplicationEvent(@NonNull DataInitializedEvent event) {
-        System.out.println("Success!");
-        /* From here, we should see if we can deploy some sort of service that continually listens
-         * for HTTP pings which request a viable course to be added to the schedule given the
-         * courses already added. This will probably require the use of a second API service for
-         * the scheduler, event listener, and an algorithm that can return which course(s) are
-         * recommended.
-         */
-    }
-}
\ No newline at end of file
+        PlanGenerator built = generator();
+        CacheStats stats = eligibleCache.stats();
+        eligibleCache.invalidateAll();
+        if (log.isInfoEnabled()) {
+            log.info("Scheduler ready courses={} eligibleCacheHitRate={} eligibleCacheRequests={} "
+                     + "eligibleCacheEvictions={} eligibleCacheAverageLoadMs={}",
+                     built.snapshot().size(), String.format("%.3f", stats.hitRate()),
+                     stats.requestCount(), stats.evictionCount(),
+                     String.format("%.2f", stats.averageLoadPenalty() / 1e6));
+        }
+    }
+
+    /** Generates a plan assigning the required courses and gen eds to terms
+     *
+     * @param request the completed courses, required courses and gen eds, and the terms
+     * @return the plan, or null if the required courses cannot fit in the terms
+     * @throws IllegalArgumentException if a required course is not in the catalog
+     */
+    public Plan generatePlan(PlanRequest request) {
+        PlanGenerator current = generator();
+        return singlePlans.record(() -> current.generate(request));
+    }
+
+    /** Generates several plans for a request, searching in parallel. Each plan takes a different
+     * selection of courses; they are ranked by terms, then credit load and GPA.
+     *
+     * @param request the completed courses, required courses and gen eds, and the terms
+     * @param count the number of plans to generate, up to sched-gen.scheduler.max-plans
+     * @return up to count plans, best first, or none if the required courses cannot fit in the
+     * terms
+     * @throws IllegalArgumentException if count is out of range, or a required course is not in
+     * the catalog
+     */
+    public List<Plan> generatePlans(PlanRequest request, int count) {
+        if (count > properties.getMaxPlans()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxPlans()
+                                               + " plans can be generated at once");
+        }
+        PlanGenerator current = generator();
+        return parallelPlans.record(() -> current.generate(request, count, pool));
+    }
+
+    /** Returns the courses that can be added to a schedule for a semester, given the courses
+     * already taken
+     *
+     * @param completed course IDs already taken
+     * @param semester the semester being scheduled
+     * @return the eligible course IDs, in order of course ID
+     */
+    public List<String> eligibleCourses(Set<String> completed, Semester semester) {
+        PlanGenerator current = generator();
+        EligibleKey key = new EligibleKey(current, current.query(completed, semester));
+        return eligibleCache.get(key, k -> k.generator().eligible(k.query()));
+    }
+
+    /** Returns the statistics of the eligible course cache since startup: hit rate, evictions,
+     * and the time spent computing missed answers
+     *
+     * @return the cache statistics
+     */
+    public CacheStats eligibleCacheStats() {
+        return eligibleCache.stats();
+    }
+
+    private static Timer planTimer(MeterRegistry registry, String mode) {
+        return Timer.builder("scheduler.plan.generate")
+            .description("Plan generation requests")
+            .tag("mode", mode)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    /* The generator of the current snapshot, rebuilt whenever the snapshot has been swapped */
+    private PlanGenerator generator() {
+        CatalogSnapshot snapshot = catalogService.current();
+        PlanGenerator current = generator.get();
+        if (current != null && current.snapshot() == snapshot) {
+            return current;
+        }
+        PlanGenerator built = new PlanGenerator(snapshot);
+        generator.compareAndSet(current, built);
+        return built;
+    }
+}
@@ -0,0 +1,116 @@
+package com.umd.sched_gen.Scheduler;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.umd.sched_gen.Courses.Semester;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/** REST endpoints generating plans and recommending courses. The work runs on the
+ * {@link PlanExecutor}, never on the thread serving the request: a saturated executor, or a
+ * request waiting past its deadline (the Request-Deadline-Ms header, in milliseconds, or
+ * sched-gen.scheduler.plan-deadline), answers 503 with a Retry-After header.
+ */
+@RestController
+@RequestMapping("/scheduler")
+public class SchedulerController {
+    /** The header a client sets its own deadline with, in milliseconds */
+    public static final String DEADLINE_HEADER = "Request-Deadline-Ms";
+
+    private final Scheduler scheduler;
+    private final PlanExecutor planExecutor;
+
+    /** Constructor defines explicit dependencies for this controller to run
+     *
+     * @param scheduler generator of plans over the current catalog
+     * @param planExecutor the bounded pool plans are generated on
+     */
+    public SchedulerController(Scheduler scheduler, PlanExecutor planExecutor) {
+        this.scheduler = scheduler;
+        this.planExecutor = planExecutor;
+    }
+
+    /** Generates a plan, eg: POST /scheduler/plan with {"required": ["CMSC131"], "geneds": [],
+     * "start": "FALL", "startYear": 2026, "terms": 8, "creditsPerTerm": 15}
+     *
+     * @param request the completed courses, required courses and gen eds, and the terms
+     * @param deadlineMillis how long the request may wait for a plan thread, if not the default
+     * @return the plan, or 204 if the required courses cannot fit in the terms
+     */
+    @PostMapping("/plan")
+    public CompletableFuture<ResponseEntity<Plan>> plan(
+            @RequestBody PlanRequest request,
+            @RequestHeader(name = DEADLINE_HEADER, required = false) Long deadlineMillis) {
+        return submit(() -> scheduler.generatePlan(request), deadlineMillis)
+            .thenApply(plan -> plan == null ? ResponseEntity.noContent().build()
+                       : ResponseEntity.ok(plan));
+    }
+
+    /** Generates several plans, searched in parallel
+     *
+     * @param request the completed courses, required courses and gen eds, and the terms
+     * @param count the number of plans to generate, up to sched-gen.scheduler.max-plans
+     * @param deadlineMillis how long the request may wait for a plan thread, if not the default
+     * @return up to count plans, best first, or none if the required courses cannot fit
+     */
+    @PostMapping("/plans")
+    public CompletableFuture<List<Plan>> plans(
+            @RequestBody PlanRequest request,
+            @RequestParam(defaultValue = "3") int count,
+            @RequestHeader(name = DEADLINE_HEADER, required = false) Long deadlineMillis) {
+        return submit(() -> scheduler.generatePlans(request, count), deadlineMillis);
+    }
+
+    /** Lists the courses that can be taken in a semester, eg:
+     * /scheduler/eligible?completed=CMSC131&completed=MATH140&semester=FALL
+     *
+     * @param completed course IDs already taken
+     * @param semester the semester being scheduled
+     * @param deadlineMillis how long the request may wait for a plan thread, if not the default
+     * @return the eligible course IDs, in order of course ID
+     */
+    @GetMapping("/eligible")
+    public CompletableFuture<List<String>> eligible(
+            @RequestParam(required = false) Set<String> completed,
+            @RequestParam Semester semester,
+            @RequestHeader(name = DEADLINE_HEADER, required = false) Long deadlineMillis) {
+        Set<String> taken = completed == null ? Set.of() : completed;
+        return submit(() -> scheduler.eligibleCourses(taken, semester), deadlineMillis);
+    }
+
+    @ExceptionHandler(PlanRejectedException.class)
+    public ResponseEntity<String> rejected(PlanRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task, Long deadlineMillis) {
+        if (deadlineMillis == null) {
+            return planExecutor.submit(task);
+        }
+        if (deadlineMillis <= 0) {
+            throw new IllegalArgumentException(DEADLINE_HEADER + " must be positive");
+        }
+        return planExecutor.submit(task, Duration.ofMillis(deadlineMillis));
+    }
+}
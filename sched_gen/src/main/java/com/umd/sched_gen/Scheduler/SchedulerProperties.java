@@ -0,0 +1,91 @@
+package com.umd.sched_gen.Scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Configurable settings of plan generation (sched-gen.scheduler.* in application.properties) */
+@ConfigurationProperties(prefix = "sched-gen.scheduler")
+public class SchedulerProperties {
+    private int parallelism;                /* Plan search threads, 0 for one per core */
+    private int maxPlans = 10;              /* Most plans a single request can ask for */
+    private long eligibleCacheWeight = 1_000_000;   /* Course IDs held by the eligible cache */
+    private int planThreads;                /* Threads generating plans for requests, 0 for cores */
+    private int planQueue = 64;             /* Requests waiting for a plan thread at most */
+    private Duration planDeadline = Duration.ofSeconds(5);
+
+    /** Returns the number of threads searching for plans in parallel
+     *
+     * @return the parallelism, one per available core if not set
+     */
+    public int getParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /** Returns the most plans a single request can ask for
+     *
+     * @return the maximum number of plans
+     */
+    public int getMaxPlans() {
+        return maxPlans;
+    }
+
+    public void setMaxPlans(int maxPlans) {
+        this.maxPlans = maxPlans;
+    }
+
+    /** Returns the bound of the eligible course cache, in course IDs across all cached answers
+     *
+     * @return the maximum cache weight
+     */
+    public long getEligibleCacheWeight() {
+        return eligibleCacheWeight;
+    }
+
+    public void setEligibleCacheWeight(long eligibleCacheWeight) {
+        this.eligibleCacheWeight = eligibleCacheWeight;
+    }
+
+    /** Returns the number of threads generating plans for REST requests (see
+     * {@link PlanExecutor})
+     *
+     * @return the plan threads, one per available core if not set
+     */
+    public int getPlanThreads() {
+        return planThreads > 0 ? planThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setPlanThreads(int planThreads) {
+        this.planThreads = planThreads;
+    }
+
+    /** Returns the most requests waiting for a plan thread at once, past which requests are
+     * rejected
+     *
+     * @return the plan queue capacity
+     */
+    public int getPlanQueue() {
+        return planQueue;
+    }
+
+    public void setPlanQueue(int planQueue) {
+        this.planQueue = planQueue;
+    }
+
+    /** Returns how long a request may wait for a plan thread, unless it sets its own deadline.
+     * Requests still waiting past their deadline are rejected instead of run.
+     *
+     * @return the default plan deadline
+     */
+    public Duration getPlanDeadline() {
+        return planDeadline;
+    }
+
+    public void setPlanDeadline(Duration planDeadline) {
+        this.planDeadline = planDeadline;
+    }
+}
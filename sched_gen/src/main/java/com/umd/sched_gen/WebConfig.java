@@ -0,0 +1,40 @@
+package com.umd.sched_gen;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Configures asynchronous request handling: controllers return futures of work running on the
+ * {@link BlockingExecutor} (database reads) or the scheduler's PlanExecutor (plan generation),
+ * so Tomcat threads only parse requests and write responses.
+ */
+@Configuration
+@EnableConfigurationProperties(WebProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+    private final WebProperties properties;
+    private final BlockingExecutor blockingExecutor;
+
+    /** Constructor defines explicit dependencies for this configuration to run
+     *
+     * @param properties settings of the REST API
+     */
+    public WebConfig(WebProperties properties) {
+        this.properties = properties;
+        this.blockingExecutor = new BlockingExecutor(properties);
+    }
+
+    @Bean
+    public BlockingExecutor blockingExecutor() {
+        return blockingExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(blockingExecutor));
+        configurer.setDefaultTimeout(properties.getAsyncTimeout().toMillis());
+    }
+}
@@ -0,0 +1,51 @@
+package com.umd.sched_gen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Configurable settings of the REST API (sched-gen.web.* in application.properties) */
+@ConfigurationProperties(prefix = "sched-gen.web")
+public class WebProperties {
+    private boolean virtualThreads;         /* Blocking work on virtual threads, on Java 21+ */
+    private int blockingThreads = 64;       /* Platform threads for blocking work otherwise */
+    private Duration asyncTimeout = Duration.ofSeconds(30);
+
+    /** Returns whether blocking work (database reads) runs on a virtual thread per task. Only
+     * takes effect on a Java 21+ runtime; otherwise it runs on a bounded pool of platform threads.
+     *
+     * @return whether virtual threads are requested
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /** Returns the number of platform threads running blocking work when virtual threads are not
+     * used
+     *
+     * @return the blocking pool size
+     */
+    public int getBlockingThreads() {
+        return blockingThreads;
+    }
+
+    public void setBlockingThreads(int blockingThreads) {
+        this.blockingThreads = blockingThreads;
+    }
+
+    /** Returns how long an asynchronous request may take before it fails with a 503
+     *
+     * @return the asynchronous request timeout
+     */
+    public Duration getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public void setAsyncTimeout(Duration asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+}
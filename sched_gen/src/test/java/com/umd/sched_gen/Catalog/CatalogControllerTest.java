@@ -0,0 +1,78 @@
+package com.umd.sched_gen.Catalog;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(CatalogController.class)
+class CatalogControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private CatalogService catalogService;
+
+	@BeforeEach
+	void catalog() {
+		when(catalogService.current()).thenReturn(CatalogSnapshot.of(List.of(
+			course("HIST200").credits(3).semesters("FALL").geneds("DSHS").gpa(3.4F).build(),
+			course("HIST201").credits(3).semesters("FALL").geneds("DSHS").gpa(3.8F)
+				.restrictions("Must be a HIST major.").build(),
+			course("ENGL250").credits(3).semesters("FALL").geneds("DSHU").gpa(3.6F).build(),
+			course("PSYC100").credits(3).semesters("SPRING").geneds("DSHS").gpa(3.9F).build())));
+	}
+
+	@Test
+	void filtersUnrestrictedGenEdsBySemesterAndGpa() throws Exception {
+		mockMvc.perform(get("/catalog/courses")
+				.param("gened", "DSHS", "DSHU")
+				.param("semester", "FALL")
+				.param("restricted", "false")
+				.param("minGpa", "3.5"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.matched").value(1))
+			.andExpect(jsonPath("$.courses[0].course_id").value("ENGL250"));
+	}
+
+	@Test
+	void sortsByGpaAndLimits() throws Exception {
+		mockMvc.perform(get("/catalog/courses").param("gened", "DSHS").param("limit", "2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.matched").value(3))
+			.andExpect(jsonPath("$.courses.length()").value(2))
+			.andExpect(jsonPath("$.courses[0].course_id").value("PSYC100"))
+			.andExpect(jsonPath("$.courses[1].course_id").value("HIST201"));
+	}
+
+	@Test
+	void searchesCourseIdsThenWords() throws Exception {
+		mockMvc.perform(get("/catalog/search").param("q", "hist2").param("limit", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].course_id").value("HIST200"))
+			.andExpect(jsonPath("$[0].id_match").value(true));
+		mockMvc.perform(get("/catalog/search").param("q", "major"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].course_id").value("HIST201"));
+	}
+
+	@Test
+	void rejectsBadParameters() throws Exception {
+		mockMvc.perform(get("/catalog/courses").param("limit", "-1"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/catalog/courses").param("semester", "AUTUMN"))
+			.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,91 @@
+package com.umd.sched_gen.Catalog;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.umd.sched_gen.Courses.Course;
+
+class CatalogFileTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void aWrittenCatalogReadsBackTheSame() throws IOException {
+		List<Course> courses = new ArrayList<>(Catalogs.random(2000, 5));
+		courses.add(course("TEST131").credits(4).semesters("FALL", "SPRING").build());
+		courses.add(course("TEST132").credits(4).semesters("FALL", "SPRING")
+			.prereqs("Minimum grade of C- in TEST131; and TEST140.").build());
+		courses.add(course("TEST161").credits(4).semesters("FALL", "SPRING").prereqs("TEST131")
+			.coreqs("TEST261").build());
+		courses.add(course("TEST261").credits(4).semesters("FALL", "SPRING").coreqs("TEST161")
+			.build());
+		CatalogSnapshot written = CatalogSnapshot.of(courses, Instant.ofEpochMilli(1_700_000_000_000L));
+
+		Path file = CatalogFile.write(written, directory);
+		CatalogSnapshot read = CatalogFile.read(file);
+
+		assertEquals(directory.resolve("catalog-1700000000000.bin"), file);
+		assertEquals(written.ingestedAt(), read.ingestedAt());
+		assertEquals(written.views().size(), read.size());
+		for (int i = 0; i < read.size(); i++) {
+			Course expected = written.view(i).course();
+			Course actual = read.view(i).course();
+			assertEquals(expected.getCourseId(), actual.getCourseId());
+			assertEquals(expected.getName(), actual.getName());
+			assertEquals(expected.getDeptId(), actual.getDeptId());
+			assertEquals(expected.getCredits(), actual.getCredits());
+			assertEquals(expected.getSemesters(), actual.getSemesters());
+			assertEquals(expected.getGeneds(), actual.getGeneds());
+			assertEquals(expected.getAverageGPA(), actual.getAverageGPA());
+			assertEquals(expected.getPrereqsString(), actual.getPrereqsString());
+			assertEquals(expected.getPrereqExpression(), actual.getPrereqExpression());
+			assertEquals(expected.getCoreqExpression(), actual.getCoreqExpression());
+			assertEquals(expected.getRestrictions(), actual.getRestrictions());
+		}
+		assertNull(read.byCourseId("TEST131").getGeneds());
+		assertEquals(List.of("TEST131", "TEST261"), read.requisites().ancestors("TEST161"));
+		assertEquals(written.requisites().ancestors("TEST132"),
+					 read.requisites().ancestors("TEST132"));
+		assertEquals(written.filter(CourseFilter.gened("DSHS"), 20),
+					 read.filter(CourseFilter.gened("DSHS"), 20));
+	}
+
+	@Test
+	void filesAreListedNewestFirst() throws IOException {
+		CatalogFile.write(CatalogSnapshot.of(Catalogs.random(10, 1), Instant.ofEpochMilli(20)),
+						  directory);
+		CatalogFile.write(CatalogSnapshot.of(Catalogs.random(10, 1), Instant.ofEpochMilli(100)),
+						  directory);
+		Files.writeString(directory.resolve("notes.txt"), "not a catalog");
+
+		assertEquals(List.of(directory.resolve("catalog-100.bin"),
+							 directory.resolve("catalog-20.bin")), CatalogFile.list(directory));
+		assertEquals(List.of(), CatalogFile.list(directory.resolve("missing")));
+	}
+
+	@Test
+	void truncatedAndForeignFilesAreRejected() throws IOException {
+		Path file = CatalogFile.write(CatalogSnapshot.of(Catalogs.random(100, 2),
+														 Instant.ofEpochMilli(1)), directory);
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+		Path foreign = Files.writeString(directory.resolve("catalog-2.bin"), "hello world");
+
+		assertThrows(IOException.class, () -> CatalogFile.read(file));
+		assertThrows(IOException.class, () -> CatalogFile.read(foreign));
+	}
+}
@@ -0,0 +1,92 @@
+package com.umd.sched_gen.Catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.umd.sched_gen.Courses.CourseRepository;
+import com.umd.sched_gen.DataInitializer.DataInitializedEvent;
+
+class CatalogServiceTest {
+	private static final Instant INGESTED_AT = Instant.parse("2026-01-12T08:30:00.123456Z");
+
+	private final CourseRepository courseRepository = mock(CourseRepository.class);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void aRestartMapsTheCatalogFileInsteadOfReadingTheDatabase() throws IOException {
+		when(courseRepository.findAll()).thenReturn(Catalogs.random(500, 9));
+		CatalogService first = service();
+		first.onApplicationEvent(new DataInitializedEvent(this, true, INGESTED_AT));
+
+		CatalogService restarted = service();
+
+		assertEquals(first.current().views().size(), restarted.current().size());
+		assertNotNull(restarted.current().byCourseId(first.current().view(0).courseId()));
+		restarted.onApplicationEvent(new DataInitializedEvent(this, false, INGESTED_AT));
+		assertEquals(Instant.parse("2026-01-12T08:30:00.123Z"), restarted.current().ingestedAt());
+		verify(courseRepository, times(1)).findAll();
+		assertEquals(1, CatalogFile.list(directory).size());
+	}
+
+	@Test
+	void aRestartAfterTheTableWasWrittenAgainReadsTheDatabase() throws IOException {
+		when(courseRepository.findAll()).thenReturn(Catalogs.random(50, 9));
+		service().onApplicationEvent(new DataInitializedEvent(this, true, INGESTED_AT));
+		Instant refreshedAt = INGESTED_AT.plusSeconds(60);
+
+		CatalogService restarted = service();
+		restarted.onApplicationEvent(new DataInitializedEvent(this, false, refreshedAt));
+
+		assertEquals(refreshedAt.toEpochMilli(), restarted.current().ingestedAt().toEpochMilli());
+		verify(courseRepository, times(2)).findAll();
+		assertEquals(2, CatalogFile.list(directory).size());
+	}
+
+	@Test
+	void anIngestReplacesTheCatalogFileKeepingTheNewestOnes() throws IOException {
+		when(courseRepository.findAll()).thenReturn(Catalogs.random(50, 9));
+		CatalogService service = service();
+		for (int i = 0; i < 4; i++) {
+			service.onApplicationEvent(new DataInitializedEvent(this, true,
+																INGESTED_AT.plusSeconds(i)));
+		}
+
+		assertEquals(2, CatalogFile.list(directory).size());
+		assertEquals(INGESTED_AT.plusSeconds(3).toEpochMilli(),
+					 service.current().ingestedAt().toEpochMilli());
+		assertEquals("catalog-" + service.current().ingestedAt().toEpochMilli() + ".bin",
+					 CatalogFile.list(directory).get(0).getFileName().toString());
+	}
+
+	@Test
+	void withoutCatalogFilesTheDatabaseIsAlwaysRead() {
+		CatalogService service = new CatalogService(courseRepository, new CatalogProperties());
+		service.afterPropertiesSet();
+		verify(courseRepository, never()).findAll();
+
+		service.onApplicationEvent(new DataInitializedEvent(this));
+		verify(courseRepository).findAll();
+	}
+
+	private CatalogService service() {
+		CatalogProperties properties = new CatalogProperties();
+		properties.setFileDir(directory.toString());
+		CatalogService service = new CatalogService(courseRepository, properties);
+		service.afterPropertiesSet();
+		return service;
+	}
+}
@@ -0,0 +1,94 @@
+package com.umd.sched_gen.Catalog;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+class CatalogSnapshotTest {
+
+	private final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+		course("CMSC131").credits(4).semesters("FALL", "SPRING").geneds(List.of()).build(),
+		course("CMSC132").credits(4).semesters("FALL", "SPRING").geneds(List.of()).build(),
+		course("CMSC216").credits(4).semesters("SPRING").geneds(List.of()).build(),
+		course("COMM107").credits(3).semesters("FALL", "SUMMER")
+			.geneds(List.of(List.of("DSHU", "DVUP"))).build(),
+		course("AOSC200").credits(3).semesters("FALL")
+			.geneds(List.of(List.of("DSNS|AOSC201"))).build()));
+
+	@Test
+	void looksUpByCourseIdAndPrefix() {
+		assertEquals("CMSC216", snapshot.byCourseId("CMSC216").getCourseId());
+		assertNull(snapshot.byCourseId("CMSC999"));
+		assertEquals(List.of("CMSC131", "CMSC132"), ids(snapshot.byCourseIdPrefix("CMSC1")));
+		assertEquals(List.of("CMSC", "COMM"), snapshot.deptsWithPrefix("C"));
+	}
+
+	@Test
+	void looksUpBySecondaryIndexes() {
+		assertEquals(3, snapshot.byDept("CMSC").size());
+		assertEquals(List.of("COMM107"), ids(snapshot.byGened("DVUP")));
+		assertEquals(List.of("AOSC200"), ids(snapshot.byGened("DSNS")));
+		assertEquals(List.of("COMM107"), ids(snapshot.bySemester(Semester.SUMMER)));
+		assertEquals(3, snapshot.bySemester(Semester.SPRING).size());
+		assertEquals(2, snapshot.byCredits(3).size());
+		assertTrue(snapshot.bySemester(Semester.WINTER).isEmpty());
+	}
+
+	@Test
+	void sizeCountsEachCourseIdOnce() {
+		CatalogSnapshot duplicated = CatalogSnapshot.of(List.of(
+			course("CMSC131").credits(4).semesters("FALL").geneds(List.of()).build(),
+			course("CMSC131").credits(4).semesters("SPRING").geneds(List.of()).build(),
+			course("CMSC132").credits(4).semesters("FALL").geneds(List.of()).build()));
+
+		assertEquals(2, duplicated.size());
+		assertEquals(duplicated.views().size(), duplicated.size());
+	}
+
+	@Test
+	void indexesAreImmutable() {
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.byDept("CMSC").clear());
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.courses().clear());
+	}
+
+	@Test
+	void viewsAreNumberedByCourseIdAndShareTheirGenedCodes() {
+		CatalogSnapshot shared = CatalogSnapshot.of(List.of(
+			course("HIST200").credits(3).semesters("FALL")
+				.geneds(List.of(List.of("DSHS"), List.of("DSHU"))).build()));
+		CatalogSnapshot again = CatalogSnapshot.of(List.of(
+			course("ARTH200").credits(3).semesters("FALL")
+				.geneds(List.of(List.of("DSHS", "DSHU"))).build(),
+			course("HIST200").credits(3).semesters("SPRING")
+				.geneds(List.of(List.of("DSHS"), List.of("DSHU"))).build()));
+
+		assertEquals(List.of("AOSC200", "CMSC131", "CMSC132", "CMSC216", "COMM107"),
+					 snapshot.views().stream().map(CourseView::courseId).toList());
+		CourseView comm = snapshot.view("COMM107");
+		assertSame(comm, snapshot.view(comm.number()));
+		assertEquals(Semester.FALL.bit() | Semester.SUMMER.bit(), comm.semesters());
+		assertTrue(comm.offeredIn(Semester.SUMMER));
+		assertFalse(comm.offeredIn(Semester.SPRING));
+		assertEquals(List.of("DSHU", "DVUP"), comm.genedCodes());
+		assertEquals(List.of("DSNS"), snapshot.view("AOSC200").genedCodes());
+		assertNull(snapshot.view("CMSC999"));
+		assertEquals(List.of("DSHS", "DSHU"), shared.view("HIST200").genedCodes());
+		assertSame(again.view("ARTH200").genedCodes(), again.view("HIST200").genedCodes());
+		assertThrows(UnsupportedOperationException.class, () -> comm.genedCodes().clear());
+	}
+
+	private static List<String> ids(List<Course> courses) {
+		return courses.stream().map(Course::getCourseId).toList();
+	}
+}
@@ -0,0 +1,116 @@
+package com.umd.sched_gen.Catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+/** Builds Courses and generates synthetic catalogs for tests and benchmarks */
+public final class Catalogs {
+
+	static final String[] DEPTS = {"CMSC", "MATH", "ENGL", "HIST", "PHYS", "BSCI", "COMM", "ECON",
+								   "PSYC", "ARTH", "AOSC", "GEOG"};
+	static final String[] GENEDS = {"DSHS", "DSHU", "DSNS", "DSNL", "DSSP", "DVCC", "DVUP", "SCIS",
+									"FSAW", "FSPW"};
+
+	private Catalogs() {}
+
+	/** Starts a Course with the given ID, named after it and in the department its first four
+	 * letters name
+	 */
+	public static CourseBuilder course(String courseId) {
+		return new CourseBuilder(courseId);
+	}
+
+	/** Returns n distinct Courses with random attributes, the same ones for the same seed */
+	static List<Course> random(int n, long seed) {
+		Random random = new Random(seed);
+		List<Course> courses = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			String dept = DEPTS[random.nextInt(DEPTS.length)];
+			Course course = new Course(0);
+			course.setCourseId(dept + (100 + i % 900) + (i >= 900 ? "X" + i / 900 : ""));
+			course.setName("Course " + i);
+			course.setDeptId(dept);
+			course.setCredits(1 + random.nextInt(4));
+			ArrayList<String> semesters = new ArrayList<>();
+			for (Semester semester : Semester.values()) {
+				if (random.nextInt(3) == 0) {
+					semesters.add(semester.name());
+				}
+			}
+			course.setSemesters(semesters);
+			List<List<String>> geneds = new ArrayList<>();
+			if (random.nextBoolean()) {
+				geneds.add(List.of(GENEDS[random.nextInt(GENEDS.length)]));
+			}
+			course.setGeneds(geneds);
+			course.setAverageGPA(random.nextInt(5) == 0 ? 0.0F : Math.round(random.nextFloat() * 400) / 100.0F);
+			course.setRestrictions(random.nextInt(4) == 0 ? "Must be in a major within the college." : null);
+			courses.add(course);
+		}
+		return courses;
+	}
+
+	/** Sets the attributes of a test Course, leaving the ones it is not told about unset */
+	public static final class CourseBuilder {
+		private final Course course = new Course(0);
+
+		private CourseBuilder(String courseId) {
+			course.setCourseId(courseId);
+			course.setName("Course " + courseId);
+			course.setDeptId(courseId.substring(0, 4));
+		}
+
+		public CourseBuilder name(String name) {
+			course.setName(name);
+			return this;
+		}
+
+		public CourseBuilder credits(int credits) {
+			course.setCredits(credits);
+			return this;
+		}
+
+		public CourseBuilder semesters(String... semesters) {
+			course.setSemesters(new ArrayList<>(List.of(semesters)));
+			return this;
+		}
+
+		/** Sets a single GenEd requirement the Course fulfills one of the codes of */
+		public CourseBuilder geneds(String... geneds) {
+			return geneds(geneds.length == 0 ? List.of() : List.of(List.of(geneds)));
+		}
+
+		public CourseBuilder geneds(List<List<String>> geneds) {
+			course.setGeneds(geneds);
+			return this;
+		}
+
+		public CourseBuilder gpa(float averageGPA) {
+			course.setAverageGPA(averageGPA);
+			return this;
+		}
+
+		public CourseBuilder prereqs(String prereqs) {
+			course.setPrereqsString(prereqs);
+			return this;
+		}
+
+		public CourseBuilder coreqs(String coreqs) {
+			course.setCoreqsString(coreqs);
+			return this;
+		}
+
+		public CourseBuilder restrictions(String restrictions) {
+			course.setRestrictions(restrictions);
+			return this;
+		}
+
+		public Course build() {
+			return course;
+		}
+	}
+}
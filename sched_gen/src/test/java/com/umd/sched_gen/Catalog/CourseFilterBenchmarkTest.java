@@ -0,0 +1,134 @@
+package com.umd.sched_gen.Catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.CourseRepository;
+import com.umd.sched_gen.Courses.Semester;
+import com.umd.sched_gen.DataInitializer.CourseWriter;
+import com.umd.sched_gen.DataInitializer.IngestProperties;
+
+/** Compares the filter engine with querying through CourseRepository and filtering in Java.
+ * Excluded from the default build, run with: mvn test -Pbenchmark */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseFilterBenchmarkTest {
+
+	private static final int CATALOG_SIZE = 10_000;
+	private static final int ROUNDS = 20;
+
+	@TestConfiguration
+	@EnableConfigurationProperties({IngestProperties.class, CatalogProperties.class})
+	@Import({CourseWriter.class, CatalogService.class})
+	static class Config {
+	}
+
+	@Autowired
+	private CourseWriter courseWriter;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private CatalogService catalogService;
+
+	@BeforeEach
+	void load() {
+		courseWriter.saveAll(Catalogs.random(CATALOG_SIZE, 7), 1000);
+		catalogService.reload(null);
+	}
+
+	@AfterEach
+	void clear() {
+		courseRepository.deleteAll();
+	}
+
+	@Test
+	void unrestrictedGenEdsBySemesterAndGpa() {
+		CourseFilter filter = CourseFilter.and(List.of(
+			CourseFilter.gened("DSHS").or(CourseFilter.gened("DSHU")),
+			CourseFilter.semester(Semester.FALL),
+			CourseFilter.not(CourseFilter.restricted()),
+			CourseFilter.gpaBetween(3.0F, 4.0F)));
+		compare("gen ed + semester + unrestricted + GPA",
+			() -> top(StreamSupport.stream(courseRepository.findAll().spliterator(), false)
+				.filter(course -> course.getGeneds().stream().flatMap(List::stream)
+					.anyMatch(gened -> gened.equals("DSHS") || gened.equals("DSHU")))
+				.filter(course -> course.getSemesters().contains("FALL"))
+				.filter(course -> course.getRestrictions() == null)
+				.filter(course -> course.getAverageGPA() >= 3.0F)
+				.toList()),
+			() -> ids(catalogService.current().filter(filter, 50)));
+	}
+
+	@Test
+	void departmentAndCredits() {
+		CourseFilter filter = CourseFilter.dept("CMSC").and(CourseFilter.credits(3));
+		compare("department + credits",
+			() -> top(courseRepository.findByDeptId("CMSC").stream()
+				.filter(course -> course.getCredits() == 3)
+				.toList()),
+			() -> ids(catalogService.current().filter(filter, 50)));
+	}
+
+	private void compare(String query, Supplier<List<String>> jpa, Supplier<List<String>> engine) {
+		assertEquals(jpa.get(), engine.get());
+		long jpaNanos = time(jpa);
+		long engineNanos = time(engine);
+		System.out.printf("[BENCHMARK]: %s over %d courses: JPA %.3fms, filter engine %.3fms (x%.0f)%n",
+			query, CATALOG_SIZE, jpaNanos / 1e6, engineNanos / 1e6, (double) jpaNanos / engineNanos);
+		assertTrue(engineNanos < jpaNanos);
+	}
+
+	/* Median time of a query, after warming it up */
+	private static long time(Supplier<List<String>> query) {
+		for (int i = 0; i < ROUNDS; i++) {
+			query.get();
+		}
+		List<Long> times = new ArrayList<>();
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			query.get();
+			times.add(System.nanoTime() - start);
+		}
+		times.sort(null);
+		return times.get(ROUNDS / 2);
+	}
+
+	private static List<String> top(List<Course> courses) {
+		return courses.stream()
+			.sorted(Comparator.comparingDouble(Course::getAverageGPA).reversed()
+				.thenComparing(Course::getCourseId))
+			.limit(50)
+			.map(Course::getCourseId)
+			.toList();
+	}
+
+	private static List<String> ids(List<Course> courses) {
+		return courses.stream().map(Course::getCourseId).toList();
+	}
+}
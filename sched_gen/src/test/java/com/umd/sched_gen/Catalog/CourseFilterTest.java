@@ -0,0 +1,74 @@
+package com.umd.sched_gen.Catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+class CourseFilterTest {
+
+	private final List<Course> catalog = Catalogs.random(3000, 42);
+	private final CatalogSnapshot snapshot = CatalogSnapshot.of(catalog);
+
+	@Test
+	void matchesTheSameCoursesAsScanning() {
+		/* Unrestricted DSHS/DSHU courses in the fall with an average GPA of at least 3 */
+		CourseFilter filter = CourseFilter.and(List.of(
+			CourseFilter.gened("DSHS").or(CourseFilter.gened("DSHU")),
+			CourseFilter.semester(Semester.FALL),
+			CourseFilter.not(CourseFilter.restricted()),
+			CourseFilter.gpaBetween(3.0F, 4.0F)));
+		Predicate<Course> scan = course -> (genedCodes(course).contains("DSHS")
+											|| genedCodes(course).contains("DSHU"))
+			&& course.getSemesters().contains("FALL")
+			&& course.getRestrictions() == null
+			&& course.getAverageGPA() >= 3.0F;
+
+		assertEquals(scanTop(scan, 25), ids(snapshot.filter(filter, 25)));
+		assertEquals(catalog.stream().filter(scan).count(),
+					 filter.matches(snapshot.filters()).cardinality());
+	}
+
+	@Test
+	void combinesDepartmentsCreditsAndGpaRanges() {
+		CourseFilter filter = CourseFilter.and(List.of(
+			CourseFilter.not(CourseFilter.dept("CMSC").or(CourseFilter.dept("MATH"))),
+			CourseFilter.credits(3),
+			CourseFilter.gpaBetween(2.5F, 3.25F)));
+		Predicate<Course> scan = course -> !course.getDeptId().equals("CMSC")
+			&& !course.getDeptId().equals("MATH")
+			&& course.getCredits() == 3
+			&& course.getAverageGPA() >= 2.5F && course.getAverageGPA() <= 3.25F;
+
+		assertEquals(scanTop(scan, Integer.MAX_VALUE), ids(snapshot.filter(filter, Integer.MAX_VALUE)));
+	}
+
+	@Test
+	void emptyAndMatchesEverything() {
+		assertEquals(catalog.size(), CourseFilter.and(List.of()).matches(snapshot.filters()).cardinality());
+		assertEquals(0, CourseFilter.dept("NONE").matches(snapshot.filters()).cardinality());
+	}
+
+	private List<String> scanTop(Predicate<Course> scan, int limit) {
+		return catalog.stream().filter(scan)
+			.sorted(Comparator.comparingDouble(Course::getAverageGPA).reversed()
+				.thenComparing(Course::getCourseId))
+			.limit(limit)
+			.map(Course::getCourseId)
+			.toList();
+	}
+
+	private static List<String> genedCodes(Course course) {
+		return course.getGeneds().stream().flatMap(List::stream).toList();
+	}
+
+	private static List<String> ids(List<Course> courses) {
+		return courses.stream().map(Course::getCourseId).toList();
+	}
+}
@@ -0,0 +1,61 @@
+package com.umd.sched_gen.Catalog;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CourseSearchIndexTest {
+
+	private final CourseSearchIndex index = CatalogSnapshot.of(List.of(
+		course("CMSC131").name("Object-Oriented Programming I").build(),
+		course("CMSC132").name("Object-Oriented Programming II").build(),
+		course("CMSC320").name("Introduction to Data Science").build(),
+		course("CMSC424").name("Database Design").build(),
+		course("INST326").name("Object-Oriented Programming for Information Science").build(),
+		course("MATH140").name("Calculus I")
+			.restrictions("Must not have completed a data science course.").build(),
+		course("STAT426").name("Introduction to Statistical Computing").build())).search();
+
+	@Test
+	void courseIdPrefixesMatchFirstInOrder() {
+		assertEquals(List.of("CMSC131", "CMSC132"), courseIds(index.search("cmsc 13", 10)));
+		assertEquals(List.of("CMSC131", "CMSC132", "CMSC320", "CMSC424"),
+					 courseIds(index.search("CMS", 4)));
+		assertTrue(index.search("CMS", 4).stream().allMatch(CourseSearchIndex.Hit::idMatch));
+	}
+
+	@Test
+	void namesAreRankedByBm25() {
+		List<CourseSearchIndex.Hit> hits = index.search("data science", 10);
+
+		assertEquals("CMSC320", hits.get(0).courseId());
+		/* Only the restrictions of MATH140 match, and they count for less than names */
+		assertEquals("MATH140", hits.get(hits.size() - 1).courseId());
+		assertFalse(hits.get(0).idMatch());
+		assertTrue(hits.get(0).score() > hits.get(1).score());
+	}
+
+	@Test
+	void partlyTypedAndMisspelledWordsStillMatch() {
+		assertEquals("CMSC424", index.search("datab", 1).get(0).courseId());
+		assertEquals("STAT426", index.search("statistcal", 1).get(0).courseId());
+		assertEquals(List.of("CMSC131", "CMSC132", "INST326"),
+					 courseIds(index.search("object orient", 3)).stream().sorted().toList());
+	}
+
+	@Test
+	void unknownOrEmptyQueriesMatchNothing() {
+		assertTrue(index.search("zzzz", 10).isEmpty());
+		assertTrue(index.search(" ", 10).isEmpty());
+		assertTrue(CatalogSnapshot.empty().search().search("cmsc", 10).isEmpty());
+	}
+
+	private static List<String> courseIds(List<CourseSearchIndex.Hit> hits) {
+		return hits.stream().map(CourseSearchIndex.Hit::courseId).toList();
+	}
+}
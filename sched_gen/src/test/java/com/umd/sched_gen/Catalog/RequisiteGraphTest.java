@@ -0,0 +1,57 @@
+package com.umd.sched_gen.Catalog;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RequisiteGraphTest {
+
+	private final RequisiteGraph graph = CatalogSnapshot.of(List.of(
+		course("CMSC131").build(),
+		course("MATH140").build(),
+		course("MATH141").prereqs("MATH140").build(),
+		course("CMSC132").prereqs("Minimum grade of C- in CMSC131; and MATH140.").build(),
+		course("CMSC216").prereqs("CMSC132 and MATH141").build(),
+		course("CMSC250").prereqs("CMSC131 and MATH141").build(),
+		course("CMSC330").prereqs("CMSC216 and CMSC250").build(),
+		/* Mutual corequisites */
+		course("PHYS161").prereqs("MATH141").coreqs("PHYS261").build(),
+		course("PHYS261").coreqs("PHYS161").build(),
+		course("PHYS270").prereqs("PHYS261").build())).requisites();
+
+	@Test
+	void ancestorsAreTheTransitiveClosure() {
+		assertEquals(List.of("CMSC131", "CMSC132", "CMSC216", "CMSC250", "MATH140", "MATH141"),
+					 graph.ancestors("CMSC330"));
+		assertEquals(List.of("MATH140"), graph.ancestors("MATH141"));
+		assertEquals(List.of(), graph.ancestors("CMSC131"));
+		assertEquals(List.of(), graph.ancestors("NONE000"));
+	}
+
+	@Test
+	void cyclesDoNotLoopAndExcludeTheCourseItself() {
+		assertEquals(List.of("MATH140", "MATH141", "PHYS261"), graph.ancestors("PHYS161"));
+		assertEquals(List.of("MATH140", "MATH141", "PHYS161", "PHYS261"), graph.ancestors("PHYS270"));
+	}
+
+	@Test
+	void directRequisitesAreInCourseNumberOrder() {
+		int physics = graph.number("PHYS161");
+		assertEquals(2, graph.directRequisiteCount(physics));
+		assertEquals("MATH141", graph.courseId(graph.directRequisite(physics, 0)));
+		assertEquals("PHYS261", graph.courseId(graph.directRequisite(physics, 1)));
+		assertEquals(0, graph.directRequisiteCount(graph.number("CMSC131")));
+		assertEquals(2, graph.directRequisites(physics).cardinality());
+	}
+
+	@Test
+	void keepsTheParsedExpressions() {
+		assertEquals("CMSC131 and MATH140", graph.prereqs("CMSC132").toString());
+		assertEquals("PHYS261", graph.coreqs("PHYS161").toString());
+		assertNull(graph.prereqs("CMSC131"));
+	}
+}
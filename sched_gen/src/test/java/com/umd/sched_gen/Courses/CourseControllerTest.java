@@ -0,0 +1,71 @@
+package com.umd.sched_gen.Courses;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(CourseController.class)
+class CourseControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private CourseRepository courseRepository;
+
+	@Test
+	void readsCoursesOnTheBlockingExecutor() throws Exception {
+		AtomicReference<String> readOn = new AtomicReference<>();
+		when(courseRepository.findByCourseId("ENGL142")).thenAnswer(invocation -> {
+			readOn.set(Thread.currentThread().getName());
+			return List.of(course("ENGL142").build());
+		});
+		when(courseRepository.findSummariesByDeptId("ENGL", "ENGL101", Limit.of(2)))
+			.thenReturn(List.of(summary("ENGL142"), summary("ENGL201")));
+
+		MvcResult result = mockMvc.perform(get("/courses/ENGL142"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.course_id").value("ENGL142"));
+		assertTrue(readOn.get().startsWith("blocking-io-"), readOn.get());
+
+		result = mockMvc.perform(get("/courses").param("dept", "ENGL").param("after", "ENGL101")
+									 .param("limit", "2")).andReturn();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[1].course_id").value("ENGL201"))
+			.andExpect(jsonPath("$[1].semesters[0]").value("FALL"));
+	}
+
+	@Test
+	void aMissingCourseIsNotFound() throws Exception {
+		when(courseRepository.findByCourseId("XXXX999")).thenReturn(List.of());
+
+		MvcResult result = mockMvc.perform(get("/courses/XXXX999")).andReturn();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isNotFound());
+	}
+
+	private static CourseSummary summary(String courseId) {
+		return new CourseSummary(0, courseId, courseId.substring(0, 4), 3, 3.0F, List.of("FALL"));
+	}
+}
@@ -0,0 +1,82 @@
+package com.umd.sched_gen.Courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@WebMvcTest(CourseExportController.class)
+class CourseExportControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private CourseRepository courseRepository;
+
+	@MockBean
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void exportsADepartmentAsGzippedCsv() throws Exception {
+		when(courseRepository.streamSummariesByDeptId("CMSC")).thenReturn(Stream.of(
+			new CourseSummary(1, "CMSC131", "CMSC", 4, 2.5F, List.of("FALL", "SPRING")),
+			new CourseSummary(2, "CMSC132", "CMSC", 4, 2.6F, List.of("SPRING"))));
+
+		MvcResult result = mockMvc.perform(get("/courses/export").param("dept", "CMSC")
+										   .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		byte[] body = mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+			.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+									   "attachment; filename=\"CMSC.csv\""))
+			.andReturn().getResponse().getContentAsByteArray();
+
+		String csv = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(),
+								StandardCharsets.UTF_8);
+		assertEquals("course_id,dept_id,credits,average_gpa,semesters\r\n"
+					 + "CMSC131,CMSC,4,2.5,FALL SPRING\r\n"
+					 + "CMSC132,CMSC,4,2.6,SPRING\r\n", csv);
+	}
+
+	@Test
+	void exportsAGenedAsXlsxWithoutGzip() throws Exception {
+		when(courseRepository.streamSummariesByGened("DSHS")).thenReturn(Stream.of(
+			new CourseSummary(1, "PSYC100", "PSYC", 3, 3.1F, List.of("FALL"))));
+
+		MvcResult result = mockMvc.perform(get("/courses/export").param("gened", "DSHS")
+										   .param("format", "XLSX")
+										   .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+			.andReturn();
+		byte[] body = mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+			.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+									   "attachment; filename=\"DSHS.xlsx\""))
+			.andReturn().getResponse().getContentAsByteArray();
+
+		assertEquals('P', body[0]);		/* A zip file */
+		assertEquals('K', body[1]);
+	}
+}
@@ -0,0 +1,78 @@
+package com.umd.sched_gen.Courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class CourseExportTest {
+
+	@Test
+	void csvRowsAreQuotedWhereNeeded() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		CourseExport.write(CourseExport.Format.CSV, List.of(
+			new CourseSummary(1, "CMSC131", "CMSC", 4, 2.5F, List.of("FALL", "SPRING")),
+			new CourseSummary(2, "ODD\"1,", "ODD", 3, 3.0F, List.of())).iterator(), out);
+
+		assertEquals("course_id,dept_id,credits,average_gpa,semesters\r\n"
+					 + "CMSC131,CMSC,4,2.5,FALL SPRING\r\n"
+					 + "\"ODD\"\"1,\",ODD,3,3.0,\r\n", out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void theHeaderIsFlushedBeforeTheFirstRowIsRead() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Iterator<CourseSummary> rows = new Iterator<>() {
+			private boolean read;
+
+			@Override
+			public boolean hasNext() {
+				assertTrue(out.size() > 0, "nothing written before reading a row");
+				return !read;
+			}
+
+			@Override
+			public CourseSummary next() {
+				read = true;
+				return new CourseSummary(1, "CMSC131", "CMSC", 4, 2.5F, List.of("FALL"));
+			}
+		};
+
+		CourseExport.write(CourseExport.Format.CSV, rows, out);
+		assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("CMSC131,CMSC,4,2.5,FALL\r\n"));
+	}
+
+	@Test
+	void xlsxIsAWorkbookWithOneRowPerCourse() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		CourseExport.write(CourseExport.Format.XLSX, List.of(
+			new CourseSummary(1, "CMSC131", "CMSC", 4, 2.5F, List.of("FALL")),
+			new CourseSummary(2, "A&B<1>", "AB", 3, 3.0F, List.of())).iterator(), out);
+
+		Map<String, String> entries = new HashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+				entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+		assertTrue(entries.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels",
+			"xl/workbook.xml", "xl/_rels/workbook.xml.rels")));
+		String sheet = entries.get("xl/worksheets/sheet1.xml");
+		assertEquals(3, sheet.split("<row>", -1).length - 1);
+		assertTrue(sheet.contains("<t>CMSC131</t>") && sheet.contains("<v>4</v>"), sheet);
+		assertTrue(sheet.contains("<t>A&amp;B&lt;1&gt;</t>"), sheet);
+	}
+}
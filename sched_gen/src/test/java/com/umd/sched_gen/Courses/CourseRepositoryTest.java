@@ -0,0 +1,118 @@
+package com.umd.sched_gen.Courses;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseRepositoryTest {
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void clear() {
+		courseRepository.deleteAll();
+	}
+
+	@Test
+	void semestersAndGenedsAreSavedAsRowsAndQueried() {
+		courseRepository.saveAll(List.of(
+			course("ENGL101").credits(3).semesters("FALL", "SPRING").geneds("DSHU").gpa(3.4F)
+				.build(),
+			course("ENGL102").credits(3).semesters("FALL").geneds("DSHU").gpa(2.9F).build(),
+			course("HIST200").credits(3).semesters("FALL").geneds("DSHU|HIST201").gpa(3.6F).build(),
+			course("HIST201").credits(3).semesters("SPRING").geneds("DSHS").gpa(3.8F).build()));
+
+		assertEquals(List.of("HIST200", "ENGL101"), courseIds(
+			courseRepository.findByGenedAndSemester("DSHU", Semester.FALL, 3.0F)));
+		assertEquals(List.of("ENGL101", "ENGL102", "HIST200"),
+					 sorted(courseRepository.findByGened("DSHU")));
+		assertEquals(List.of("ENGL101", "HIST201"),
+					 sorted(courseRepository.findBySemester(Semester.SPRING)));
+		assertEquals(List.of("HIST201", "HIST200"),
+					 courseIds(courseRepository.findByAverageGPAGreaterThanOrderByAverageGPADesc(3.5F)));
+		assertEquals(List.of("ENGL101"), courseIds(
+			courseRepository.findByDeptIdAndAverageGPAGreaterThanOrderByAverageGPADesc("ENGL", 3.0F)));
+		assertEquals(List.of("DSHS"), jdbcTemplate.queryForList(
+			"SELECT g.gened FROM course_gened g JOIN courses c ON c.id = g.course_id "
+			+ "WHERE c.course = 'HIST201'", String.class));
+	}
+
+	@Test
+	void semesterAndGenedLookupsUseTheirIndexes() {
+		String plan = String.join("\n", jdbcTemplate.queryForList(
+			"EXPLAIN SELECT c.id FROM courses c JOIN course_gened g ON g.course_id = c.id "
+			+ "JOIN course_semester s ON s.course_id = c.id "
+			+ "WHERE g.gened = 'DSHU' AND s.semester = 'FALL'", String.class)).toLowerCase();
+
+		assertTrue(plan.contains("idx_course_gened") || plan.contains("idx_course_semester"), plan);
+		assertTrue(String.join("\n", jdbcTemplate.queryForList(
+			"EXPLAIN SELECT id FROM courses WHERE department = 'ENGL'", String.class))
+			.toLowerCase().contains("idx_courses_department"));
+	}
+
+	@Test
+	void summariesArePagedByCourseId() {
+		courseRepository.saveAll(List.of(
+			course("CMSC131").credits(3).semesters("FALL", "SPRING").geneds("DSSP").gpa(2.9F)
+				.build(),
+			course("CMSC132").credits(3).semesters("FALL").geneds("DSSP").gpa(2.7F).build(),
+			course("CMSC216").credits(3).semesters("SPRING").geneds("DSSP").gpa(2.5F).build(),
+			course("MATH140").credits(3).semesters("FALL").geneds("DSMA").gpa(2.8F).build()));
+
+		List<CourseSummary> first = courseRepository.findSummariesByDeptId("CMSC", "", Limit.of(2));
+		assertEquals(List.of("CMSC131", "CMSC132"),
+					 first.stream().map(CourseSummary::courseId).toList());
+		assertEquals(List.of("FALL", "SPRING"), first.get(0).semesters());
+		assertEquals(2.9F, first.get(0).averageGpa());
+		List<CourseSummary> second = courseRepository.findSummariesByDeptId(
+			"CMSC", first.get(1).courseId(), Limit.of(2));
+		assertEquals(List.of("CMSC216"), second.stream().map(CourseSummary::courseId).toList());
+
+		assertEquals(List.of("CMSC216"), courseRepository.findSummariesByGened("DSSP", "CMSC132",
+			Limit.of(10)).stream().map(CourseSummary::courseId).toList());
+		assertEquals(List.of("CMSC216", "MATH140"), courseRepository.findSummaries("CMSC132",
+			Limit.of(10)).stream().map(CourseSummary::courseId).toList());
+
+		int credits = new TransactionTemplate(transactionManager).execute(status -> {
+			try (Stream<CourseSummary> summaries = courseRepository.streamSummaries()) {
+				return summaries.mapToInt(CourseSummary::credits).sum();
+			}
+		});
+		assertEquals(12, credits);
+	}
+
+	private static List<String> courseIds(List<Course> courses) {
+		return courses.stream().map(Course::getCourseId).toList();
+	}
+
+	private static List<String> sorted(List<Course> courses) {
+		return courseIds(courses).stream().sorted().toList();
+	}
+}
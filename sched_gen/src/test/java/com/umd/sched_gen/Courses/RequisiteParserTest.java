@@ -0,0 +1,65 @@
+package com.umd.sched_gen.Courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class RequisiteParserTest {
+
+	@Test
+	void parsesUmdDescriptions() {
+		assertEquals("MATH115", parse("Minimum grade of C- in MATH115."));
+		assertEquals("CMSC216 and CMSC250", parse("Minimum grade of C- in CMSC216 and CMSC250."));
+		assertEquals("CMSC132 and MATH141",
+			parse("Minimum grade of C- in CMSC132; and minimum grade of C- in MATH141."));
+		/* Alternatives that are not courses are skipped */
+		assertEquals("CMSC131 and MATH140",
+			parse("Minimum grade of C- in CMSC131; or score of 5 on the A Java AP exam; "
+				  + "or CMSC transfer credit from your institution; and minimum grade of C- in MATH140."));
+		assertEquals("(CMSC131 or CMSC133) and (MATH140 or MATH141)",
+			parse("1 course with a minimum grade of C- from (CMSC131, CMSC133); and MATH140 or MATH141."));
+	}
+
+	@Test
+	void semicolonClausesFoldLeftToRight() {
+		assertEquals("(ENGL101 or HONR100) and COMM107", parse("ENGL101; or HONR100; and COMM107."));
+	}
+
+	@Test
+	void andBindsTighterThanOrAndCommasFollowTheLastConnective() {
+		assertEquals("(MATH140 and MATH141) or MATH220", parse("MATH140 and MATH141 or MATH220"));
+		assertEquals("PHYS161 or PHYS171 or PHYS141", parse("PHYS161, PHYS171, or PHYS141"));
+		assertEquals("BSCI170 and BSCI171 and CHEM131", parse("BSCI170, BSCI171, and CHEM131"));
+		assertEquals("STAT400 or STAT401", parse("One of STAT400, STAT401"));
+		assertEquals("CMSC131", parse("CMSC 131 or permission of the department"));
+	}
+
+	@Test
+	void canonicalFormParsesBackToTheSameExpression() {
+		Requisite requisite = Requisite.parse("CMSC132 and (MATH140 or (MATH141 and STAT400)) and ENGL101");
+		assertEquals(requisite, Requisite.parse(requisite.toString()));
+		assertEquals(Set.of("CMSC132", "MATH140", "MATH141", "STAT400", "ENGL101"), requisite.courseIds());
+	}
+
+	@Test
+	void evaluatesAgainstTakenCourses() {
+		Requisite requisite = Requisite.parse("CMSC132 and (MATH140 or MATH141)");
+		assertTrue(requisite.isSatisfiedBy(Set.of("CMSC132", "MATH141")::contains));
+		assertFalse(requisite.isSatisfiedBy(Set.of("MATH140", "MATH141")::contains));
+	}
+
+	@Test
+	void descriptionsWithoutCoursesAreNull() {
+		assertNull(Requisite.parse(null));
+		assertNull(Requisite.parse("Permission of ENGR-Fischell Department of Bioengineering."));
+	}
+
+	private static String parse(String text) {
+		return String.valueOf(Requisite.parse(text));
+	}
+}
@@ -0,0 +1,335 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ApiServiceTest {
+
+	private StubApiServer server;
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void startServer() throws Exception {
+		server = new StubApiServer(3, 10, 15);
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.close();
+	}
+
+	@Test
+	void fetchesEveryCourseOnceWithItsSemesters() {
+		List<Course> courses = ingest(8);
+
+		assertEquals(server.distinctCourses(), courses.size());
+		assertEquals(server.distinctCourses(), courseIds(courses).size());
+		for (Course course : courses) {
+			assertEquals(2, course.getSemesters().size(), course.getCourseId());
+			assertEquals(3.5F, course.getAverageGPA(), course.getCourseId());
+		}
+		/* Every course is on the pages of two semesters */
+		assertEquals(server.distinctCourses(), registry.get("ingest.courses.refined").counter().count());
+		assertEquals(server.distinctCourses(), registry.get("ingest.courses.skipped")
+			.tag("reason", "duplicate").counter().count());
+		assertEquals(0, registry.get("ingest.page.fetch").tag("outcome", "failure").timer().count());
+		assertTrue(registry.get("ingest.page.fetch").tag("outcome", "success").timer().count() > 0);
+	}
+
+	/* Timed, so excluded from the default build, run with: mvn test -Pbenchmark */
+	@Tag("benchmark")
+	@Test
+	void pipelinedIngestIsFasterThanSerialIngest() {
+		ingest(8);  /* Warm up */
+		long start = System.nanoTime();
+		List<Course> serial = ingest(0);
+		long serialMillis = (System.nanoTime() - start) / 1_000_000;
+		start = System.nanoTime();
+		List<Course> pipelined = ingest(8);
+		long pipelinedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		double speedup = (double) serialMillis / pipelinedMillis;
+		assertEquals(courseIds(serial), courseIds(pipelined));
+		assertTrue(speedup > 1.5, "pipelined ingest was only x" + speedup + " faster");
+	}
+
+	@Test
+	void streamsEveryCourseInChunksOfBoundedSize() {
+		List<List<Course>> chunks = new ArrayList<>();
+		IngestProperties properties = server.properties();
+
+		int streamed = new ApiService(new RestTemplateBuilder(), properties, metrics())
+			.streamAllCourses(chunks::add, 7);
+
+		assertEquals(server.distinctCourses(), streamed);
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < chunks.size(); i++) {
+			assertTrue(chunks.get(i).size() == 7 || i == chunks.size() - 1);
+			courses.addAll(chunks.get(i));
+		}
+		assertEquals(courseIds(ingest(8)), courseIds(courses));
+		for (Course course : courses) {
+			assertEquals(2, course.getSemesters().size(), course.getCourseId());
+			assertEquals(3.5F, course.getAverageGPA(), course.getCourseId());
+		}
+	}
+
+	@Test
+	void aChunkThatCannotBeSavedEndsTheStream() {
+		for (IngestProperties.Client client : IngestProperties.Client.values()) {
+			IngestProperties properties = server.properties();
+			properties.setClient(client);
+			AtomicInteger chunks = new AtomicInteger();
+
+			IngestException e = assertThrows(IngestException.class, () -> new ApiService(
+				new RestTemplateBuilder(), properties, metrics()).streamAllCourses(chunk -> {
+					if (chunks.incrementAndGet() == 2) {
+						throw new IllegalStateException("database down");
+					}
+				}, 7));
+
+			assertEquals("database down", e.getCause().getMessage());
+			assertEquals(2, chunks.get(), "chunks were consumed after the failure");
+		}
+	}
+
+	@Test
+	void failedRequestsAreRetriedAndSlowOnesHedged() {
+		server.injectFaults(5, 7, 1500);
+
+		List<Course> courses = ingest(8);
+		List<Course> streamed = new ArrayList<>();
+		new ApiService(new RestTemplateBuilder(), server.properties(), metrics())
+			.streamAllCourses(streamed::addAll, 7);
+
+		assertEquals(server.distinctCourses(), courses.size());
+		assertEquals(courseIds(courses), courseIds(streamed));
+		for (Course course : courses) {
+			assertEquals(2, course.getSemesters().size(), course.getCourseId());
+			assertEquals(3.5F, course.getAverageGPA(), course.getCourseId());
+		}
+		assertTrue(registry.get("ingest.requests.retried").counters().stream()
+			.mapToDouble(counter -> counter.count()).sum() > 0);
+		assertTrue(registry.get("ingest.requests.hedged").counters().stream()
+			.mapToDouble(counter -> counter.count()).sum() > 0);
+	}
+
+	@Test
+	void aHostThatStaysDownEndsTheIngest() {
+		server.goDown();
+
+		assertThrows(IngestException.class, () -> ingest(8));
+		assertThrows(IngestException.class, () -> ingest(0));
+		assertThrows(IngestException.class, () -> new ApiService(new RestTemplateBuilder(),
+			server.properties(), metrics()).streamAllCourses(chunk -> {}, 7));
+	}
+
+	@Test
+	void anInterruptedIngestFailsInsteadOfReturningPartOfTheCatalog() {
+		for (IngestProperties.Client client : IngestProperties.Client.values()) {
+			for (int depth : new int[] {0, 8}) {
+				Thread.currentThread().interrupt();
+				try {
+					assertThrows(IngestException.class, () -> ingest(depth, client));
+				} finally {
+					Thread.interrupted();
+				}
+			}
+			IngestProperties properties = server.properties();
+			properties.setClient(client);
+			Thread.currentThread().interrupt();
+			try {
+				assertThrows(IngestException.class, () -> new ApiService(new RestTemplateBuilder(),
+					properties, metrics()).streamAllCourses(chunk -> {}, 7));
+			} finally {
+				Thread.interrupted();
+			}
+		}
+	}
+
+	/* Timed, so excluded from the default build, run with: mvn test -Pbenchmark */
+	@Tag("benchmark")
+	@Test
+	void asyncClientFetchesTheSameCatalogWithFewerThreads() throws Exception {
+		ingest(8, IngestProperties.Client.ASYNC);   /* Warm up */
+		ThreadSampler blockingThreads = new ThreadSampler();
+		List<Course> blocking = ingest(8, IngestProperties.Client.BLOCKING);
+		int blockingPeak = blockingThreads.stop();
+		ThreadSampler asyncThreads = new ThreadSampler();
+		List<Course> async = ingest(8, IngestProperties.Client.ASYNC);
+		int asyncPeak = asyncThreads.stop();
+
+		assertEquals(server.distinctCourses(), async.size());
+		assertEquals(courseIds(blocking), courseIds(async));
+		for (Course course : async) {
+			assertEquals(2, course.getSemesters().size(), course.getCourseId());
+			assertEquals(3.5F, course.getAverageGPA(), course.getCourseId());
+		}
+		assertTrue(asyncPeak < blockingPeak,
+			"async ingest peaked at " + asyncPeak + " threads, blocking at " + blockingPeak);
+	}
+
+	@Test
+	void asyncClientStreamsAndRetriesFailedRequests() {
+		server.injectFaults(5, 0, 0);
+		IngestProperties properties = server.properties();
+		properties.setClient(IngestProperties.Client.ASYNC);
+		List<List<Course>> chunks = new ArrayList<>();
+
+		int streamed = new ApiService(new RestTemplateBuilder(), properties, metrics())
+			.streamAllCourses(chunks::add, 7);
+
+		assertEquals(server.distinctCourses(), streamed);
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < chunks.size(); i++) {
+			assertTrue(chunks.get(i).size() == 7 || i == chunks.size() - 1);
+			courses.addAll(chunks.get(i));
+		}
+		assertEquals(server.distinctCourses(), courseIds(courses).size());
+		for (Course course : courses) {
+			assertEquals(2, course.getSemesters().size(), course.getCourseId());
+			assertEquals(3.5F, course.getAverageGPA(), course.getCourseId());
+		}
+		assertTrue(registry.get("ingest.requests.retried").counters().stream()
+			.mapToDouble(counter -> counter.count()).sum() > 0);
+	}
+
+	@Test
+	void anAsyncIngestEndsWhenAHostStaysDown() {
+		server.goDown();
+
+		assertThrows(IngestException.class, () -> ingest(8, IngestProperties.Client.ASYNC));
+	}
+
+	@Test
+	void onlyTermsMissingFromTheOfferingHistoryAreFetched(@TempDir Path historyDir) {
+		IngestProperties properties = server.properties();
+		properties.setHistoryYears(3);
+		properties.setHistoryDir(historyDir.toString());
+
+		List<Course> first = new ApiService(new RestTemplateBuilder(), properties, metrics())
+			.fetchAllCourses();
+		assertEquals(3 * Semester.values().length, server.listRequests());
+		List<Course> second = new ApiService(new RestTemplateBuilder(), properties, metrics())
+			.fetchAllCourses();
+
+		assertEquals(3 * Semester.values().length, server.listRequests());
+		assertEquals(courseIds(first), courseIds(second));
+		for (Course course : second) {
+			assertEquals(2, course.getSemesters().size(), course.getCourseId());
+		}
+	}
+
+	@Test
+	void aFetchAfterNewYearFetchesTheNewTerms() throws Exception {
+		for (IngestProperties.Client client : IngestProperties.Client.values()) {
+			try (StubApiServer stub = new StubApiServer(1, 10, 0)) {
+				IngestProperties properties = stub.properties();
+				properties.setClient(client);
+				ApiService apiService = new ApiService(new RestTemplateBuilder(), properties,
+													   metrics());
+
+				apiService.setClock(clock("2025-12-31T23:00:00Z"));
+				apiService.fetchAllCourses();
+				assertEquals(semesterCodes(2024), stub.semesterCodes(), client.name());
+				/* The same service, as the scheduled refresh reuses it */
+				apiService.setClock(clock("2026-01-01T01:00:00Z"));
+				List<Course> courses = new ArrayList<>();
+				apiService.streamAllCourses(courses::addAll, 10);
+
+				Set<String> codes = new TreeSet<>(semesterCodes(2024));
+				codes.addAll(semesterCodes(2025));
+				assertEquals(codes, new TreeSet<>(stub.semesterCodes()), client.name());
+				assertEquals(stub.distinctCourses(), courses.size(), client.name());
+			}
+		}
+	}
+
+	private static Clock clock(String instant) {
+		return Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+	}
+
+	private static Set<String> semesterCodes(int year) {
+		Set<String> codes = new TreeSet<>();
+		for (Semester semester : Semester.values()) {
+			codes.add(semester.code(year));
+		}
+		return codes;
+	}
+
+	private List<Course> ingest(int pipelineDepth) {
+		return ingest(pipelineDepth, IngestProperties.Client.BLOCKING);
+	}
+
+	private List<Course> ingest(int pipelineDepth, IngestProperties.Client client) {
+		IngestProperties properties = server.properties();
+		properties.setPipelineDepth(pipelineDepth);
+		properties.setClient(client);
+		return new ApiService(new RestTemplateBuilder(), properties, metrics()).fetchAllCourses();
+	}
+
+	/* Samples the number of live threads, other than the stub server's, until stopped */
+	private static class ThreadSampler {
+		private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		private final AtomicInteger peak = new AtomicInteger();
+
+		ThreadSampler() {
+			sampler.scheduleAtFixedRate(() -> peak.accumulateAndGet(liveThreads(), Math::max),
+				0, 2, TimeUnit.MILLISECONDS);
+		}
+
+		int stop() throws InterruptedException {
+			sampler.shutdown();
+			sampler.awaitTermination(1, TimeUnit.SECONDS);
+			return peak.get();
+		}
+
+		private static int liveThreads() {
+			int live = 0;
+			for (Thread thread : Thread.getAllStackTraces().keySet()) {
+				if (!thread.getName().startsWith(StubApiServer.THREAD_PREFIX)) {
+					live++;
+				}
+			}
+			return live;
+		}
+	}
+
+	private IngestMetrics metrics() {
+		return new IngestMetrics(registry);
+	}
+
+	private static Set<String> courseIds(List<Course> courses) {
+		Set<String> ids = new TreeSet<>();
+		for (Course course : courses) {
+			ids.add(course.getCourseId());
+		}
+		return ids;
+	}
+}
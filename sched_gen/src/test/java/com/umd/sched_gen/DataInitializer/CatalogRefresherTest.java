@@ -0,0 +1,162 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.CourseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogRefresherTest {
+
+	@TestConfiguration
+	@EnableConfigurationProperties(IngestProperties.class)
+	@Import({CourseWriter.class, CatalogRefresher.class, IngestMetrics.class})
+	static class Config {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@MockBean
+	private ApiService apiService;
+
+	@Autowired
+	private CatalogRefresher refresher;
+
+	@Autowired
+	private CourseWriter courseWriter;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void clear() {
+		courseRepository.deleteAll();
+	}
+
+	@Test
+	void writesOnlyAddedChangedAndRemovedCourses() {
+		courseWriter.saveAll(List.of(course("CMSC131").gpa(3.0F).build(),
+									 course("CMSC132").gpa(3.0F).build(),
+									 course("CMSC216").gpa(3.0F).build()), 10);
+		when(apiService.fetchAllCourses()).thenReturn(new ArrayList<>(List.of(
+			course("CMSC131").gpa(3.0F).build(), course("CMSC132").gpa(2.5F).build(),
+			course("CMSC250").gpa(3.0F).build())));
+
+		CatalogRefresher.RefreshResult result = refresher.refresh();
+
+		assertEquals(new CatalogRefresher.RefreshResult(3, 1, 1, 1, 1), result);
+		assertEquals(3, courseRepository.count());
+		assertEquals(2.5F, courseRepository.findByCourseId("CMSC132").get(0).getAverageGPA());
+		assertTrue(courseRepository.findByCourseId("CMSC216").isEmpty());
+		assertEquals(1, courseRepository.findByCourseId("CMSC250").size());
+	}
+
+	@Test
+	void staleDuplicatesOfACourseIdAreRemoved() {
+		courseWriter.saveAll(List.of(course("CMSC131").name("Object-Oriented Programming I")
+										 .build(),
+									 course("CMSC131").gpa(3.0F).build()), 10);
+		when(apiService.fetchAllCourses()).thenReturn(new ArrayList<>(List.of(
+			course("CMSC131").gpa(2.5F).build())));
+
+		CatalogRefresher.RefreshResult result = refresher.refresh();
+
+		assertEquals(new CatalogRefresher.RefreshResult(1, 0, 1, 1, 0), result);
+		List<Course> stored = courseRepository.findByCourseId("CMSC131");
+		assertEquals(1, stored.size());
+		assertEquals("Course CMSC131", stored.get(0).getName());
+		assertEquals(2.5F, stored.get(0).getAverageGPA());
+	}
+
+	@Test
+	void unchangedCatalogIsSkipped() {
+		courseWriter.saveAll(List.of(course("MATH140").gpa(2.9F).build(),
+									 course("MATH141").gpa(2.7F).build()), 10);
+		when(apiService.fetchAllCourses()).thenReturn(new ArrayList<>(List.of(
+			course("MATH140").gpa(2.9F).build(), course("MATH141").gpa(2.7F).build())));
+
+		CatalogRefresher.RefreshResult result = refresher.refresh();
+
+		assertEquals(0, result.changed());
+		assertEquals(2, result.skipped());
+		assertEquals(2, registry.get("ingest.refresh.skipped").counter().count());
+		assertEquals(0, registry.get("ingest.refresh.changed").counter().count());
+	}
+
+	@Test
+	void unchangedCoursesAreLinkedToAddedRequisites() {
+		courseWriter.saveAll(List.of(course("CMSC132").prereqs("CMSC131").coreqs("CMSC140")
+										 .build()), 10);
+		when(apiService.fetchAllCourses()).thenReturn(new ArrayList<>(List.of(
+			course("CMSC132").prereqs("CMSC131").coreqs("CMSC140").build(),
+			course("CMSC131").build(), course("CMSC140").build())));
+
+		CatalogRefresher.RefreshResult result = refresher.refresh();
+
+		assertEquals(2, result.added());
+		assertEquals(1, result.skipped());
+		int id = courseRepository.findByCourseId("CMSC132").get(0).getId();
+		assertEquals(List.of(courseRepository.findByCourseId("CMSC131").get(0).getId()),
+					 jdbcTemplate.queryForList("SELECT prerequisite_id FROM course_prereqs "
+											   + "WHERE course_id = ?", Integer.class, id));
+		assertEquals(List.of(courseRepository.findByCourseId("CMSC140").get(0).getId()),
+					 jdbcTemplate.queryForList("SELECT corequisite_id FROM course_coreqs "
+											   + "WHERE course_id = ?", Integer.class, id));
+	}
+
+	@Test
+	void failedFetchRemovesNothing() {
+		courseWriter.saveAll(List.of(course("ENGL101").gpa(3.1F).build()), 10);
+		when(apiService.fetchAllCourses()).thenReturn(new ArrayList<>());
+
+		assertNull(refresher.refresh());
+		assertEquals(1, courseRepository.count());
+	}
+
+	@Test
+	void incompleteFetchRemovesNothing() {
+		courseWriter.saveAll(List.of(course("ENGL101").gpa(3.1F).build(),
+									 course("ENGL102").gpa(3.0F).build()), 10);
+		when(apiService.fetchAllCourses()).thenThrow(
+			new IngestException("Interrupted while running the ingest pipeline"));
+
+		assertNull(refresher.refresh());
+		assertEquals(2, courseRepository.count());
+	}
+}
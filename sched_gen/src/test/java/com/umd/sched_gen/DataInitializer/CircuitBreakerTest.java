@@ -0,0 +1,54 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+	private final AtomicLong now = new AtomicLong();
+	private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10), now::get);
+
+	@Test
+	void opensAfterConsecutiveFailuresOnly() {
+		breaker.recordFailure();
+		breaker.recordFailure();
+		breaker.recordSuccess();
+		breaker.recordFailure();
+		breaker.recordFailure();
+		assertTrue(breaker.allowRequest());
+
+		assertTrue(breaker.recordFailure());
+		assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+		assertFalse(breaker.allowRequest());
+	}
+
+	@Test
+	void letsASingleTrialRequestThroughOnceOpenLongEnough() {
+		for (int i = 0; i < 3; i++) {
+			breaker.recordFailure();
+		}
+		now.addAndGet(Duration.ofSeconds(9).toNanos());
+		assertFalse(breaker.allowRequest());
+
+		now.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertTrue(breaker.allowRequest());
+		assertFalse(breaker.allowRequest());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+		/* A failed trial reopens the breaker for another full period */
+		assertTrue(breaker.recordFailure());
+		now.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertFalse(breaker.allowRequest());
+		now.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertTrue(breaker.allowRequest());
+
+		breaker.recordSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+		assertTrue(breaker.allowRequest());
+	}
+}
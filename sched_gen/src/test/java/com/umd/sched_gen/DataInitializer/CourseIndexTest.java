@@ -0,0 +1,92 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+class CourseIndexTest {
+
+	@Test
+	void skipsDuplicateCourseIds() {
+		CourseIndex index = new CourseIndex();
+		assertTrue(index.add(course("CMSC131").build()));
+		assertFalse(index.add(course("CMSC131").build()));
+		assertTrue(index.contains(course("CMSC131").build()));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void recordsSemestersOfferedInOrder() {
+		CourseIndex index = new CourseIndex();
+		index.markOffered(Semester.SUMMER, List.of(course("ENGL101").build()));
+		index.markOffered(Semester.FALL, List.of(course("ENGL101").build(), course("MATH140").build()));
+
+		assertEquals(List.of("FALL", "SUMMER"), index.semestersOffered("ENGL101"));
+		assertEquals(List.of("FALL"), index.semestersOffered("MATH140"));
+		assertEquals(List.of(), index.semestersOffered("CMSC999"));
+	}
+
+	/* Timed, so excluded from the default build, run with: mvn test -Pbenchmark */
+	@Tag("benchmark")
+	@Test
+	void ingestTimeGrowsLinearlyWithCatalogSize() {
+		int small = 20_000;
+		int large = small * 8;
+		List<Course> smallCatalog = catalog(small);
+		List<Course> largeCatalog = catalog(large);
+
+		ingest(largeCatalog);   /* Warm up */
+		long smallTime = bestIngestTime(smallCatalog);
+		long largeTime = bestIngestTime(largeCatalog);
+
+		/* A linear scan per course would make the large catalog ~64x slower than the small one */
+		double ratio = (double) largeTime / smallTime;
+		assertTrue(ratio < 24, "ingest grew super-linearly: x" + ratio);
+	}
+
+	private long bestIngestTime(List<Course> catalog) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long start = System.nanoTime();
+			ingest(catalog);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	/* Mirrors ApiService: semester membership first, then every page of every semester */
+	private int ingest(List<Course> catalog) {
+		CourseIndex index = new CourseIndex();
+		for (Semester semester : Semester.values()) {
+			index.markOffered(semester, catalog);
+		}
+		int semesters = 0;
+		for (int pass = 0; pass < Semester.values().length; pass++) {
+			for (Course course : catalog) {
+				if (index.add(course)) {
+					semesters += index.semestersOffered(course.getCourseId()).size();
+				}
+			}
+		}
+		assertEquals(catalog.size(), index.size());
+		return semesters;
+	}
+
+	private static List<Course> catalog(int size) {
+		List<Course> catalog = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			catalog.add(course(String.format("D%03d%03d", i / 1000, i % 1000)).build());
+		}
+		return catalog;
+	}
+}
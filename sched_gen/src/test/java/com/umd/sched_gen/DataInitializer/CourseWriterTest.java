@@ -0,0 +1,173 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.umd.sched_gen.Catalog.Catalogs;
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.CourseRepository;
+import com.umd.sched_gen.Courses.Semester;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CourseWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)	/* Let each batch commit on its own */
+class CourseWriterTest {
+
+	@Autowired
+	private CourseWriter courseWriter;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void clear() {
+		courseRepository.deleteAll();
+	}
+
+	@Test
+	void savedCoursesReadBackThroughRepository() {
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			courses.add(stored("CMSC13" + i).build());
+		}
+
+		assertEquals(5, courseWriter.saveAll(courses, 2));
+
+		assertEquals(5, courseRepository.count());
+		Course saved = courseRepository.findByCourseId("CMSC132").get(0);
+		assertEquals("Course CMSC132", saved.getName());
+		assertEquals(List.of("FALL", "SPRING"), saved.getSemesters());
+		assertEquals(List.of(List.of("DSHS", "DVUP"), List.of("DSSP|CMSC131")), saved.getGeneds());
+		assertEquals(3.25F, saved.getAverageGPA());
+		assertEquals(saved.getId(), courses.get(2).getId());
+	}
+
+	@Test
+	void rejectedBatchFallsBackToPerRowSaves() {
+		List<Course> courses = new ArrayList<>();
+		courses.add(stored("MATH140").build());
+		courses.add(stored("MATH141").build());
+		courses.add(stored("MATH140").build());    /* Violates the unique course/name constraint */
+		courses.add(stored("MATH240").build());
+
+		assertEquals(3, courseWriter.saveAll(courses, 4));
+
+		assertEquals(3, courseRepository.count());
+		assertEquals(1, courseRepository.findByCourseId("MATH140").size());
+	}
+
+	@Test
+	void requisitesAreLinkedInTheJoinTables() {
+		Course cmsc131 = stored("CMSC131").prereqs(null).build();
+		Course cmsc132 = stored("CMSC132")
+			.prereqs("Minimum grade of C- in CMSC131; and MATH115.").build();
+		Course cmsc133 = stored("CMSC133").prereqs(null).coreqs("CMSC132").build();
+
+		courseWriter.saveAll(List.of(cmsc131, cmsc132, cmsc133), 10);
+
+		assertEquals("CMSC131 and MATH115",
+					 courseRepository.findByCourseId("CMSC132").get(0).getPrereqExpression());
+		/* MATH115 is not in the catalog, so only CMSC131 is linked */
+		assertEquals(List.of(cmsc131.getId()), jdbcTemplate.queryForList(
+			"SELECT prerequisite_id FROM course_prereqs WHERE course_id = ?", Integer.class, cmsc132.getId()));
+		assertEquals(List.of(cmsc132.getId()), jdbcTemplate.queryForList(
+			"SELECT corequisite_id FROM course_coreqs WHERE course_id = ?", Integer.class, cmsc133.getId()));
+	}
+
+	@Test
+	void requisitesAreLinkedFromTheTableAfterStreamedInserts() {
+		Course cmsc131 = stored("CMSC131").prereqs(null).build();
+		Course cmsc132 = stored("CMSC132").prereqs("CMSC131 or CMSC133").build();
+		Course cmsc133 = stored("CMSC133").prereqs(null).build();
+
+		/* Chunks arrive one at a time, CMSC132 before the courses it requires */
+		courseWriter.insertAll(List.of(cmsc132), 10);
+		courseWriter.insertAll(List.of(cmsc131, cmsc133), 10);
+		courseWriter.linkRequisites(10);
+
+		int id = courseRepository.findByCourseId("CMSC132").get(0).getId();
+		assertEquals(List.of(courseRepository.findByCourseId("CMSC131").get(0).getId(),
+							 courseRepository.findByCourseId("CMSC133").get(0).getId()),
+					 jdbcTemplate.queryForList("SELECT prerequisite_id FROM course_prereqs "
+											   + "WHERE course_id = ? ORDER BY prerequisite_id",
+											   Integer.class, id));
+	}
+
+	@Test
+	void rejectedRequisiteBatchFallsBackToPerRowInserts() {
+		Course cmsc131 = stored("CMSC131").prereqs(null).build();
+		Course cmsc132 = stored("CMSC132").prereqs("CMSC131 or CMSC133").build();
+		Course cmsc133 = stored("CMSC133").prereqs(null).build();
+		courseWriter.insertAll(List.of(cmsc131, cmsc132, cmsc133), 10);
+		int id = courseRepository.findByCourseId("CMSC132").get(0).getId();
+		int cmsc131Id = courseRepository.findByCourseId("CMSC131").get(0).getId();
+		int cmsc133Id = courseRepository.findByCourseId("CMSC133").get(0).getId();
+		/* The CMSC131 link already exists, so the batch of both links violates the index */
+		jdbcTemplate.update("INSERT INTO course_prereqs (course_id, prerequisite_id) VALUES (?, ?)",
+							id, cmsc131Id);
+		jdbcTemplate.execute("CREATE UNIQUE INDEX test_prereqs ON course_prereqs "
+							 + "(course_id, prerequisite_id)");
+		try {
+			courseWriter.linkRequisites(10);
+		} finally {
+			jdbcTemplate.execute("DROP INDEX test_prereqs");
+		}
+
+		assertEquals(List.of(Math.min(cmsc131Id, cmsc133Id), Math.max(cmsc131Id, cmsc133Id)),
+					 jdbcTemplate.queryForList("SELECT prerequisite_id FROM course_prereqs "
+											   + "WHERE course_id = ? ORDER BY prerequisite_id",
+											   Integer.class, id));
+	}
+
+	@Test
+	void semesterAndGenedRowsFollowTheCourses() {
+		Course course = stored("CMSC131").build();
+		courseWriter.saveAll(List.of(course), 10);
+		assertEquals(1, courseRepository.findByGenedAndSemester("DSSP", Semester.SPRING, 3.0F).size());
+
+		course.setSemesters(new ArrayList<>(List.of("SUMMER")));
+		courseWriter.updateAll(List.of(course), 10);
+		assertEquals(0, courseRepository.findBySemester(Semester.FALL).size());
+		assertEquals(1, courseRepository.findBySemester(Semester.SUMMER).size());
+
+		/* As if saved before the tables existed */
+		jdbcTemplate.update("DELETE FROM course_semester");
+		jdbcTemplate.update("DELETE FROM course_gened");
+		assertEquals(1, courseWriter.fillQueryTables(10));
+		assertEquals(0, courseWriter.fillQueryTables(10));
+		assertEquals(1, courseRepository.findBySemester(Semester.SUMMER).size());
+		assertEquals(1, courseRepository.findByGened("DVUP").size());
+
+		courseWriter.deleteAll(List.of(course.getId()), 10);
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_semester",
+													Integer.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_gened",
+													Integer.class));
+	}
+
+	/* Sets every column the writer stores, so each can be read back */
+	private static Catalogs.CourseBuilder stored(String courseId) {
+		return course(courseId).credits(3).semesters("FALL", "SPRING")
+			.geneds(List.of(List.of("DSHS", "DVUP"), List.of("DSSP|CMSC131"))).gpa(3.25F)
+			.prereqs("Minimum grade of C- in MATH115.");
+	}
+}
@@ -0,0 +1,161 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.CourseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataInitializerTest {
+
+	@TestConfiguration
+	@EnableConfigurationProperties(IngestProperties.class)
+	@Import({CourseWriter.class, CatalogRefresher.class, IngestMetrics.class})
+	static class Config {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@MockBean
+	private ApiService apiService;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private CourseWriter courseWriter;
+
+	@Autowired
+	private CatalogRefresher refresher;
+
+	@Autowired
+	private IngestStateRepository ingestStates;
+
+	@Autowired
+	private IngestProperties properties;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@AfterEach
+	void clear() {
+		courseRepository.deleteAll();
+		ingestStates.deleteAll();
+	}
+
+	@Test
+	void anIngestThatFailsPartWayIsCompletedOnTheNextStart() {
+		when(apiService.streamAllCourses(any(), anyInt())).thenAnswer(invocation -> {
+			Consumer<List<Course>> sink = invocation.getArgument(0);
+			sink.accept(catalog().subList(0, 2));
+			throw new IngestException("Could not fetch page 2");
+		});
+
+		initializer().run();
+
+		assertEquals(2, courseRepository.count());
+		assertFalse(ingestStates.findById(IngestState.ID).orElseThrow().isComplete());
+
+		/* The next start, with the API back */
+		when(apiService.fetchAllCourses()).thenReturn(catalog());
+		initializer().run();
+
+		assertEquals(3, courseRepository.count());
+		assertTrue(ingestStates.findById(IngestState.ID).orElseThrow().isComplete());
+	}
+
+	@Test
+	void aCompleteIngestIsNotFetchedAgain() {
+		when(apiService.streamAllCourses(any(), anyInt())).thenAnswer(invocation -> {
+			Consumer<List<Course>> sink = invocation.getArgument(0);
+			sink.accept(catalog());
+			return 3;
+		});
+
+		initializer().run();
+		initializer().run();
+
+		assertEquals(3, courseRepository.count());
+		assertTrue(ingestStates.findById(IngestState.ID).orElseThrow().isComplete());
+		/* Neither a second stream nor a refresh */
+		verify(apiService).streamAllCourses(any(), anyInt());
+		verify(apiService, never()).fetchAllCourses();
+	}
+
+	@Test
+	void everyStartPublishesWhenTheTableWasLastWritten() {
+		when(apiService.streamAllCourses(any(), anyInt())).thenAnswer(invocation -> {
+			Consumer<List<Course>> sink = invocation.getArgument(0);
+			sink.accept(catalog());
+			return 3;
+		});
+		ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+
+		initializer(events).run();
+		Instant ingestedAt = ingestStates.findById(IngestState.ID).orElseThrow().getUpdated();
+		initializer(events).run();
+
+		ArgumentCaptor<DataInitializedEvent> published =
+			ArgumentCaptor.forClass(DataInitializedEvent.class);
+		verify(events, times(2)).publishEvent(published.capture());
+		assertTrue(published.getAllValues().get(0).isIngested());
+		assertFalse(published.getAllValues().get(1).isIngested());
+		assertEquals(ingestedAt, published.getAllValues().get(0).getIngestedAt());
+		assertEquals(ingestedAt, published.getAllValues().get(1).getIngestedAt());
+	}
+
+	private DataInitializer initializer() {
+		return initializer(publisher);
+	}
+
+	private DataInitializer initializer(ApplicationEventPublisher events) {
+		return new DataInitializer(apiService, courseRepository, courseWriter, refresher,
+								   ingestStates, properties, events);
+	}
+
+	/* New Courses every time, as every fetch parses them anew */
+	private static List<Course> catalog() {
+		return new ArrayList<>(List.of(course("CMSC131").gpa(3.1F).build(),
+									   course("CMSC132").gpa(2.9F).build(),
+									   course("CMSC216").gpa(2.7F).build()));
+	}
+}
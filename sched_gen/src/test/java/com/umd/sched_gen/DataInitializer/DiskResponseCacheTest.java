@@ -0,0 +1,189 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class DiskResponseCacheTest {
+
+	@TempDir
+	Path cacheDir;
+
+	private HttpServer server;
+	private String base;
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger notModified = new AtomicInteger();
+
+	/* Serves "body of <path>" with an ETag, answering 304 when the ETag is sent back */
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+		base = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void freshResponsesAreServedFromDisk() throws IOException {
+		RestTemplate restTemplate = restTemplate(Duration.ofHours(1), 1 << 20);
+
+		assertEquals("body of /a", restTemplate.getForObject(base + "/a", String.class));
+		assertEquals("body of /a", restTemplate.getForObject(base + "/a", String.class));
+		/* A new cache over the same directory picks up the stored response */
+		assertEquals("body of /a", restTemplate(Duration.ofHours(1), 1 << 20)
+			.getForObject(base + "/a", String.class));
+
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	void staleResponsesAreRevalidatedWithETag() throws IOException {
+		RestTemplate restTemplate = restTemplate(Duration.ZERO, 1 << 20);
+
+		assertEquals("body of /a", restTemplate.getForObject(base + "/a", String.class));
+		assertEquals("body of /a", restTemplate.getForObject(base + "/a", String.class));
+
+		assertEquals(2, requests.get());
+		assertEquals(1, notModified.get());
+	}
+
+	@Test
+	void notFoundResponsesAreCachedToo() throws IOException {
+		RestTemplate restTemplate = restTemplate(Duration.ofHours(1), 1 << 20);
+
+		assertThrows(HttpClientErrorException.NotFound.class,
+			() -> restTemplate.getForObject(base + "/missing", String.class));
+		assertThrows(HttpClientErrorException.NotFound.class,
+			() -> restTemplate.getForObject(base + "/missing", String.class));
+
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	void leastRecentlyUsedResponsesAreEvicted() throws Exception {
+		RestTemplate restTemplate = restTemplate(Duration.ofHours(1), 150);
+
+		restTemplate.getForObject(base + "/a", String.class);
+		Thread.sleep(20);
+		restTemplate.getForObject(base + "/b", String.class);
+		Thread.sleep(20);
+		restTemplate.getForObject(base + "/a", String.class);	/* Now /b is least recently used */
+		Thread.sleep(20);
+		restTemplate.getForObject(base + "/c", String.class);
+
+		assertTrue(cacheSize() <= 150, "cache holds " + cacheSize() + " bytes");
+		restTemplate.getForObject(base + "/a", String.class);
+		assertEquals(3, requests.get());
+		restTemplate.getForObject(base + "/b", String.class);
+		assertEquals(4, requests.get());
+	}
+
+	@Test
+	void largeBodiesAreStoredAsTheyAreRead() throws IOException {
+		RestTemplate restTemplate = restTemplate(Duration.ofHours(1), 1 << 24);
+
+		assertArrayEquals(largeBody(), restTemplate.getForObject(base + "/large", byte[].class));
+		assertArrayEquals(largeBody(), restTemplate.getForObject(base + "/large", byte[].class));
+
+		assertEquals(1, requests.get());
+		assertEquals(0, tempFiles());
+	}
+
+	@Test
+	void leftoverTemporaryFilesAreDeletedAndNotCounted() throws IOException {
+		Files.write(cacheDir.resolve("entry123.tmp"), new byte[1000]);
+		RestTemplate restTemplate = restTemplate(Duration.ofHours(1), 150);
+
+		restTemplate.getForObject(base + "/a", String.class);
+		restTemplate.getForObject(base + "/b", String.class);
+
+		assertEquals(0, tempFiles());
+		/* Both fit under the cap, so neither was evicted for the leftover file */
+		restTemplate.getForObject(base + "/a", String.class);
+		restTemplate.getForObject(base + "/b", String.class);
+		assertEquals(2, requests.get());
+	}
+
+	private RestTemplate restTemplate(Duration ttl, long maxBytes) throws IOException {
+		RestTemplate restTemplate = new RestTemplate();
+		restTemplate.getInterceptors().add(new DiskResponseCache(cacheDir, ttl, maxBytes));
+		return restTemplate;
+	}
+
+	private long cacheSize() throws IOException {
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			return files.mapToLong(file -> file.toFile().length()).sum();
+		}
+	}
+
+	private long tempFiles() throws IOException {
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			return files.filter(file -> file.toString().endsWith(".tmp")).count();
+		}
+	}
+
+	/* A megabyte, well past any buffer on the way */
+	private static byte[] largeBody() {
+		byte[] body = new byte[1 << 20];
+		for (int i = 0; i < body.length; i++) {
+			body[i] = (byte) (i * 31 >> 7);
+		}
+		return body;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		String path = exchange.getRequestURI().getPath();
+		String eTag = "\"" + path.hashCode() + "\"";
+		try {
+			if (path.equals("/missing")) {
+				exchange.sendResponseHeaders(404, -1);
+			} else if (path.equals("/large")) {
+				byte[] body = largeBody();
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			} else if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				notModified.incrementAndGet();
+				exchange.sendResponseHeaders(304, -1);
+			} else {
+				byte[] body = ("body of " + path).getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "text/plain");
+				exchange.getResponseHeaders().add("ETag", eTag);
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+}
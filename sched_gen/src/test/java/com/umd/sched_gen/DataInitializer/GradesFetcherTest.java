@@ -0,0 +1,137 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.umd.sched_gen.Courses.Course;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GradesFetcherTest {
+
+	private HttpServer server;
+	private String gradesApi;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final IngestMetrics metrics = new IngestMetrics(registry);
+
+	/* Stub planetterp: odd numbered courses have grade data, even numbered ones are a 404 */
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/course", this::handle);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		gradesApi = "http://localhost:" + server.getAddress().getPort() + "/course";
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void concurrentResultsMatchSerialResults() {
+		List<Course> serial = courses(40);
+		List<Course> concurrent = courses(40);
+		try (GradesFetcher fetcher = new GradesFetcher(new RestTemplate(), properties(1000, 8),
+													   metrics)) {
+			for (Course course : serial) {
+				course.setAverageGPA(fetcher.fetch(course));
+			}
+			fetcher.fetchAll(concurrent);
+		}
+
+		for (int i = 0; i < serial.size(); i++) {
+			assertEquals(serial.get(i).getAverageGPA(), concurrent.get(i).getAverageGPA());
+		}
+		assertEquals(3.01F, concurrent.get(1).getAverageGPA());
+		assertEquals(0.0F, concurrent.get(2).getAverageGPA());
+		assertEquals(40, registry.get("ingest.grades.fetch").tag("outcome", "found").timer().count());
+		assertEquals(40, registry.get("ingest.grades.fetch").tag("outcome", "missing").timer().count());
+		assertEquals(0, registry.get("ingest.grades.fetch").tag("outcome", "failure").timer().count());
+	}
+
+	@Test
+	void limitsRequestsInFlight() {
+		try (GradesFetcher fetcher = new GradesFetcher(new RestTemplate(), properties(1000, 4),
+													   metrics)) {
+			fetcher.fetchAll(courses(40));
+		}
+		assertTrue(maxInFlight.get() <= 4, "saw " + maxInFlight.get() + " requests in flight");
+		assertTrue(maxInFlight.get() > 1, "requests were not made concurrently");
+	}
+
+	@Test
+	void limitsRequestRate() {
+		long start = System.nanoTime();
+		try (GradesFetcher fetcher = new GradesFetcher(new RestTemplate(), properties(50, 8),
+													   metrics)) {
+			fetcher.fetchAll(courses(40));
+		}
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		/* 40 requests at 50 per second, starting with a single token, take at least ~780ms */
+		assertTrue(elapsedMillis >= 700, "took only " + elapsedMillis + "ms");
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int current = inFlight.incrementAndGet();
+		maxInFlight.accumulateAndGet(current, Math::max);
+		try {
+			Thread.sleep(10);
+			String name = exchange.getRequestURI().getQuery().replace("name=", "");
+			int number = Integer.parseInt(name.substring(4));
+			if (number % 2 == 0) {
+				exchange.sendResponseHeaders(404, -1);
+			} else {
+				byte[] body = ("{\"course_id\":\"" + name + "\",\"average_gpa\":"
+								+ (3 + number / 100.0) + "}").getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			inFlight.decrementAndGet();
+			exchange.close();
+		}
+	}
+
+	private IngestProperties properties(double rate, int concurrency) {
+		IngestProperties properties = new IngestProperties();
+		properties.setGradesApi(gradesApi);
+		properties.setGradesRate(rate);
+		properties.setGradesConcurrency(concurrency);
+		return properties;
+	}
+
+	private static List<Course> courses(int count) {
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Course course = new Course(0);
+			course.setCourseId(String.format("TEST%03d", i));
+			courses.add(course);
+		}
+		return courses;
+	}
+}
@@ -0,0 +1,126 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HostClientTest {
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final AtomicInteger calls = new AtomicInteger();
+	private HostClient client;
+
+	@AfterEach
+	void close() {
+		client.close();
+	}
+
+	@Test
+	void serverErrorsAreRetriedUntilTheRequestSucceeds() throws InterruptedException {
+		client = client(4, 5, Duration.ZERO);
+
+		String result = client.call(failing(3, HttpStatus.SERVICE_UNAVAILABLE), false);
+
+		assertEquals("ok", result);
+		assertEquals(4, calls.get());
+		assertEquals(3, registry.get("ingest.requests.retried").counter().count());
+	}
+
+	@Test
+	void clientErrorsAreAnswersAndNotRetried() {
+		client = client(4, 5, Duration.ZERO);
+
+		assertThrows(HttpClientErrorException.class,
+					 () -> client.call(failing(1, HttpStatus.NOT_FOUND), false));
+		assertEquals(1, calls.get());
+		assertEquals(CircuitBreaker.State.CLOSED, client.breakerState());
+	}
+
+	@Test
+	void anOpenBreakerRefusesRequestsWithoutMakingThem() {
+		client = client(2, 2, Duration.ZERO);
+
+		assertThrows(HttpServerErrorException.class,
+					 () -> client.call(failing(10, HttpStatus.BAD_GATEWAY), false));
+		assertEquals(2, calls.get());
+		assertThrows(HostClient.CircuitOpenException.class,
+					 () -> client.call(failing(0, HttpStatus.OK), false));
+		assertEquals(2, calls.get());
+		assertEquals(1, registry.get("ingest.breaker.opened").counter().count());
+	}
+
+	@Test
+	void aSlowRequestIsAnsweredByItsHedge() throws InterruptedException {
+		client = client(1, 5, Duration.ofMillis(100));
+		Supplier<String> firstIsSlow = () -> {
+			if (calls.incrementAndGet() == 1) {
+				sleep(3000);
+				return "slow";
+			}
+			return "hedge";
+		};
+
+		long start = System.nanoTime();
+		String result = client.call(firstIsSlow, true);
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		assertEquals("hedge", result);
+		assertTrue(elapsedMillis < 1000, "took " + elapsedMillis + "ms");
+		assertEquals(1, registry.get("ingest.requests.hedged").counter().count());
+	}
+
+	@Test
+	void anErrorInAHedgedRequestIsThrown() {
+		client = client(1, 5, Duration.ofMillis(100));
+		Supplier<String> overflows = () -> {
+			calls.incrementAndGet();
+			throw new StackOverflowError();
+		};
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+			assertThrows(StackOverflowError.class, () -> client.call(overflows, true)));
+		assertEquals(1, calls.get());
+	}
+
+	private HostClient client(int attempts, int breakerFailures, Duration hedgeAfter) {
+		IngestProperties properties = new IngestProperties();
+		properties.setRetryAttempts(attempts);
+		properties.setRetryBackoff(Duration.ofMillis(1));
+		properties.setBreakerFailures(breakerFailures);
+		properties.setHedgeAfter(hedgeAfter);
+		return new HostClient("test", 1000, 2, properties, new IngestMetrics(registry));
+	}
+
+	/* Fails the first failures calls with a status, then answers "ok" */
+	private Supplier<String> failing(int failures, HttpStatus status) {
+		return () -> {
+			if (calls.incrementAndGet() > failures) {
+				return "ok";
+			}
+			if (status.is4xxClientError()) {
+				throw new HttpClientErrorException(status);
+			}
+			throw new HttpServerErrorException(status);
+		};
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
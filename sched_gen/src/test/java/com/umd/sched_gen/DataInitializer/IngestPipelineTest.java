@@ -0,0 +1,59 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IngestPipelineTest {
+
+	private final IngestMetrics metrics = new IngestMetrics(new SimpleMeterRegistry());
+
+	@Test
+	void refinesEveryPageOfEverySemester() {
+		List<Course> refined = new IngestPipeline(2, 3, metrics).run(IngestPipelineTest::page,
+			page -> page);
+
+		assertEquals(Semester.values().length * 5 * 4, refined.size());
+	}
+
+	@Test
+	void aPageThatFailsToRefineEndsTheRun() {
+		/* A single worker and slot, so the fetchers would block on a queue nobody takes from */
+		IngestPipeline pipeline = new IngestPipeline(1, 1, metrics);
+
+		IngestException e = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+			assertThrows(IngestException.class, () -> pipeline.run(IngestPipelineTest::page,
+				page -> {
+					if (page.get(0).getCourseId().endsWith("2-0")) {
+						throw new IllegalStateException("refine failed");
+					}
+					return page;
+				})));
+		assertEquals("refine failed", e.getCause().getMessage());
+	}
+
+	/* Five pages of four Courses per semester */
+	private static List<Course> page(Semester semester, int page) {
+		List<Course> courses = new ArrayList<>();
+		if (page > 5) {
+			return courses;
+		}
+		for (int i = 0; i < 4; i++) {
+			Course course = new Course(0);
+			course.setCourseId(semester + "-" + page + "-" + i);
+			courses.add(course);
+		}
+		return courses;
+	}
+}
@@ -0,0 +1,114 @@
+package com.umd.sched_gen.DataInitializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.umd.sched_gen.Courses.Semester;
+import com.umd.sched_gen.DataInitializer.OfferingHistory.Term;
+
+class OfferingHistoryTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void predictsTheSeasonsACourseIsOfferedInOftenEnough() {
+		OfferingHistory history = new OfferingHistory(0.5);
+		for (int year = 2020; year < 2024; year++) {
+			history.add(new Term(year, Semester.FALL), List.of("ENGL142", "MATH140"));
+			history.add(new Term(year, Semester.SPRING),
+						year == 2020 ? List.of("ENGL142", "MATH140") : List.of("MATH140"));
+			history.add(new Term(year, Semester.SUMMER),
+						year % 2 == 0 ? List.of("ENGL142") : List.of());
+		}
+
+		assertEquals(1.0, history.probability("ENGL142", Semester.FALL));
+		assertEquals(0.25, history.probability("ENGL142", Semester.SPRING));
+		assertEquals(0.5, history.probability("ENGL142", Semester.SUMMER));
+		assertEquals(0.0, history.probability("ENGL142", Semester.WINTER));
+		assertEquals(Semester.FALL.bit() | Semester.SUMMER.bit(), history.predicted("ENGL142"));
+		assertEquals(Semester.FALL.bit() | Semester.SPRING.bit(), history.predicted("MATH140"));
+		assertEquals(0, history.predicted("CMSC999"));
+
+		Map<String, Integer> predicted = new HashMap<>();
+		history.forEachPredicted(predicted::put);
+		assertEquals(Map.of("ENGL142", history.predicted("ENGL142"),
+							"MATH140", history.predicted("MATH140")), predicted);
+	}
+
+	@Test
+	void addsEachTermOnceAndListsOnlyTheMissingOnes() {
+		OfferingHistory history = new OfferingHistory(0.5);
+		assertTrue(history.add(new Term(2023, Semester.FALL), List.of("ENGL142")));
+		assertFalse(history.add(new Term(2023, Semester.FALL), List.of()));
+
+		assertEquals(1.0, history.probability("ENGL142", Semester.FALL));
+		assertEquals(7, history.missing(2022, 2023).size());
+		assertFalse(history.missing(2022, 2023).contains(new Term(2023, Semester.FALL)));
+		assertEquals(new Term(2023, Semester.FALL), Term.parse("202308"));
+	}
+
+	@Test
+	void termsThatFallOutOfTheWindowStopCounting() {
+		OfferingHistory history = new OfferingHistory(0.5);
+		history.add(new Term(2020, Semester.SPRING), List.of("ENGL142"));
+		history.add(new Term(2021, Semester.FALL), List.of("ENGL142"));
+		history.add(new Term(2022, Semester.FALL), List.of());
+		assertEquals(Semester.FALL.bit() | Semester.SPRING.bit(), history.predicted("ENGL142"));
+
+		history.window(2021);
+		assertEquals(Semester.FALL.bit(), history.predicted("ENGL142"));
+		assertEquals(0.0, history.probability("ENGL142", Semester.SPRING));
+
+		history.window(2022);
+		assertEquals(0, history.predicted("ENGL142"));
+		assertEquals(0.0, history.probability("ENGL142", Semester.FALL));
+		assertEquals(3, history.terms());
+		history.add(new Term(2019, Semester.FALL), List.of("ENGL142"));
+		assertEquals(0, history.predicted("ENGL142"));
+
+		history.window(2021);
+		assertEquals(0.5, history.probability("ENGL142", Semester.FALL));
+		assertEquals(Semester.FALL.bit(), history.predicted("ENGL142"));
+	}
+
+	@Test
+	void savingOnlyWritesTheTermsAddedSinceLoading() throws Exception {
+		OfferingHistory history = new OfferingHistory(0.5);
+		history.add(new Term(2022, Semester.FALL), List.of("ENGL142", "MATH140"));
+		history.add(new Term(2022, Semester.SPRING), List.of("MATH140"));
+		history.save(dir);
+		Path saved = dir.resolve("202208.term");
+		byte[] savedBytes = Files.readAllBytes(saved);
+		FileTime longAgo = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(saved, longAgo);
+
+		OfferingHistory loaded = OfferingHistory.load(dir, 0.5);
+		assertEquals(2, loaded.terms());
+		assertEquals(history.predicted("ENGL142"), loaded.predicted("ENGL142"));
+		assertEquals(history.predicted("MATH140"), loaded.predicted("MATH140"));
+
+		loaded.add(new Term(2023, Semester.FALL), List.of("CMSC131", "MATH140"));
+		loaded.save(dir);
+
+		assertEquals(longAgo, Files.getLastModifiedTime(saved));
+		assertArrayEquals(savedBytes, Files.readAllBytes(saved));
+		OfferingHistory reloaded = OfferingHistory.load(dir, 0.5);
+		assertEquals(3, reloaded.terms());
+		assertEquals(0.5, reloaded.probability("ENGL142", Semester.FALL));
+		assertEquals(1.0, reloaded.probability("MATH140", Semester.FALL));
+		assertEquals(Semester.FALL.bit(), reloaded.predicted("CMSC131"));
+	}
+}
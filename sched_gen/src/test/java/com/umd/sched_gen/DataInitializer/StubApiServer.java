@@ -0,0 +1,210 @@
+package com.umd.sched_gen.DataInitializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.umd.sched_gen.Courses.Semester;
+
+/** A local stand-in for umd.io and planetterp. The courses are split into one block per semester,
+ * and each block is offered in its own semester and the one after it, so every course shows up in
+ * the pages of two semesters. Every response is delayed to simulate network latency, and faults
+ * can be injected: failed (503) and slow responses, or the whole server being down.
+ */
+class StubApiServer implements AutoCloseable {
+	/** Names the threads serving requests, to tell them apart from the client's */
+	static final String THREAD_PREFIX = "stub-api-";
+	private static final AtomicInteger THREADS = new AtomicInteger();
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, THREAD_PREFIX + THREADS.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final int pagesPerSemester;
+	private final int perPage;
+	private final long latencyMillis;
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger listRequests = new AtomicInteger();
+	private final Set<String> semesterCodes = ConcurrentHashMap.newKeySet();
+	private volatile int failEvery;
+	private volatile int slowEvery;
+	private volatile long slowMillis;
+	private volatile boolean down;
+
+	StubApiServer(int pagesPerSemester, int perPage, long latencyMillis) throws IOException {
+		this.pagesPerSemester = pagesPerSemester;
+		this.perPage = perPage;
+		this.latencyMillis = latencyMillis;
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/v1/courses/list", exchange -> respond(exchange, semesterList(exchange)));
+		server.createContext("/v1/courses", exchange -> respond(exchange, page(exchange)));
+		server.createContext("/course", exchange -> respond(exchange, grades(exchange)));
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/** Returns ingest properties pointing at this server */
+	IngestProperties properties() {
+		String base = "http://localhost:" + server.getAddress().getPort();
+		IngestProperties properties = new IngestProperties();
+		properties.setCoursesApi(base + "/v1/courses");
+		properties.setCoursesApiMinified(base + "/v1/courses/list");
+		properties.setGradesApi(base + "/course");
+		properties.setCoursesPerPage(perPage);
+		properties.setRetrievalRate(1000);
+		properties.setMaxConcurrentPerHost(4);
+		properties.setGradesRate(1000);
+		/* Enough attempts that no request keeps drawing injected faults until it runs out */
+		properties.setRetryAttempts(8);
+		properties.setRetryBackoff(Duration.ofMillis(10));
+		properties.setRetryMaxBackoff(Duration.ofMillis(50));
+		properties.setHedgeAfter(Duration.ofMillis(300));
+		return properties;
+	}
+
+	/** Answers every failEvery-th request with a 503, and delays every slowEvery-th one by
+	 * slowMillis more (0 for neither)
+	 */
+	void injectFaults(int failEvery, int slowEvery, long slowMillis) {
+		this.failEvery = failEvery;
+		this.slowEvery = slowEvery;
+		this.slowMillis = slowMillis;
+	}
+
+	/** Answers every request from now on with a 503 */
+	void goDown() {
+		down = true;
+	}
+
+	/** Returns the number of distinct courses across every semester (each semester offers twice
+	 * pagesPerSemester pages of them) */
+	int distinctCourses() {
+		return Semester.values().length * pagesPerSemester * perPage;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/** Returns the number of requests made for the courses offered in a semester */
+	int listRequests() {
+		return listRequests.get();
+	}
+
+	/** Returns the semester codes courses or their offerings were requested for */
+	Set<String> semesterCodes() {
+		return Set.copyOf(semesterCodes);
+	}
+
+	private String semesterList(HttpExchange exchange) {
+		listRequests.incrementAndGet();
+		int semester = semester(query(exchange).get("semester"));
+		StringJoiner json = new StringJoiner(",", "[", "]");
+		for (int i = 0; i < distinctCourses(); i++) {
+			if (offeredIn(i, semester)) {
+				json.add("{\"course_id\":\"" + courseId(i) + "\"}");
+			}
+		}
+		return json.toString();
+	}
+
+	/* The courses offered in a semester, perPage at a time */
+	private String page(HttpExchange exchange) {
+		Map<String, String> query = query(exchange);
+		int semester = semester(query.get("semester"));
+		int first = (Integer.parseInt(query.get("page")) - 1) * perPage;
+		StringJoiner json = new StringJoiner(",", "[", "]");
+		int offered = 0;
+		for (int i = 0; i < distinctCourses(); i++) {
+			if (offeredIn(i, semester) && offered++ >= first && offered <= first + perPage) {
+				json.add(course(i));
+			}
+		}
+		return json.toString();
+	}
+
+	private String grades(HttpExchange exchange) {
+		String name = query(exchange).get("name");
+		return "{\"course_id\":\"" + name + "\",\"average_gpa\":3.5}";
+	}
+
+	private boolean offeredIn(int course, int semester) {
+		int block = course / (pagesPerSemester * perPage);
+		return block == semester || (block + 1) % Semester.values().length == semester;
+	}
+
+	private static String course(int i) {
+		return "{\"course_id\":\"" + courseId(i) + "\",\"name\":\"Test Course " + i + "\","
+			+ "\"dept_id\":\"TEST\",\"credits\":\"3\",\"gen_ed\":[],"
+			+ "\"relationships\":{\"prereqs\":null,\"coreqs\":null,\"restrictions\":null,"
+			+ "\"credit_granted_for\":null}}";
+	}
+
+	static String courseId(int i) {
+		return String.format("TEST%03d", i);
+	}
+
+	private int semester(String code) {
+		semesterCodes.add(code);
+		String month = code.substring(code.length() - 2);
+		for (Semester semester : Semester.values()) {
+			if (semester.code(0).endsWith(month)) {
+				return semester.ordinal();
+			}
+		}
+		throw new IllegalArgumentException(code);
+	}
+
+	private static Map<String, String> query(HttpExchange exchange) {
+		Map<String, String> query = new HashMap<>();
+		URI uri = exchange.getRequestURI();
+		if (uri.getQuery() != null) {
+			for (String pair : uri.getQuery().split("&")) {
+				String[] parts = pair.split("=", 2);
+				query.put(parts[0], parts.length > 1 ? parts[1] : "");
+			}
+		}
+		return query;
+	}
+
+	private void respond(HttpExchange exchange, String json) throws IOException {
+		int request = requests.incrementAndGet();
+		try {
+			Thread.sleep(latencyMillis);
+			if (down || (failEvery > 0 && request % failEvery == 0)) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+			if (slowEvery > 0 && request % slowEvery == 0) {
+				Thread.sleep(slowMillis);
+			}
+			byte[] body = json.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.umd.sched_gen.Scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PlanExecutorTest {
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private PlanExecutor executor;
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		executor.destroy();
+	}
+
+	@Test
+	void rejectsRequestsOnceTheQueueIsFull() throws Exception {
+		executor = executor(1, 2);
+		CompletableFuture<String> running = executor.submit(this::block);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> first = executor.submit(() -> "first");
+		CompletableFuture<String> second = executor.submit(() -> "second");
+
+		CompletableFuture<String> rejected = executor.submit(() -> "rejected");
+
+		assertInstanceOf(PlanRejectedException.class, failure(rejected));
+		assertEquals(2.0, registry.get("scheduler.queue.depth").gauge().value());
+		release.countDown();
+		assertEquals("blocked", running.get(5, TimeUnit.SECONDS));
+		assertEquals("first", first.get(5, TimeUnit.SECONDS));
+		assertEquals("second", second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, registry.get("scheduler.requests.rejected").tag("reason", "saturated")
+			.counter().count());
+	}
+
+	@Test
+	void runsEarliestDeadlinesFirstAndRejectsExpiredOnes() throws Exception {
+		executor = executor(1, 10);
+		List<String> ran = new CopyOnWriteArrayList<>();
+		executor.submit(this::block);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> late = executor.submit(() -> run(ran, "late"),
+														 Duration.ofSeconds(30));
+		CompletableFuture<String> soon = executor.submit(() -> run(ran, "soon"),
+														 Duration.ofSeconds(10));
+		CompletableFuture<String> expired = executor.submit(() -> run(ran, "expired"),
+															Duration.ofMillis(1));
+		Thread.sleep(20);
+
+		release.countDown();
+
+		assertEquals("late", late.get(5, TimeUnit.SECONDS));
+		assertEquals("soon", soon.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(PlanRejectedException.class, failure(expired));
+		assertEquals(List.of("soon", "late"), ran);
+		assertEquals(1, registry.get("scheduler.requests.rejected").tag("reason", "deadline")
+			.counter().count());
+	}
+
+	@Test
+	void anErrorFailsTheFuture() {
+		executor = executor(1, 2);
+
+		CompletableFuture<String> failed = executor.submit(() -> {
+			throw new StackOverflowError();
+		});
+
+		assertInstanceOf(StackOverflowError.class, failure(failed));
+	}
+
+	private PlanExecutor executor(int threads, int queue) {
+		SchedulerProperties properties = new SchedulerProperties();
+		properties.setPlanThreads(threads);
+		properties.setPlanQueue(queue);
+		return new PlanExecutor(properties, registry);
+	}
+
+	private String block() {
+		started.countDown();
+		try {
+			release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "blocked";
+	}
+
+	private static String run(List<String> ran, String name) {
+		ran.add(name);
+		return name;
+	}
+
+	private static Throwable failure(CompletableFuture<?> future) {
+		return assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS))
+			.getCause();
+	}
+}
@@ -0,0 +1,232 @@
+package com.umd.sched_gen.Scheduler;
+
+import static com.umd.sched_gen.Catalog.Catalogs.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Requisite;
+import com.umd.sched_gen.Courses.Semester;
+
+class PlanGeneratorTest {
+
+	/* The courses of a computer science major */
+	static final List<String> MAJOR = List.of("CMSC131", "CMSC132", "CMSC216", "CMSC250",
+		"CMSC330", "CMSC351", "CMSC411", "CMSC412", "CMSC417", "CMSC420", "CMSC421", "CMSC424",
+		"CMSC430", "CMSC433", "MATH140", "MATH141", "MATH240", "STAT400");
+	static final List<String> GENEDS = List.of("FSAW", "FSPW", "DSHS", "DSHU", "DSNL", "DSNS",
+		"DSSP", "DVUP", "DVCC", "SCIS");
+
+	private final CatalogSnapshot snapshot = catalog(3000);
+	private final PlanGenerator generator = new PlanGenerator(snapshot);
+
+	@Test
+	void generatesAFourYearPlanForAMajorQuickly() {
+		PlanRequest request = PlanRequest.fourYears(Set.of(), MAJOR, GENEDS, 2026, 15);
+
+		long start = System.nanoTime();
+		Plan plan = generator.generate(request);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		assertNotNull(plan);
+		assertTrue(millis < 1000, "took " + millis + "ms");
+		assertValid(plan, request);
+	}
+
+	@Test
+	void completedCoursesAreNotPlannedAgain() {
+		PlanRequest request = PlanRequest.fourYears(Set.of("CMSC131", "MATH140", "ENGL101"),
+													MAJOR, GENEDS, 2026, 15);
+
+		Plan plan = generator.generate(request);
+
+		assertNotNull(plan);
+		assertValid(plan, request);
+		Set<String> planned = planned(plan);
+		assertFalse(planned.contains("CMSC131"));
+		assertFalse(planned.contains("MATH140"));
+	}
+
+	@Test
+	void requirementsThatCannotFitHaveNoPlan() {
+		/* The major's requisite chains are longer than two terms */
+		assertNull(generator.generate(new PlanRequest(Set.of(), MAJOR, List.of(), Semester.FALL,
+													  2026, 2, 15, false)));
+		assertThrows(IllegalArgumentException.class, () -> generator.generate(
+			PlanRequest.fourYears(Set.of(), List.of("CMSC999"), List.of(), 2026, 15)));
+	}
+
+	@Test
+	void parallelSearchRanksSeveralDistinctPlans() {
+		PlanRequest request = PlanRequest.fourYears(Set.of(), MAJOR, GENEDS, 2026, 15);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<Plan> plans = generator.generate(request, 3, pool);
+
+			assertEquals(3, plans.size());
+			Set<Set<String>> selections = new HashSet<>();
+			for (int i = 0; i < plans.size(); i++) {
+				assertValid(plans.get(i), request);
+				assertTrue(selections.add(planned(plans.get(i))), "same courses planned twice");
+				if (i > 0) {
+					assertTrue(plans.get(i - 1).score() <= plans.get(i).score());
+				}
+			}
+			assertTrue(generator.generate(new PlanRequest(Set.of(), MAJOR, List.of(),
+					Semester.FALL, 2026, 2, 15, false), 3, pool).isEmpty());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void eligibleCoursesHaveTheirPrereqsMet() {
+		List<String> eligible = generator.eligible(Set.of("CMSC131", "MATH140"), Semester.FALL);
+
+		assertTrue(eligible.contains("CMSC132"));
+		assertTrue(eligible.contains("MATH141"));
+		assertFalse(eligible.contains("CMSC131"));
+		assertFalse(eligible.contains("CMSC216"));
+	}
+
+	@Test
+	void aPrereqCycleDoesNotHideAnotherWayIn() {
+		/* CMSC100 is visited first, and its way in through CMSC200 leads back to CMSC200 */
+		CatalogSnapshot cycle = CatalogSnapshot.of(List.of(
+			course("CMSC100").credits(3).semesters("FALL", "SPRING")
+				.prereqs("CMSC200 or CMSC150").build(),
+			course("CMSC200").credits(3).semesters("FALL", "SPRING").prereqs("CMSC100").build(),
+			course("CMSC150").credits(3).semesters("FALL", "SPRING").build()));
+		PlanRequest request = PlanRequest.fourYears(Set.of(), List.of("CMSC200", "CMSC150"),
+													List.of(), 2026, 15);
+
+		Plan plan = new PlanGenerator(cycle).generate(request);
+
+		assertNotNull(plan);
+		assertValid(plan, request, cycle);
+		assertEquals(Set.of("CMSC150", "CMSC100", "CMSC200"), planned(plan));
+	}
+
+	/* Every requirement is planned once, after its prereqs, in a semester it is offered */
+	static void assertValid(Plan plan, PlanRequest request, CatalogSnapshot snapshot) {
+		Set<String> taken = new HashSet<>(request.completed());
+		Set<String> planned = new HashSet<>();
+		for (Plan.Term term : plan.terms()) {
+			assertTrue(term.credits() <= request.creditsPerTerm());
+			for (String courseId : term.courses()) {
+				Course course = snapshot.byCourseId(courseId);
+				Requisite prereqs = snapshot.requisites().prereqs(courseId);
+				assertTrue(prereqs == null || prereqs.isSatisfiedBy(taken::contains),
+						   courseId + " planned before " + prereqs);
+				assertTrue(course.getSemesters().contains(term.semester().name()),
+						   courseId + " is not offered in " + term.semester());
+				assertTrue(planned.add(courseId), courseId + " planned twice");
+			}
+			taken.addAll(term.courses());
+		}
+		for (String courseId : request.required()) {
+			assertTrue(taken.contains(courseId), courseId + " missing");
+		}
+		Set<String> covered = new HashSet<>();
+		for (String courseId : taken) {
+			if (snapshot.byCourseId(courseId) != null) {
+				covered.addAll(CatalogSnapshot.genedCodes(snapshot.byCourseId(courseId)));
+			}
+		}
+		assertTrue(covered.containsAll(request.geneds()), "gen eds not covered: " + covered);
+		assertEquals(plan.terms().stream().mapToInt(Plan.Term::credits).sum(), plan.credits());
+	}
+
+	private void assertValid(Plan plan, PlanRequest request) {
+		assertValid(plan, request, snapshot);
+	}
+
+	private static Set<String> planned(Plan plan) {
+		Set<String> planned = new HashSet<>();
+		plan.terms().forEach(term -> planned.addAll(term.courses()));
+		return planned;
+	}
+
+	/* The major's courses, plus filler courses from other departments that carry the gen eds */
+	static CatalogSnapshot catalog(int fillers) {
+		List<Course> courses = new ArrayList<>();
+		courses.add(course("CMSC131").credits(4).semesters("FALL", "SPRING").gpa(3.0F).build());
+		courses.add(course("CMSC132").credits(4).semesters("FALL", "SPRING")
+			.prereqs("Minimum grade of C- in CMSC131; and MATH140.").gpa(3.0F).build());
+		courses.add(course("CMSC216").credits(4).semesters("FALL", "SPRING")
+			.prereqs("CMSC132 and MATH141").gpa(3.0F).build());
+		courses.add(course("CMSC250").credits(4).semesters("FALL", "SPRING")
+			.prereqs("CMSC131 and MATH141").gpa(3.0F).build());
+		courses.add(course("CMSC330").credits(3).semesters("FALL", "SPRING")
+			.prereqs("CMSC216 and CMSC250").gpa(3.0F).build());
+		courses.add(course("CMSC351").credits(3).semesters("FALL", "SPRING")
+			.prereqs("CMSC216 and CMSC250").gpa(3.0F).build());
+		courses.add(course("CMSC411").credits(3).semesters("FALL")
+			.prereqs("CMSC330").gpa(3.0F).build());
+		courses.add(course("CMSC412").credits(4).semesters("FALL", "SPRING")
+			.prereqs("CMSC330 and CMSC351").gpa(3.0F).build());
+		courses.add(course("CMSC417").credits(3).semesters("SPRING")
+			.prereqs("CMSC351").gpa(3.0F).build());
+		courses.add(course("CMSC420").credits(3).semesters("FALL", "SPRING")
+			.prereqs("CMSC351").gpa(3.0F).build());
+		courses.add(course("CMSC421").credits(3).semesters("FALL")
+			.prereqs("CMSC351 and (STAT400 or STAT410)").gpa(3.0F).build());
+		courses.add(course("CMSC424").credits(3).semesters("FALL", "SPRING")
+			.prereqs("CMSC351").gpa(3.0F).build());
+		courses.add(course("CMSC430").credits(3).semesters("SPRING")
+			.prereqs("CMSC330").gpa(3.0F).build());
+		courses.add(course("CMSC433").credits(3).semesters("FALL")
+			.prereqs("CMSC330").gpa(3.0F).build());
+		courses.add(course("MATH140").credits(4).semesters("FALL", "SPRING", "SUMMER")
+			.gpa(3.0F).build());
+		courses.add(course("MATH141").credits(4).semesters("FALL", "SPRING", "SUMMER")
+			.prereqs("MATH140").gpa(3.0F).build());
+		courses.add(course("MATH240").credits(4).semesters("FALL", "SPRING")
+			.prereqs("MATH141").gpa(3.0F).build());
+		courses.add(course("STAT400").credits(3).semesters("FALL", "SPRING")
+			.prereqs("MATH141").gpa(3.0F).build());
+		courses.add(course("STAT410").credits(3).semesters("FALL")
+			.prereqs("MATH141").gpa(3.0F).build());
+		courses.add(course("ENGL101").credits(3).semesters("FALL", "SPRING").geneds("FSAW")
+			.gpa(3.0F).build());
+		courses.add(course("PHYS161").credits(3).semesters("FALL")
+			.prereqs("MATH141").coreqs("PHYS261").geneds("DSNS").gpa(3.0F).build());
+		courses.add(course("PHYS261").credits(1).semesters("FALL").coreqs("PHYS161").geneds("DSNL")
+			.gpa(3.0F).build());
+
+		String[] depts = {"HIST", "ENGL", "PSYC", "ARTH", "GEOG", "BSCI", "COMM", "ECON", "MUSC",
+						  "PHIL"};
+		String[] geneds = {"FSPW", "DSHS", "DSHU", "DSNL", "DSNS", "DSSP", "DVUP", "DVCC", "SCIS"};
+		Random random = new Random(11);
+		for (int i = 0; i < fillers; i++) {
+			int block = i / (300 * depts.length);
+			String courseId = depts[i % depts.length] + (100 + i / depts.length % 300)
+							  + (block == 0 ? "" : String.valueOf((char) ('A' + block)));
+			if (courseId.equals("ENGL101")) {
+				continue;
+			}
+			String semesters = random.nextBoolean() ? "FALL SPRING"
+							   : random.nextBoolean() ? "FALL" : "SPRING";
+			String prereqs = random.nextInt(3) == 0 && !courseId.startsWith("100", 4)
+							 ? courseId.substring(0, 4) + "100" : null;
+			courses.add(course(courseId).credits(3).semesters(semesters.split(" ")).prereqs(prereqs)
+				.geneds(geneds[random.nextInt(geneds.length)])
+				.gpa(2 + random.nextInt(200) / 100.0F).build());
+		}
+		return CatalogSnapshot.of(courses);
+	}
+}
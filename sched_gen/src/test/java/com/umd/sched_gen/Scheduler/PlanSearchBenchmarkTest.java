@@ -0,0 +1,64 @@
+package com.umd.sched_gen.Scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+
+/** Measures how the parallel plan search scales with the threads of its pool. The search runs
+ * without a budget, so every pool size explores the whole tree and finds the same plans. Run with
+ * mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+class PlanSearchBenchmarkTest {
+	private static final int PLANS = 5;
+	private static final int RUNS = 5;
+
+	@Test
+	void parallelSearchScalesWithCores() {
+		CatalogSnapshot snapshot = PlanGeneratorTest.catalog(5000);
+		PlanGenerator generator = new PlanGenerator(snapshot, new PlanGenerator.Budget(
+			Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE));
+		PlanRequest request = PlanRequest.fourYears(Set.of(), PlanGeneratorTest.MAJOR,
+													PlanGeneratorTest.GENEDS, 2026, 15);
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		List<Long> expected = null;
+		double baseline = 0;
+		for (int threads = 1; threads <= Math.max(2, cores); threads *= 2) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				generator.generate(request, PLANS, pool);     /* Warm up */
+				long[] times = new long[RUNS];
+				List<Long> scores = null;
+				for (int run = 0; run < RUNS; run++) {
+					long start = System.nanoTime();
+					List<Plan> plans = generator.generate(request, PLANS, pool);
+					times[run] = System.nanoTime() - start;
+					scores = new ArrayList<>(plans.stream().map(Plan::score).toList());
+				}
+				Arrays.sort(times);
+				double millis = times[RUNS / 2] / 1e6;
+				if (expected == null) {
+					expected = scores;
+					baseline = millis;
+				}
+				assertFalse(scores.isEmpty());
+				assertEquals(expected, scores);
+				System.out.printf("[BENCHMARK] plan search, %d thread(s) on %d core(s): %.1fms, "
+								  + "%.2fx%n", threads, cores, millis, baseline / millis);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.umd.sched_gen.Scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.umd.sched_gen.Courses.Semester;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(SchedulerController.class)
+class SchedulerControllerTest {
+	private static final String REQUEST = "{\"required\": [\"CMSC131\"], \"start\": \"FALL\", "
+		+ "\"startYear\": 2026, \"terms\": 8, \"creditsPerTerm\": 15}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private Scheduler scheduler;
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@TestConfiguration
+	static class OneThread {
+		@Bean
+		PlanExecutor planExecutor() {
+			SchedulerProperties properties = new SchedulerProperties();
+			properties.setPlanThreads(1);
+			properties.setPlanQueue(1);
+			return new PlanExecutor(properties, new SimpleMeterRegistry());
+		}
+	}
+
+	@AfterEach
+	void unblock() {
+		release.countDown();
+	}
+
+	@Test
+	void generatesPlansOffTheRequestThread() throws Exception {
+		Plan plan = new Plan(List.of(new Plan.Term(Semester.FALL, 2026, List.of("CMSC131"), 4)),
+							 List.of(), 4, 3.1F, 1);
+		when(scheduler.generatePlan(any())).thenReturn(plan);
+		when(scheduler.generatePlans(any(), anyInt())).thenReturn(List.of(plan, plan));
+		when(scheduler.eligibleCourses(Set.of("CMSC131"), Semester.SPRING))
+			.thenReturn(List.of("CMSC132"));
+
+		mockMvc.perform(asyncDispatch(started(post("/scheduler/plan").content(REQUEST))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.terms[0].courses[0]").value("CMSC131"));
+		mockMvc.perform(asyncDispatch(started(post("/scheduler/plans").param("count", "2")
+				.content(REQUEST))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2));
+		mockMvc.perform(asyncDispatch(started(get("/scheduler/eligible")
+				.param("completed", "CMSC131").param("semester", "SPRING"))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0]").value("CMSC132"));
+	}
+
+	@Test
+	void aPlanThatCannotFitIsNoContent() throws Exception {
+		when(scheduler.generatePlan(any())).thenReturn(null);
+
+		mockMvc.perform(asyncDispatch(started(post("/scheduler/plan").content(REQUEST))))
+			.andExpect(status().isNoContent());
+	}
+
+	@Test
+	void aSaturatedExecutorAnswersServiceUnavailable() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		when(scheduler.generatePlan(any())).thenAnswer(invocation -> {
+			running.countDown();
+			release.await();
+			return null;
+		});
+		mockMvc.perform(post("/scheduler/plan").content(REQUEST)
+			.contentType(MediaType.APPLICATION_JSON));
+		running.await();
+		mockMvc.perform(post("/scheduler/plan").content(REQUEST)
+			.contentType(MediaType.APPLICATION_JSON));
+
+		mockMvc.perform(asyncDispatch(started(post("/scheduler/plan").content(REQUEST))))
+			.andExpect(status().isServiceUnavailable())
+			.andExpect(header().string("Retry-After", "1"));
+	}
+
+	@Test
+	void rejectsBadRequests() throws Exception {
+		mockMvc.perform(post("/scheduler/plan").contentType(MediaType.APPLICATION_JSON)
+				.content(REQUEST.replace("\"terms\": 8", "\"terms\": 0")))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/scheduler/plan").contentType(MediaType.APPLICATION_JSON)
+				.header(SchedulerController.DEADLINE_HEADER, "0").content(REQUEST))
+			.andExpect(status().isBadRequest());
+	}
+
+	private MvcResult started(MockHttpServletRequestBuilder builder) throws Exception {
+		return mockMvc.perform(builder.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+	}
+}
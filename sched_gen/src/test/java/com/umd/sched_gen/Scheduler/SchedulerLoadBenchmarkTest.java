@@ -0,0 +1,124 @@
+package com.umd.sched_gen.Scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.umd.sched_gen.Catalog.CatalogService;
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Load test of the plan endpoint: rising numbers of concurrent clients each send plan requests
+ * through the whole MVC stack, and the p50/p99 latency, throughput and rejections are reported for
+ * each. Past the plan threads' capacity, requests queue up to their deadline and are then
+ * rejected with a 503 rather than piling up. Run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+@WebMvcTest(SchedulerController.class)
+class SchedulerLoadBenchmarkTest {
+	private static final int REQUESTS_PER_CLIENT = 20;
+	private static final String REQUEST = "{\"required\": " + json(PlanGeneratorTest.MAJOR)
+		+ ", \"geneds\": " + json(PlanGeneratorTest.GENEDS) + ", \"start\": \"FALL\", "
+		+ "\"startYear\": 2026, \"terms\": 8, \"creditsPerTerm\": 15}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@TestConfiguration
+	static class RealScheduler {
+		private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		private final SchedulerProperties properties = new SchedulerProperties();
+
+		@Bean
+		Scheduler scheduler() {
+			CatalogService catalogService = mock(CatalogService.class);
+			CatalogSnapshot snapshot = PlanGeneratorTest.catalog(3000);
+			when(catalogService.current()).thenReturn(snapshot);
+			return new Scheduler(catalogService, properties, registry);
+		}
+
+		@Bean
+		PlanExecutor planExecutor() {
+			properties.setPlanQueue(32);
+			return new PlanExecutor(properties, registry);
+		}
+	}
+
+	@Test
+	void latencyAtRisingConcurrency() throws Exception {
+		send();     /* Warm up */
+		int cores = Runtime.getRuntime().availableProcessors();
+		for (int clients = 1; clients <= 64; clients *= 4) {
+			ExecutorService pool = Executors.newFixedThreadPool(clients);
+			AtomicInteger rejected = new AtomicInteger();
+			try {
+				List<Future<long[]>> results = new ArrayList<>();
+				long start = System.nanoTime();
+				for (int client = 0; client < clients; client++) {
+					results.add(pool.submit(() -> {
+						long[] latencies = new long[REQUESTS_PER_CLIENT];
+						for (int i = 0; i < latencies.length; i++) {
+							long sent = System.nanoTime();
+							int status = send();
+							latencies[i] = System.nanoTime() - sent;
+							if (status == 503) {
+								rejected.incrementAndGet();
+							} else {
+								assertEquals(200, status);
+							}
+						}
+						return latencies;
+					}));
+				}
+				long[] all = new long[clients * REQUESTS_PER_CLIENT];
+				for (int client = 0; client < clients; client++) {
+					System.arraycopy(results.get(client).get(), 0, all,
+									 client * REQUESTS_PER_CLIENT, REQUESTS_PER_CLIENT);
+				}
+				double seconds = (System.nanoTime() - start) / 1e9;
+				Arrays.sort(all);
+				System.out.printf("[BENCHMARK] plan API, %d client(s) on %d core(s): p50 %.1fms, "
+								  + "p99 %.1fms, %.0f req/s, %d rejected%n", clients, cores,
+								  all[all.length / 2] / 1e6, all[all.length * 99 / 100] / 1e6,
+								  all.length / seconds, rejected.get());
+				assertTrue(rejected.get() < all.length);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/* Sends a plan request and waits for its response */
+	private int send() throws Exception {
+		MvcResult result = mockMvc.perform(post("/scheduler/plan")
+				.contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+			.andReturn();
+		return mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getStatus();
+	}
+
+	private static String json(List<String> values) {
+		return "[\"" + String.join("\", \"", values) + "\"]";
+	}
+}
@@ -0,0 +1,96 @@
+package com.umd.sched_gen.Scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.umd.sched_gen.Catalog.CatalogService;
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+import com.umd.sched_gen.Courses.Semester;
+import com.umd.sched_gen.DataInitializer.DataInitializedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SchedulerTest {
+	private final CatalogService catalogService = mock(CatalogService.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final Scheduler scheduler = new Scheduler(catalogService, new SchedulerProperties(),
+													  registry);
+
+	@AfterEach
+	void shutdown() {
+		scheduler.destroy();
+	}
+
+	@Test
+	void repeatedEligibilityQuestionsAreServedFromTheCache() {
+		when(catalogService.current()).thenReturn(PlanGeneratorTest.catalog(300));
+
+		List<String> first = scheduler.eligibleCourses(Set.of("CMSC131", "MATH140"), Semester.FALL);
+		/* Same courses, plus one no requisite names: the same question */
+		List<String> second = scheduler.eligibleCourses(Set.of("MATH140", "CMSC131", "XXXX999"),
+														Semester.FALL);
+		List<String> spring = scheduler.eligibleCourses(Set.of("CMSC131", "MATH140"),
+														Semester.SPRING);
+
+		assertSame(first, second);
+		assertTrue(first.contains("CMSC132"));
+		assertTrue(spring.contains("CMSC132"));
+		assertEquals(1, scheduler.eligibleCacheStats().hitCount());
+		assertEquals(2, scheduler.eligibleCacheStats().missCount());
+	}
+
+	@Test
+	void aCatalogRefreshClearsTheCache() {
+		when(catalogService.current()).thenReturn(PlanGeneratorTest.catalog(300));
+		List<String> before = scheduler.eligibleCourses(Set.of("CMSC131", "MATH140"),
+														Semester.FALL);
+
+		CatalogSnapshot refreshed = CatalogSnapshot.of(PlanGeneratorTest.catalog(300).courses()
+			.stream().filter(course -> !course.getCourseId().equals("CMSC132")).toList());
+		when(catalogService.current()).thenReturn(refreshed);
+		scheduler.onApplicationEvent(new DataInitializedEvent(this));
+		List<String> after = scheduler.eligibleCourses(Set.of("CMSC131", "MATH140"),
+													   Semester.FALL);
+
+		assertTrue(before.contains("CMSC132"));
+		assertFalse(after.contains("CMSC132"));
+		assertEquals(0, scheduler.eligibleCacheStats().hitCount());
+	}
+
+	@Test
+	void planGenerationAndTheCacheArePublishedAsMeters() {
+		when(catalogService.current()).thenReturn(PlanGeneratorTest.catalog(300));
+		PlanRequest request = PlanRequest.fourYears(Set.of(), PlanGeneratorTest.MAJOR, List.of(),
+													2026, 15);
+
+		scheduler.generatePlan(request);
+		scheduler.generatePlans(request, 3);
+		scheduler.eligibleCourses(Set.of("CMSC131"), Semester.FALL);
+		scheduler.eligibleCourses(Set.of("CMSC131"), Semester.FALL);
+
+		assertEquals(1, registry.get("scheduler.plan.generate").tag("mode", "single").timer().count());
+		assertEquals(1, registry.get("scheduler.plan.generate").tag("mode", "parallel").timer()
+			.count());
+		assertEquals(1, registry.get("cache.gets").tag("cache", "scheduler.eligible")
+			.tag("result", "hit").functionCounter().count());
+	}
+
+	@Test
+	void tooManyPlansAreRejected() {
+		when(catalogService.current()).thenReturn(PlanGeneratorTest.catalog(300));
+
+		assertThrows(IllegalArgumentException.class, () -> scheduler.generatePlans(
+			PlanRequest.fourYears(Set.of(), PlanGeneratorTest.MAJOR, List.of(), 2026, 15), 11));
+	}
+}
@@ -0,0 +1,31 @@
+package com.umd.sched_gen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/** Runs the JMH benchmarks. Takes the usual JMH options (eg: a benchmark regex, or -p size=5000
+ * to run a single catalog size), and unless told otherwise (-rf, -rff), writes the results as
+ * JSON to jmh-result.json, so runs can be diffed in review.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (options.contains("-h") || options.contains("-l")) {
+            Main.main(args);
+            return;
+        }
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            options.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,112 @@
+package com.umd.sched_gen.Catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.umd.sched_gen.SyntheticCatalog;
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Semester;
+
+/** The query paths of the catalog: building a snapshot (on every refresh), mapping one in from a
+ * catalog file (on restart), looking Courses up by course ID prefix, filtering the way
+ * /catalog/courses does, from a single bitmap to a combination of six, and searching the way
+ * /catalog/search does, by course ID prefix and by (misspelled, partly typed) words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CatalogQueryBenchmark {
+    private static final CourseFilter UNRESTRICTED_GENED = CourseFilter.and(List.of(
+        CourseFilter.gened("DSHS"),
+        CourseFilter.not(CourseFilter.restricted()),
+        CourseFilter.or(List.of(CourseFilter.semester(Semester.FALL),
+                                CourseFilter.semester(Semester.SUMMER))),
+        CourseFilter.credits(3),
+        CourseFilter.gpaBetween(3.0F, 4.0F)));
+
+    @Param({"5000", "50000", "500000"})
+    private int size;
+
+    private List<Course> courses;
+    private CatalogSnapshot snapshot;
+    private Path directory;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        courses = SyntheticCatalog.courses(size);
+        snapshot = CatalogSnapshot.of(courses, Instant.now());
+        directory = Files.createTempDirectory("catalog-benchmark");
+        file = CatalogFile.write(snapshot, directory);
+        snapshot.search();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(file);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CatalogSnapshot buildSnapshot() {
+        return CatalogSnapshot.of(courses);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CatalogSnapshot readCatalogFile() throws IOException {
+        return CatalogFile.read(file);
+    }
+
+    @Benchmark
+    public List<Course> byCourseIdPrefix() {
+        return snapshot.byCourseIdPrefix("CMSC4");
+    }
+
+    @Benchmark
+    public List<CourseSearchIndex.Hit> searchCourseIdPrefix() {
+        return snapshot.search().search("cmsc4", 10);
+    }
+
+    @Benchmark
+    public List<CourseSearchIndex.Hit> searchWords() {
+        return snapshot.search().search("intro data sci", 10);
+    }
+
+    @Benchmark
+    public List<CourseSearchIndex.Hit> searchMisspelledWords() {
+        return snapshot.search().search("statistcs labratory", 10);
+    }
+
+    @Benchmark
+    public List<Course> filterByGened() {
+        return snapshot.filter(CourseFilter.gened("DSHS"), 50);
+    }
+
+    @Benchmark
+    public List<Course> filterUnrestrictedGened() {
+        return snapshot.filter(UNRESTRICTED_GENED, 50);
+    }
+}
@@ -0,0 +1,93 @@
+package com.umd.sched_gen.Courses;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.umd.sched_gen.SyntheticCatalog;
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+import com.umd.sched_gen.Catalog.CourseView;
+
+/** Reading the gen eds and semesters of every Course of a catalog. Both getters return deep
+ * copies, which every catalog scan pays for; getCourseId is the baseline of a plain field read,
+ * and the view benchmarks read the same through the CourseViews of a snapshot, without copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CourseGetterBenchmark {
+
+    @Param({"5000", "50000", "500000"})
+    private int size;
+
+    private List<Course> courses;
+    private List<CourseView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        courses = SyntheticCatalog.courses(size);
+        views = CatalogSnapshot.of(courses).views();
+    }
+
+    @Benchmark
+    public int getGeneds() {
+        int codes = 0;
+        for (Course course : courses) {
+            for (List<String> geneds : course.getGeneds()) {
+                codes += geneds.size();
+            }
+        }
+        return codes;
+    }
+
+    @Benchmark
+    public int getSemesters() {
+        int semesters = 0;
+        for (Course course : courses) {
+            semesters += course.getSemesters().size();
+        }
+        return semesters;
+    }
+
+    @Benchmark
+    public int getCourseId() {
+        int length = 0;
+        for (Course course : courses) {
+            length += course.getCourseId().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int viewGenedCodes() {
+        int codes = 0;
+        for (CourseView view : views) {
+            codes += view.genedCodes().size();
+        }
+        return codes;
+    }
+
+    @Benchmark
+    public int viewSemesters() {
+        int semesters = 0;
+        for (CourseView view : views) {
+            semesters += Integer.bitCount(view.semesters());
+        }
+        return semesters;
+    }
+}
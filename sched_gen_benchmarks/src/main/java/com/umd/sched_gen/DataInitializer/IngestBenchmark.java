@@ -0,0 +1,229 @@
+package com.umd.sched_gen.DataInitializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umd.sched_gen.SyntheticCatalog;
+import com.umd.sched_gen.Courses.Course;
+import com.umd.sched_gen.Courses.Relationships;
+import com.umd.sched_gen.Courses.Semester;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** The ingest of a whole catalog, without the network: Jackson reading umd.io pages of Courses
+ * (and of their Relationships alone), and ApiService.refineCourses over every page, with
+ * planetterp answered in memory. Logging is at WARN (see logback.xml), so the refine loop is
+ * measured rather than the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IngestBenchmark {
+    private static final int PER_PAGE = 100;
+    private static final TypeReference<List<Course>> COURSE_PAGE = new TypeReference<>() {};
+    private static final TypeReference<List<Relationships>> RELATIONSHIPS_PAGE =
+        new TypeReference<>() {};
+
+    @Param({"5000", "50000", "500000"})
+    private int size;
+
+    /* Configured like the ObjectMapper of the RestTemplate fetching the pages */
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<byte[]> coursePages = new ArrayList<>();
+    private final List<byte[]> relationshipsPages = new ArrayList<>();
+    private List<List<Course>> pages;
+    private ApiService apiService;
+    private GradesFetcher gradesFetcher;
+    private CourseIndex courseIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Course> courses = SyntheticCatalog.courses(size);
+        pages = new ArrayList<>();
+        for (int from = 0; from < courses.size(); from += PER_PAGE) {
+            List<Course> page = courses.subList(from, Math.min(from + PER_PAGE, courses.size()));
+            pages.add(page);
+            List<Map<String, Object>> json = new ArrayList<>();
+            List<Map<String, Object>> relationships = new ArrayList<>();
+            for (Course course : page) {
+                json.add(umdIo(course));
+                relationships.add(relationships(course));
+            }
+            coursePages.add(mapper.writeValueAsBytes(json));
+            relationshipsPages.add(mapper.writeValueAsBytes(relationships));
+        }
+
+        IngestProperties properties = new IngestProperties();
+        IngestMetrics metrics = new IngestMetrics(new SimpleMeterRegistry());
+        apiService = new ApiService(new RestTemplateBuilder(), properties, metrics);
+        properties.setGradesRate(1_000_000);
+        gradesFetcher = new GradesFetcher(new RestTemplate(InMemoryGrades::new), properties,
+                                          metrics);
+    }
+
+    @Setup(Level.Invocation)
+    public void newCourseIndex() {
+        /* Refined Courses are added to the index, so every refine starts over from the offerings */
+        courseIndex = new CourseIndex();
+        for (List<Course> page : pages) {
+            for (Course course : page) {
+                for (String semester : course.getSemesters()) {
+                    courseIndex.markOffered(Semester.valueOf(semester), course.getCourseId());
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gradesFetcher.close();
+    }
+
+    @Benchmark
+    public void deserializeCoursePages(Blackhole blackhole) throws IOException {
+        for (byte[] page : coursePages) {
+            blackhole.consume(mapper.readValue(page, COURSE_PAGE));
+        }
+    }
+
+    @Benchmark
+    public void deserializeRelationshipsPages(Blackhole blackhole) throws IOException {
+        for (byte[] page : relationshipsPages) {
+            blackhole.consume(mapper.readValue(page, RELATIONSHIPS_PAGE));
+        }
+    }
+
+    @Benchmark
+    public void refineCourses(Blackhole blackhole) {
+        for (List<Course> page : pages) {
+            blackhole.consume(apiService.refineCourses(page, courseIndex, gradesFetcher));
+        }
+    }
+
+    /* A Course as umd.io serves it */
+    private static Map<String, Object> umdIo(Course course) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("course_id", course.getCourseId());
+        json.put("semester", "202308");
+        json.put("name", course.getName());
+        json.put("dept_id", course.getDeptId());
+        json.put("department", "Department of " + course.getDeptId());
+        json.put("credits", String.valueOf(course.getCredits()));
+        json.put("description", "Covers the topics of " + course.getName() + ".");
+        json.put("grading_method", List.of("Regular", "Pass-Fail", "Audit"));
+        json.put("gen_ed", course.getGeneds());
+        json.put("core", List.of());
+        json.put("relationships", relationships(course));
+        json.put("sections", List.of(course.getCourseId() + "-0101"));
+        return json;
+    }
+
+    private static Map<String, Object> relationships(Course course) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("coreqs", course.getCoreqsString());
+        json.put("prereqs", course.getPrereqsString());
+        json.put("formerly", null);
+        json.put("restrictions", course.getRestrictions());
+        json.put("additional_info", null);
+        json.put("also_offered_as", null);
+        json.put("credit_granted_for", course.getCreditGrantedFor());
+        return json;
+    }
+
+    /* Answers every planetterp request with the same average GPA */
+    private static final class InMemoryGrades extends AbstractClientHttpRequest {
+        private static final byte[] BODY = "{\"average_gpa\": 3.1}".getBytes(StandardCharsets.UTF_8);
+
+        private final URI uri;
+        private final HttpMethod method;
+
+        InMemoryGrades(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+            return new ClientHttpResponse() {
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return HttpStatus.OK;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return "OK";
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    HttpHeaders responseHeaders = new HttpHeaders();
+                    responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+                    return responseHeaders;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(BODY);
+                }
+
+                @Override
+                public void close() {}
+            };
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.umd.sched_gen.Scheduler;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.umd.sched_gen.SyntheticCatalog;
+import com.umd.sched_gen.Catalog.CatalogSnapshot;
+import com.umd.sched_gen.Courses.Semester;
+
+/** The plan paths of the Scheduler: flattening a catalog into a PlanGenerator (on every refresh),
+ * a four-year plan of a major with its gen eds, the parallel search for several plans, and the
+ * courses eligible next semester. Runs up to 50k courses: the generator holds a catalog-wide
+ * bitset per requisite clause, which does not fit in memory at 500k.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PlanBenchmark {
+    private static final PlanRequest FOUR_YEARS = PlanRequest.fourYears(
+        Set.of(), SyntheticCatalog.MAJOR, SyntheticCatalog.GENEDS, 2026, 15);
+    private static final Set<String> FIRST_YEAR = Set.of("CMSC131", "CMSC132", "MATH140",
+                                                         "MATH141");
+
+    @Param({"5000", "50000"})
+    private int size;
+
+    private CatalogSnapshot snapshot;
+    private PlanGenerator generator;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = CatalogSnapshot.of(SyntheticCatalog.courses(size));
+        generator = new PlanGenerator(snapshot);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public PlanGenerator buildGenerator() {
+        return new PlanGenerator(snapshot);
+    }
+
+    @Benchmark
+    public Plan generatePlan() {
+        return generator.generate(FOUR_YEARS);
+    }
+
+    @Benchmark
+    public List<Plan> generateFivePlansInParallel() {
+        return generator.generate(FOUR_YEARS, 5, pool);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> eligibleCourses() {
+        return generator.eligible(FIRST_YEAR, Semester.FALL);
+    }
+}
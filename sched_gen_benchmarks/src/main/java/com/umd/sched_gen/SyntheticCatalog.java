@@ -0,0 +1,145 @@
+package com.umd.sched_gen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.umd.sched_gen.Courses.Course;
+
+/** Generates catalogs of any size that look like UMD's: departments of 900 courses (100-999, so
+ * about half are grad courses), mostly 3 credits, prereq chains within departments, some gen eds,
+ * restrictions and GPA data, and names of a few words. Every catalog also holds the courses of a computer science major, so
+ * plans can be generated over it. The same size always generates the same catalog.
+ */
+public final class SyntheticCatalog {
+    public static final List<String> GENEDS = List.of("FSAW", "FSPW", "DSHS", "DSHU", "DSNL",
+                                                      "DSNS", "DSSP", "DVUP", "DVCC", "SCIS");
+    public static final List<String> MAJOR = List.of("CMSC131", "CMSC132", "CMSC216", "CMSC250",
+        "CMSC330", "CMSC351", "CMSC411", "CMSC412", "CMSC417", "CMSC420", "CMSC421", "CMSC424",
+        "CMSC430", "CMSC433", "MATH140", "MATH141", "MATH240", "STAT400");
+    public static final int[] SIZES = {5_000, 50_000, 500_000};
+
+    /* Course ID, credits, semesters, prereqs */
+    private static final String[][] MAJOR_COURSES = {
+        {"CMSC131", "4", "FALL SPRING", null},
+        {"CMSC132", "4", "FALL SPRING", "Minimum grade of C- in CMSC131; and MATH140."},
+        {"CMSC216", "4", "FALL SPRING", "CMSC132 and MATH141"},
+        {"CMSC250", "4", "FALL SPRING", "CMSC131 and MATH141"},
+        {"CMSC330", "3", "FALL SPRING", "CMSC216 and CMSC250"},
+        {"CMSC351", "3", "FALL SPRING", "CMSC216 and CMSC250"},
+        {"CMSC411", "3", "FALL", "CMSC330"},
+        {"CMSC412", "4", "FALL SPRING", "CMSC330 and CMSC351"},
+        {"CMSC417", "3", "SPRING", "CMSC351"},
+        {"CMSC420", "3", "FALL SPRING", "CMSC351"},
+        {"CMSC421", "3", "FALL", "CMSC351 and (STAT400 or STAT410)"},
+        {"CMSC424", "3", "FALL SPRING", "CMSC351"},
+        {"CMSC430", "3", "SPRING", "CMSC330"},
+        {"CMSC433", "3", "FALL", "CMSC330"},
+        {"MATH140", "4", "FALL SPRING SUMMER", null},
+        {"MATH141", "4", "FALL SPRING SUMMER", "MATH140"},
+        {"MATH240", "4", "FALL SPRING", "MATH141"},
+        {"STAT400", "3", "FALL SPRING", "MATH141"},
+        {"STAT410", "3", "FALL", "MATH141"},
+    };
+    /* Name words: a level, then a subject or two, then sometimes a form */
+    private static final String[] LEVELS = {"Introduction to", "Foundations of", "Advanced",
+                                            "Topics in", "Principles of", "Seminar in"};
+    private static final String[] SUBJECTS = {"Data", "Science", "Computer", "Systems",
+        "Algorithms", "Statistics", "Economics", "History", "Literature", "Chemistry", "Biology",
+        "Physics", "Design", "Networks", "Security", "Learning", "Music", "Philosophy", "Policy",
+        "Engineering", "Psychology", "Languages", "Architecture", "Finance", "Ethics"};
+    private static final String[] FORMS = {"Laboratory", "Studio", "Workshop", "Honors"};
+    private static final String[] SEMESTERS = {"FALL SPRING", "FALL SPRING", "FALL", "SPRING",
+                                               "FALL SPRING SUMMER", "SPRING SUMMER", "WINTER"};
+
+    private SyntheticCatalog() {}
+
+    /** Generates a catalog
+     *
+     * @param size the number of Courses
+     * @return the Courses, the major's first
+     */
+    public static List<Course> courses(int size) {
+        Random random = new Random(size);
+        Random names = new Random(-size);   /* Separate, so the other attributes are unchanged */
+        List<Course> courses = new ArrayList<>(size);
+        for (String[] major : MAJOR_COURSES) {
+            if (courses.size() == size) {
+                return courses;
+            }
+            Course course = course(major[0], Integer.parseInt(major[1]), major[2], major[3]);
+            course.setAverageGPA(2.5F + random.nextInt(120) / 100.0F);
+            courses.add(course);
+        }
+        for (int i = 0; courses.size() < size; i++) {
+            String dept = dept(i / 900);
+            int number = 100 + i % 900;
+            String prereqs = null;
+            if (number >= 200 && random.nextInt(10) < 4) {
+                String previous = dept + (number - 100);
+                prereqs = switch (random.nextInt(4)) {
+                    case 0 -> "Minimum grade of C- in " + previous + ".";
+                    case 1 -> previous + " or " + dept + (number - 99 + random.nextInt(50));
+                    case 2 -> "Must have completed " + previous + "; and MATH140.";
+                    default -> previous;
+                };
+            }
+            int credits = random.nextInt(5) == 0 ? 1 + random.nextInt(4) : 3;
+            Course course = course(dept + number, credits,
+                                   SEMESTERS[random.nextInt(SEMESTERS.length)], prereqs);
+            course.setName(name(names));
+            if (random.nextInt(5) < 2) {
+                List<List<String>> geneds = new ArrayList<>();
+                geneds.add(List.of(GENEDS.get(random.nextInt(GENEDS.size()))));
+                if (random.nextInt(8) == 0) {
+                    geneds.add(List.of(GENEDS.get(random.nextInt(GENEDS.size()))));
+                }
+                course.setGeneds(geneds);
+            }
+            if (random.nextInt(5) == 0) {
+                course.setRestrictions("Must be in a major within the " + dept + " program.");
+            }
+            if (random.nextInt(20) == 0) {
+                course.setCreditGrantedFor(dept + (100 + random.nextInt(900)) + " or " + dept
+                                           + number);
+            }
+            course.setAverageGPA(random.nextInt(10) < 7 ? 2 + random.nextInt(200) / 100.0F : 0);
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder(LEVELS[random.nextInt(LEVELS.length)]);
+        name.append(' ').append(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+        if (random.nextBoolean()) {
+            name.append(' ').append(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+        }
+        if (random.nextInt(4) == 0) {
+            name.append(' ').append(FORMS[random.nextInt(FORMS.length)]);
+        }
+        return name.toString();
+    }
+
+    /* Four letter department codes starting at BAAA, so none clash with CMSC, MATH or STAT */
+    private static String dept(int index) {
+        char[] code = {'B', 'A', 'A', 'A'};
+        for (int c = 3; c > 0; c--) {
+            code[c] = (char) ('A' + index % 26);
+            index /= 26;
+        }
+        return new String(code);
+    }
+
+    private static Course course(String courseId, int credits, String semesters, String prereqs) {
+        Course course = new Course(0);
+        course.setCourseId(courseId);
+        course.setName("Course " + courseId);
+        course.setDeptId(courseId.substring(0, 4));
+        course.setCredits(credits);
+        course.setSemesters(new ArrayList<>(List.of(semesters.split(" "))));
+        course.setPrereqsString(prereqs);
+        course.setGeneds(List.of());
+        return course;
+    }
+}